@@ -35,6 +35,27 @@ public class Constants {
 
     public static final String PROTOCOL_DESC = "protocoldesc";
 
+    /**
+     * The header property of the tcp hello response, which is the compression type picked by the server
+     */
+    public static final String COMPRESSION_TYPE = "compressiontype";
+
+    /**
+     * The header property of the tcp listen request, which is the max number of unacked messages the client takes
+     */
+    public static final String LISTEN_WINDOW = "listenwindow";
+
+    /**
+     * The header properties of a tcp broadcast, which describe the receiving client when the body is shared by the clients
+     */
+    public static final String RSP_SYS = "rsp0sys";
+
+    public static final String RSP_IP = "rsp0ip";
+
+    public static final String RSP_IDC = "rsp0idc";
+
+    public static final String RSP_GROUP = "rsp0group";
+
     public static final int DEFAULT_HTTP_TIME_OUT = 15000;
 
     public static final String EVENTMESH_MESSAGE_CONST_TTL = "ttl";
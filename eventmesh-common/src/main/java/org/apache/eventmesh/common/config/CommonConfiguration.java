@@ -49,6 +49,9 @@ public class CommonConfiguration {
     public boolean eventMeshServerSecurityEnable = false;
     public boolean eventMeshServerRegistryEnable = false;
     public boolean eventMeshServerTraceEnable = false;
+    public boolean eventMeshServerEpollEnable = true;
+    public boolean eventMeshServerReusePortEnable = false;
+    public int eventMeshServerAcceptorThreads = 1;
     protected ConfigurationWrapper configurationWrapper;
     public String eventMeshWebhookOrigin = "eventmesh." + eventMeshIDC;
 
@@ -99,6 +102,16 @@ public class CommonConfiguration {
 
             eventMeshServerTraceEnable = Boolean.parseBoolean(get(ConfKeys.KEYS_EVENTMESH_TRACE_ENABLED, () -> "false"));
             eventMeshTracePluginType = checkNotEmpty(ConfKeys.KEYS_EVENTMESH_TRACE_PLUGIN_TYPE);
+
+            eventMeshServerEpollEnable = Boolean.parseBoolean(get(ConfKeys.KEYS_EVENTMESH_SERVER_EPOLL_ENABLED, () -> "true"));
+
+            eventMeshServerReusePortEnable =
+                Boolean.parseBoolean(get(ConfKeys.KEYS_EVENTMESH_SERVER_REUSE_PORT_ENABLED, () -> "false"));
+
+            String acceptorThreads = get(ConfKeys.KEYS_EVENTMESH_SERVER_ACCEPTOR_THREADS, () -> "1");
+            Preconditions.checkState(StringUtils.isNumeric(acceptorThreads) && Integer.parseInt(acceptorThreads) > 0,
+                ConfKeys.KEYS_EVENTMESH_SERVER_ACCEPTOR_THREADS + " is invalidated");
+            eventMeshServerAcceptorThreads = Integer.parseInt(acceptorThreads);
         }
     }
 
@@ -168,5 +181,11 @@ public class CommonConfiguration {
         public static String KEYS_EVENTMESH_TRACE_ENABLED = "eventMesh.server.trace.enabled";
 
         public static String KEYS_EVENTMESH_TRACE_PLUGIN_TYPE = "eventMesh.trace.plugin";
+
+        public static String KEYS_EVENTMESH_SERVER_EPOLL_ENABLED = "eventMesh.server.netty.epoll.enabled";
+
+        public static String KEYS_EVENTMESH_SERVER_REUSE_PORT_ENABLED = "eventMesh.server.netty.reusePort.enabled";
+
+        public static String KEYS_EVENTMESH_SERVER_ACCEPTOR_THREADS = "eventMesh.server.netty.acceptorThreads";
     }
 }
\ No newline at end of file
@@ -43,6 +43,8 @@ import io.netty.handler.codec.http.HttpHeaders;
 import io.netty.handler.codec.http.HttpResponseStatus;
 import io.netty.handler.codec.http.HttpVersion;
 
+import com.fasterxml.jackson.core.type.TypeReference;
+
 
 public class HttpEventWrapper implements ProtocolTransportObject {
 
@@ -53,6 +55,9 @@ public class HttpEventWrapper implements ProtocolTransportObject {
 
     private byte[] body;
 
+    // parsed from the body on the first access, and dropped when the body is replaced
+    private Map<String, Object> bodyMap;
+
     private String requestURI;
 
     public String httpMethod;
@@ -167,6 +172,23 @@ public class HttpEventWrapper implements ProtocolTransportObject {
 
     public void setBody(byte[] body) {
         this.body = body;
+        this.bodyMap = null;
+    }
+
+    /**
+     * The body is kept as the raw json bytes of the request, it is only parsed when the fields are needed.
+     *
+     * @return the fields of the json body, empty if the body is empty or a json null
+     * @throws org.apache.eventmesh.common.exception.JsonException if the body is not a json object
+     */
+    public Map<String, Object> getBodyMap() {
+        if (bodyMap == null) {
+            Map<String, Object> map = body == null || body.length == 0 ? null
+                : JsonUtils.deserialize(body, new TypeReference<HashMap<String, Object>>() {
+                });
+            bodyMap = map == null ? new HashMap<>() : map;
+        }
+        return bodyMap;
     }
 
     public DefaultFullHttpResponse httpResponse() throws Exception {
@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.common.protocol.tcp;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * The body of a {@link Command#BATCH_MESSAGE_TO_SERVER} package, which carries the serialized messages of a batch:
+ * <pre>
+ * count(4) | [length(4) | message]...
+ * </pre>
+ * Each message is serialized the same way as the body of a single message package.
+ */
+public class BatchMessageBody {
+
+    private BatchMessageBody() {
+    }
+
+    public static byte[] encode(List<byte[]> messages) {
+        Preconditions.checkNotNull(messages, "messages cannot be null");
+        int length = 4;
+        for (byte[] message : messages) {
+            length += 4 + message.length;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        buffer.putInt(messages.size());
+        for (byte[] message : messages) {
+            buffer.putInt(message.length);
+            buffer.put(message);
+        }
+        return buffer.array();
+    }
+
+    /**
+     * @param body the raw bytes of the batch body
+     * @return the serialized messages of the batch
+     * @throws IllegalArgumentException if the body is malformed
+     */
+    public static List<byte[]> decode(byte[] body) {
+        Preconditions.checkArgument(body != null && body.length >= 4, "batch body is malformed");
+        ByteBuffer buffer = ByteBuffer.wrap(body);
+        int count = buffer.getInt();
+        // every message takes at least 4 bytes, so the count can't be larger than it
+        Preconditions.checkArgument(count >= 0 && count <= buffer.remaining() / 4, "batch body is malformed");
+        List<byte[]> messages = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Preconditions.checkArgument(buffer.remaining() >= 4, "batch body is malformed");
+            int length = buffer.getInt();
+            Preconditions.checkArgument(length >= 0 && length <= buffer.remaining(), "batch body is malformed");
+            byte[] message = new byte[length];
+            buffer.get(message);
+            messages.add(message);
+        }
+        Preconditions.checkArgument(!buffer.hasRemaining(), "batch body is malformed");
+        return messages;
+    }
+}
@@ -82,7 +82,11 @@ public enum Command {
 
     //The client asks which EventMesh to recommend
     RECOMMEND_REQUEST(35),                              //Client sends recommendation request to server
-    RECOMMEND_RESPONSE(36);                             //The server will recommend the results to the client
+    RECOMMEND_RESPONSE(36),                             //The server will recommend the results to the client
+
+    //batch asynchronous events
+    BATCH_MESSAGE_TO_SERVER(37),                        //The client sends a batch of asynchronous events to the server
+    BATCH_MESSAGE_TO_SERVER_ACK(38);                    //After the batch is sent to the broker, the server sends ack to the client
 
     private final byte value;
 
@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.common.protocol.tcp;
+
+import org.apache.eventmesh.common.Constants;
+
+import java.nio.charset.Charset;
+import java.util.Arrays;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+
+/**
+ * The message body of a package received from the wire. The raw bytes are kept as they are, so the protocol plugins
+ * can deserialize them directly, the String is only decoded when it is asked for.
+ */
+public class MessageBody implements CharSequence {
+
+    private static final Charset DEFAULT_CHARSET = Charset.forName(Constants.DEFAULT_CHARSET);
+
+    private final byte[] bytes;
+
+    private String value;
+
+    public MessageBody(byte[] bytes) {
+        this.bytes = bytes;
+    }
+
+    /**
+     * Get the raw bytes of the body, the returned array should not be modified
+     */
+    public byte[] getBytes() {
+        return bytes;
+    }
+
+    /**
+     * Get the bytes of a package body, the raw bytes are returned without copy if the body is received from the wire
+     *
+     * @param body package body
+     * @return bytes, null if the body is null
+     */
+    public static byte[] toBytes(Object body) {
+        if (body == null) {
+            return null;
+        }
+        if (body instanceof MessageBody) {
+            return ((MessageBody) body).getBytes();
+        }
+        if (body instanceof byte[]) {
+            return (byte[]) body;
+        }
+        return body.toString().getBytes(DEFAULT_CHARSET);
+    }
+
+    @Override
+    public int length() {
+        return toString().length();
+    }
+
+    @Override
+    public char charAt(int index) {
+        return toString().charAt(index);
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        return toString().subSequence(start, end);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof MessageBody)) {
+            return false;
+        }
+        return Arrays.equals(bytes, ((MessageBody) o).bytes);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(bytes);
+    }
+
+    @JsonValue
+    @Override
+    public String toString() {
+        if (value == null) {
+            value = new String(bytes, DEFAULT_CHARSET);
+        }
+        return value;
+    }
+}
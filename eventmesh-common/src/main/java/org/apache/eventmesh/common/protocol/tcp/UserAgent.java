@@ -41,11 +41,22 @@ public class UserAgent {
     @Builder.Default
     private int unack = 0;
 
+    /**
+     * The compression types supported by the client, comma separated in the order it prefers, e.g. "zstd,lz4"
+     */
+    private String compression;
+
     public UserAgent() {
     }
 
     public UserAgent(String env, String subsystem, String path, int pid, String host, int port, String version,
                      String username, String password, String idc, String group, String purpose, int unack) {
+        this(env, subsystem, path, pid, host, port, version, username, password, idc, group, purpose, unack, null);
+    }
+
+    public UserAgent(String env, String subsystem, String path, int pid, String host, int port, String version,
+                     String username, String password, String idc, String group, String purpose, int unack,
+                     String compression) {
         this.env = env;
         this.subsystem = subsystem;
         this.path = path;
@@ -59,14 +70,15 @@ public class UserAgent {
         this.group = group;
         this.purpose = purpose;
         this.unack = unack;
+        this.compression = compression;
     }
 
     @Override
     public String toString() {
         return String.format(
                 "UserAgent{env='%s', subsystem='%s', group='%s', path='%s', pid=%d, host='%s',"
-                + " port=%d, version='%s', idc='%s', purpose='%s', unack='%d'}",
-                env, subsystem, group, path, pid, host, port, version, idc, purpose, unack);
+                + " port=%d, version='%s', idc='%s', purpose='%s', unack='%d', compression='%s'}",
+                env, subsystem, group, path, pid, host, port, version, idc, purpose, unack, compression);
     }
 
     @Override
@@ -130,6 +142,10 @@ public class UserAgent {
             return false;
         }
 
+        if (!Objects.equals(compression, userAgent.compression)) {
+            return false;
+        }
+
         return Objects.equals(idc, userAgent.idc);
     }
 
@@ -148,6 +164,7 @@ public class UserAgent {
         result = 31 * result + (idc != null ? idc.hashCode() : 0);
         result = 31 * result + (env != null ? env.hashCode() : 0);
         result = 31 * result + unack;
+        result = 31 * result + (compression != null ? compression.hashCode() : 0);
         return result;
     }
 }
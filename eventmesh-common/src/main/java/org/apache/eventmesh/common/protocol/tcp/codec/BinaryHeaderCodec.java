@@ -0,0 +1,155 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.common.protocol.tcp.codec;
+
+import org.apache.eventmesh.common.protocol.tcp.Command;
+import org.apache.eventmesh.common.protocol.tcp.Header;
+import org.apache.eventmesh.common.utils.JsonUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+
+/**
+ * Encode the {@link Header} to a compact binary layout, which is used by the protocol version
+ * {@link Codec#VERSION_BINARY_HEADER}:
+ * <pre>
+ * cmd(1) | code(4) | desc(string) | seq(string) | propertiesSize(4) | [key(string) | type(1) | value]...
+ * </pre>
+ * A string is written as its UTF-8 length(4) followed by the bytes, the length of a null string is -1,
+ * a null command is written as -1 and a null properties map is written as size -1.
+ * The common property types are written in binary, other types are written as json strings.
+ */
+public class BinaryHeaderCodec {
+
+    private static final byte NULL_COMMAND = -1;
+
+    private static final int NULL_LENGTH = -1;
+
+    private static final byte TYPE_NULL = 0;
+    private static final byte TYPE_STRING = 1;
+    private static final byte TYPE_INT = 2;
+    private static final byte TYPE_LONG = 3;
+    private static final byte TYPE_BOOLEAN = 4;
+    private static final byte TYPE_DOUBLE = 5;
+    private static final byte TYPE_JSON = 6;
+
+    public static void encode(Header header, ByteBuf out) {
+        out.writeByte(header.getCmd() == null ? NULL_COMMAND : header.getCmd().value());
+        out.writeInt(header.getCode());
+        writeString(header.getDesc(), out);
+        writeString(header.getSeq(), out);
+        Map<String, Object> properties = header.getProperties();
+        if (properties == null) {
+            out.writeInt(NULL_LENGTH);
+            return;
+        }
+        out.writeInt(properties.size());
+        for (Map.Entry<String, Object> property : properties.entrySet()) {
+            writeString(property.getKey(), out);
+            writeValue(property.getValue(), out);
+        }
+    }
+
+    public static Header decode(ByteBuf in) {
+        Header header = new Header();
+        byte cmd = in.readByte();
+        header.setCmd(cmd == NULL_COMMAND ? null : Command.valueOf(cmd));
+        header.setCode(in.readInt());
+        header.setDesc(readString(in));
+        header.setSeq(readString(in));
+        int size = in.readInt();
+        if (size == NULL_LENGTH) {
+            header.setProperties(null);
+            return header;
+        }
+        Map<String, Object> properties = new HashMap<>(Math.max(16, size * 2));
+        for (int i = 0; i < size; i++) {
+            String key = readString(in);
+            properties.put(key, readValue(in));
+        }
+        header.setProperties(properties);
+        return header;
+    }
+
+    private static void writeValue(Object value, ByteBuf out) {
+        if (value == null) {
+            out.writeByte(TYPE_NULL);
+        } else if (value instanceof String) {
+            out.writeByte(TYPE_STRING);
+            writeString((String) value, out);
+        } else if (value instanceof Integer) {
+            out.writeByte(TYPE_INT);
+            out.writeInt((Integer) value);
+        } else if (value instanceof Long) {
+            out.writeByte(TYPE_LONG);
+            out.writeLong((Long) value);
+        } else if (value instanceof Boolean) {
+            out.writeByte(TYPE_BOOLEAN);
+            out.writeBoolean((Boolean) value);
+        } else if (value instanceof Double) {
+            out.writeByte(TYPE_DOUBLE);
+            out.writeDouble((Double) value);
+        } else {
+            out.writeByte(TYPE_JSON);
+            writeString(JsonUtils.serialize(value), out);
+        }
+    }
+
+    private static Object readValue(ByteBuf in) {
+        byte type = in.readByte();
+        switch (type) {
+            case TYPE_NULL:
+                return null;
+            case TYPE_STRING:
+                return readString(in);
+            case TYPE_INT:
+                return in.readInt();
+            case TYPE_LONG:
+                return in.readLong();
+            case TYPE_BOOLEAN:
+                return in.readBoolean();
+            case TYPE_DOUBLE:
+                return in.readDouble();
+            case TYPE_JSON:
+                return JsonUtils.deserialize(readString(in), Object.class);
+            default:
+                throw new IllegalArgumentException(String.format("invalid header property type: %s", type));
+        }
+    }
+
+    private static void writeString(String value, ByteBuf out) {
+        if (value == null) {
+            out.writeInt(NULL_LENGTH);
+            return;
+        }
+        out.writeInt(ByteBufUtil.utf8Bytes(value));
+        ByteBufUtil.writeUtf8(out, value);
+    }
+
+    private static String readString(ByteBuf in) {
+        int length = in.readInt();
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        return in.readCharSequence(length, StandardCharsets.UTF_8).toString();
+    }
+}
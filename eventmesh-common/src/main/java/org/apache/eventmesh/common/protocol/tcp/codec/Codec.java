@@ -20,27 +20,38 @@ package org.apache.eventmesh.common.protocol.tcp.codec;
 import org.apache.eventmesh.common.Constants;
 import org.apache.eventmesh.common.protocol.tcp.Command;
 import org.apache.eventmesh.common.protocol.tcp.Header;
+import org.apache.eventmesh.common.protocol.tcp.MessageBody;
 import org.apache.eventmesh.common.protocol.tcp.Package;
 import org.apache.eventmesh.common.protocol.tcp.RedirectInfo;
 import org.apache.eventmesh.common.protocol.tcp.Subscription;
 import org.apache.eventmesh.common.protocol.tcp.UserAgent;
 import org.apache.eventmesh.common.utils.JsonUtils;
 
-import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.charset.Charset;
 import java.util.Arrays;
-import java.util.List;
 import java.util.TimeZone;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.buffer.ByteBufOutputStream;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.CompositeByteBuf;
 import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+import io.netty.handler.codec.EncoderException;
+import io.netty.handler.codec.LengthFieldBasedFrameDecoder;
 import io.netty.handler.codec.MessageToByteEncoder;
-import io.netty.handler.codec.ReplayingDecoder;
+import io.netty.util.Attribute;
+import io.netty.util.AttributeKey;
+import io.netty.util.ReferenceCountUtil;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
@@ -52,10 +63,52 @@ import lombok.extern.slf4j.Slf4j;
 public class Codec {
 
     private static final int FRAME_MAX_LENGTH = 1024 * 1024 * 4;
+
+    /**
+     * The bytes before the length field: the magic flag and the version
+     */
+    private static final int FRAME_PREFIX_LENGTH = 9 + 4;
     private static final Charset DEFAULT_CHARSET = Charset.forName(Constants.DEFAULT_CHARSET);
 
     private static final byte[] CONSTANT_MAGIC_FLAG = serializeBytes("EventMesh");
-    private static final byte[] VERSION = serializeBytes("0000");
+
+    /**
+     * The header is serialized to json
+     */
+    public static final String VERSION_JSON_HEADER = "0000";
+
+    /**
+     * The header is serialized to the binary layout of {@link BinaryHeaderCodec}
+     */
+    public static final String VERSION_BINARY_HEADER = "0001";
+
+    private static final byte[] VERSION = serializeBytes(VERSION_JSON_HEADER);
+    private static final byte[] BINARY_HEADER_VERSION = serializeBytes(VERSION_BINARY_HEADER);
+
+    /**
+     * The protocol version used to encode the packages of the channel. The client sets it to opt in the binary header,
+     * the server sets it to the version of the last package received from the client, so the client always gets
+     * the version it speaks. The json header is used if it is not set.
+     */
+    public static final AttributeKey<String> PROTOCOL_VERSION = AttributeKey.valueOf("eventmesh.tcp.protocolVersion");
+
+    /**
+     * The compression type negotiated for the channel in the hello request, the bodies are not compressed if it is not set.
+     * The frames are decoded with the compression type flagged in them, no matter whether it is set.
+     */
+    public static final AttributeKey<CompressionType> COMPRESSION_TYPE = AttributeKey.valueOf("eventmesh.tcp.compressionType");
+
+    /**
+     * The bodies shorter than it are not compressed, compression barely saves anything for them
+     */
+    public static final int DEFAULT_COMPRESSION_THRESHOLD = 1024;
+
+    /**
+     * The high byte of the header length field is the id of the {@link CompressionType} of the body, 0 means uncompressed.
+     * A compressed body starts with the length(4) of the original body.
+     */
+    private static final int COMPRESSION_TYPE_SHIFT = 24;
+    private static final int HEADER_LENGTH_MASK = (1 << COMPRESSION_TYPE_SHIFT) - 1;
 
     // todo: move to constants
     public static String CLOUD_EVENTS_PROTOCOL_NAME = "cloudevents";
@@ -73,7 +126,47 @@ public class Codec {
         OBJECT_MAPPER.setTimeZone(TimeZone.getDefault());
     }
 
+    /**
+     * The package is serialized straight into the pooled outbound buffer: the length fields are reserved
+     * and filled in after the header and the body are written, so no intermediate arrays are created.
+     * If the body of the package is a {@link ByteBuf} encoded by {@link #encodeBody(Package, ByteBufAllocator)},
+     * only the header is encoded and the body is written after it without copy, the body is released after it is written.
+     */
     public static class Encoder extends MessageToByteEncoder<Package> {
+
+        /**
+         * The estimated size of the header, used to size the outbound buffer together with the body length
+         */
+        private static final int HEADER_SIZE_ESTIMATE = 512;
+
+        private final int compressionThreshold;
+
+        public Encoder() {
+            this(DEFAULT_COMPRESSION_THRESHOLD);
+        }
+
+        /**
+         * @param compressionThreshold the min length of the bodies to compress, if the channel has a compression type
+         */
+        public Encoder(int compressionThreshold) {
+            this.compressionThreshold = compressionThreshold;
+        }
+
+        @Override
+        protected ByteBuf allocateBuffer(ChannelHandlerContext ctx, Package pkg, boolean preferDirect) {
+            int bodyLength = pkg.getBody() instanceof byte[] ? ((byte[]) pkg.getBody()).length : 0;
+            return ctx.alloc().ioBuffer(FRAME_PREFIX_LENGTH + 8 + HEADER_SIZE_ESTIMATE + bodyLength);
+        }
+
+        @Override
+        public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) throws Exception {
+            if (msg instanceof Package && ((Package) msg).getBody() instanceof ByteBuf) {
+                writeEncodedBody(ctx, (Package) msg, promise);
+                return;
+            }
+            super.write(ctx, msg, promise);
+        }
+
         @Override
         public void encode(ChannelHandlerContext ctx, Package pkg, ByteBuf out) throws Exception {
             Preconditions.checkNotNull(pkg, "TcpPackage cannot be null");
@@ -83,63 +176,158 @@ public class Codec {
                 log.debug("Encoder pkg={}", JsonUtils.serialize(pkg));
             }
 
-            final byte[] headerData = serializeBytes(OBJECT_MAPPER.writeValueAsString(header));
-            final byte[] bodyData;
+            final int startIndex = out.writerIndex();
+            try {
+                final int lengthIndex = encodeHeader(ctx, header, out);
+                final int headerLength = out.writerIndex() - lengthIndex - 8;
+                final int bodyIndex = out.writerIndex();
+                writeBody(pkg.getBody(), isCloudEvents(header), out, FRAME_MAX_LENGTH - (bodyIndex - lengthIndex));
+                if (out.writerIndex() - lengthIndex > FRAME_MAX_LENGTH) {
+                    throw new IllegalArgumentException("message size is exceed limit!");
+                }
+                CompressionType compressionType = compressBody(ctx, out, bodyIndex);
+                out.setInt(lengthIndex, out.writerIndex() - lengthIndex);
+                out.setInt(lengthIndex + 4,
+                    compressionType == null ? headerLength : compressionType.getId() << COMPRESSION_TYPE_SHIFT | headerLength);
+            } catch (Exception e) {
+                out.writerIndex(startIndex);
+                throw e;
+            }
+        }
 
-            if (StringUtils.equals(CLOUD_EVENTS_PROTOCOL_NAME, header.getStringProperty(Constants.PROTOCOL_TYPE))) {
-                bodyData = (byte[]) pkg.getBody();
+        /**
+         * Write the magic flag, the version, the placeholders of the length fields and the header
+         *
+         * @return the index of the length field
+         */
+        private int encodeHeader(ChannelHandlerContext ctx, Header header, ByteBuf out) throws IOException {
+            final boolean binaryHeader = isBinaryHeader(ctx);
+            out.writeBytes(CONSTANT_MAGIC_FLAG);
+            out.writeBytes(binaryHeader ? BINARY_HEADER_VERSION : VERSION);
+            final int lengthIndex = out.writerIndex();
+            out.writeInt(0);
+            out.writeInt(0);
+            if (binaryHeader) {
+                BinaryHeaderCodec.encode(header, out);
             } else {
-                bodyData = serializeBytes(OBJECT_MAPPER.writeValueAsString(pkg.getBody()));
+                OBJECT_MAPPER.writeValue((OutputStream) new ByteBufOutputStream(out), header);
             }
+            return lengthIndex;
+        }
 
-            int headerLength = ArrayUtils.getLength(headerData);
-            int bodyLength = ArrayUtils.getLength(bodyData);
-
-            int length = 4 + 4 + headerLength + bodyLength;
-
-            if (length > FRAME_MAX_LENGTH) {
-                throw new IllegalArgumentException("message size is exceed limit!");
+        /**
+         * Encode the header to a new buffer and write it together with the encoded body as one composite buffer,
+         * the encoded body is not compressed.
+         */
+        private void writeEncodedBody(ChannelHandlerContext ctx, Package pkg, ChannelPromise promise) {
+            ByteBuf body = (ByteBuf) pkg.getBody();
+            ByteBuf frame = null;
+            try {
+                Preconditions.checkNotNull(pkg.getHeader(), "TcpPackage header cannot be null");
+                frame = ctx.alloc().ioBuffer(FRAME_PREFIX_LENGTH + 8 + HEADER_SIZE_ESTIMATE);
+                final int lengthIndex = encodeHeader(ctx, pkg.getHeader(), frame);
+                final int headerLength = frame.writerIndex() - lengthIndex - 8;
+                final int length = 8 + headerLength + body.readableBytes();
+                if (length > FRAME_MAX_LENGTH) {
+                    throw new IllegalArgumentException("message size is exceed limit!");
+                }
+                frame.setInt(lengthIndex, length);
+                frame.setInt(lengthIndex + 4, headerLength);
+                CompositeByteBuf composite = ctx.alloc().compositeDirectBuffer(2).addComponents(true, frame, body);
+                frame = null;
+                body = null;
+                ctx.write(composite, promise);
+            } catch (Throwable e) {
+                ReferenceCountUtil.safeRelease(frame);
+                ReferenceCountUtil.safeRelease(body);
+                promise.setFailure(new EncoderException(e));
             }
+        }
 
-            out.writeBytes(CONSTANT_MAGIC_FLAG);
-            out.writeBytes(VERSION);
-            out.writeInt(length);
-            out.writeInt(headerLength);
-            if (headerData != null) {
-                out.writeBytes(headerData);
+        /**
+         * Replace the body written from the bodyIndex with the compressed one, if the channel has a compression type
+         * and the body is long enough. The body is kept as it is if it can't be compressed smaller.
+         *
+         * @return the compression type of the body, null if the body is not compressed
+         */
+        private CompressionType compressBody(ChannelHandlerContext ctx, ByteBuf out, int bodyIndex) {
+            final int bodyLength = out.writerIndex() - bodyIndex;
+            if (ctx == null || bodyLength < compressionThreshold) {
+                return null;
+            }
+            CompressionType compressionType = ctx.channel().attr(COMPRESSION_TYPE).get();
+            if (compressionType == null) {
+                return null;
             }
-            if (bodyData != null) {
-                out.writeBytes(bodyData);
+            byte[] compressed = new byte[compressionType.maxCompressedLength(bodyLength)];
+            int compressedLength;
+            if (out.hasArray()) {
+                compressedLength = compressionType.compress(out.array(), out.arrayOffset() + bodyIndex, bodyLength, compressed);
+            } else {
+                compressedLength = compressionType.compress(ByteBufUtil.getBytes(out, bodyIndex, bodyLength), 0, bodyLength, compressed);
             }
+            if (compressedLength + 4 >= bodyLength) {
+                return null;
+            }
+            out.writerIndex(bodyIndex);
+            out.writeInt(bodyLength);
+            out.writeBytes(compressed, 0, compressedLength);
+            compressionType.record(bodyLength, compressedLength + 4);
+            return compressionType;
         }
-    }
 
-    public static class Decoder extends ReplayingDecoder<Package> {
-        @Override
-        public void decode(ChannelHandlerContext ctx, ByteBuf in, List<Object> out) throws Exception {
-            try {
-                if (null == in) {
-                    return;
-                }
+        private boolean isCloudEvents(Header header) {
+            return StringUtils.equals(CLOUD_EVENTS_PROTOCOL_NAME, header.getStringProperty(Constants.PROTOCOL_TYPE));
+        }
+
+        private boolean isBinaryHeader(ChannelHandlerContext ctx) {
+            return ctx != null && VERSION_BINARY_HEADER.equals(ctx.channel().attr(PROTOCOL_VERSION).get());
+        }
+    }
 
-                byte[] flagBytes = parseFlag(in);
-                byte[] versionBytes = parseVersion(in);
-                validateFlag(flagBytes, versionBytes, ctx);
+    /**
+     * The frame is decoded only when all of its bytes are received, the header is parsed from the frame in place
+     * and the message body is handed to the protocol plugins as raw bytes.
+     */
+    public static class Decoder extends LengthFieldBasedFrameDecoder {
 
-                final int length = in.readInt();
-                final int headerLength = in.readInt();
-                final int bodyLength = length - 8 - headerLength;
-                Header header = parseHeader(in, headerLength);
-                Object body = parseBody(in, header, bodyLength);
+        public Decoder() {
+            super(FRAME_PREFIX_LENGTH + FRAME_MAX_LENGTH, FRAME_PREFIX_LENGTH, 4, -4, 0);
+        }
 
-                Package pkg = new Package(header, body);
-                out.add(pkg);
+        @Override
+        protected Object decode(ChannelHandlerContext ctx, ByteBuf in) throws Exception {
+            ByteBuf frame = (ByteBuf) super.decode(ctx, in);
+            if (frame == null) {
+                return null;
+            }
+            try {
+                return decodeFrame(ctx, frame);
             } catch (Exception e) {
-                log.error("decode error| receive: {}.", deserializeBytes(in.array()));
+                log.error("decode error| receive: {}.", frame.toString(0, frame.capacity(), DEFAULT_CHARSET));
                 throw e;
+            } finally {
+                frame.release();
             }
         }
 
+        private Package decodeFrame(ChannelHandlerContext ctx, ByteBuf frame) throws Exception {
+            byte[] flagBytes = parseFlag(frame);
+            byte[] versionBytes = parseVersion(frame);
+            validateFlag(flagBytes, versionBytes, ctx);
+            boolean binaryHeader = Arrays.equals(versionBytes, BINARY_HEADER_VERSION);
+            updateProtocolVersion(ctx, binaryHeader);
+
+            final int length = frame.readInt();
+            final int headerLengthField = frame.readInt();
+            final int headerLength = headerLengthField & HEADER_LENGTH_MASK;
+            final byte compressionTypeId = (byte) (headerLengthField >>> COMPRESSION_TYPE_SHIFT);
+            final int bodyLength = length - 8 - headerLength;
+            Header header = binaryHeader ? parseBinaryHeader(frame, headerLength) : parseHeader(frame, headerLength);
+            Object body = parseBody(frame, header, bodyLength, compressionTypeId == 0 ? null : CompressionType.get(compressionTypeId));
+            return new Package(header, body);
+        }
+
         private byte[] parseFlag(ByteBuf in) {
             final byte[] flagBytes = new byte[CONSTANT_MAGIC_FLAG.length];
             in.readBytes(flagBytes);
@@ -152,53 +340,138 @@ public class Codec {
             return versionBytes;
         }
 
-        private Header parseHeader(ByteBuf in, int headerLength) throws JsonProcessingException {
+        private Header parseHeader(ByteBuf in, int headerLength) throws IOException {
             if (headerLength <= 0) {
                 return null;
             }
-            final byte[] headerData = new byte[headerLength];
-            in.readBytes(headerData);
+            ByteBuf headerData = in.readSlice(headerLength);
             if (log.isDebugEnabled()) {
-                log.debug("Decode headerJson={}", deserializeBytes(headerData));
+                log.debug("Decode headerJson={}", headerData.toString(DEFAULT_CHARSET));
+            }
+            return OBJECT_MAPPER.readValue((InputStream) new ByteBufInputStream(headerData), Header.class);
+        }
+
+        private Header parseBinaryHeader(ByteBuf in, int headerLength) {
+            if (headerLength <= 0) {
+                return null;
+            }
+            int endIndex = in.readerIndex() + headerLength;
+            Header header = BinaryHeaderCodec.decode(in);
+            if (in.readerIndex() != endIndex) {
+                throw new IllegalArgumentException(String.format("invalid binary header length: %s", headerLength));
+            }
+            return header;
+        }
+
+        /**
+         * Reply the client with the protocol version it uses
+         */
+        private void updateProtocolVersion(ChannelHandlerContext ctx, boolean binaryHeader) {
+            if (ctx == null) {
+                return;
+            }
+            Attribute<String> protocolVersion = ctx.channel().attr(PROTOCOL_VERSION);
+            String version = binaryHeader ? VERSION_BINARY_HEADER : VERSION_JSON_HEADER;
+            if (!version.equals(protocolVersion.get())) {
+                protocolVersion.set(version);
             }
-            return OBJECT_MAPPER.readValue(deserializeBytes(headerData), Header.class);
         }
 
-        private Object parseBody(ByteBuf in, Header header, int bodyLength) throws JsonProcessingException {
+        private Object parseBody(ByteBuf in, Header header, int bodyLength, CompressionType compressionType) throws IOException {
             if (bodyLength <= 0 || header == null) {
                 return null;
             }
-            final byte[] bodyData = new byte[bodyLength];
-            in.readBytes(bodyData);
+            final byte[] bodyData = compressionType == null
+                ? ByteBufUtil.getBytes(in, in.readerIndex(), bodyLength)
+                : decompressBody(in, bodyLength, compressionType);
+            in.skipBytes(bodyLength);
             if (log.isDebugEnabled()) {
                 log.debug("Decode bodyJson={}", deserializeBytes(bodyData));
             }
-            return deserializeBody(deserializeBytes(bodyData), header);
+            return deserializeBody(bodyData, header);
+        }
+
+        private byte[] decompressBody(ByteBuf in, int bodyLength, CompressionType compressionType) {
+            final int originalLength = in.getInt(in.readerIndex());
+            if (originalLength < 0 || originalLength > FRAME_MAX_LENGTH) {
+                throw new IllegalArgumentException(String.format("invalid original body length: %s", originalLength));
+            }
+            final int compressedLength = bodyLength - 4;
+            final byte[] bodyData = new byte[originalLength];
+            if (in.hasArray()) {
+                compressionType.decompress(in.array(), in.arrayOffset() + in.readerIndex() + 4, compressedLength, bodyData);
+            } else {
+                compressionType.decompress(ByteBufUtil.getBytes(in, in.readerIndex() + 4, compressedLength), 0, compressedLength, bodyData);
+            }
+            compressionType.record(originalLength, bodyLength);
+            return bodyData;
         }
 
         private void validateFlag(byte[] flagBytes, byte[] versionBytes, ChannelHandlerContext ctx) {
-            if (!Arrays.equals(flagBytes, CONSTANT_MAGIC_FLAG) || !Arrays.equals(versionBytes, VERSION)) {
+            if (!Arrays.equals(flagBytes, CONSTANT_MAGIC_FLAG)
+                    || !Arrays.equals(versionBytes, VERSION) && !Arrays.equals(versionBytes, BINARY_HEADER_VERSION)) {
                 String errorMsg = String.format(
                         "invalid magic flag or version|flag=%s|version=%s|remoteAddress=%s",
-                        deserializeBytes(flagBytes), deserializeBytes(versionBytes), ctx.channel().remoteAddress());
+                        deserializeBytes(flagBytes), deserializeBytes(versionBytes), ctx == null ? null : ctx.channel().remoteAddress());
                 throw new IllegalArgumentException(errorMsg);
             }
         }
     }
 
-    private static Object deserializeBody(String bodyJsonString, Header header) throws JsonProcessingException {
+    /**
+     * Encode the body of the package once, so that it can be sent to many channels without being serialized again:
+     * set the retained duplicates of the returned buffer as the bodies of the packages to send.
+     *
+     * @param pkg package whose header has the protocol type of the body
+     * @param allocator allocator of the returned buffer
+     * @return the encoded body, which should be released by the caller
+     */
+    public static ByteBuf encodeBody(Package pkg, ByteBufAllocator allocator) throws IOException {
+        Preconditions.checkNotNull(pkg.getHeader(), "TcpPackage header cannot be null");
+        final boolean cloudEvents = StringUtils.equals(CLOUD_EVENTS_PROTOCOL_NAME, pkg.getHeader().getStringProperty(Constants.PROTOCOL_TYPE));
+        final ByteBuf out = allocator.directBuffer();
+        try {
+            writeBody(pkg.getBody(), cloudEvents, out, FRAME_MAX_LENGTH);
+            return out;
+        } catch (Exception e) {
+            out.release();
+            throw e;
+        }
+    }
+
+    /**
+     * The cloudevents body is already serialized by the protocol plugin and is copied to the buffer once,
+     * other bodies are serialized to json in place.
+     */
+    private static void writeBody(Object body, boolean cloudEvents, ByteBuf out, int maxLength) throws IOException {
+        if (cloudEvents) {
+            byte[] bodyData = MessageBody.toBytes(body);
+            if (bodyData == null) {
+                return;
+            }
+            if (bodyData.length > maxLength) {
+                throw new IllegalArgumentException("message size is exceed limit!");
+            }
+            out.writeBytes(bodyData);
+            return;
+        }
+        OBJECT_MAPPER.writeValue((OutputStream) new ByteBufOutputStream(out), body);
+    }
+
+    private static Object deserializeBody(byte[] bodyData, Header header) throws IOException {
         Command command = header.getCmd();
         switch (command) {
             case HELLO_REQUEST:
             case RECOMMEND_REQUEST:
-                return OBJECT_MAPPER.readValue(bodyJsonString, UserAgent.class);
+                return OBJECT_MAPPER.readValue(bodyData, UserAgent.class);
             case SUBSCRIBE_REQUEST:
             case UNSUBSCRIBE_REQUEST:
-                return OBJECT_MAPPER.readValue(bodyJsonString, Subscription.class);
+                return OBJECT_MAPPER.readValue(bodyData, Subscription.class);
             case REQUEST_TO_SERVER:
             case RESPONSE_TO_SERVER:
             case ASYNC_MESSAGE_TO_SERVER:
             case BROADCAST_MESSAGE_TO_SERVER:
+            case BATCH_MESSAGE_TO_SERVER:
             case REQUEST_TO_CLIENT:
             case RESPONSE_TO_CLIENT:
             case ASYNC_MESSAGE_TO_CLIENT:
@@ -207,11 +480,11 @@ public class Codec {
             case RESPONSE_TO_CLIENT_ACK:
             case ASYNC_MESSAGE_TO_CLIENT_ACK:
             case BROADCAST_MESSAGE_TO_CLIENT_ACK:
-                // The message string will be deserialized by protocol plugin, if the event is cloudevents, the body is
-                // just a string.
-                return bodyJsonString;
+                // The message will be deserialized by protocol plugin, the raw bytes are kept so that the plugin
+                // doesn't need to convert the body to a string and back.
+                return new MessageBody(bodyData);
             case REDIRECT_TO_CLIENT:
-                return OBJECT_MAPPER.readValue(bodyJsonString, RedirectInfo.class);
+                return OBJECT_MAPPER.readValue(bodyData, RedirectInfo.class);
             default:
                 log.warn("Invalidate TCP command: {}", command);
                 return null;
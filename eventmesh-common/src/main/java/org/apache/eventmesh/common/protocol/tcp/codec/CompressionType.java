@@ -0,0 +1,213 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.common.protocol.tcp.codec;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.LongAdder;
+
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4SafeDecompressor;
+
+import com.github.luben.zstd.Zstd;
+
+/**
+ * The algorithms used to compress the body of a TCP frame. The client advertises the algorithms it supports in
+ * {@link org.apache.eventmesh.common.protocol.tcp.UserAgent#getCompression()}, the server picks one of them in the
+ * hello response, and then both sides compress the bodies above their thresholds with it.
+ * The id of the algorithm is written to the frame, so a frame is always decoded with the algorithm it is encoded with.
+ */
+public enum CompressionType {
+
+    /**
+     * Fast compression with a moderate ratio, for low latency links
+     */
+    LZ4((byte) 1, "lz4") {
+
+        private final LZ4Compressor compressor = LZ4Factory.fastestInstance().fastCompressor();
+
+        private final LZ4SafeDecompressor decompressor = LZ4Factory.fastestInstance().safeDecompressor();
+
+        @Override
+        public int maxCompressedLength(int length) {
+            return compressor.maxCompressedLength(length);
+        }
+
+        @Override
+        public int compress(byte[] src, int offset, int length, byte[] dest) {
+            return compressor.compress(src, offset, length, dest, 0, dest.length);
+        }
+
+        @Override
+        public void decompress(byte[] src, int offset, int length, byte[] dest) {
+            int decompressedLength = decompressor.decompress(src, offset, length, dest, 0, dest.length);
+            if (decompressedLength != dest.length) {
+                throw new IllegalArgumentException(String.format("invalid lz4 body length: %s, expected: %s",
+                    decompressedLength, dest.length));
+            }
+        }
+    },
+
+    /**
+     * Higher compression ratio at a higher cpu cost, for the links between data centers
+     */
+    ZSTD((byte) 2, "zstd") {
+
+        private final int level = Zstd.defaultCompressionLevel();
+
+        @Override
+        public int maxCompressedLength(int length) {
+            return (int) Zstd.compressBound(length);
+        }
+
+        @Override
+        public int compress(byte[] src, int offset, int length, byte[] dest) {
+            return (int) checkZstdResult(Zstd.compressByteArray(dest, 0, dest.length, src, offset, length, level));
+        }
+
+        @Override
+        public void decompress(byte[] src, int offset, int length, byte[] dest) {
+            long decompressedLength = checkZstdResult(Zstd.decompressByteArray(dest, 0, dest.length, src, offset, length));
+            if (decompressedLength != dest.length) {
+                throw new IllegalArgumentException(String.format("invalid zstd body length: %s, expected: %s",
+                    decompressedLength, dest.length));
+            }
+        }
+
+        private long checkZstdResult(long result) {
+            if (Zstd.isError(result)) {
+                throw new IllegalArgumentException(String.format("zstd error: %s", Zstd.getErrorName(result)));
+            }
+            return result;
+        }
+    };
+
+    private final byte id;
+
+    private final String name;
+
+    private final LongAdder rawBytes = new LongAdder();
+
+    private final LongAdder compressedBytes = new LongAdder();
+
+    CompressionType(byte id, String name) {
+        this.id = id;
+        this.name = name;
+    }
+
+    public byte getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Get the max length of the compressed data
+     */
+    public abstract int maxCompressedLength(int length);
+
+    /**
+     * Compress the data to the dest array, which is at least {@link #maxCompressedLength(int)} long
+     *
+     * @return the length of the compressed data
+     */
+    public abstract int compress(byte[] src, int offset, int length, byte[] dest);
+
+    /**
+     * Decompress the data to the dest array, whose length is the length of the original data
+     */
+    public abstract void decompress(byte[] src, int offset, int length, byte[] dest);
+
+    /**
+     * Record the sizes of a compressed body, they are summed up for both directions
+     */
+    public void record(int rawLength, int compressedLength) {
+        rawBytes.add(rawLength);
+        compressedBytes.add(compressedLength);
+    }
+
+    public long getRawBytes() {
+        return rawBytes.sum();
+    }
+
+    public long getCompressedBytes() {
+        return compressedBytes.sum();
+    }
+
+    /**
+     * Get the compression ratio of all the bodies compressed and decompressed by this process
+     *
+     * @return raw bytes / compressed bytes, 1 if nothing is compressed
+     */
+    public static double getCompressionRatio() {
+        long raw = 0;
+        long compressed = 0;
+        for (CompressionType type : values()) {
+            raw += type.getRawBytes();
+            compressed += type.getCompressedBytes();
+        }
+        return compressed == 0 ? 1 : (double) raw / compressed;
+    }
+
+    public static CompressionType get(byte id) {
+        for (CompressionType type : values()) {
+            if (type.id == id) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException(String.format("unknown compression type: %s", id));
+    }
+
+    /**
+     * Get the compression type by name, case insensitive
+     *
+     * @return null if the name is blank or unknown
+     */
+    public static CompressionType of(String name) {
+        for (CompressionType type : values()) {
+            if (type.name.equalsIgnoreCase(StringUtils.trim(name))) {
+                return type;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Pick the first of the types offered by the client which is also supported by the server
+     *
+     * @param offered   comma separated type names, in the order the client prefers
+     * @param supported types supported by the server
+     * @return null if there is no common type
+     */
+    public static CompressionType negotiate(String offered, Collection<CompressionType> supported) {
+        if (StringUtils.isBlank(offered) || supported == null) {
+            return null;
+        }
+        for (String name : StringUtils.split(offered, ',')) {
+            CompressionType type = of(name);
+            if (type != null && supported.contains(type)) {
+                return type;
+            }
+        }
+        return null;
+    }
+}
@@ -19,6 +19,8 @@ package org.apache.eventmesh.common.utils;
 
 import org.apache.eventmesh.common.exception.JsonException;
 
+import java.io.IOException;
+
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -49,6 +51,20 @@ public class JsonUtils {
         }
     }
 
+    /**
+     * Serialize object to utf-8 encoded json bytes.
+     *
+     * @param obj obj
+     * @return json bytes
+     */
+    public static byte[] serializeAsBytes(Object obj) {
+        try {
+            return OBJECT_MAPPER.writeValueAsBytes(obj);
+        } catch (JsonProcessingException e) {
+            throw new JsonException("serialize to json error", e);
+        }
+    }
+
     /**
      * Deserialize json string to object.
      *
@@ -80,4 +96,20 @@ public class JsonUtils {
             throw new JsonException("deserialize json string to object error", e);
         }
     }
+
+    /**
+     * Deserialize utf-8 encoded json bytes to object, the bytes are read by the streaming parser directly.
+     *
+     * @param bytes         json bytes
+     * @param typeReference object type reference
+     * @param <T>           object type
+     * @return object
+     */
+    public static <T> T deserialize(byte[] bytes, TypeReference<T> typeReference) {
+        try {
+            return OBJECT_MAPPER.readValue(bytes, typeReference);
+        } catch (IOException e) {
+            throw new JsonException("deserialize json bytes to object error", e);
+        }
+    }
 }
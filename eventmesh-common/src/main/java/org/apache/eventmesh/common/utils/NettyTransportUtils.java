@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.common.utils;
+
+import java.util.concurrent.ThreadFactory;
+
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.ServerChannel;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollChannelOption;
+import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.epoll.EpollMode;
+import io.netty.channel.epoll.EpollServerSocketChannel;
+import io.netty.channel.epoll.EpollSocketChannel;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+
+/**
+ * Pick the native epoll transport of netty on Linux, and the NIO transport if it is disabled or not available.
+ * The event loop groups and the channels of a bootstrap must come from the same transport.
+ */
+public class NettyTransportUtils {
+
+    /**
+     * @param epollEnabled whether epoll is enabled by the configuration
+     * @return true if epoll is enabled and the native library is loaded
+     */
+    public static boolean useEpoll(boolean epollEnabled) {
+        return epollEnabled && Epoll.isAvailable();
+    }
+
+    public static EventLoopGroup newEventLoopGroup(boolean epoll, int threads, ThreadFactory threadFactory) {
+        return epoll ? new EpollEventLoopGroup(threads, threadFactory) : new NioEventLoopGroup(threads, threadFactory);
+    }
+
+    public static Class<? extends ServerChannel> serverChannelClass(boolean epoll) {
+        return epoll ? EpollServerSocketChannel.class : NioServerSocketChannel.class;
+    }
+
+    public static Class<? extends SocketChannel> channelClass(boolean epoll) {
+        return epoll ? EpollSocketChannel.class : NioSocketChannel.class;
+    }
+
+    /**
+     * Set the options only supported by epoll, the accepted channels are edge-triggered, and SO_REUSEPORT lets the
+     * port be bound once by each acceptor thread so that the kernel balances the connections among them.
+     *
+     * @param bootstrap the server bootstrap whose channel is from {@link #serverChannelClass(boolean)}
+     * @param epoll     whether the bootstrap uses epoll
+     * @param reusePort whether to set SO_REUSEPORT on the server channel
+     */
+    public static void applyServerOptions(ServerBootstrap bootstrap, boolean epoll, boolean reusePort) {
+        if (!epoll) {
+            return;
+        }
+        bootstrap.option(EpollChannelOption.SO_REUSEPORT, reusePort)
+            .childOption(EpollChannelOption.EPOLL_MODE, EpollMode.EDGE_TRIGGERED);
+    }
+}
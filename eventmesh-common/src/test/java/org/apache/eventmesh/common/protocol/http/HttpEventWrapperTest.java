@@ -0,0 +1,70 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.common.protocol.http;
+
+import org.apache.eventmesh.common.exception.JsonException;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class HttpEventWrapperTest {
+
+    @Test
+    public void testGetBodyMap() {
+        HttpEventWrapper httpEventWrapper = new HttpEventWrapper();
+        httpEventWrapper.setBody("{\"content\":\"事件\",\"ttl\":3000}".getBytes(StandardCharsets.UTF_8));
+        Assert.assertEquals("事件", httpEventWrapper.getBodyMap().get("content"));
+        Assert.assertEquals(3000, httpEventWrapper.getBodyMap().get("ttl"));
+        Assert.assertSame(httpEventWrapper.getBodyMap(), httpEventWrapper.getBodyMap());
+    }
+
+    @Test
+    public void testGetBodyMapAfterSetBody() {
+        HttpEventWrapper httpEventWrapper = new HttpEventWrapper();
+        httpEventWrapper.setBody("{\"content\":\"first\"}".getBytes(StandardCharsets.UTF_8));
+        Assert.assertEquals("first", httpEventWrapper.getBodyMap().get("content"));
+        httpEventWrapper.setBody("{\"content\":\"second\"}".getBytes(StandardCharsets.UTF_8));
+        Assert.assertEquals("second", httpEventWrapper.getBodyMap().get("content"));
+    }
+
+    @Test
+    public void testGetBodyMapWithEmptyBody() {
+        HttpEventWrapper httpEventWrapper = new HttpEventWrapper();
+        Assert.assertTrue(httpEventWrapper.getBodyMap().isEmpty());
+        httpEventWrapper.setBody(new byte[0]);
+        Assert.assertTrue(httpEventWrapper.getBodyMap().isEmpty());
+    }
+
+    @Test
+    public void testGetBodyMapWithNullBody() {
+        HttpEventWrapper httpEventWrapper = new HttpEventWrapper();
+        httpEventWrapper.setBody("null".getBytes(StandardCharsets.UTF_8));
+        Assert.assertNotNull(httpEventWrapper.getBodyMap());
+        Assert.assertTrue(httpEventWrapper.getBodyMap().isEmpty());
+        Assert.assertSame(httpEventWrapper.getBodyMap(), httpEventWrapper.getBodyMap());
+    }
+
+    @Test(expected = JsonException.class)
+    public void testGetBodyMapWithInvalidBody() {
+        HttpEventWrapper httpEventWrapper = new HttpEventWrapper();
+        httpEventWrapper.setBody("{\"content\":".getBytes(StandardCharsets.UTF_8));
+        httpEventWrapper.getBodyMap();
+    }
+}
@@ -17,17 +17,24 @@
 
 package org.apache.eventmesh.common.protocol.tcp.codec;
 
+import org.apache.eventmesh.common.Constants;
+import org.apache.eventmesh.common.protocol.tcp.BatchMessageBody;
 import org.apache.eventmesh.common.protocol.tcp.Command;
 import org.apache.eventmesh.common.protocol.tcp.Header;
+import org.apache.eventmesh.common.protocol.tcp.MessageBody;
 import org.apache.eventmesh.common.protocol.tcp.Package;
 
-import java.util.ArrayList;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 
 import org.junit.Assert;
 import org.junit.Test;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.channel.embedded.EmbeddedChannel;
 
 public class CodecTest {
 
@@ -40,11 +47,199 @@ public class CodecTest {
         Codec.Encoder ce = new Codec.Encoder();
         ByteBuf buf = PooledByteBufAllocator.DEFAULT.buffer();
         ce.encode(null, testP, buf);
-        Codec.Decoder cd = new Codec.Decoder();
-        ArrayList<Object> result = new ArrayList<>();
-        cd.decode(null, buf, result);
-        Assert.assertNotNull(result.get(0));
-        Assert.assertEquals(testP.getHeader(), ((Package) result.get(0)).getHeader());
+        EmbeddedChannel channel = new EmbeddedChannel(new Codec.Decoder());
+        Assert.assertTrue(channel.writeInbound(buf));
+        Package result = channel.readInbound();
+        Assert.assertNotNull(result);
+        Assert.assertEquals(testP.getHeader(), result.getHeader());
     }
 
+    @Test
+    public void testBinaryHeaderCodec() {
+        Header header = new Header(Command.ASYNC_MESSAGE_TO_SERVER, 0, "success", "seq-1");
+        header.putProperty("protocoltype", "cloudevents");
+        header.putProperty("intProperty", 1);
+        header.putProperty("longProperty", 2L);
+        header.putProperty("booleanProperty", true);
+        header.putProperty("nullProperty", null);
+        Package pkg = new Package(header, "body".getBytes(StandardCharsets.UTF_8));
+
+        EmbeddedChannel client = new EmbeddedChannel(new Codec.Encoder());
+        client.attr(Codec.PROTOCOL_VERSION).set(Codec.VERSION_BINARY_HEADER);
+        Assert.assertTrue(client.writeOutbound(pkg));
+        ByteBuf frame = client.readOutbound();
+
+        EmbeddedChannel server = new EmbeddedChannel(new Codec.Decoder());
+        Assert.assertTrue(server.writeInbound(frame));
+        Package decoded = server.readInbound();
+        Assert.assertEquals(header, decoded.getHeader());
+        Assert.assertEquals("body", decoded.getBody().toString());
+        // the server replies with the version the client speaks
+        Assert.assertEquals(Codec.VERSION_BINARY_HEADER, server.attr(Codec.PROTOCOL_VERSION).get());
+    }
+
+    @Test
+    public void testDecodeFragmentedFrame() {
+        Header header = new Header(Command.ASYNC_MESSAGE_TO_CLIENT, 0, null, "seq-3");
+        header.putProperty(Constants.PROTOCOL_TYPE, Codec.CLOUD_EVENTS_PROTOCOL_NAME);
+        byte[] body = "{\"id\":\"1\"}".getBytes(StandardCharsets.UTF_8);
+        EmbeddedChannel client = new EmbeddedChannel(new Codec.Encoder());
+        Assert.assertTrue(client.writeOutbound(new Package(header, body)));
+        ByteBuf frame = client.readOutbound();
+
+        EmbeddedChannel server = new EmbeddedChannel(new Codec.Decoder());
+        // nothing is decoded before the whole frame is received
+        Assert.assertFalse(server.writeInbound(frame.readRetainedSlice(20)));
+        Assert.assertTrue(server.writeInbound(frame));
+        Package decoded = server.readInbound();
+        Assert.assertEquals(header, decoded.getHeader());
+        Assert.assertTrue(decoded.getBody() instanceof MessageBody);
+        Assert.assertArrayEquals(body, ((MessageBody) decoded.getBody()).getBytes());
+        Assert.assertEquals("{\"id\":\"1\"}", decoded.getBody().toString());
+    }
+
+    @Test
+    public void testJsonHeaderClientIsRepliedInJson() {
+        Header header = new Header(Command.HEARTBEAT_REQUEST, 0, null, "seq-2");
+        EmbeddedChannel client = new EmbeddedChannel(new Codec.Encoder());
+        Assert.assertTrue(client.writeOutbound(new Package(header)));
+
+        EmbeddedChannel server = new EmbeddedChannel(new Codec.Decoder());
+        Assert.assertTrue(server.writeInbound(client.<ByteBuf>readOutbound()));
+        Package decoded = server.readInbound();
+        Assert.assertEquals(Command.HEARTBEAT_REQUEST, decoded.getHeader().getCmd());
+        Assert.assertEquals(Codec.VERSION_JSON_HEADER, server.attr(Codec.PROTOCOL_VERSION).get());
+    }
+
+    @Test
+    public void testEncodeJsonBodyInPlace() {
+        Header header = new Header(Command.ASYNC_MESSAGE_TO_SERVER, 0, null, "seq-4");
+        header.putProperty(Constants.PROTOCOL_TYPE, Codec.EM_MESSAGE_PROTOCOL_NAME);
+        EmbeddedChannel client = new EmbeddedChannel(new Codec.Encoder());
+        Assert.assertTrue(client.writeOutbound(new Package(header, "body")));
+        ByteBuf frame = client.readOutbound();
+        Assert.assertTrue(frame.isDirect());
+
+        EmbeddedChannel server = new EmbeddedChannel(new Codec.Decoder());
+        Assert.assertTrue(server.writeInbound(frame));
+        Package decoded = server.readInbound();
+        Assert.assertEquals(header, decoded.getHeader());
+        Assert.assertEquals("\"body\"", decoded.getBody().toString());
+    }
+
+    @Test
+    public void testEncodeExceedLimit() throws Exception {
+        Header header = new Header(Command.ASYNC_MESSAGE_TO_SERVER, 0, null, "seq-5");
+        header.putProperty(Constants.PROTOCOL_TYPE, Codec.CLOUD_EVENTS_PROTOCOL_NAME);
+        ByteBuf buf = PooledByteBufAllocator.DEFAULT.buffer();
+        try {
+            Assert.assertThrows(IllegalArgumentException.class,
+                () -> new Codec.Encoder().encode(null, new Package(header, new byte[4 * 1024 * 1024]), buf));
+            // nothing of the rejected package is left in the buffer
+            Assert.assertEquals(0, buf.writerIndex());
+        } finally {
+            buf.release();
+        }
+    }
+
+    @Test
+    public void testCompressedBody() {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            builder.append("{\"id\":\"").append(i).append("\",\"source\":\"testsource\",\"type\":\"testType\"}");
+        }
+        byte[] body = builder.toString().getBytes(StandardCharsets.UTF_8);
+        for (CompressionType compressionType : CompressionType.values()) {
+            Header header = new Header(Command.ASYNC_MESSAGE_TO_CLIENT, 0, null, "seq-6");
+            header.putProperty(Constants.PROTOCOL_TYPE, Codec.CLOUD_EVENTS_PROTOCOL_NAME);
+            EmbeddedChannel client = new EmbeddedChannel(new Codec.Encoder());
+            client.attr(Codec.COMPRESSION_TYPE).set(compressionType);
+            Assert.assertTrue(client.writeOutbound(new Package(header, body)));
+            ByteBuf frame = client.readOutbound();
+            Assert.assertTrue(frame.readableBytes() < body.length / 4);
+
+            EmbeddedChannel server = new EmbeddedChannel(new Codec.Decoder());
+            Assert.assertTrue(server.writeInbound(frame));
+            Package decoded = server.readInbound();
+            Assert.assertEquals(header, decoded.getHeader());
+            Assert.assertArrayEquals(body, ((MessageBody) decoded.getBody()).getBytes());
+        }
+        Assert.assertTrue(CompressionType.getCompressionRatio() > 4);
+    }
+
+    @Test
+    public void testBodyBelowCompressionThreshold() {
+        Header header = new Header(Command.ASYNC_MESSAGE_TO_CLIENT, 0, null, "seq-7");
+        header.putProperty(Constants.PROTOCOL_TYPE, Codec.CLOUD_EVENTS_PROTOCOL_NAME);
+        byte[] body = new byte[Codec.DEFAULT_COMPRESSION_THRESHOLD - 1];
+        EmbeddedChannel client = new EmbeddedChannel(new Codec.Encoder());
+        client.attr(Codec.COMPRESSION_TYPE).set(CompressionType.LZ4);
+        Assert.assertTrue(client.writeOutbound(new Package(header, body)));
+        ByteBuf frame = client.readOutbound();
+        try {
+            // the compression type flag in the header length field is not set
+            Assert.assertEquals(0, frame.getByte(13 + 4));
+        } finally {
+            frame.release();
+        }
+    }
+
+    @Test
+    public void testNegotiateCompressionType() {
+        Assert.assertEquals(CompressionType.ZSTD, CompressionType.negotiate("zstd,lz4", Arrays.asList(CompressionType.values())));
+        Assert.assertEquals(CompressionType.LZ4, CompressionType.negotiate("unknown, LZ4", Arrays.asList(CompressionType.values())));
+        Assert.assertNull(CompressionType.negotiate("zstd", Collections.singletonList(CompressionType.LZ4)));
+        Assert.assertNull(CompressionType.negotiate(null, Arrays.asList(CompressionType.values())));
+    }
+
+    @Test
+    public void testEncodedBodySharedByChannels() throws Exception {
+        Header bodyHeader = new Header();
+        bodyHeader.putProperty(Constants.PROTOCOL_TYPE, Codec.CLOUD_EVENTS_PROTOCOL_NAME);
+        byte[] body = "{\"id\":\"1\"}".getBytes(StandardCharsets.UTF_8);
+        ByteBuf encodedBody = Codec.encodeBody(new Package(bodyHeader, body), PooledByteBufAllocator.DEFAULT);
+
+        for (String version : new String[] {Codec.VERSION_JSON_HEADER, Codec.VERSION_BINARY_HEADER}) {
+            Header header = new Header(Command.BROADCAST_MESSAGE_TO_CLIENT, 0, null, "seq-" + version);
+            header.putProperty(Constants.PROTOCOL_TYPE, Codec.CLOUD_EVENTS_PROTOCOL_NAME);
+            EmbeddedChannel client = new EmbeddedChannel(new Codec.Encoder());
+            client.attr(Codec.PROTOCOL_VERSION).set(version);
+            Assert.assertTrue(client.writeOutbound(new Package(header, encodedBody.retainedDuplicate())));
+            ByteBuf frame = client.readOutbound();
+
+            EmbeddedChannel server = new EmbeddedChannel(new Codec.Decoder());
+            Assert.assertTrue(server.writeInbound(frame));
+            Package decoded = server.readInbound();
+            Assert.assertEquals(header, decoded.getHeader());
+            Assert.assertArrayEquals(body, ((MessageBody) decoded.getBody()).getBytes());
+        }
+        // the duplicates are released after they are written
+        Assert.assertEquals(1, encodedBody.refCnt());
+        encodedBody.release();
+    }
+
+    @Test
+    public void testBatchMessageBody() throws Exception {
+        List<byte[]> messages = Arrays.asList("{\"id\":\"1\"}".getBytes(StandardCharsets.UTF_8), new byte[0],
+            "{\"id\":\"2\"}".getBytes(StandardCharsets.UTF_8));
+        Header header = new Header(Command.BATCH_MESSAGE_TO_SERVER, 0, null, "seq-batch");
+        header.putProperty(Constants.PROTOCOL_TYPE, Codec.CLOUD_EVENTS_PROTOCOL_NAME);
+        EmbeddedChannel client = new EmbeddedChannel(new Codec.Encoder());
+        Assert.assertTrue(client.writeOutbound(new Package(header, BatchMessageBody.encode(messages))));
+
+        EmbeddedChannel server = new EmbeddedChannel(new Codec.Decoder());
+        Assert.assertTrue(server.writeInbound((ByteBuf) client.readOutbound()));
+        Package decoded = server.readInbound();
+        List<byte[]> decodedMessages = BatchMessageBody.decode(((MessageBody) decoded.getBody()).getBytes());
+        Assert.assertEquals(messages.size(), decodedMessages.size());
+        for (int i = 0; i < messages.size(); i++) {
+            Assert.assertArrayEquals(messages.get(i), decodedMessages.get(i));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMalformedBatchMessageBody() {
+        byte[] body = BatchMessageBody.encode(Collections.singletonList(new byte[8]));
+        BatchMessageBody.decode(Arrays.copyOf(body, body.length - 1));
+    }
 }
@@ -0,0 +1,66 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.common.utils;
+
+import java.util.concurrent.Executors;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollChannelOption;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+
+public class NettyTransportUtilsTest {
+
+    @Test
+    public void testUseEpoll() {
+        Assert.assertFalse(NettyTransportUtils.useEpoll(false));
+        // falls back to NIO if the native library can not be loaded
+        Assert.assertEquals(Epoll.isAvailable(), NettyTransportUtils.useEpoll(true));
+    }
+
+    @Test
+    public void testNioTransport() throws Exception {
+        EventLoopGroup group = NettyTransportUtils.newEventLoopGroup(false, 1, Executors.defaultThreadFactory());
+        try {
+            Assert.assertTrue(group instanceof NioEventLoopGroup);
+        } finally {
+            group.shutdownGracefully().sync();
+        }
+        Assert.assertEquals(NioServerSocketChannel.class, NettyTransportUtils.serverChannelClass(false));
+        Assert.assertEquals(NioSocketChannel.class, NettyTransportUtils.channelClass(false));
+    }
+
+    @Test
+    public void testApplyServerOptions() {
+        ServerBootstrap nioBootstrap = new ServerBootstrap();
+        NettyTransportUtils.applyServerOptions(nioBootstrap, false, true);
+        Assert.assertTrue(nioBootstrap.config().options().isEmpty());
+        Assert.assertTrue(nioBootstrap.config().childOptions().isEmpty());
+
+        ServerBootstrap epollBootstrap = new ServerBootstrap();
+        NettyTransportUtils.applyServerOptions(epollBootstrap, true, true);
+        Assert.assertEquals(Boolean.TRUE, epollBootstrap.config().options().get(EpollChannelOption.SO_REUSEPORT));
+        Assert.assertTrue(epollBootstrap.config().childOptions().containsKey(EpollChannelOption.EPOLL_MODE));
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.connector.standalone.broker;
+
+import org.apache.eventmesh.connector.standalone.broker.model.MessageEntity;
+import org.apache.eventmesh.connector.standalone.broker.model.TopicMetadata;
+
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import io.cloudevents.CloudEvent;
+import io.cloudevents.core.builder.CloudEventBuilder;
+
+/**
+ * Compare {@link MessageQueue} with the lock based {@link ReentrantLockMessageQueue}, with 1, 4 and 16 producers.
+ * Each producer puts a message and removes the head, so the queue size stays stable,
+ * one reader looks up the tail by offset at the same time, like a subscribe task does.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MessageQueueBenchmark {
+
+    private static final int CAPACITY = 2 << 10;
+
+    private static final TopicMetadata TOPIC_METADATA = new TopicMetadata("benchmark-topic");
+
+    private static final CloudEvent CLOUD_EVENT = CloudEventBuilder.v1()
+            .withId("benchmark")
+            .withSource(URI.create("benchmark"))
+            .withType("benchmark")
+            .build();
+
+    @State(Scope.Group)
+    public static class RingBufferState {
+
+        private final MessageQueue messageQueue = new MessageQueue(CAPACITY);
+
+        public void put() throws InterruptedException {
+            messageQueue.put(new MessageEntity(TOPIC_METADATA, CLOUD_EVENT, -1, System.currentTimeMillis()));
+            messageQueue.removeHead();
+        }
+
+        public MessageEntity read() {
+            MessageEntity tail = messageQueue.getTail();
+            if (tail == null) {
+                return null;
+            }
+            try {
+                return messageQueue.getByOffset(tail.getOffset());
+            } catch (RuntimeException e) {
+                // removed by a producer in the meantime
+                return null;
+            }
+        }
+    }
+
+    @State(Scope.Group)
+    public static class ReentrantLockState {
+
+        private final ReentrantLockMessageQueue messageQueue = new ReentrantLockMessageQueue(CAPACITY);
+
+        private final AtomicLong offset = new AtomicLong();
+
+        public void put() throws InterruptedException {
+            messageQueue.put(new MessageEntity(TOPIC_METADATA, CLOUD_EVENT, offset.getAndIncrement(), System.currentTimeMillis()));
+            messageQueue.removeHead();
+        }
+
+        public MessageEntity read() {
+            MessageEntity tail = messageQueue.getTail();
+            if (tail == null) {
+                return null;
+            }
+            try {
+                return messageQueue.getByOffset(tail.getOffset());
+            } catch (RuntimeException e) {
+                // removed by a producer in the meantime
+                return null;
+            }
+        }
+    }
+
+    @Benchmark
+    @Group("ringBuffer1")
+    @GroupThreads(1)
+    public void ringBuffer1Put(RingBufferState state) throws InterruptedException {
+        state.put();
+    }
+
+    @Benchmark
+    @Group("ringBuffer1")
+    @GroupThreads(1)
+    public MessageEntity ringBuffer1Read(RingBufferState state) {
+        return state.read();
+    }
+
+    @Benchmark
+    @Group("ringBuffer4")
+    @GroupThreads(4)
+    public void ringBuffer4Put(RingBufferState state) throws InterruptedException {
+        state.put();
+    }
+
+    @Benchmark
+    @Group("ringBuffer4")
+    @GroupThreads(1)
+    public MessageEntity ringBuffer4Read(RingBufferState state) {
+        return state.read();
+    }
+
+    @Benchmark
+    @Group("ringBuffer16")
+    @GroupThreads(16)
+    public void ringBuffer16Put(RingBufferState state) throws InterruptedException {
+        state.put();
+    }
+
+    @Benchmark
+    @Group("ringBuffer16")
+    @GroupThreads(1)
+    public MessageEntity ringBuffer16Read(RingBufferState state) {
+        return state.read();
+    }
+
+    @Benchmark
+    @Group("reentrantLock1")
+    @GroupThreads(1)
+    public void reentrantLock1Put(ReentrantLockState state) throws InterruptedException {
+        state.put();
+    }
+
+    @Benchmark
+    @Group("reentrantLock1")
+    @GroupThreads(1)
+    public MessageEntity reentrantLock1Read(ReentrantLockState state) {
+        return state.read();
+    }
+
+    @Benchmark
+    @Group("reentrantLock4")
+    @GroupThreads(4)
+    public void reentrantLock4Put(ReentrantLockState state) throws InterruptedException {
+        state.put();
+    }
+
+    @Benchmark
+    @Group("reentrantLock4")
+    @GroupThreads(1)
+    public MessageEntity reentrantLock4Read(ReentrantLockState state) {
+        return state.read();
+    }
+
+    @Benchmark
+    @Group("reentrantLock16")
+    @GroupThreads(16)
+    public void reentrantLock16Put(ReentrantLockState state) throws InterruptedException {
+        state.put();
+    }
+
+    @Benchmark
+    @Group("reentrantLock16")
+    @GroupThreads(1)
+    public MessageEntity reentrantLock16Read(ReentrantLockState state) {
+        return state.read();
+    }
+}
@@ -18,7 +18,12 @@
 package org.apache.eventmesh.connector.standalone.broker;
 
 import org.apache.eventmesh.connector.standalone.broker.model.MessageEntity;
+import org.apache.eventmesh.connector.standalone.broker.model.RetentionPolicy;
 
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.ReentrantLock;
 
@@ -27,16 +32,41 @@ import com.google.common.base.Preconditions;
 /**
  * This is a block queue, can get entity by offset.
  * The queue is a FIFO data structure.
+ *
+ * <p>The queue is a sequence based ring buffer, the sequence of a message is its offset.
+ * Producers claim a sequence by CAS, write the slot and then help to move the published cursor forward over
+ * every written slot, so no producer waits for another one. Readers only look at the published cursor
+ * and the head sequence, so the read path never takes a lock.
+ * The lock is only used to park the threads which have to wait for space or for a message.
+ *
+ * <p>The messages are deleted from the head by {@link #truncate(long)}, which drops a whole range in one step
+ * by moving the head sequence.
  */
 public class MessageQueue {
 
-    public MessageEntity[] items;
+    private final int capacity;
 
-    private int takeIndex;
+    private final AtomicReferenceArray<MessageEntity> items;
 
-    private int putIndex;
+    /**
+     * The next sequence to be claimed by a producer
+     */
+    private final AtomicLong claimSequence = new AtomicLong(0);
 
-    private int count;
+    /**
+     * The sequence of the first message in this queue
+     */
+    private final AtomicLong headSequence = new AtomicLong(0);
+
+    /**
+     * All the sequences before the cursor have been written and can be read
+     */
+    private final AtomicLong publishedCursor = new AtomicLong(0);
+
+    /**
+     * The bytes of the messages between the head sequence and the published cursor
+     */
+    private final AtomicLong storedBytes = new AtomicLong(0);
 
     private final ReentrantLock lock;
 
@@ -44,6 +74,9 @@ public class MessageQueue {
 
     private final Condition notFull;
 
+    private final AtomicInteger notEmptyWaiters = new AtomicInteger(0);
+
+    private final AtomicInteger notFullWaiters = new AtomicInteger(0);
 
     public MessageQueue() {
         this(2 << 10);
@@ -53,28 +86,38 @@ public class MessageQueue {
         if (capacity <= 0) {
             throw new IllegalArgumentException("capacity is illegal");
         }
-        this.items = new MessageEntity[capacity];
+        this.capacity = capacity;
+        this.items = new AtomicReferenceArray<>(capacity);
         this.lock = new ReentrantLock();
         this.notEmpty = lock.newCondition();
         this.notFull = lock.newCondition();
     }
 
     /**
-     * Insert the message at the tail of this queue, waiting for space to become available if the queue is full
+     * Insert the message at the tail of this queue, waiting for space to become available if the queue is full.
+     * The offset of the message is assigned by this queue.
      *
      * @param messageEntity
      */
     public void put(MessageEntity messageEntity) throws InterruptedException {
         Preconditions.checkNotNull(messageEntity);
-        ReentrantLock lock = this.lock;
-        lock.lockInterruptibly();
-        try {
-            while (count == items.length) {
-                notFull.await();
+        long sequence;
+        while (true) {
+            sequence = claimSequence.get();
+            if (sequence - headSequence.get() >= capacity) {
+                awaitNotFull(sequence);
+                continue;
             }
-            enqueue(messageEntity);
-        } finally {
-            lock.unlock();
+            if (claimSequence.compareAndSet(sequence, sequence + 1)) {
+                break;
+            }
+        }
+        messageEntity.setOffset(sequence);
+        items.set(index(sequence), messageEntity);
+        storedBytes.addAndGet(messageEntity.getStoreSize());
+        advancePublishedCursor();
+        if (notEmptyWaiters.get() > 0) {
+            signalAll(notEmpty);
         }
     }
 
@@ -86,15 +129,12 @@ public class MessageQueue {
      * @throws InterruptedException
      */
     public MessageEntity take() throws InterruptedException {
-        ReentrantLock lock = this.lock;
-        lock.lockInterruptibly();
-        try {
-            while (count == 0) {
-                notEmpty.await();
+        while (true) {
+            MessageEntity head = peek();
+            if (head != null) {
+                return head;
             }
-            return dequeue();
-        } finally {
-            lock.unlock();
+            awaitNotEmpty();
         }
     }
 
@@ -104,12 +144,16 @@ public class MessageQueue {
      * @return MessageEntity
      */
     public MessageEntity peek() {
-        ReentrantLock lock = this.lock;
-        lock.lock();
-        try {
-            return itemAt(takeIndex);
-        } finally {
-            lock.unlock();
+        while (true) {
+            long head = headSequence.get();
+            if (head >= publishedCursor.get()) {
+                return null;
+            }
+            MessageEntity messageEntity = items.get(index(head));
+            if (messageEntity != null && messageEntity.getOffset() == head) {
+                return messageEntity;
+            }
+            // the head has been removed and the slot reused, read again
         }
     }
 
@@ -128,97 +172,239 @@ public class MessageQueue {
      * @return MessageEntity
      */
     public MessageEntity getTail() {
-        ReentrantLock lock = this.lock;
-        lock.lock();
-        try {
-            if (count == 0) {
-                return null;
-            }
-            int tailIndex = putIndex - 1;
-            if (tailIndex < 0) {
-                tailIndex += items.length;
-            }
-            return itemAt(tailIndex);
-        } finally {
-            lock.unlock();
+        long tail = publishedCursor.get() - 1;
+        if (tail < headSequence.get()) {
+            return null;
         }
+        return items.get(index(tail));
     }
 
     /**
-     * Get the message by offset, since the offset is increment, so we can get the first message in this queue
-     * and calculate the index of this offset
+     * Get the message by offset, since the offset is the sequence of the message, the index can be calculated
+     * directly, the slot is checked after reading in case it has been reused by a new message
      *
      * @param offset
      * @return MessageEntity
      */
     public MessageEntity getByOffset(long offset) {
-        ReentrantLock lock = this.lock;
-        lock.lock();
-        try {
-            MessageEntity head = getHead();
-            if (head == null) {
-                return null;
+        long head = headSequence.get();
+        long published = publishedCursor.get();
+        if (offset >= published) {
+            return null;
+        }
+        if (offset < head) {
+            throw new RuntimeException(String.format("The message has been deleted, offset: %s", offset));
+        }
+        MessageEntity messageEntity = items.get(index(offset));
+        if (messageEntity == null || messageEntity.getOffset() != offset) {
+            throw new RuntimeException(String.format("The message has been deleted, offset: %s", offset));
+        }
+        return messageEntity;
+    }
+
+    public void removeHead() {
+        truncate(headSequence.get() + 1);
+    }
+
+    /**
+     * Delete all the messages before the offset. The range is dropped in one step by moving the head sequence,
+     * so the space is available to the producers at once, then the slots are cleared to release the messages.
+     *
+     * @param offset the messages whose offset is less than this offset are deleted, the messages which have not
+     *               been published are never deleted
+     * @return the bytes of the deleted messages
+     */
+    public long truncate(long offset) {
+        long head;
+        long target;
+        long bytes;
+        do {
+            head = headSequence.get();
+            target = Math.min(offset, publishedCursor.get());
+            if (target <= head) {
+                return 0;
             }
-            if (head.getOffset() > offset) {
-                throw new RuntimeException(String.format("The message has been deleted, offset: %s", offset));
+            // the slots can't be reused before the head is moved, so the sizes are read first
+            bytes = 0;
+            for (long sequence = head; sequence < target; sequence++) {
+                MessageEntity messageEntity = items.get(index(sequence));
+                if (messageEntity != null && messageEntity.getOffset() == sequence) {
+                    bytes += messageEntity.getStoreSize();
+                }
             }
-            MessageEntity tail = getTail();
-            if (tail == null || tail.getOffset() < offset) {
-                return null;
+        } while (!headSequence.compareAndSet(head, target));
+        for (long sequence = head; sequence < target; sequence++) {
+            // only clear the slot if it has not been reused by a new message
+            MessageEntity messageEntity = items.get(index(sequence));
+            if (messageEntity != null && messageEntity.getOffset() == sequence) {
+                items.compareAndSet(index(sequence), messageEntity, null);
+            }
+        }
+        storedBytes.addAndGet(-bytes);
+        if (notFullWaiters.get() > 0) {
+            signalAll(notFull);
+        }
+        return bytes;
+    }
+
+    /**
+     * Delete the oldest messages which exceed any limit of the retention policy
+     *
+     * @param retentionPolicy   retention policy
+     * @param currentTimeMillis current time
+     * @return the bytes of the deleted messages
+     */
+    public long truncate(RetentionPolicy retentionPolicy, long currentTimeMillis) {
+        long head = headSequence.get();
+        long published = publishedCursor.get();
+        long target = head;
+        if (retentionPolicy.isMessagesLimited()) {
+            target = Math.max(target, published - retentionPolicy.getRetentionMessages());
+        }
+        if (retentionPolicy.isBytesLimited()) {
+            long exceededBytes = storedBytes.get() - retentionPolicy.getRetentionBytes();
+            long sequence = head;
+            while (exceededBytes > 0 && sequence < published) {
+                MessageEntity messageEntity = items.get(index(sequence));
+                if (messageEntity == null || messageEntity.getOffset() != sequence) {
+                    break;
+                }
+                exceededBytes -= messageEntity.getStoreSize();
+                sequence++;
             }
-            int offsetDis = (int) (head.getOffset() - offset);
-            int offsetIndex = takeIndex - offsetDis;
-            if (offsetIndex < 0) {
-                offsetIndex += items.length;
+            target = Math.max(target, sequence);
+        }
+        if (retentionPolicy.isTimeLimited()) {
+            long expireTimestamp = currentTimeMillis - retentionPolicy.getRetentionTimeInMills();
+            long sequence = Math.max(head, target);
+            while (sequence < published) {
+                MessageEntity messageEntity = items.get(index(sequence));
+                if (messageEntity == null || messageEntity.getOffset() != sequence
+                        || messageEntity.getCreateTimeMills() >= expireTimestamp) {
+                    break;
+                }
+                sequence++;
             }
-            return itemAt(offsetIndex);
-        } finally {
-            lock.unlock();
+            target = Math.max(target, sequence);
         }
+        return truncate(target);
     }
 
-    public void removeHead() {
+    /**
+     * Wait until the message of the offset is published, this is woken up by {@link #put(MessageEntity)}
+     *
+     * @param offset  offset
+     * @param timeout the max time to wait
+     * @param unit    time unit of the timeout
+     * @return false if the waiting time elapsed before the message is published
+     */
+    public boolean awaitMessage(long offset, long timeout, TimeUnit unit) throws InterruptedException {
+        if (publishedCursor.get() > offset) {
+            return true;
+        }
+        long nanos = unit.toNanos(timeout);
         ReentrantLock lock = this.lock;
-        lock.lock();
+        notEmptyWaiters.incrementAndGet();
+        lock.lockInterruptibly();
         try {
-            if (count == 0) {
-                return;
-            }
-            items[takeIndex++] = null;
-            if (takeIndex == items.length) {
-                takeIndex = 0;
+            while (publishedCursor.get() <= offset) {
+                if (nanos <= 0) {
+                    return false;
+                }
+                nanos = notEmpty.awaitNanos(nanos);
             }
-            notFull.signal();
+            return true;
         } finally {
             lock.unlock();
+            notEmptyWaiters.decrementAndGet();
         }
     }
 
+    /**
+     * The offset of the first message in this queue
+     */
+    public long getMinOffset() {
+        return headSequence.get();
+    }
+
+    /**
+     * The offset which the next published message will get
+     */
+    public long getMaxOffset() {
+        return publishedCursor.get();
+    }
+
+    /**
+     * The bytes of the messages in this queue
+     */
+    public long getStoredBytes() {
+        return storedBytes.get();
+    }
+
     public int getSize() {
-        return count;
+        return (int) Math.max(0, publishedCursor.get() - headSequence.get());
+    }
+
+    /**
+     * Move the cursor over the slots which have been written, the cursor stops at the first slot which is still
+     * being written, the producer of that slot moves it further when it is done
+     */
+    private void advancePublishedCursor() {
+        long cursor = publishedCursor.get();
+        while (isWritten(cursor)) {
+            if (publishedCursor.compareAndSet(cursor, cursor + 1)) {
+                cursor++;
+            } else {
+                cursor = publishedCursor.get();
+            }
+        }
     }
 
+    private boolean isWritten(long sequence) {
+        MessageEntity messageEntity = items.get(index(sequence));
+        return messageEntity != null && messageEntity.getOffset() == sequence;
+    }
 
-    private MessageEntity itemAt(int index) {
-        return items[index];
+    private int index(long sequence) {
+        return (int) (sequence % capacity);
+    }
+
+    private void awaitNotFull(long sequence) throws InterruptedException {
+        ReentrantLock lock = this.lock;
+        notFullWaiters.incrementAndGet();
+        lock.lockInterruptibly();
+        try {
+            while (sequence - headSequence.get() >= capacity) {
+                notFull.await();
+            }
+        } finally {
+            lock.unlock();
+            notFullWaiters.decrementAndGet();
+        }
     }
 
-    private void enqueue(MessageEntity messageEntity) {
-        items[putIndex++] = messageEntity;
-        if (putIndex == items.length) {
-            putIndex = 0;
+    private void awaitNotEmpty() throws InterruptedException {
+        ReentrantLock lock = this.lock;
+        notEmptyWaiters.incrementAndGet();
+        lock.lockInterruptibly();
+        try {
+            while (headSequence.get() >= publishedCursor.get()) {
+                notEmpty.await();
+            }
+        } finally {
+            lock.unlock();
+            notEmptyWaiters.decrementAndGet();
         }
-        count++;
-        notEmpty.signal();
     }
 
-    private MessageEntity dequeue() {
-        MessageEntity item = items[takeIndex++];
-        if (takeIndex == items.length) {
-            takeIndex = 0;
+    private void signalAll(Condition condition) {
+        ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            condition.signalAll();
+        } finally {
+            lock.unlock();
         }
-        notFull.signal();
-        return item;
     }
 
-}
\ No newline at end of file
+}
@@ -17,14 +17,31 @@
 
 package org.apache.eventmesh.connector.standalone.broker;
 
+import org.apache.eventmesh.api.exception.ConnectorRuntimeException;
+import org.apache.eventmesh.common.ThreadPoolFactory;
 import org.apache.eventmesh.connector.standalone.broker.model.MessageEntity;
+import org.apache.eventmesh.connector.standalone.broker.model.RetentionMetrics;
 import org.apache.eventmesh.connector.standalone.broker.model.TopicMetadata;
+import org.apache.eventmesh.connector.standalone.broker.storage.CommitLog;
+import org.apache.eventmesh.connector.standalone.broker.storage.ConsumerOffsetStore;
 import org.apache.eventmesh.connector.standalone.broker.task.HistoryMessageClearTask;
+import org.apache.eventmesh.connector.standalone.config.StandaloneConfiguration;
 
-import org.apache.commons.lang3.tuple.Pair;
+import org.apache.commons.lang3.StringUtils;
 
+import java.io.File;
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import io.cloudevents.CloudEvent;
 
@@ -33,14 +50,57 @@ import io.cloudevents.CloudEvent;
  */
 public class StandaloneBroker {
 
+    /**
+     * The extension of the delivered message which carries its offset in the topic
+     */
+    public static final String OFFSET_EXTENSION = "offset";
+
+    /**
+     * The extension of the delivered message which carries its partition in the topic
+     */
+    public static final String PARTITION_EXTENSION = "partition";
+
+    /**
+     * The extension of the published message which is used to select the partition,
+     * the messages with the same partition key are stored in the same partition
+     */
+    public static final String PARTITION_KEY_EXTENSION = "partitionkey";
+
+    private static final String CONSUMER_OFFSET_FILE_NAME = "consumerOffset.json";
+
+    private final Logger logger = LoggerFactory.getLogger(StandaloneBroker.class);
+
+    private final StandaloneConfiguration configuration;
+
     private final ConcurrentHashMap<TopicMetadata, MessageQueue> messageContainer;
 
-    // todo: move the offset manage to consumer
-    private final ConcurrentHashMap<TopicMetadata, AtomicLong> offsetMap;
+    /**
+     * Used instead of messageContainer when the store type is file
+     */
+    private final ConcurrentHashMap<TopicMetadata, CommitLog> commitLogContainer;
+
+    private final ConsumerOffsetStore consumerOffsetStore;
+
+    private final RetentionMetrics retentionMetrics;
+
+    /**
+     * Used to select the partition of the messages which have no partition key
+     */
+    private final ConcurrentHashMap<String, AtomicInteger> partitionSelectorTable = new ConcurrentHashMap<>();
 
     private StandaloneBroker() {
+        this.configuration = new StandaloneConfiguration();
+        this.configuration.init();
         this.messageContainer = new ConcurrentHashMap<>();
-        this.offsetMap = new ConcurrentHashMap<>();
+        this.commitLogContainer = new ConcurrentHashMap<>();
+        this.retentionMetrics = new RetentionMetrics();
+        if (configuration.isFileStore()) {
+            this.consumerOffsetStore = new ConsumerOffsetStore(new File(configuration.storePath, CONSUMER_OFFSET_FILE_NAME));
+            loadCommitLogs();
+            startFlushTask();
+        } else {
+            this.consumerOffsetStore = new ConsumerOffsetStore(null);
+        }
         startHistoryMessageCleanTask();
     }
 
@@ -49,96 +109,267 @@ public class StandaloneBroker {
     }
 
     /**
-     * put message
+     * put message, the partition is selected by the partition key of the message, or round-robin if the message
+     * has no partition key
      *
      * @param topicName topic name
      * @param message   message
      * @throws InterruptedException
      */
     public MessageEntity putMessage(String topicName, CloudEvent message) throws InterruptedException {
-        Pair<MessageQueue, AtomicLong> pair = createTopicIfAbsent(topicName);
-        AtomicLong topicOffset = pair.getRight();
-        MessageQueue messageQueue = pair.getLeft();
+        TopicMetadata topicMetadata = new TopicMetadata(topicName, selectPartition(topicName, message));
+        if (configuration.isFileStore()) {
+            return getOrCreateCommitLog(topicMetadata).append(message);
+        }
+        MessageQueue messageQueue = getOrCreateMessageQueue(topicMetadata);
 
-        MessageEntity messageEntity = new MessageEntity(
-                new TopicMetadata(topicName), message, topicOffset.getAndIncrement(), System.currentTimeMillis());
+        // the offset is assigned by the queue when the message is put, so it always matches the queue order
+        MessageEntity messageEntity = new MessageEntity(topicMetadata, message, -1, System.currentTimeMillis());
+        messageEntity.setStoreSize(estimateSize(message));
         messageQueue.put(messageEntity);
 
         return messageEntity;
     }
 
     /**
-     * Get the message, if the queue is empty then await
+     * Get the message of the first partition, if the queue is empty then await
      *
      * @param topicName
      */
     public CloudEvent takeMessage(String topicName) throws InterruptedException {
         TopicMetadata topicMetadata = new TopicMetadata(topicName);
+        if (configuration.isFileStore()) {
+            return getOrCreateCommitLog(topicMetadata).take().getMessage();
+        }
         return messageContainer.computeIfAbsent(topicMetadata, k -> new MessageQueue()).take().getMessage();
     }
 
     /**
-     * Get the message, if the queue is empty return null
+     * Get the message, if all the partitions are empty return null
      *
      * @param topicName
      */
     public CloudEvent getMessage(String topicName) {
-        TopicMetadata topicMetadata = new TopicMetadata(topicName);
-        MessageEntity head = messageContainer.computeIfAbsent(topicMetadata, k -> new MessageQueue()).getHead();
-        if (head == null) {
-            return null;
+        for (int partition = 0; partition < getPartitions(topicName); partition++) {
+            TopicMetadata topicMetadata = new TopicMetadata(topicName, partition);
+            MessageEntity head = configuration.isFileStore()
+                    ? getOrCreateCommitLog(topicMetadata).getHead()
+                    : getOrCreateMessageQueue(topicMetadata).getHead();
+            if (head != null) {
+                return head.getMessage();
+            }
         }
-        return head.getMessage();
+        return null;
     }
 
     /**
-     * Get the message by offset
+     * Get the message of the first partition by offset
      *
      * @param topicName topic name
      * @param offset    offset
      * @return CloudEvent
      */
     public CloudEvent getMessage(String topicName, long offset) {
-        TopicMetadata topicMetadata = new TopicMetadata(topicName);
-        MessageEntity messageEntity = messageContainer.computeIfAbsent(topicMetadata, k -> new MessageQueue()).getByOffset(offset);
+        return getMessage(new TopicMetadata(topicName), offset);
+    }
+
+    /**
+     * Get the message by offset, each partition has its own offset
+     *
+     * @param topicMetadata topic partition
+     * @param offset        offset
+     * @return CloudEvent
+     */
+    public CloudEvent getMessage(TopicMetadata topicMetadata, long offset) {
+        MessageEntity messageEntity = configuration.isFileStore()
+                ? getOrCreateCommitLog(topicMetadata).get(offset)
+                : messageContainer.computeIfAbsent(topicMetadata, k -> new MessageQueue()).getByOffset(offset);
         if (messageEntity == null) {
             return null;
         }
         return messageEntity.getMessage();
     }
 
+    /**
+     * Wait until the message of the offset is available, the waiting consumers are woken up by putMessage
+     *
+     * @param topicMetadata topic partition
+     * @param offset        offset
+     * @param timeout       the max time to wait
+     * @param unit          time unit of the timeout
+     * @return false if the waiting time elapsed before the message is available
+     */
+    public boolean awaitMessage(TopicMetadata topicMetadata, long offset, long timeout, TimeUnit unit) throws InterruptedException {
+        if (configuration.isFileStore()) {
+            return getOrCreateCommitLog(topicMetadata).awaitMessage(offset, timeout, unit);
+        }
+        return getOrCreateMessageQueue(topicMetadata).awaitMessage(offset, timeout, unit);
+    }
+
+    /**
+     * Get the offset of the first message which has not been deleted
+     *
+     * @param topicMetadata topic partition
+     * @return offset
+     */
+    public long getMinOffset(TopicMetadata topicMetadata) {
+        if (configuration.isFileStore()) {
+            return getOrCreateCommitLog(topicMetadata).getMinOffset();
+        }
+        return getOrCreateMessageQueue(topicMetadata).getMinOffset();
+    }
 
     private void startHistoryMessageCleanTask() {
-        Thread thread = new Thread(new HistoryMessageClearTask(messageContainer));
+        Thread thread = new Thread(new HistoryMessageClearTask(messageContainer, commitLogContainer, configuration, retentionMetrics));
         thread.setDaemon(true);
         thread.setName("StandaloneBroker-HistoryMessageCleanTask");
         thread.start();
     }
 
+    private void startFlushTask() {
+        ScheduledExecutorService flushService = ThreadPoolFactory.createSingleScheduledExecutor("StandaloneBroker-FlushTask");
+        flushService.scheduleWithFixedDelay(() -> commitLogContainer.forEach((topicMetadata, commitLog) -> commitLog.flush()),
+                configuration.flushInterval, configuration.flushInterval, TimeUnit.MILLISECONDS);
+        flushService.scheduleWithFixedDelay(consumerOffsetStore::persist,
+                configuration.offsetFlushInterval, configuration.offsetFlushInterval, TimeUnit.MILLISECONDS);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            commitLogContainer.forEach((topicMetadata, commitLog) -> commitLog.flush());
+            consumerOffsetStore.persist();
+        }));
+    }
+
+    /**
+     * Load the commit logs of the topics which are stored before the restart, each topic has its own directory
+     * and each partition has a sub directory named by the partition number
+     */
+    private void loadCommitLogs() {
+        File[] topicDirectories = new File(configuration.storePath).listFiles(File::isDirectory);
+        if (topicDirectories == null) {
+            return;
+        }
+        for (File topicDirectory : topicDirectories) {
+            File[] partitionDirectories = topicDirectory.listFiles(file -> file.isDirectory() && StringUtils.isNumeric(file.getName()));
+            if (partitionDirectories == null) {
+                continue;
+            }
+            try {
+                String topicName = URLDecoder.decode(topicDirectory.getName(), StandardCharsets.UTF_8.name());
+                for (File partitionDirectory : partitionDirectories) {
+                    getOrCreateCommitLog(new TopicMetadata(topicName, Integer.parseInt(partitionDirectory.getName())));
+                }
+            } catch (UnsupportedEncodingException e) {
+                logger.error("load commit log error, directory: {}", topicDirectory.getName(), e);
+            }
+        }
+    }
+
     public boolean checkTopicExist(String topicName) {
-        return messageContainer.containsKey(new TopicMetadata(topicName));
+        TopicMetadata topicMetadata = new TopicMetadata(topicName);
+        return configuration.isFileStore() ? commitLogContainer.containsKey(topicMetadata) : messageContainer.containsKey(topicMetadata);
     }
 
     /**
-     * if topic not exist, create a topic
+     * if topic not exist, create a topic with all its partitions
      *
      * @param topicName topicName
-     * @return messageQueue and offset
      */
-    public Pair<MessageQueue, AtomicLong> createTopicIfAbsent(String topicName) {
-        TopicMetadata topicMetadata = new TopicMetadata(topicName);
-        MessageQueue messageQueue = messageContainer.computeIfAbsent(topicMetadata, k -> new MessageQueue());
-        AtomicLong offset = offsetMap.computeIfAbsent(topicMetadata, k -> new AtomicLong());
-        return Pair.of(messageQueue, offset);
+    public void createTopicIfAbsent(String topicName) {
+        for (int partition = 0; partition < getPartitions(topicName); partition++) {
+            TopicMetadata topicMetadata = new TopicMetadata(topicName, partition);
+            if (configuration.isFileStore()) {
+                getOrCreateCommitLog(topicMetadata);
+            } else {
+                getOrCreateMessageQueue(topicMetadata);
+            }
+        }
+    }
+
+    /**
+     * Get the partition number of the topic
+     *
+     * @param topicName topic name
+     * @return partition number
+     */
+    public int getPartitions(String topicName) {
+        return configuration.getPartitions(topicName);
+    }
+
+    private int selectPartition(String topicName, CloudEvent message) {
+        int partitions = getPartitions(topicName);
+        if (partitions == 1) {
+            return 0;
+        }
+        Object partitionKey = message.getExtension(PARTITION_KEY_EXTENSION);
+        if (partitionKey != null) {
+            return (partitionKey.toString().hashCode() & Integer.MAX_VALUE) % partitions;
+        }
+        AtomicInteger selector = partitionSelectorTable.computeIfAbsent(topicName, k -> new AtomicInteger());
+        return (selector.getAndIncrement() & Integer.MAX_VALUE) % partitions;
+    }
+
+    /**
+     * The bytes of the message in memory, the payload and the attributes are counted
+     */
+    private int estimateSize(CloudEvent message) {
+        int size = message.getData() == null ? 0 : message.getData().toBytes().length;
+        for (String attributeName : message.getAttributeNames()) {
+            Object attribute = message.getAttribute(attributeName);
+            size += attributeName.length() + (attribute == null ? 0 : attribute.toString().length());
+        }
+        for (String extensionName : message.getExtensionNames()) {
+            Object extension = message.getExtension(extensionName);
+            size += extensionName.length() + (extension == null ? 0 : extension.toString().length());
+        }
+        return size;
+    }
+
+    private MessageQueue getOrCreateMessageQueue(TopicMetadata topicMetadata) {
+        return messageContainer.computeIfAbsent(topicMetadata, k -> new MessageQueue());
     }
 
-    public void updateOffset(TopicMetadata topicMetadata, long offset) {
-        offsetMap.computeIfPresent(topicMetadata, (k, v) -> {
-            v.set(offset);
-            return v;
+    private CommitLog getOrCreateCommitLog(TopicMetadata topicMetadata) {
+        return commitLogContainer.computeIfAbsent(topicMetadata, k -> {
+            try {
+                String directoryName = URLEncoder.encode(k.getTopicName(), StandardCharsets.UTF_8.name());
+                File directory = new File(new File(configuration.storePath, directoryName), String.valueOf(k.getPartition()));
+                return new CommitLog(k, directory, configuration.segmentSize, configuration.indexInterval);
+            } catch (IOException e) {
+                throw new ConnectorRuntimeException(String.format("Create commit log error, topic: %s", k), e);
+            }
         });
     }
 
+    public StandaloneConfiguration getConfiguration() {
+        return configuration;
+    }
+
+    /**
+     * The bytes and messages reclaimed by the retention of each topic
+     */
+    public RetentionMetrics getRetentionMetrics() {
+        return retentionMetrics;
+    }
+
+    /**
+     * Commit the consume offset of the consumer group, each consumer group consumes the topic independently
+     *
+     * @param consumerGroup consumer group
+     * @param topicMetadata topic partition
+     * @param offset        the next offset to be consumed
+     */
+    public void updateOffset(String consumerGroup, TopicMetadata topicMetadata, long offset) {
+        consumerOffsetStore.updateOffset(consumerGroup, topicMetadata, offset);
+    }
+
+    /**
+     * Get the committed offset of the consumer group
+     *
+     * @return the next offset to be consumed, -1 if the consumer group has not committed any offset
+     */
+    public long getConsumerOffset(String consumerGroup, TopicMetadata topicMetadata) {
+        return consumerOffsetStore.getOffset(consumerGroup, topicMetadata);
+    }
+
     private static class StandaloneBrokerInstanceHolder {
         private static final StandaloneBroker instance = new StandaloneBroker();
     }
@@ -31,6 +31,11 @@ public class MessageEntity implements Serializable {
 
     private long createTimeMills;
 
+    /**
+     * The bytes of the message, used by the size based retention
+     */
+    private int storeSize;
+
     public MessageEntity(TopicMetadata topicMetadata, CloudEvent message, long offset, long currentTimeMills) {
         this.topicMetadata = topicMetadata;
         this.message = message;
@@ -69,4 +74,12 @@ public class MessageEntity implements Serializable {
     public void setCreateTimeMills(long createTimeMills) {
         this.createTimeMills = createTimeMills;
     }
+
+    public int getStoreSize() {
+        return storeSize;
+    }
+
+    public void setStoreSize(int storeSize) {
+        this.storeSize = storeSize;
+    }
 }
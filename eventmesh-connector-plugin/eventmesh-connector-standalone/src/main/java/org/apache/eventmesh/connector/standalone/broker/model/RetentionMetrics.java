@@ -0,0 +1,60 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.connector.standalone.broker.model;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The bytes and messages reclaimed by the retention of each topic since the broker is started
+ */
+public class RetentionMetrics {
+
+    private final ConcurrentHashMap<TopicMetadata, LongAdder> reclaimedBytes = new ConcurrentHashMap<>();
+
+    private final ConcurrentHashMap<TopicMetadata, LongAdder> reclaimedMessages = new ConcurrentHashMap<>();
+
+    private final LongAdder totalReclaimedBytes = new LongAdder();
+
+    private final LongAdder totalReclaimedMessages = new LongAdder();
+
+    public void record(TopicMetadata topicMetadata, long bytes, long messages) {
+        reclaimedBytes.computeIfAbsent(topicMetadata, k -> new LongAdder()).add(bytes);
+        reclaimedMessages.computeIfAbsent(topicMetadata, k -> new LongAdder()).add(messages);
+        totalReclaimedBytes.add(bytes);
+        totalReclaimedMessages.add(messages);
+    }
+
+    public long getReclaimedBytes(TopicMetadata topicMetadata) {
+        LongAdder bytes = reclaimedBytes.get(topicMetadata);
+        return bytes == null ? 0 : bytes.sum();
+    }
+
+    public long getReclaimedMessages(TopicMetadata topicMetadata) {
+        LongAdder messages = reclaimedMessages.get(topicMetadata);
+        return messages == null ? 0 : messages.sum();
+    }
+
+    public long getTotalReclaimedBytes() {
+        return totalReclaimedBytes.sum();
+    }
+
+    public long getTotalReclaimedMessages() {
+        return totalReclaimedMessages.sum();
+    }
+}
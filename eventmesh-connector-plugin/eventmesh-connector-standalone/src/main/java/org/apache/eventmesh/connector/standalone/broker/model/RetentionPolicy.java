@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.connector.standalone.broker.model;
+
+/**
+ * The retention policy of a topic, the messages are deleted if any of the limits is exceeded.
+ * A limit which is less than or equal to 0 is disabled.
+ */
+public class RetentionPolicy {
+
+    /**
+     * The messages stored before currentTimeMills - retentionTimeInMills are deleted
+     */
+    private final long retentionTimeInMills;
+
+    /**
+     * The oldest messages are deleted if the stored bytes of the topic exceed this limit
+     */
+    private final long retentionBytes;
+
+    /**
+     * The oldest messages are deleted if the message count of the topic exceeds this limit
+     */
+    private final long retentionMessages;
+
+    public RetentionPolicy(long retentionTimeInMills, long retentionBytes, long retentionMessages) {
+        this.retentionTimeInMills = retentionTimeInMills;
+        this.retentionBytes = retentionBytes;
+        this.retentionMessages = retentionMessages;
+    }
+
+    public long getRetentionTimeInMills() {
+        return retentionTimeInMills;
+    }
+
+    public long getRetentionBytes() {
+        return retentionBytes;
+    }
+
+    public long getRetentionMessages() {
+        return retentionMessages;
+    }
+
+    public boolean isTimeLimited() {
+        return retentionTimeInMills > 0;
+    }
+
+    public boolean isBytesLimited() {
+        return retentionBytes > 0;
+    }
+
+    public boolean isMessagesLimited() {
+        return retentionMessages > 0;
+    }
+
+    @Override
+    public String toString() {
+        return "RetentionPolicy{"
+                + "retentionTimeInMills=" + retentionTimeInMills
+                + ", retentionBytes=" + retentionBytes
+                + ", retentionMessages=" + retentionMessages
+                + '}';
+    }
+}
@@ -21,16 +21,31 @@ import java.io.Serializable;
 import java.util.Objects;
 
 /**
- * Topic metadata, each topic has it's own metadata
+ * Topic metadata, each partition of a topic has it's own metadata, the messages of each partition are stored in
+ * their own queue
  */
 public class TopicMetadata implements Serializable {
 
     private String topicName;
 
+    private int partition;
+
     public TopicMetadata(String topicName) {
+        this(topicName, 0);
+    }
+
+    public TopicMetadata(String topicName, int partition) {
         this.topicName = topicName;
+        this.partition = partition;
     }
 
+    public String getTopicName() {
+        return topicName;
+    }
+
+    public int getPartition() {
+        return partition;
+    }
 
     @Override
     public boolean equals(Object o) {
@@ -41,12 +56,12 @@ public class TopicMetadata implements Serializable {
             return false;
         }
         TopicMetadata that = (TopicMetadata) o;
-        return Objects.equals(topicName, that.topicName);
+        return partition == that.partition && Objects.equals(topicName, that.topicName);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(topicName);
+        return Objects.hash(topicName, partition);
     }
 
     @Override
@@ -55,6 +70,8 @@ public class TopicMetadata implements Serializable {
                 +
                 "topic='" + topicName + '\''
                 +
+                ", partition=" + partition
+                +
                 '}';
     }
 }
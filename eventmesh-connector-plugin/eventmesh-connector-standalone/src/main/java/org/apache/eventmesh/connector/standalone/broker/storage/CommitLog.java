@@ -0,0 +1,304 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.connector.standalone.broker.storage;
+
+import org.apache.eventmesh.api.exception.ConnectorRuntimeException;
+import org.apache.eventmesh.connector.standalone.broker.model.MessageEntity;
+import org.apache.eventmesh.connector.standalone.broker.model.RetentionPolicy;
+import org.apache.eventmesh.connector.standalone.broker.model.TopicMetadata;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.cloudevents.CloudEvent;
+import io.cloudevents.core.format.EventFormat;
+import io.cloudevents.jackson.JsonFormat;
+
+/**
+ * The commit log of one topic, the serialized events are appended to a list of memory-mapped segment files,
+ * each file is named by the offset of its first event.
+ * The appends are serialized by a lock, the reads are lock free.
+ */
+public class CommitLog {
+
+    private static final String SEGMENT_FILE_SUFFIX = ".log";
+
+    private final Logger logger = LoggerFactory.getLogger(CommitLog.class);
+
+    private final TopicMetadata topicMetadata;
+
+    private final File directory;
+
+    private final int segmentSize;
+
+    private final int indexInterval;
+
+    private final EventFormat eventFormat;
+
+    private final CopyOnWriteArrayList<MappedSegment> segments = new CopyOnWriteArrayList<>();
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Condition notEmpty = lock.newCondition();
+
+    public CommitLog(TopicMetadata topicMetadata, File directory, int segmentSize, int indexInterval) throws IOException {
+        this.topicMetadata = topicMetadata;
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.indexInterval = indexInterval;
+        // the data is always written as data_base64, so that the payload survives the round trip whatever its content type is
+        this.eventFormat = new JsonFormat().withForceJsonDataToBase64();
+        load();
+    }
+
+    /**
+     * Append the message at the tail of the commit log, a new segment is created if the last one is full
+     *
+     * @param message message
+     * @return MessageEntity with the assigned offset
+     */
+    public MessageEntity append(CloudEvent message) throws InterruptedException {
+        byte[] body = eventFormat.serialize(message);
+        if (MappedSegment.RECORD_HEADER_SIZE + body.length > segmentSize) {
+            throw new ConnectorRuntimeException(String.format("The message is too large, topic: %s, size: %s",
+                    topicMetadata, body.length));
+        }
+        ReentrantLock lock = this.lock;
+        lock.lockInterruptibly();
+        try {
+            MappedSegment segment = segments.get(segments.size() - 1);
+            long offset = segment.getNextOffset();
+            long storeTimestamp = System.currentTimeMillis();
+            if (!segment.append(body, offset, storeTimestamp)) {
+                segment = createSegment(offset);
+                segment.append(body, offset, storeTimestamp);
+            }
+            notEmpty.signalAll();
+            MessageEntity messageEntity = new MessageEntity(topicMetadata, message, offset, storeTimestamp);
+            messageEntity.setStoreSize(MappedSegment.RECORD_HEADER_SIZE + body.length);
+            return messageEntity;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Get the message by offset
+     *
+     * @param offset offset
+     * @return MessageEntity, null if the message has not been written
+     */
+    public MessageEntity get(long offset) {
+        if (offset < getMinOffset()) {
+            throw new RuntimeException(String.format("The message has been deleted, offset: %s", offset));
+        }
+        MappedSegment segment = findSegment(offset);
+        if (segment == null) {
+            return null;
+        }
+        if (!segment.hold()) {
+            // the segment is deleted by the retention after the offset is checked
+            throw new RuntimeException(String.format("The message has been deleted, offset: %s", offset));
+        }
+        try {
+            int position = segment.findPosition(offset);
+            if (position < 0) {
+                return null;
+            }
+            CloudEvent message = eventFormat.deserialize(segment.readBody(position));
+            return new MessageEntity(topicMetadata, message, offset, segment.readStoreTimestamp(position));
+        } finally {
+            segment.release();
+        }
+    }
+
+    /**
+     * Get the first message in this commit log
+     *
+     * @return MessageEntity, null if the commit log is empty
+     */
+    public MessageEntity getHead() {
+        if (getMaxOffset() <= getMinOffset()) {
+            return null;
+        }
+        return get(getMinOffset());
+    }
+
+    /**
+     * Get the first message in this commit log, waiting for the message is available if the commit log is empty
+     *
+     * @return MessageEntity
+     */
+    public MessageEntity take() throws InterruptedException {
+        ReentrantLock lock = this.lock;
+        lock.lockInterruptibly();
+        try {
+            while (getMaxOffset() <= getMinOffset()) {
+                notEmpty.await();
+            }
+        } finally {
+            lock.unlock();
+        }
+        return getHead();
+    }
+
+    /**
+     * Wait until the message of the offset is appended, this is woken up by {@link #append(CloudEvent)}
+     *
+     * @param offset  offset
+     * @param timeout the max time to wait
+     * @param unit    time unit of the timeout
+     * @return false if the waiting time elapsed before the message is appended
+     */
+    public boolean awaitMessage(long offset, long timeout, TimeUnit unit) throws InterruptedException {
+        if (getMaxOffset() > offset) {
+            return true;
+        }
+        long nanos = unit.toNanos(timeout);
+        ReentrantLock lock = this.lock;
+        lock.lockInterruptibly();
+        try {
+            while (getMaxOffset() <= offset) {
+                if (nanos <= 0) {
+                    return false;
+                }
+                nanos = notEmpty.awaitNanos(nanos);
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * The offset of the first message which has not been deleted
+     */
+    public long getMinOffset() {
+        return segments.get(0).getBaseOffset();
+    }
+
+    /**
+     * The offset which the next appended message will get
+     */
+    public long getMaxOffset() {
+        return segments.get(segments.size() - 1).getNextOffset();
+    }
+
+    /**
+     * The bytes of the messages in this commit log
+     */
+    public long getStoredBytes() {
+        long storedBytes = 0;
+        for (MappedSegment segment : segments) {
+            storedBytes += segment.getWrotePosition();
+        }
+        return storedBytes;
+    }
+
+    /**
+     * Delete the oldest segments which exceed any limit of the retention policy. The commit log is truncated by
+     * whole segment, a segment is deleted only if all of its messages are out of the retention,
+     * and the last segment is never deleted.
+     *
+     * @param retentionPolicy   retention policy
+     * @param currentTimeMillis current time
+     * @return the bytes of the deleted segments
+     */
+    public long truncate(RetentionPolicy retentionPolicy, long currentTimeMillis) {
+        long expireTimestamp = currentTimeMillis - retentionPolicy.getRetentionTimeInMills();
+        long minRetainedOffset = getMaxOffset() - retentionPolicy.getRetentionMessages();
+        long storedBytes = getStoredBytes();
+        long reclaimedBytes = 0;
+        while (segments.size() > 1) {
+            MappedSegment segment = segments.get(0);
+            boolean expired = retentionPolicy.isTimeLimited() && segment.getLastStoreTimestamp() < expireTimestamp;
+            boolean exceedBytes = retentionPolicy.isBytesLimited()
+                    && storedBytes - segment.getWrotePosition() >= retentionPolicy.getRetentionBytes();
+            boolean exceedMessages = retentionPolicy.isMessagesLimited() && segment.getNextOffset() <= minRetainedOffset;
+            if (!expired && !exceedBytes && !exceedMessages) {
+                break;
+            }
+            segments.remove(0);
+            if (!segment.destroy()) {
+                logger.warn("delete commit log segment failed, topic: {}, baseOffset: {}", topicMetadata, segment.getBaseOffset());
+            }
+            storedBytes -= segment.getWrotePosition();
+            reclaimedBytes += segment.getWrotePosition();
+        }
+        return reclaimedBytes;
+    }
+
+    public void flush() {
+        for (MappedSegment segment : segments) {
+            segment.flush();
+        }
+    }
+
+    private MappedSegment findSegment(long offset) {
+        MappedSegment found = null;
+        for (MappedSegment segment : segments) {
+            if (segment.getBaseOffset() > offset) {
+                break;
+            }
+            found = segment;
+        }
+        return found;
+    }
+
+    private void load() throws IOException {
+        if (!directory.exists() && !directory.mkdirs()) {
+            throw new IOException(String.format("Create commit log directory failed, path: %s", directory.getAbsolutePath()));
+        }
+        File[] files = directory.listFiles((dir, name) -> name.endsWith(SEGMENT_FILE_SUFFIX));
+        if (files != null) {
+            Arrays.sort(files);
+            for (File file : files) {
+                String fileName = file.getName();
+                long baseOffset = Long.parseLong(fileName.substring(0, fileName.length() - SEGMENT_FILE_SUFFIX.length()));
+                int fileSize = (int) Math.max(file.length(), segmentSize);
+                MappedSegment segment = new MappedSegment(file, baseOffset, fileSize, indexInterval);
+                segment.recover();
+                segments.add(segment);
+            }
+        }
+        if (segments.isEmpty()) {
+            createSegment(0);
+        }
+        logger.info("load commit log, topic: {}, segments: {}, minOffset: {}, maxOffset: {}",
+                topicMetadata, segments.size(), getMinOffset(), getMaxOffset());
+    }
+
+    private MappedSegment createSegment(long baseOffset) {
+        File file = new File(directory, String.format("%020d", baseOffset) + SEGMENT_FILE_SUFFIX);
+        try {
+            MappedSegment segment = new MappedSegment(file, baseOffset, segmentSize, indexInterval);
+            segments.add(segment);
+            return segment;
+        } catch (IOException e) {
+            throw new ConnectorRuntimeException(String.format("Create commit log segment error, file: %s", file.getAbsolutePath()), e);
+        }
+    }
+}
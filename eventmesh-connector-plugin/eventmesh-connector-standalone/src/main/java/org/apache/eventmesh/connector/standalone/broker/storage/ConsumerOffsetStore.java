@@ -0,0 +1,144 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.connector.standalone.broker.storage;
+
+import org.apache.eventmesh.common.utils.JsonUtils;
+import org.apache.eventmesh.connector.standalone.broker.model.TopicMetadata;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+
+/**
+ * The consume offset of each (consumer group, topic partition), the offset is the next offset to be consumed.
+ * The offsets are updated in memory and persisted to a small json file asynchronously, if a file is given.
+ */
+public class ConsumerOffsetStore {
+
+    private final Logger logger = LoggerFactory.getLogger(ConsumerOffsetStore.class);
+
+    private final File file;
+
+    /**
+     * consumer group -> topic partition -> offset
+     */
+    private final ConcurrentHashMap<String, ConcurrentHashMap<TopicMetadata, AtomicLong>> offsetTable = new ConcurrentHashMap<>();
+
+    private final AtomicBoolean changed = new AtomicBoolean(false);
+
+    /**
+     * @param file the file to persist the offsets, null if the offsets only need to be kept in memory
+     */
+    public ConsumerOffsetStore(File file) {
+        this.file = file;
+        load();
+    }
+
+    /**
+     * Get the offset of the consumer group
+     *
+     * @return the next offset to be consumed, -1 if the consumer group has not committed any offset of the topic
+     */
+    public long getOffset(String consumerGroup, TopicMetadata topicMetadata) {
+        Map<TopicMetadata, AtomicLong> topicOffsets = offsetTable.get(consumerGroup);
+        if (topicOffsets == null) {
+            return -1;
+        }
+        AtomicLong offset = topicOffsets.get(topicMetadata);
+        return offset == null ? -1 : offset.get();
+    }
+
+    /**
+     * Commit the offset of the consumer group, the offset never goes back
+     *
+     * @param offset the next offset to be consumed
+     */
+    public void updateOffset(String consumerGroup, TopicMetadata topicMetadata, long offset) {
+        AtomicLong current = offsetTable.computeIfAbsent(consumerGroup, k -> new ConcurrentHashMap<>())
+                .computeIfAbsent(topicMetadata, k -> new AtomicLong(-1));
+        long value;
+        do {
+            value = current.get();
+            if (value >= offset) {
+                return;
+            }
+        } while (!current.compareAndSet(value, offset));
+        changed.set(true);
+    }
+
+    /**
+     * Write the offsets to a temp file and then rename it, so the file is never half written
+     */
+    public synchronized void persist() {
+        if (file == null || !changed.compareAndSet(true, false)) {
+            return;
+        }
+        // consumer group -> topic -> partition -> offset
+        Map<String, Map<String, Map<Integer, Long>>> snapshot = new HashMap<>();
+        offsetTable.forEach((consumerGroup, topicOffsets) -> {
+            Map<String, Map<Integer, Long>> offsets = new HashMap<>();
+            topicOffsets.forEach((topicMetadata, offset) -> offsets.computeIfAbsent(topicMetadata.getTopicName(), k -> new HashMap<>())
+                    .put(topicMetadata.getPartition(), offset.get()));
+            snapshot.put(consumerGroup, offsets);
+        });
+        File tmpFile = new File(file.getAbsolutePath() + ".tmp");
+        try {
+            File parent = file.getParentFile();
+            if (parent != null && !parent.exists() && !parent.mkdirs()) {
+                throw new IOException(String.format("Create directory failed, path: %s", parent.getAbsolutePath()));
+            }
+            Files.write(tmpFile.toPath(), JsonUtils.serialize(snapshot).getBytes(StandardCharsets.UTF_8));
+            Files.move(tmpFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (Exception e) {
+            changed.set(true);
+            logger.error("persist consumer offset error, file: {}", file.getAbsolutePath(), e);
+        }
+    }
+
+    private void load() {
+        if (file == null || !file.exists()) {
+            return;
+        }
+        try {
+            String content = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+            Map<String, Map<String, Map<Integer, Long>>> snapshot = JsonUtils.deserialize(content,
+                    new TypeReference<Map<String, Map<String, Map<Integer, Long>>>>() {
+                    });
+            snapshot.forEach((consumerGroup, topicOffsets) -> {
+                ConcurrentHashMap<TopicMetadata, AtomicLong> offsets = offsetTable.computeIfAbsent(consumerGroup, k -> new ConcurrentHashMap<>());
+                topicOffsets.forEach((topicName, partitionOffsets) -> partitionOffsets.forEach((partition, offset) ->
+                        offsets.put(new TopicMetadata(topicName, partition), new AtomicLong(offset))));
+            });
+            logger.info("load consumer offset, file: {}, consumer groups: {}", file.getAbsolutePath(), offsetTable.size());
+        } catch (Exception e) {
+            logger.error("load consumer offset error, file: {}", file.getAbsolutePath(), e);
+        }
+    }
+}
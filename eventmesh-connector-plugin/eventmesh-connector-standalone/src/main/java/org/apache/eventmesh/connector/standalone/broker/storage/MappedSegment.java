@@ -0,0 +1,305 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.connector.standalone.broker.storage;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A fixed size segment file of the commit log, mapped into memory.
+ * Each record is laid out as: body length(4) | body crc32(4) | offset(8) | store timestamp(8) | body.
+ * The segment is written by a single thread, the write position is published after the record is complete,
+ * so the readers never need a lock. The readers hold a reference of the segment while reading, the mapping is
+ * released by the last one after the segment is destroyed.
+ */
+public class MappedSegment {
+
+    public static final int RECORD_HEADER_SIZE = 4 + 4 + 8 + 8;
+
+    private static final int CRC_POSITION = 4;
+
+    private static final int OFFSET_POSITION = 8;
+
+    private static final int STORE_TIMESTAMP_POSITION = 16;
+
+    private final Logger logger = LoggerFactory.getLogger(MappedSegment.class);
+
+    private final File file;
+
+    private final long baseOffset;
+
+    private final int fileSize;
+
+    private final int indexInterval;
+
+    private final MappedByteBuffer mappedByteBuffer;
+
+    /**
+     * Sparse index, offset -> position of the record, one entry every indexInterval bytes
+     */
+    private final ConcurrentSkipListMap<Long, Integer> offsetIndex = new ConcurrentSkipListMap<>();
+
+    private int bytesSinceLastIndex;
+
+    private int flushedPosition;
+
+    private volatile int wrotePosition;
+
+    private volatile long lastStoreTimestamp;
+
+    private volatile long nextOffset;
+
+    /**
+     * One reference is held by the segment itself until it is destroyed, and one by each reader
+     */
+    private final AtomicInteger refCount = new AtomicInteger(1);
+
+    private volatile boolean available = true;
+
+    public MappedSegment(File file, long baseOffset, int fileSize, int indexInterval) throws IOException {
+        this.file = file;
+        this.baseOffset = baseOffset;
+        this.fileSize = fileSize;
+        this.indexInterval = indexInterval;
+        this.nextOffset = baseOffset;
+        // the mapping stays valid after the channel is closed
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw");
+             FileChannel fileChannel = randomAccessFile.getChannel()) {
+            this.mappedByteBuffer = fileChannel.map(FileChannel.MapMode.READ_WRITE, 0, fileSize);
+        }
+    }
+
+    /**
+     * Scan the records from the beginning of the file, rebuild the sparse index and find the write position.
+     * The scan stops at the first empty or incomplete record, or the first record whose body does not match its
+     * crc, which is the record being written when the process crashed.
+     */
+    public void recover() {
+        int position = 0;
+        long expectOffset = baseOffset;
+        while (position + RECORD_HEADER_SIZE <= fileSize) {
+            int bodySize = mappedByteBuffer.getInt(position);
+            if (bodySize <= 0 || position + RECORD_HEADER_SIZE + bodySize > fileSize) {
+                break;
+            }
+            long offset = mappedByteBuffer.getLong(position + OFFSET_POSITION);
+            if (offset != expectOffset) {
+                logger.warn("commit log record is broken, file: {}, position: {}, offset: {}, expect offset: {}",
+                        file.getName(), position, offset, expectOffset);
+                break;
+            }
+            if (mappedByteBuffer.getInt(position + CRC_POSITION) != crc(readBody(position))) {
+                logger.warn("commit log record is torn, file: {}, position: {}, offset: {}", file.getName(), position, offset);
+                break;
+            }
+            indexRecord(offset, position, RECORD_HEADER_SIZE + bodySize);
+            lastStoreTimestamp = mappedByteBuffer.getLong(position + STORE_TIMESTAMP_POSITION);
+            position += RECORD_HEADER_SIZE + bodySize;
+            expectOffset++;
+        }
+        this.flushedPosition = position;
+        this.wrotePosition = position;
+        this.nextOffset = expectOffset;
+    }
+
+    /**
+     * Append a record at the end of this segment, should only be called by the single writer
+     *
+     * @return false if there is not enough space left in this segment
+     */
+    public boolean append(byte[] body, long offset, long storeTimestamp) {
+        int position = wrotePosition;
+        int recordSize = RECORD_HEADER_SIZE + body.length;
+        if (position + recordSize > fileSize) {
+            return false;
+        }
+        ByteBuffer byteBuffer = mappedByteBuffer.duplicate();
+        byteBuffer.position(position);
+        byteBuffer.putInt(body.length);
+        byteBuffer.putInt(crc(body));
+        byteBuffer.putLong(offset);
+        byteBuffer.putLong(storeTimestamp);
+        byteBuffer.put(body);
+        indexRecord(offset, position, recordSize);
+        this.lastStoreTimestamp = storeTimestamp;
+        this.wrotePosition = position + recordSize;
+        this.nextOffset = offset + 1;
+        return true;
+    }
+
+    /**
+     * Find the position of the record with the given offset
+     *
+     * @return position of the record, or -1 if the offset is not in this segment
+     */
+    public int findPosition(long offset) {
+        if (offset < baseOffset || offset >= nextOffset) {
+            return -1;
+        }
+        Map.Entry<Long, Integer> floorEntry = offsetIndex.floorEntry(offset);
+        int position = floorEntry == null ? 0 : floorEntry.getValue();
+        int limit = wrotePosition;
+        while (position < limit) {
+            long recordOffset = mappedByteBuffer.getLong(position + OFFSET_POSITION);
+            if (recordOffset == offset) {
+                return position;
+            }
+            position += RECORD_HEADER_SIZE + mappedByteBuffer.getInt(position);
+        }
+        return -1;
+    }
+
+    public byte[] readBody(int position) {
+        byte[] body = new byte[mappedByteBuffer.getInt(position)];
+        ByteBuffer byteBuffer = mappedByteBuffer.duplicate();
+        byteBuffer.position(position + RECORD_HEADER_SIZE);
+        byteBuffer.get(body);
+        return body;
+    }
+
+    public long readStoreTimestamp(int position) {
+        return mappedByteBuffer.getLong(position + STORE_TIMESTAMP_POSITION);
+    }
+
+    /**
+     * Force the written records to the storage device
+     */
+    public void flush() {
+        if (!hold()) {
+            return;
+        }
+        try {
+            int position = wrotePosition;
+            if (position > flushedPosition) {
+                mappedByteBuffer.force();
+                flushedPosition = position;
+            }
+        } finally {
+            release();
+        }
+    }
+
+    /**
+     * Hold a reference before reading the mapped memory
+     *
+     * @return false if the segment is destroyed, it must not be read then
+     */
+    public boolean hold() {
+        while (available) {
+            int current = refCount.get();
+            if (current <= 0) {
+                return false;
+            }
+            if (refCount.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Release a reference, the mapping is released with the last reference
+     */
+    public void release() {
+        if (refCount.decrementAndGet() == 0) {
+            unmap(mappedByteBuffer);
+        }
+    }
+
+    /**
+     * Delete the segment file, the mapping is released right away or by the last reader
+     */
+    public boolean destroy() {
+        boolean deleted = file.delete();
+        if (available) {
+            available = false;
+            release();
+        }
+        return deleted;
+    }
+
+    public long getBaseOffset() {
+        return baseOffset;
+    }
+
+    public long getNextOffset() {
+        return nextOffset;
+    }
+
+    public long getLastStoreTimestamp() {
+        return lastStoreTimestamp;
+    }
+
+    public int getWrotePosition() {
+        return wrotePosition;
+    }
+
+    public boolean isEmpty() {
+        return nextOffset == baseOffset;
+    }
+
+    private static int crc(byte[] body) {
+        CRC32 crc32 = new CRC32();
+        crc32.update(body, 0, body.length);
+        return (int) crc32.getValue();
+    }
+
+    /**
+     * Release the mapped memory without waiting for the buffer to be collected, the way is different before and
+     * after java 9. If neither works, the memory is released by the collector.
+     */
+    private void unmap(MappedByteBuffer buffer) {
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            try {
+                Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+                Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+                theUnsafe.setAccessible(true);
+                invokeCleaner.invoke(theUnsafe.get(null), buffer);
+            } catch (NoSuchMethodException e) {
+                Method cleanerMethod = buffer.getClass().getMethod("cleaner");
+                cleanerMethod.setAccessible(true);
+                Object cleaner = cleanerMethod.invoke(buffer);
+                cleaner.getClass().getMethod("clean").invoke(cleaner);
+            }
+        } catch (Exception e) {
+            logger.warn("unmap commit log segment failed, file: {}", file.getName(), e);
+        }
+    }
+
+    private void indexRecord(long offset, int position, int recordSize) {
+        if (offsetIndex.isEmpty() || bytesSinceLastIndex >= indexInterval) {
+            offsetIndex.put(offset, position);
+            bytesSinceLastIndex = 0;
+        }
+        bytesSinceLastIndex += recordSize;
+    }
+}
@@ -18,8 +18,11 @@
 package org.apache.eventmesh.connector.standalone.broker.task;
 
 import org.apache.eventmesh.connector.standalone.broker.MessageQueue;
-import org.apache.eventmesh.connector.standalone.broker.model.MessageEntity;
+import org.apache.eventmesh.connector.standalone.broker.model.RetentionMetrics;
+import org.apache.eventmesh.connector.standalone.broker.model.RetentionPolicy;
 import org.apache.eventmesh.connector.standalone.broker.model.TopicMetadata;
+import org.apache.eventmesh.connector.standalone.broker.storage.CommitLog;
+import org.apache.eventmesh.connector.standalone.config.StandaloneConfiguration;
 
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
@@ -29,42 +32,66 @@ import org.slf4j.LoggerFactory;
 
 /**
  * This task used to clear the history message, the element in message queue can only be cleaned by this task.
+ * The messages which exceed the retention policy of the topic are truncated as a whole range in each round.
  */
 public class HistoryMessageClearTask implements Runnable {
 
-
     private final Logger logger = LoggerFactory.getLogger(HistoryMessageClearTask.class);
 
     private final ConcurrentHashMap<TopicMetadata, MessageQueue> messageContainer;
 
-    /**
-     * If the currentTimeMills - messageCreateTimeMills >= MESSAGE_STORE_WINDOW, then the message will be clear
-     */
-    private static final long MESSAGE_STORE_WINDOW = 60 * 60 * 1000;
+    private final ConcurrentHashMap<TopicMetadata, CommitLog> commitLogContainer;
+
+    private final StandaloneConfiguration configuration;
 
-    public HistoryMessageClearTask(ConcurrentHashMap<TopicMetadata, MessageQueue> messageContainer) {
+    private final RetentionMetrics retentionMetrics;
+
+    public HistoryMessageClearTask(ConcurrentHashMap<TopicMetadata, MessageQueue> messageContainer,
+                                   ConcurrentHashMap<TopicMetadata, CommitLog> commitLogContainer,
+                                   StandaloneConfiguration configuration,
+                                   RetentionMetrics retentionMetrics) {
         this.messageContainer = messageContainer;
+        this.commitLogContainer = commitLogContainer;
+        this.configuration = configuration;
+        this.retentionMetrics = retentionMetrics;
     }
 
     @Override
     public void run() {
         while (true) {
-            messageContainer.forEach((topicMetadata, messageQueue) -> {
-                long currentTimeMillis = System.currentTimeMillis();
-                MessageEntity oldestMessage = messageQueue.getHead();
-                if (oldestMessage == null) {
-                    return;
-                }
-                if (currentTimeMillis - oldestMessage.getCreateTimeMills() >= MESSAGE_STORE_WINDOW) {
-                    messageQueue.removeHead();
-                }
-            });
+            clearHistoryMessage();
             try {
                 Thread.sleep(TimeUnit.SECONDS.toMillis(1));
             } catch (InterruptedException e) {
                 logger.error("Thread is interrupted, thread name: {}", Thread.currentThread().getName(), e);
                 Thread.currentThread().interrupt();
+                return;
             }
         }
     }
+
+    void clearHistoryMessage() {
+        messageContainer.forEach((topicMetadata, messageQueue) -> {
+            RetentionPolicy retentionPolicy = configuration.getRetentionPolicy(topicMetadata.getTopicName());
+            long minOffset = messageQueue.getMinOffset();
+            long reclaimedBytes = messageQueue.truncate(retentionPolicy, System.currentTimeMillis());
+            record(topicMetadata, reclaimedBytes, messageQueue.getMinOffset() - minOffset);
+        });
+        // the commit log is truncated by whole segment
+        commitLogContainer.forEach((topicMetadata, commitLog) -> {
+            RetentionPolicy retentionPolicy = configuration.getRetentionPolicy(topicMetadata.getTopicName());
+            long minOffset = commitLog.getMinOffset();
+            long reclaimedBytes = commitLog.truncate(retentionPolicy, System.currentTimeMillis());
+            record(topicMetadata, reclaimedBytes, commitLog.getMinOffset() - minOffset);
+        });
+    }
+
+    private void record(TopicMetadata topicMetadata, long reclaimedBytes, long reclaimedMessages) {
+        if (reclaimedMessages <= 0) {
+            return;
+        }
+        retentionMetrics.record(topicMetadata, reclaimedBytes, reclaimedMessages);
+        logger.info("clear history message, topic: {}, messages: {}, bytes: {}, total reclaimed bytes: {}",
+                topicMetadata, reclaimedMessages, reclaimedBytes, retentionMetrics.getReclaimedBytes(topicMetadata));
+    }
 }
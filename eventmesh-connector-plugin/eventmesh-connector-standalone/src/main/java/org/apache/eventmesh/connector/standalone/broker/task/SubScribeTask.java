@@ -21,31 +21,55 @@ import org.apache.eventmesh.api.EventListener;
 import org.apache.eventmesh.api.EventMeshAction;
 import org.apache.eventmesh.api.EventMeshAsyncConsumeContext;
 import org.apache.eventmesh.connector.standalone.broker.StandaloneBroker;
+import org.apache.eventmesh.connector.standalone.broker.model.TopicMetadata;
 
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import io.cloudevents.CloudEvent;
+import io.cloudevents.core.builder.CloudEventBuilder;
 
+/**
+ * Deliver the messages of one topic partition to the listener. The task parks on the topic until putMessage wakes it up,
+ * then delivers every available message, at most consumeBatchSize messages before checking the state again.
+ * Each consumer group has its own task and offset, so every group receives all the messages of the topic.
+ */
 public class SubScribeTask implements Runnable {
 
-    private String topicName;
+    /**
+     * The max time to park when there is no message, so that the shutdown can be noticed
+     */
+    private static final long AWAIT_MESSAGE_TIMEOUT_MILLS = 1000;
+
+    /**
+     * The time to wait before the message which is not acked is delivered again
+     */
+    private static final long RECONSUME_INTERVAL_MILLS = 1000;
+
+    private TopicMetadata topicMetadata;
+    private String consumerGroup;
     private StandaloneBroker standaloneBroker;
     private EventListener listener;
     private volatile boolean isRunning;
 
-    private AtomicInteger offset;
+    private final int batchSize;
+
+    private AtomicLong offset;
 
     private final Logger logger = LoggerFactory.getLogger(SubScribeTask.class);
 
-    public SubScribeTask(String topicName,
+    public SubScribeTask(TopicMetadata topicMetadata,
+                         String consumerGroup,
                          StandaloneBroker standaloneBroker,
                          EventListener listener) {
-        this.topicName = topicName;
+        this.topicMetadata = topicMetadata;
+        this.consumerGroup = consumerGroup;
         this.standaloneBroker = standaloneBroker;
         this.listener = listener;
+        this.batchSize = standaloneBroker.getConfiguration().consumeBatchSize;
         this.isRunning = true;
     }
 
@@ -53,64 +77,90 @@ public class SubScribeTask implements Runnable {
     public void run() {
         while (isRunning) {
             try {
-                logger.debug("execute subscribe task, topic: {}, offset: {}", topicName, offset);
                 if (offset == null) {
-                    CloudEvent message = standaloneBroker.getMessage(topicName);
-                    if (message != null) {
-                        if (message.getExtension("offset") != null) {
-                            offset = new AtomicInteger((int) message.getExtension("offset"));
-                        } else {
-                            offset = new AtomicInteger(0);
-                        }
-
-                    }
+                    // resume from the committed offset of the consumer group
+                    long committedOffset = standaloneBroker.getConsumerOffset(consumerGroup, topicMetadata);
+                    offset = new AtomicLong(committedOffset < 0 ? standaloneBroker.getMinOffset(topicMetadata) : committedOffset);
                 }
-                if (offset != null) {
-                    CloudEvent message = standaloneBroker.getMessage(topicName, offset.get());
-                    if (message != null) {
-                        EventMeshAsyncConsumeContext consumeContext = new EventMeshAsyncConsumeContext() {
-                            @Override
-                            public void commit(EventMeshAction action) {
-                                switch (action) {
-                                    case CommitMessage:
-                                        // update offset
-                                        logger.info("message commit, topic: {}, current offset:{}", topicName,
-                                                offset.get());
-                                        break;
-                                    case ReconsumeLater:
-                                        // don't update offset
-                                        break;
-                                    case ManualAck:
-                                        // update offset
-                                        offset.incrementAndGet();
-                                        logger
-                                                .info("message ack, topic: {}, current offset:{}", topicName, offset.get());
-                                        break;
-                                    default:
-
-                                }
-                            }
-                        };
-                        listener.consume(message, consumeContext);
-                    }
+                logger.debug("execute subscribe task, topic: {}, consumerGroup: {}, offset: {}", topicMetadata, consumerGroup, offset);
+                int consumed = consumeBatch();
+                if (consumed < 0) {
+                    // the last message is not acked, don't retry it immediately
+                    Thread.sleep(RECONSUME_INTERVAL_MILLS);
+                } else if (consumed < batchSize) {
+                    standaloneBroker.awaitMessage(topicMetadata, offset.get(), AWAIT_MESSAGE_TIMEOUT_MILLS, TimeUnit.MILLISECONDS);
                 }
-
-            } catch (Exception ex) {
-                logger.error("consumer error, topic: {}, offset: {}", topicName, offset == null ? null : offset.get(),
-                        ex);
-            }
-            try {
-                Thread.sleep(1000);
             } catch (InterruptedException e) {
                 logger.error("Thread is interrupted, topic: {}, offset: {} thread name: {}",
-                        topicName, offset == null ? null : offset.get(), Thread.currentThread().getName(), e);
+                        topicMetadata, offset == null ? null : offset.get(), Thread.currentThread().getName(), e);
                 Thread.currentThread().interrupt();
+                return;
+            } catch (Exception ex) {
+                logger.error("consumer error, topic: {}, offset: {}", topicMetadata, offset == null ? null : offset.get(),
+                        ex);
+                try {
+                    Thread.sleep(RECONSUME_INTERVAL_MILLS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Deliver the available messages one by one, stop at the first message which is not acked
+     *
+     * @return the number of acked messages, -1 if a message is delivered but not acked
+     */
+    private int consumeBatch() {
+        int consumed = 0;
+        while (isRunning && consumed < batchSize) {
+            long minOffset = standaloneBroker.getMinOffset(topicMetadata);
+            if (offset.get() < minOffset) {
+                logger.warn("message has been deleted, topic: {}, offset: {}, skip to offset: {}", topicMetadata, offset.get(), minOffset);
+                offset.set(minOffset);
+            }
+            long currentOffset = offset.get();
+            CloudEvent message = standaloneBroker.getMessage(topicMetadata, currentOffset);
+            if (message == null) {
+                break;
+            }
+            CloudEvent delivered = CloudEventBuilder.from(message)
+                    .withExtension(StandaloneBroker.OFFSET_EXTENSION, currentOffset)
+                    .withExtension(StandaloneBroker.PARTITION_EXTENSION, topicMetadata.getPartition())
+                    .build();
+            listener.consume(delivered, new EventMeshAsyncConsumeContext() {
+                @Override
+                public void commit(EventMeshAction action) {
+                    switch (action) {
+                        case CommitMessage:
+                        case ManualAck:
+                            // update offset
+                            if (offset.compareAndSet(currentOffset, currentOffset + 1)) {
+                                standaloneBroker.updateOffset(consumerGroup, topicMetadata, currentOffset + 1);
+                            }
+                            logger.debug("message ack, topic: {}, consumerGroup: {}, action: {}, current offset:{}",
+                                    topicMetadata, consumerGroup, action, offset.get());
+                            break;
+                        case ReconsumeLater:
+                            // don't update offset
+                            break;
+                        default:
+
+                    }
+                }
+            });
+            if (offset.get() == currentOffset) {
+                return -1;
             }
+            consumed++;
         }
+        return consumed;
     }
 
     public void shutdown() {
         isRunning = false;
     }
 
-}
\ No newline at end of file
+}
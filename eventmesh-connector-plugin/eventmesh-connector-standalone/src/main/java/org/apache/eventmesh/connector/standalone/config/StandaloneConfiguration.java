@@ -0,0 +1,185 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.connector.standalone.config;
+
+import org.apache.eventmesh.connector.standalone.broker.model.RetentionPolicy;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.File;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.google.common.base.Preconditions;
+
+public class StandaloneConfiguration {
+
+    /**
+     * Events are kept in an in-heap ring buffer and are lost when the process exits
+     */
+    public static final String STORE_TYPE_MEMORY = "memory";
+
+    /**
+     * Events are appended to memory-mapped segment files and survive a restart
+     */
+    public static final String STORE_TYPE_FILE = "file";
+
+    public String storeType = STORE_TYPE_MEMORY;
+    public String storePath = System.getProperty("user.home") + File.separator + "eventmesh" + File.separator + "standalone";
+    public Integer segmentSize = 64 * 1024 * 1024;
+    public Integer indexInterval = 4 * 1024;
+    public Integer flushInterval = 1000;
+    public Integer offsetFlushInterval = 5000;
+    public Integer consumeBatchSize = 32;
+    public Long retentionTimeInMills = 60 * 60 * 1000L;
+    public Long retentionBytes = 0L;
+    public Long retentionMessages = 0L;
+    public Integer partitions = 1;
+
+    private final ConcurrentHashMap<String, RetentionPolicy> retentionPolicyTable = new ConcurrentHashMap<>();
+
+    private final ConcurrentHashMap<String, Integer> partitionsTable = new ConcurrentHashMap<>();
+
+    public void init() {
+
+        String storeTypeStr = ConfigurationWrapper.getProp(ConfKeys.KEYS_EVENTMESH_STANDALONE_STORE_TYPE);
+        if (StringUtils.isNotBlank(storeTypeStr)) {
+            storeTypeStr = StringUtils.trim(storeTypeStr);
+            Preconditions.checkState(STORE_TYPE_MEMORY.equals(storeTypeStr) || STORE_TYPE_FILE.equals(storeTypeStr),
+                    String.format("%s error", ConfKeys.KEYS_EVENTMESH_STANDALONE_STORE_TYPE));
+            storeType = storeTypeStr;
+        }
+
+        String storePathStr = ConfigurationWrapper.getProp(ConfKeys.KEYS_EVENTMESH_STANDALONE_STORE_PATH);
+        if (StringUtils.isNotBlank(storePathStr)) {
+            storePath = StringUtils.trim(storePathStr);
+        }
+
+        String segmentSizeStr = ConfigurationWrapper.getProp(ConfKeys.KEYS_EVENTMESH_STANDALONE_SEGMENT_SIZE);
+        if (StringUtils.isNotEmpty(segmentSizeStr)) {
+            Preconditions.checkState(StringUtils.isNumeric(segmentSizeStr),
+                    String.format("%s error", ConfKeys.KEYS_EVENTMESH_STANDALONE_SEGMENT_SIZE));
+            segmentSize = Integer.valueOf(segmentSizeStr);
+        }
+
+        String indexIntervalStr = ConfigurationWrapper.getProp(ConfKeys.KEYS_EVENTMESH_STANDALONE_INDEX_INTERVAL);
+        if (StringUtils.isNotEmpty(indexIntervalStr)) {
+            Preconditions.checkState(StringUtils.isNumeric(indexIntervalStr),
+                    String.format("%s error", ConfKeys.KEYS_EVENTMESH_STANDALONE_INDEX_INTERVAL));
+            indexInterval = Integer.valueOf(indexIntervalStr);
+        }
+
+        String flushIntervalStr = ConfigurationWrapper.getProp(ConfKeys.KEYS_EVENTMESH_STANDALONE_FLUSH_INTERVAL);
+        if (StringUtils.isNotEmpty(flushIntervalStr)) {
+            Preconditions.checkState(StringUtils.isNumeric(flushIntervalStr),
+                    String.format("%s error", ConfKeys.KEYS_EVENTMESH_STANDALONE_FLUSH_INTERVAL));
+            flushInterval = Integer.valueOf(flushIntervalStr);
+        }
+
+        String offsetFlushIntervalStr = ConfigurationWrapper.getProp(ConfKeys.KEYS_EVENTMESH_STANDALONE_OFFSET_FLUSH_INTERVAL);
+        if (StringUtils.isNotEmpty(offsetFlushIntervalStr)) {
+            Preconditions.checkState(StringUtils.isNumeric(offsetFlushIntervalStr),
+                    String.format("%s error", ConfKeys.KEYS_EVENTMESH_STANDALONE_OFFSET_FLUSH_INTERVAL));
+            offsetFlushInterval = Integer.valueOf(offsetFlushIntervalStr);
+        }
+
+        String consumeBatchSizeStr = ConfigurationWrapper.getProp(ConfKeys.KEYS_EVENTMESH_STANDALONE_CONSUME_BATCH_SIZE);
+        if (StringUtils.isNotEmpty(consumeBatchSizeStr)) {
+            Preconditions.checkState(StringUtils.isNumeric(consumeBatchSizeStr) && Integer.parseInt(consumeBatchSizeStr) > 0,
+                    String.format("%s error", ConfKeys.KEYS_EVENTMESH_STANDALONE_CONSUME_BATCH_SIZE));
+            consumeBatchSize = Integer.valueOf(consumeBatchSizeStr);
+        }
+
+        retentionTimeInMills = parseLong(ConfKeys.KEYS_EVENTMESH_STANDALONE_RETENTION_TIME, retentionTimeInMills);
+        retentionBytes = parseLong(ConfKeys.KEYS_EVENTMESH_STANDALONE_RETENTION_BYTES, retentionBytes);
+        retentionMessages = parseLong(ConfKeys.KEYS_EVENTMESH_STANDALONE_RETENTION_MESSAGES, retentionMessages);
+
+        partitions = parsePartitions(ConfKeys.KEYS_EVENTMESH_STANDALONE_PARTITIONS, partitions);
+    }
+
+    /**
+     * Get the partition number of the topic, it can be overridden for a topic by appending "." + topicName to the key
+     *
+     * @param topicName topic name
+     * @return partition number
+     */
+    public int getPartitions(String topicName) {
+        return partitionsTable.computeIfAbsent(topicName,
+                k -> parsePartitions(ConfKeys.KEYS_EVENTMESH_STANDALONE_PARTITIONS + "." + k, partitions));
+    }
+
+    /**
+     * Get the retention policy of the topic, each limit can be overridden for a topic by appending
+     * "." + topicName to its key, e.g. eventMesh.server.standalone.retentionBytes.TEST-TOPIC
+     *
+     * @param topicName topic name
+     * @return RetentionPolicy
+     */
+    public RetentionPolicy getRetentionPolicy(String topicName) {
+        return retentionPolicyTable.computeIfAbsent(topicName, k -> new RetentionPolicy(
+                parseLong(ConfKeys.KEYS_EVENTMESH_STANDALONE_RETENTION_TIME + "." + k, retentionTimeInMills),
+                parseLong(ConfKeys.KEYS_EVENTMESH_STANDALONE_RETENTION_BYTES + "." + k, retentionBytes),
+                parseLong(ConfKeys.KEYS_EVENTMESH_STANDALONE_RETENTION_MESSAGES + "." + k, retentionMessages)));
+    }
+
+    private Integer parsePartitions(String key, Integer defaultValue) {
+        String value = ConfigurationWrapper.getProp(key);
+        if (StringUtils.isEmpty(value)) {
+            return defaultValue;
+        }
+        Preconditions.checkState(StringUtils.isNumeric(value) && Integer.parseInt(value) > 0, String.format("%s error", key));
+        return Integer.valueOf(value);
+    }
+
+    private Long parseLong(String key, Long defaultValue) {
+        String value = ConfigurationWrapper.getProp(key);
+        if (StringUtils.isEmpty(value)) {
+            return defaultValue;
+        }
+        Preconditions.checkState(StringUtils.isNumeric(value), String.format("%s error", key));
+        return Long.valueOf(value);
+    }
+
+    public boolean isFileStore() {
+        return STORE_TYPE_FILE.equals(storeType);
+    }
+
+    static class ConfKeys {
+
+        public static String KEYS_EVENTMESH_STANDALONE_STORE_TYPE = "eventMesh.server.standalone.storeType";
+
+        public static String KEYS_EVENTMESH_STANDALONE_STORE_PATH = "eventMesh.server.standalone.storePath";
+
+        public static String KEYS_EVENTMESH_STANDALONE_SEGMENT_SIZE = "eventMesh.server.standalone.segmentSize";
+
+        public static String KEYS_EVENTMESH_STANDALONE_INDEX_INTERVAL = "eventMesh.server.standalone.indexInterval";
+
+        public static String KEYS_EVENTMESH_STANDALONE_FLUSH_INTERVAL = "eventMesh.server.standalone.flushIntervalInMills";
+
+        public static String KEYS_EVENTMESH_STANDALONE_OFFSET_FLUSH_INTERVAL = "eventMesh.server.standalone.offsetFlushIntervalInMills";
+
+        public static String KEYS_EVENTMESH_STANDALONE_CONSUME_BATCH_SIZE = "eventMesh.server.standalone.consumeBatchSize";
+
+        public static String KEYS_EVENTMESH_STANDALONE_RETENTION_TIME = "eventMesh.server.standalone.retentionTimeInMills";
+
+        public static String KEYS_EVENTMESH_STANDALONE_RETENTION_BYTES = "eventMesh.server.standalone.retentionBytes";
+
+        public static String KEYS_EVENTMESH_STANDALONE_RETENTION_MESSAGES = "eventMesh.server.standalone.retentionMessages";
+
+        public static String KEYS_EVENTMESH_STANDALONE_PARTITIONS = "eventMesh.server.standalone.partitions";
+    }
+}
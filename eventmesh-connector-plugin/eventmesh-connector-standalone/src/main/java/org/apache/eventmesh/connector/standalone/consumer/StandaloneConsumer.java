@@ -25,23 +25,39 @@ import org.apache.eventmesh.connector.standalone.broker.StandaloneBroker;
 import org.apache.eventmesh.connector.standalone.broker.model.TopicMetadata;
 import org.apache.eventmesh.connector.standalone.broker.task.SubScribeTask;
 
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Properties;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.SynchronousQueue;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import io.cloudevents.CloudEvent;
 
 public class StandaloneConsumer implements Consumer {
 
+    private static final String DEFAULT_CONSUMER_GROUP = "DEFAULT_CONSUMER_GROUP";
+
+    /**
+     * Broadcast consumers keep their offsets apart from the clustering consumers of the same group
+     */
+    private static final String BROADCAST_CONSUMER_GROUP_PREFIX = "%BROADCAST%";
+
     private StandaloneBroker standaloneBroker;
 
     private EventListener listener;
 
     private AtomicBoolean isStarted;
 
-    private final ConcurrentHashMap<String, SubScribeTask> subscribeTaskTable;
+    private String consumerGroup;
+
+    /**
+     * topic -> the subscribe task of each partition
+     */
+    private final ConcurrentHashMap<String, List<SubScribeTask>> subscribeTaskTable;
 
     private ExecutorService consumeExecutorService;
 
@@ -49,10 +65,15 @@ public class StandaloneConsumer implements Consumer {
         this.standaloneBroker = StandaloneBroker.getInstance();
         this.subscribeTaskTable = new ConcurrentHashMap<>(16);
         this.isStarted = new AtomicBoolean(false);
+        this.consumerGroup = parseConsumerGroup(properties);
+        // each partition is consumed by its own listener thread, so the pool grows with the subscribed partitions
+        // instead of queueing the subscribe tasks which never complete
         this.consumeExecutorService = ThreadPoolFactory.createThreadPoolExecutor(
                 Runtime.getRuntime().availableProcessors() * 2,
-                Runtime.getRuntime().availableProcessors() * 2,
-                "StandaloneConsumerThread"
+                Integer.MAX_VALUE,
+                new SynchronousQueue<>(),
+                "StandaloneConsumerThread",
+                true
         );
     }
 
@@ -74,21 +95,26 @@ public class StandaloneConsumer implements Consumer {
     @Override
     public void shutdown() {
         isStarted.compareAndSet(true, false);
-        subscribeTaskTable.forEach(((topic, subScribeTask) -> subScribeTask.shutdown()));
+        subscribeTaskTable.forEach(((topic, subScribeTasks) -> subScribeTasks.forEach(SubScribeTask::shutdown)));
         subscribeTaskTable.clear();
     }
 
     @Override
     public void init(Properties keyValue) throws Exception {
-
+        this.consumerGroup = parseConsumerGroup(keyValue);
     }
 
     @Override
     public void updateOffset(List<CloudEvent> cloudEvents, AbstractContext context) {
-        cloudEvents.forEach(cloudEvent -> standaloneBroker.updateOffset(
-                new TopicMetadata(cloudEvent.getSubject()), (Long) cloudEvent.getExtension("offset"))
-        );
-
+        cloudEvents.forEach(cloudEvent -> {
+            Object offset = cloudEvent.getExtension(StandaloneBroker.OFFSET_EXTENSION);
+            if (offset == null) {
+                return;
+            }
+            Object partition = cloudEvent.getExtension(StandaloneBroker.PARTITION_EXTENSION);
+            TopicMetadata topicMetadata = new TopicMetadata(cloudEvent.getSubject(), partition == null ? 0 : (int) parseLong(partition));
+            standaloneBroker.updateOffset(consumerGroup, topicMetadata, parseLong(offset) + 1);
+        });
     }
 
     @Override
@@ -99,9 +125,13 @@ public class StandaloneConsumer implements Consumer {
         }
         synchronized (subscribeTaskTable) {
             standaloneBroker.createTopicIfAbsent(topic);
-            SubScribeTask subScribeTask = new SubScribeTask(topic, standaloneBroker, listener);
-            subscribeTaskTable.put(topic, subScribeTask);
-            consumeExecutorService.execute(subScribeTask);
+            List<SubScribeTask> subScribeTasks = new ArrayList<>();
+            for (int partition = 0; partition < standaloneBroker.getPartitions(topic); partition++) {
+                SubScribeTask subScribeTask = new SubScribeTask(new TopicMetadata(topic, partition), consumerGroup, standaloneBroker, listener);
+                subScribeTasks.add(subScribeTask);
+                consumeExecutorService.execute(subScribeTask);
+            }
+            subscribeTaskTable.put(topic, subScribeTasks);
         }
     }
 
@@ -111,9 +141,10 @@ public class StandaloneConsumer implements Consumer {
             return;
         }
         synchronized (subscribeTaskTable) {
-            SubScribeTask subScribeTask = subscribeTaskTable.get(topic);
-            subScribeTask.shutdown();
-            subscribeTaskTable.remove(topic);
+            List<SubScribeTask> subScribeTasks = subscribeTaskTable.remove(topic);
+            if (subScribeTasks != null) {
+                subScribeTasks.forEach(SubScribeTask::shutdown);
+            }
         }
     }
 
@@ -121,4 +152,19 @@ public class StandaloneConsumer implements Consumer {
     public void registerEventListener(EventListener listener) {
         this.listener = listener;
     }
+
+    private long parseLong(Object value) {
+        return value instanceof Number ? ((Number) value).longValue() : Long.parseLong(value.toString());
+    }
+
+    private String parseConsumerGroup(Properties properties) {
+        if (properties == null) {
+            return consumerGroup == null ? DEFAULT_CONSUMER_GROUP : consumerGroup;
+        }
+        String group = StringUtils.defaultIfBlank(properties.getProperty("consumerGroup"), DEFAULT_CONSUMER_GROUP);
+        if (Boolean.parseBoolean(properties.getProperty("isBroadcast"))) {
+            return BROADCAST_CONSUMER_GROUP_PREFIX + group;
+        }
+        return group;
+    }
 }
\ No newline at end of file
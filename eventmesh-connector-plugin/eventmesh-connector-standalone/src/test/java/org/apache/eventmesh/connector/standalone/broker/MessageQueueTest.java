@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.connector.standalone.broker;
+
+import org.apache.eventmesh.connector.standalone.broker.model.MessageEntity;
+import org.apache.eventmesh.connector.standalone.broker.model.RetentionPolicy;
+import org.apache.eventmesh.connector.standalone.broker.model.TopicMetadata;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import io.cloudevents.CloudEvent;
+import io.cloudevents.core.builder.CloudEventBuilder;
+
+public class MessageQueueTest {
+
+    private final TopicMetadata topicMetadata = new TopicMetadata("test-topic");
+
+    @Test
+    public void testPutAndGetByOffset() throws InterruptedException {
+        MessageQueue messageQueue = new MessageQueue(16);
+        Assert.assertNull(messageQueue.getHead());
+        Assert.assertNull(messageQueue.getByOffset(0));
+        for (int i = 0; i < 10; i++) {
+            MessageEntity messageEntity = createMessageEntity(i);
+            messageQueue.put(messageEntity);
+            Assert.assertEquals(i, messageEntity.getOffset());
+        }
+        Assert.assertEquals(10, messageQueue.getSize());
+        Assert.assertEquals("test-0", messageQueue.getHead().getMessage().getId());
+        Assert.assertEquals("test-9", messageQueue.getTail().getMessage().getId());
+        Assert.assertEquals("test-5", messageQueue.getByOffset(5).getMessage().getId());
+        Assert.assertNull(messageQueue.getByOffset(10));
+    }
+
+    @Test
+    public void testRemoveHead() throws InterruptedException {
+        MessageQueue messageQueue = new MessageQueue(4);
+        for (int i = 0; i < 4; i++) {
+            messageQueue.put(createMessageEntity(i));
+        }
+        messageQueue.removeHead();
+        messageQueue.put(createMessageEntity(4));
+        Assert.assertEquals(4, messageQueue.getSize());
+        Assert.assertEquals(1, messageQueue.getHead().getOffset());
+        Assert.assertEquals("test-4", messageQueue.getByOffset(4).getMessage().getId());
+        Assert.assertThrows(RuntimeException.class, () -> messageQueue.getByOffset(0));
+    }
+
+    @Test
+    public void testTruncate() throws InterruptedException {
+        MessageQueue messageQueue = new MessageQueue(1024);
+        for (int i = 0; i < 1000; i++) {
+            messageQueue.put(createMessageEntity(i));
+        }
+        Assert.assertEquals(10000, messageQueue.getStoredBytes());
+
+        Assert.assertEquals(1000, messageQueue.truncate(new RetentionPolicy(0, 0, 900), System.currentTimeMillis()));
+        Assert.assertEquals(100, messageQueue.getMinOffset());
+
+        Assert.assertEquals(4000, messageQueue.truncate(new RetentionPolicy(0, 5000, 0), System.currentTimeMillis()));
+        Assert.assertEquals(500, messageQueue.getMinOffset());
+        Assert.assertEquals(5000, messageQueue.getStoredBytes());
+
+        Assert.assertEquals(5000, messageQueue.truncate(new RetentionPolicy(1, 0, 0), System.currentTimeMillis() + 2));
+        Assert.assertEquals(0, messageQueue.getSize());
+        Assert.assertEquals(0, messageQueue.getStoredBytes());
+        Assert.assertThrows(RuntimeException.class, () -> messageQueue.getByOffset(999));
+    }
+
+    @Test
+    public void testConcurrentPut() throws InterruptedException {
+        MessageQueue messageQueue = new MessageQueue(4096);
+        List<Thread> producers = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            Thread producer = new Thread(() -> {
+                for (int j = 0; j < 1000; j++) {
+                    try {
+                        messageQueue.put(createMessageEntity(j));
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            });
+            producers.add(producer);
+            producer.start();
+        }
+        for (Thread producer : producers) {
+            producer.join();
+        }
+        Assert.assertEquals(4000, messageQueue.getSize());
+        for (int i = 0; i < 4000; i++) {
+            Assert.assertEquals(i, messageQueue.getByOffset(i).getOffset());
+        }
+    }
+
+    private MessageEntity createMessageEntity(int index) {
+        CloudEvent cloudEvent = CloudEventBuilder.v1()
+                .withId("test-" + index)
+                .withSource(URI.create("testsource"))
+                .withType("testType")
+                .build();
+        MessageEntity messageEntity = new MessageEntity(topicMetadata, cloudEvent, -1, System.currentTimeMillis());
+        messageEntity.setStoreSize(10);
+        return messageEntity;
+    }
+}
@@ -18,6 +18,7 @@
 package org.apache.eventmesh.connector.standalone.broker;
 
 import org.apache.eventmesh.connector.standalone.broker.model.MessageEntity;
+import org.apache.eventmesh.connector.standalone.broker.model.TopicMetadata;
 
 import java.net.URI;
 
@@ -59,6 +60,42 @@ public class StandaloneBrokerTest {
         Assert.assertNotNull(message);
     }
 
+    @Test
+    public void putMessageToPartitions() throws InterruptedException {
+        StandaloneBroker instance = StandaloneBroker.getInstance();
+        String topic = "test-partitioned-topic";
+        Assert.assertEquals(4, instance.getPartitions(topic));
+        int[] counts = new int[4];
+        for (int i = 0; i < 8; i++) {
+            CloudEvent cloudEvent = CloudEventBuilder.v1()
+                    .withId("test-" + i)
+                    .withSource(URI.create("testsource"))
+                    .withType("testType")
+                    .build();
+            counts[instance.putMessage(topic, cloudEvent).getTopicMetadata().getPartition()]++;
+        }
+        for (int count : counts) {
+            Assert.assertEquals(2, count);
+        }
+
+        int partition = -1;
+        for (int i = 0; i < 8; i++) {
+            CloudEvent cloudEvent = CloudEventBuilder.v1()
+                    .withId("test-key-" + i)
+                    .withSource(URI.create("testsource"))
+                    .withType("testType")
+                    .withExtension(StandaloneBroker.PARTITION_KEY_EXTENSION, "test-key")
+                    .build();
+            MessageEntity messageEntity = instance.putMessage(topic, cloudEvent);
+            if (partition < 0) {
+                partition = messageEntity.getTopicMetadata().getPartition();
+            }
+            Assert.assertEquals(partition, messageEntity.getTopicMetadata().getPartition());
+            Assert.assertEquals("test-key-" + i,
+                    instance.getMessage(new TopicMetadata(topic, partition), messageEntity.getOffset()).getId());
+        }
+    }
+
     @Test
     public void getMessage() {
     }
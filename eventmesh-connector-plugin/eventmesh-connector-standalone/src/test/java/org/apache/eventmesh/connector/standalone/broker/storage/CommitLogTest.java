@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.connector.standalone.broker.storage;
+
+import org.apache.eventmesh.connector.standalone.broker.model.MessageEntity;
+import org.apache.eventmesh.connector.standalone.broker.model.RetentionPolicy;
+import org.apache.eventmesh.connector.standalone.broker.model.TopicMetadata;
+
+import java.io.File;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import io.cloudevents.CloudEvent;
+import io.cloudevents.core.builder.CloudEventBuilder;
+
+public class CommitLogTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final TopicMetadata topicMetadata = new TopicMetadata("test-topic");
+
+    @Test
+    public void testAppendAndGet() throws Exception {
+        CommitLog commitLog = new CommitLog(topicMetadata, temporaryFolder.newFolder(), 1024 * 1024, 64);
+        for (int i = 0; i < 100; i++) {
+            MessageEntity messageEntity = commitLog.append(createCloudEvent(i));
+            Assert.assertEquals(i, messageEntity.getOffset());
+        }
+        Assert.assertEquals(0, commitLog.getMinOffset());
+        Assert.assertEquals(100, commitLog.getMaxOffset());
+        Assert.assertEquals("test-42", commitLog.get(42).getMessage().getId());
+        Assert.assertEquals("test-0", commitLog.getHead().getMessage().getId());
+        Assert.assertNull(commitLog.get(100));
+    }
+
+    @Test
+    public void testRollSegment() throws Exception {
+        File directory = temporaryFolder.newFolder();
+        CommitLog commitLog = new CommitLog(topicMetadata, directory, 1024, 128);
+        for (int i = 0; i < 50; i++) {
+            commitLog.append(createCloudEvent(i));
+        }
+        Assert.assertTrue(directory.listFiles().length > 1);
+        for (int i = 0; i < 50; i++) {
+            Assert.assertEquals("test-" + i, commitLog.get(i).getMessage().getId());
+        }
+    }
+
+    @Test
+    public void testRecover() throws Exception {
+        File directory = temporaryFolder.newFolder();
+        CommitLog commitLog = new CommitLog(topicMetadata, directory, 1024, 128);
+        for (int i = 0; i < 50; i++) {
+            commitLog.append(createCloudEvent(i));
+        }
+        commitLog.flush();
+
+        CommitLog recovered = new CommitLog(topicMetadata, directory, 1024, 128);
+        Assert.assertEquals(50, recovered.getMaxOffset());
+        Assert.assertEquals("test-49", recovered.get(49).getMessage().getId());
+        Assert.assertEquals(50, recovered.append(createCloudEvent(50)).getOffset());
+    }
+
+    @Test
+    public void testTruncateExpiredSegments() throws Exception {
+        CommitLog commitLog = new CommitLog(topicMetadata, temporaryFolder.newFolder(), 1024, 128);
+        for (int i = 0; i < 50; i++) {
+            commitLog.append(createCloudEvent(i));
+        }
+        RetentionPolicy retentionPolicy = new RetentionPolicy(1, 0, 0);
+        Assert.assertTrue(commitLog.truncate(retentionPolicy, System.currentTimeMillis() + 2) > 0);
+        Assert.assertTrue(commitLog.getMinOffset() > 0);
+        Assert.assertEquals(50, commitLog.getMaxOffset());
+        Assert.assertEquals("test-49", commitLog.get(49).getMessage().getId());
+    }
+
+    @Test
+    public void testTruncateBySizeAndCount() throws Exception {
+        CommitLog commitLog = new CommitLog(topicMetadata, temporaryFolder.newFolder(), 1024, 128);
+        for (int i = 0; i < 50; i++) {
+            commitLog.append(createCloudEvent(i));
+        }
+        long storedBytes = commitLog.getStoredBytes();
+        long reclaimedBytes = commitLog.truncate(new RetentionPolicy(0, 2048, 0), System.currentTimeMillis());
+        Assert.assertTrue(reclaimedBytes > 0);
+        Assert.assertEquals(storedBytes - reclaimedBytes, commitLog.getStoredBytes());
+        Assert.assertTrue(commitLog.getStoredBytes() >= 2048);
+
+        commitLog.truncate(new RetentionPolicy(0, 0, 10), System.currentTimeMillis());
+        Assert.assertTrue(commitLog.getMinOffset() <= 40);
+        Assert.assertTrue(commitLog.getMaxOffset() - commitLog.getMinOffset() < 20);
+    }
+
+    private CloudEvent createCloudEvent(int index) {
+        return CloudEventBuilder.v1()
+                .withId("test-" + index)
+                .withSource(URI.create("testsource"))
+                .withType("testType")
+                .withSubject(topicMetadata.getTopicName())
+                .withData(("data-" + index).getBytes(StandardCharsets.UTF_8))
+                .build();
+    }
+}
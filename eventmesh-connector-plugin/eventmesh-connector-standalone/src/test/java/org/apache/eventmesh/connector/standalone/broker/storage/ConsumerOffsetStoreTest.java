@@ -0,0 +1,59 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.connector.standalone.broker.storage;
+
+import org.apache.eventmesh.connector.standalone.broker.model.TopicMetadata;
+
+import java.io.File;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ConsumerOffsetStoreTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void testUpdateOffset() {
+        ConsumerOffsetStore consumerOffsetStore = new ConsumerOffsetStore(null);
+        Assert.assertEquals(-1, consumerOffsetStore.getOffset("group-a", new TopicMetadata("test-topic", 1)));
+        consumerOffsetStore.updateOffset("group-a", new TopicMetadata("test-topic", 1), 10);
+        consumerOffsetStore.updateOffset("group-a", new TopicMetadata("test-topic", 1), 5);
+        consumerOffsetStore.updateOffset("group-b", new TopicMetadata("test-topic", 1), 3);
+        Assert.assertEquals(10, consumerOffsetStore.getOffset("group-a", new TopicMetadata("test-topic", 1)));
+        Assert.assertEquals(3, consumerOffsetStore.getOffset("group-b", new TopicMetadata("test-topic", 1)));
+    }
+
+    @Test
+    public void testPersistAndLoad() throws Exception {
+        File file = new File(temporaryFolder.newFolder(), "consumerOffset.json");
+        ConsumerOffsetStore consumerOffsetStore = new ConsumerOffsetStore(file);
+        consumerOffsetStore.updateOffset("group-a", new TopicMetadata("test-topic", 1), 10);
+        consumerOffsetStore.updateOffset("group-b", new TopicMetadata("test-topic", 1), 3);
+        consumerOffsetStore.persist();
+        Assert.assertTrue(file.exists());
+
+        ConsumerOffsetStore loaded = new ConsumerOffsetStore(file);
+        Assert.assertEquals(10, loaded.getOffset("group-a", new TopicMetadata("test-topic", 1)));
+        Assert.assertEquals(3, loaded.getOffset("group-b", new TopicMetadata("test-topic", 1)));
+        Assert.assertEquals(-1, loaded.getOffset("group-b", new TopicMetadata("test-topic", 0)));
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.connector.standalone.broker.storage;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class MappedSegmentTest {
+
+    private static final int FILE_SIZE = 4096;
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void testRecover() throws Exception {
+        File file = temporaryFolder.newFile();
+        MappedSegment segment = new MappedSegment(file, 100, FILE_SIZE, 64);
+        for (int i = 0; i < 10; i++) {
+            Assert.assertTrue(segment.append(body(i), 100 + i, i));
+        }
+        segment.flush();
+
+        MappedSegment recovered = new MappedSegment(file, 100, FILE_SIZE, 64);
+        recovered.recover();
+        Assert.assertEquals(110, recovered.getNextOffset());
+        Assert.assertEquals(segment.getWrotePosition(), recovered.getWrotePosition());
+        Assert.assertArrayEquals(body(9), recovered.readBody(recovered.findPosition(109)));
+    }
+
+    @Test
+    public void testRecoverStopsAtTornRecord() throws Exception {
+        File file = temporaryFolder.newFile();
+        MappedSegment segment = new MappedSegment(file, 0, FILE_SIZE, 64);
+        for (int i = 0; i < 10; i++) {
+            Assert.assertTrue(segment.append(body(i), i, i));
+        }
+        int lastPosition = segment.findPosition(9);
+        segment.flush();
+        // the header of the last record is written, but its body is not, like a crash in the middle of the append
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw")) {
+            randomAccessFile.seek(lastPosition + MappedSegment.RECORD_HEADER_SIZE);
+            randomAccessFile.write(new byte[body(9).length]);
+        }
+
+        MappedSegment recovered = new MappedSegment(file, 0, FILE_SIZE, 64);
+        recovered.recover();
+        Assert.assertEquals(9, recovered.getNextOffset());
+        Assert.assertEquals(lastPosition, recovered.getWrotePosition());
+        Assert.assertTrue(recovered.append(body(9), 9, 9));
+        Assert.assertArrayEquals(body(9), recovered.readBody(recovered.findPosition(9)));
+    }
+
+    @Test
+    public void testDestroyWaitsForReaders() throws Exception {
+        File file = temporaryFolder.newFile();
+        MappedSegment segment = new MappedSegment(file, 0, FILE_SIZE, 64);
+        Assert.assertTrue(segment.append(body(0), 0, 0));
+
+        Assert.assertTrue(segment.hold());
+        Assert.assertTrue(segment.destroy());
+        Assert.assertFalse(file.exists());
+        // the mapping is kept for the reader which holds the segment
+        Assert.assertArrayEquals(body(0), segment.readBody(segment.findPosition(0)));
+        Assert.assertFalse(segment.hold());
+        segment.release();
+        Assert.assertFalse(segment.hold());
+    }
+
+    private byte[] body(int index) {
+        return ("body-" + index).getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.connector.standalone.broker.task;
+
+import org.apache.eventmesh.connector.standalone.broker.MessageQueue;
+import org.apache.eventmesh.connector.standalone.broker.model.MessageEntity;
+import org.apache.eventmesh.connector.standalone.broker.model.RetentionMetrics;
+import org.apache.eventmesh.connector.standalone.broker.model.TopicMetadata;
+import org.apache.eventmesh.connector.standalone.broker.storage.CommitLog;
+import org.apache.eventmesh.connector.standalone.config.StandaloneConfiguration;
+
+import java.net.URI;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import io.cloudevents.CloudEvent;
+import io.cloudevents.core.builder.CloudEventBuilder;
+
+public class HistoryMessageClearTaskTest {
+
+    @Test
+    public void testRecordReclaimedMessages() throws InterruptedException {
+        TopicMetadata topicMetadata = new TopicMetadata("test-retention-metrics-topic");
+        MessageQueue messageQueue = new MessageQueue(1024);
+        for (int i = 0; i < 100; i++) {
+            messageQueue.put(createMessageEntity(topicMetadata, i));
+        }
+        ConcurrentHashMap<TopicMetadata, MessageQueue> messageContainer = new ConcurrentHashMap<>();
+        messageContainer.put(topicMetadata, messageQueue);
+        StandaloneConfiguration configuration = new StandaloneConfiguration();
+        configuration.retentionTimeInMills = 0L;
+        configuration.retentionMessages = 60L;
+        RetentionMetrics retentionMetrics = new RetentionMetrics();
+        HistoryMessageClearTask historyMessageClearTask = new HistoryMessageClearTask(messageContainer,
+                new ConcurrentHashMap<TopicMetadata, CommitLog>(), configuration, retentionMetrics);
+
+        historyMessageClearTask.clearHistoryMessage();
+        Assert.assertEquals(40, retentionMetrics.getReclaimedMessages(topicMetadata));
+        Assert.assertEquals(400, retentionMetrics.getReclaimedBytes(topicMetadata));
+
+        // nothing is out of the retention in the next round, the counters are cumulative
+        historyMessageClearTask.clearHistoryMessage();
+        Assert.assertEquals(40, retentionMetrics.getTotalReclaimedMessages());
+        Assert.assertEquals(400, retentionMetrics.getTotalReclaimedBytes());
+        Assert.assertEquals(0, retentionMetrics.getReclaimedBytes(new TopicMetadata("other-topic")));
+    }
+
+    private MessageEntity createMessageEntity(TopicMetadata topicMetadata, int index) {
+        CloudEvent cloudEvent = CloudEventBuilder.v1()
+                .withId("test-" + index)
+                .withSource(URI.create("testsource"))
+                .withType("testType")
+                .build();
+        MessageEntity messageEntity = new MessageEntity(topicMetadata, cloudEvent, -1, System.currentTimeMillis());
+        messageEntity.setStoreSize(10);
+        return messageEntity;
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.connector.standalone.broker.task;
+
+import org.apache.eventmesh.api.EventMeshAction;
+import org.apache.eventmesh.api.EventMeshAsyncConsumeContext;
+import org.apache.eventmesh.connector.standalone.broker.StandaloneBroker;
+import org.apache.eventmesh.connector.standalone.broker.model.TopicMetadata;
+
+import java.net.URI;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import io.cloudevents.CloudEvent;
+import io.cloudevents.core.builder.CloudEventBuilder;
+
+public class SubScribeTaskTest {
+
+    @Test
+    public void testDeliverWithoutPolling() throws InterruptedException {
+        String topic = "test-subscribe-task-topic";
+        StandaloneBroker standaloneBroker = StandaloneBroker.getInstance();
+        standaloneBroker.createTopicIfAbsent(topic);
+        CountDownLatch countDownLatch = new CountDownLatch(100);
+        SubScribeTask subScribeTask = new SubScribeTask(new TopicMetadata(topic), "test-group", standaloneBroker, (cloudEvent, context) -> {
+            countDownLatch.countDown();
+            ((EventMeshAsyncConsumeContext) context).commit(EventMeshAction.ManualAck);
+        });
+        Thread thread = new Thread(subScribeTask);
+        thread.start();
+        try {
+            for (int i = 0; i < 100; i++) {
+                standaloneBroker.putMessage(topic, createCloudEvent(topic, i));
+            }
+            Assert.assertTrue(countDownLatch.await(3, TimeUnit.SECONDS));
+        } finally {
+            subScribeTask.shutdown();
+        }
+    }
+
+    @Test
+    public void testEachConsumerGroupReceivesAllMessages() throws InterruptedException {
+        String topic = "test-subscribe-task-fan-out-topic";
+        StandaloneBroker standaloneBroker = StandaloneBroker.getInstance();
+        standaloneBroker.createTopicIfAbsent(topic);
+        CountDownLatch groupALatch = new CountDownLatch(10);
+        CountDownLatch groupBLatch = new CountDownLatch(10);
+        SubScribeTask groupATask = new SubScribeTask(new TopicMetadata(topic), "group-a", standaloneBroker, (cloudEvent, context) -> {
+            ((EventMeshAsyncConsumeContext) context).commit(EventMeshAction.ManualAck);
+            groupALatch.countDown();
+        });
+        SubScribeTask groupBTask = new SubScribeTask(new TopicMetadata(topic), "group-b", standaloneBroker, (cloudEvent, context) -> {
+            ((EventMeshAsyncConsumeContext) context).commit(EventMeshAction.ManualAck);
+            groupBLatch.countDown();
+        });
+        new Thread(groupATask).start();
+        new Thread(groupBTask).start();
+        try {
+            for (int i = 0; i < 10; i++) {
+                standaloneBroker.putMessage(topic, createCloudEvent(topic, i));
+            }
+            Assert.assertTrue(groupALatch.await(3, TimeUnit.SECONDS));
+            Assert.assertTrue(groupBLatch.await(3, TimeUnit.SECONDS));
+            Assert.assertEquals(10, standaloneBroker.getConsumerOffset("group-a", new TopicMetadata(topic)));
+            Assert.assertEquals(10, standaloneBroker.getConsumerOffset("group-b", new TopicMetadata(topic)));
+        } finally {
+            groupATask.shutdown();
+            groupBTask.shutdown();
+        }
+    }
+
+    private CloudEvent createCloudEvent(String topic, int index) {
+        return CloudEventBuilder.v1()
+                .withId("test-" + index)
+                .withSource(URI.create("testsource"))
+                .withType("testType")
+                .withSubject(topic)
+                .build();
+    }
+}
@@ -19,9 +19,12 @@ package org.apache.eventmesh.metrics.api.model;
 
 import java.util.Collections;
 import java.util.LinkedList;
-import java.util.concurrent.DelayQueue;
+import java.util.Map;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -34,11 +37,15 @@ public class HttpSummaryMetrics implements Metric {
     public HttpSummaryMetrics(final ThreadPoolExecutor batchMsgExecutor,
                               final ThreadPoolExecutor sendMsgExecutor,
                               final ThreadPoolExecutor pushMsgExecutor,
-                              final DelayQueue<?> httpFailedQueue) {
+                              final IntSupplier httpRetryQueueSize,
+                              final LongSupplier httpRetryLag,
+                              final Supplier<Map<String, Integer>> concurrencyLimits) {
         this.batchMsgExecutor = batchMsgExecutor;
         this.sendMsgExecutor = sendMsgExecutor;
         this.pushMsgExecutor = pushMsgExecutor;
-        this.httpFailedQueue = httpFailedQueue;
+        this.httpRetryQueueSize = httpRetryQueueSize;
+        this.httpRetryLag = httpRetryLag;
+        this.concurrencyLimits = concurrencyLimits;
     }
 
     public static final String EVENTMESH_MONITOR_FORMAT_HTTP = "{\"maxHTTPTPS\":\"%.1f\",\"avgHTTPTPS\":\"%.1f\","
@@ -426,7 +433,11 @@ public class HttpSummaryMetrics implements Metric {
 
     private final ThreadPoolExecutor pushMsgExecutor;
 
-    private final DelayQueue<?> httpFailedQueue;
+    private final IntSupplier httpRetryQueueSize;
+
+    private final LongSupplier httpRetryLag;
+
+    private final Supplier<Map<String, Integer>> concurrencyLimits;
 
     public int getBatchMsgQueueSize() {
         return batchMsgExecutor.getQueue().size();
@@ -441,7 +452,21 @@ public class HttpSummaryMetrics implements Metric {
     }
 
     public int getHttpRetryQueueSize() {
-        return httpFailedQueue.size();
+        return httpRetryQueueSize.getAsInt();
+    }
+
+    /**
+     * Get the delay in milliseconds between the due time of the last retry and the time it runs
+     */
+    public long getHttpRetryLag() {
+        return httpRetryLag.getAsLong();
+    }
+
+    /**
+     * Get the current adaptive concurrency limit of each http processor, keyed by the processor name
+     */
+    public Map<String, Integer> getConcurrencyLimits() {
+        return concurrencyLimits.get();
     }
 
 
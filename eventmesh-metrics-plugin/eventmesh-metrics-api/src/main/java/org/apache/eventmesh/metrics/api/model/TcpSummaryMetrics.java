@@ -27,6 +27,7 @@ public class TcpSummaryMetrics implements Metric {
     private final AtomicInteger eventMesh2mqMsgNum;
     private final AtomicInteger mq2eventMeshMsgNum;
     private final AtomicInteger eventMesh2clientMsgNum;
+    private final AtomicInteger pausedMsgNum;
 
     private int client2eventMeshTPS;
     private int eventMesh2clientTPS;
@@ -38,11 +39,24 @@ public class TcpSummaryMetrics implements Metric {
 
     private int retrySize;
 
+    private long retryLag;
+
+    private double compressionRatio = 1;
+
+    private int pausedSessionNum;
+
+    private long sessionThrottledNum;
+
+    private long groupThrottledNum;
+
+    private long globalThrottledNum;
+
     public TcpSummaryMetrics() {
         this.client2eventMeshMsgNum = new AtomicInteger(0);
         this.eventMesh2mqMsgNum = new AtomicInteger(0);
         this.mq2eventMeshMsgNum = new AtomicInteger(0);
         this.eventMesh2clientMsgNum = new AtomicInteger(0);
+        this.pausedMsgNum = new AtomicInteger(0);
     }
 
     public int client2eventMeshMsgNum() {
@@ -61,6 +75,13 @@ public class TcpSummaryMetrics implements Metric {
         return eventMesh2clientMsgNum.get();
     }
 
+    /**
+     * Get the number of msgs not pushed to the sessions paused by the flow control
+     */
+    public int pausedMsgNum() {
+        return pausedMsgNum.get();
+    }
+
     public int getClient2eventMeshTPS() {
         return client2eventMeshTPS;
     }
@@ -120,4 +141,70 @@ public class TcpSummaryMetrics implements Metric {
     public int getRetrySize() {
         return retrySize;
     }
+
+    /**
+     * Get the delay in milliseconds between the due time of the last retry and the time it runs
+     */
+    public long getRetryLag() {
+        return retryLag;
+    }
+
+    public void setRetryLag(long retryLag) {
+        this.retryLag = retryLag;
+    }
+
+    /**
+     * Get the ratio of the raw size to the compressed size of the compressed message bodies, 1 if nothing is compressed
+     */
+    public double getCompressionRatio() {
+        return compressionRatio;
+    }
+
+    public void setCompressionRatio(double compressionRatio) {
+        this.compressionRatio = compressionRatio;
+    }
+
+    /**
+     * Get the number of sessions whose delivery is paused by the flow control
+     */
+    public int getPausedSessionNum() {
+        return pausedSessionNum;
+    }
+
+    public void setPausedSessionNum(int pausedSessionNum) {
+        this.pausedSessionNum = pausedSessionNum;
+    }
+
+    /**
+     * Get the number of the client requests rejected by the rate limit of their sessions
+     */
+    public long getSessionThrottledNum() {
+        return sessionThrottledNum;
+    }
+
+    public void setSessionThrottledNum(long sessionThrottledNum) {
+        this.sessionThrottledNum = sessionThrottledNum;
+    }
+
+    /**
+     * Get the number of the client requests rejected by the rate limit of their groups
+     */
+    public long getGroupThrottledNum() {
+        return groupThrottledNum;
+    }
+
+    public void setGroupThrottledNum(long groupThrottledNum) {
+        this.groupThrottledNum = groupThrottledNum;
+    }
+
+    /**
+     * Get the number of the client requests rejected by the rate limit of the server
+     */
+    public long getGlobalThrottledNum() {
+        return globalThrottledNum;
+    }
+
+    public void setGlobalThrottledNum(long globalThrottledNum) {
+        this.globalThrottledNum = globalThrottledNum;
+    }
 }
@@ -270,6 +270,23 @@ public class PrometheusHttpExporter {
             .setUpdater(result -> result.observe(summaryMetrics.getHttpRetryQueueSize(), Labels.empty()))
             .build();
 
+        //httpRetryLag
+        meter
+            .longValueObserverBuilder("eventmesh.http.retry.lag")
+            .setDescription("lag of the last http retry.")
+            .setUnit("HTTP")
+            .setUpdater(result -> result.observe(summaryMetrics.getHttpRetryLag(), Labels.empty()))
+            .build();
+
+        //concurrencyLimit
+        meter
+            .longValueObserverBuilder("eventmesh.http.processor.concurrency.limit")
+            .setDescription("adaptive concurrency limit of the http processor.")
+            .setUnit("HTTP")
+            .setUpdater(result -> summaryMetrics.getConcurrencyLimits()
+                .forEach((processor, limit) -> result.observe(limit, Labels.of("processor", processor))))
+            .build();
+
         //batchAvgSend2MQCost
         meter
             .doubleValueObserverBuilder("eventmesh.batch.send.message.cost.avg")
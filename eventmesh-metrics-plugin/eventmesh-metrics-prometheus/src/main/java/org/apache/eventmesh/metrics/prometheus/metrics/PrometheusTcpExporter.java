@@ -37,6 +37,13 @@ public class PrometheusTcpExporter {
             .setUpdater(result -> result.observe(summaryMetrics.getRetrySize(), Labels.empty()))
             .build();
 
+        //retryLag
+        meter.doubleValueObserverBuilder("eventmesh.tcp.retry.lag")
+            .setDescription("get lag of the last retry.")
+            .setUnit("TCP")
+            .setUpdater(result -> result.observe(summaryMetrics.getRetryLag(), Labels.empty()))
+            .build();
+
         //client2eventMeshTPS
         meter.doubleValueObserverBuilder("eventmesh.tcp.server.tps")
             .setDescription("get tps of client to eventMesh.")
@@ -85,5 +92,47 @@ public class PrometheusTcpExporter {
             .setUnit("TCP")
             .setUpdater(result -> result.observe(summaryMetrics.getSubTopicNum(), Labels.empty()))
             .build();
+
+        //compressionRatio
+        meter.doubleValueObserverBuilder("eventmesh.tcp.compression.ratio")
+            .setDescription("get ratio of raw size to compressed size of message bodies.")
+            .setUnit("TCP")
+            .setUpdater(result -> result.observe(summaryMetrics.getCompressionRatio(), Labels.empty()))
+            .build();
+
+        //pausedSessionNum
+        meter.doubleValueObserverBuilder("eventmesh.tcp.paused.session.num")
+            .setDescription("get num of sessions paused by flow control.")
+            .setUnit("TCP")
+            .setUpdater(result -> result.observe(summaryMetrics.getPausedSessionNum(), Labels.empty()))
+            .build();
+
+        //pausedMsgNum
+        meter.doubleValueObserverBuilder("eventmesh.tcp.paused.msg.num")
+            .setDescription("get num of msgs not pushed to sessions paused by flow control.")
+            .setUnit("TCP")
+            .setUpdater(result -> result.observe(summaryMetrics.pausedMsgNum(), Labels.empty()))
+            .build();
+
+        //sessionThrottledNum
+        meter.doubleValueObserverBuilder("eventmesh.tcp.throttled.session.num")
+            .setDescription("get num of client requests rejected by the rate limit of their sessions.")
+            .setUnit("TCP")
+            .setUpdater(result -> result.observe(summaryMetrics.getSessionThrottledNum(), Labels.empty()))
+            .build();
+
+        //groupThrottledNum
+        meter.doubleValueObserverBuilder("eventmesh.tcp.throttled.group.num")
+            .setDescription("get num of client requests rejected by the rate limit of their groups.")
+            .setUnit("TCP")
+            .setUpdater(result -> result.observe(summaryMetrics.getGroupThrottledNum(), Labels.empty()))
+            .build();
+
+        //globalThrottledNum
+        meter.doubleValueObserverBuilder("eventmesh.tcp.throttled.global.num")
+            .setDescription("get num of client requests rejected by the rate limit of the server.")
+            .setUnit("TCP")
+            .setUpdater(result -> result.observe(summaryMetrics.getGlobalThrottledNum(), Labels.empty()))
+            .build();
     }
 }
@@ -27,6 +27,7 @@ import org.apache.eventmesh.common.protocol.http.HttpCommand;
 import org.apache.eventmesh.common.protocol.http.body.Body;
 import org.apache.eventmesh.common.protocol.http.common.RequestCode;
 import org.apache.eventmesh.common.protocol.tcp.Header;
+import org.apache.eventmesh.common.protocol.tcp.MessageBody;
 import org.apache.eventmesh.common.protocol.tcp.Package;
 import org.apache.eventmesh.protocol.api.ProtocolAdaptor;
 import org.apache.eventmesh.protocol.api.exception.ProtocolHandleException;
@@ -64,9 +65,10 @@ public class CloudEventsProtocolAdaptor<T extends ProtocolTransportObject>
         if (cloudEvent instanceof Package) {
             Package tcpPackage = (Package) cloudEvent;
             Header header = tcpPackage.getHeader();
-            String cloudEventJson = tcpPackage.getBody().toString();
+            // the raw bytes received from the wire are deserialized directly
+            byte[] cloudEventBytes = MessageBody.toBytes(tcpPackage.getBody());
 
-            return deserializeTcpProtocol(header, cloudEventJson);
+            return deserializeTcpProtocol(header, cloudEventBytes);
 
         } else if (cloudEvent instanceof HttpCommand) {
             org.apache.eventmesh.common.protocol.http.header.Header header = ((HttpCommand) cloudEvent).getHeader();
@@ -82,8 +84,8 @@ public class CloudEventsProtocolAdaptor<T extends ProtocolTransportObject>
         }
     }
 
-    private CloudEvent deserializeTcpProtocol(Header header, String cloudEventJson) throws ProtocolHandleException {
-        return TcpMessageProtocolResolver.buildEvent(header, cloudEventJson);
+    private CloudEvent deserializeTcpProtocol(Header header, byte[] cloudEventBytes) throws ProtocolHandleException {
+        return TcpMessageProtocolResolver.buildEvent(header, cloudEventBytes);
     }
 
     private CloudEvent deserializeHttpProtocol(String requestCode,
@@ -110,6 +112,9 @@ public class CloudEventsProtocolAdaptor<T extends ProtocolTransportObject>
         if (protocol instanceof BatchMessageWrapper) {
             BatchMessage batchMessage = ((BatchMessageWrapper) protocol).getMessage();
             return GrpcMessageProtocolResolver.buildBatchEvents(batchMessage);
+        } else if (protocol instanceof Package) {
+            Package tcpPackage = (Package) protocol;
+            return TcpMessageProtocolResolver.buildBatchEvents(tcpPackage.getHeader(), MessageBody.toBytes(tcpPackage.getBody()));
         } else {
             throw new ProtocolHandleException(String.format("protocol class: %s", protocol.getClass()));
         }
@@ -18,6 +18,7 @@
 package org.apache.eventmesh.protocol.cloudevents.resolver.tcp;
 
 import org.apache.eventmesh.common.Constants;
+import org.apache.eventmesh.common.protocol.tcp.BatchMessageBody;
 import org.apache.eventmesh.common.protocol.tcp.Header;
 import org.apache.eventmesh.protocol.api.exception.ProtocolHandleException;
 import org.apache.eventmesh.protocol.cloudevents.CloudEventsProtocolConstant;
@@ -25,6 +26,8 @@ import org.apache.eventmesh.protocol.cloudevents.CloudEventsProtocolConstant;
 import org.apache.commons.lang3.StringUtils;
 
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 
 import io.cloudevents.CloudEvent;
 import io.cloudevents.SpecVersion;
@@ -39,6 +42,11 @@ public class TcpMessageProtocolResolver {
 
     public static CloudEvent buildEvent(Header header, String cloudEventJson)
             throws ProtocolHandleException {
+        return buildEvent(header, cloudEventJson.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static CloudEvent buildEvent(Header header, byte[] cloudEventBytes)
+            throws ProtocolHandleException {
         CloudEventBuilder cloudEventBuilder;
 
         String protocolType = header.getProperty(Constants.PROTOCOL_TYPE).toString();
@@ -62,7 +70,7 @@ public class TcpMessageProtocolResolver {
             EventFormat eventFormat = EventFormatProvider.getInstance().resolveFormat(JsonFormat.CONTENT_TYPE);
             Preconditions
                     .checkNotNull(eventFormat, String.format("EventFormat: %s is not supported", JsonFormat.CONTENT_TYPE));
-            CloudEvent event = eventFormat.deserialize(cloudEventJson.getBytes(StandardCharsets.UTF_8));
+            CloudEvent event = eventFormat.deserialize(cloudEventBytes);
             cloudEventBuilder = CloudEventBuilder.v1(event);
             for (String propKey : header.getProperties().keySet()) {
                 cloudEventBuilder.withExtension(propKey, header.getProperty(propKey).toString());
@@ -73,7 +81,7 @@ public class TcpMessageProtocolResolver {
         } else if (StringUtils.equals(SpecVersion.V03.toString(), protocolVersion)) {
             // todo:resolve different format
             CloudEvent event = EventFormatProvider.getInstance().resolveFormat(JsonFormat.CONTENT_TYPE)
-                    .deserialize(cloudEventJson.getBytes(StandardCharsets.UTF_8));
+                    .deserialize(cloudEventBytes);
             cloudEventBuilder = CloudEventBuilder.v03(event);
 
             for (String propKey : header.getProperties().keySet()) {
@@ -85,4 +93,22 @@ public class TcpMessageProtocolResolver {
             throw new ProtocolHandleException(String.format("Unsupported protocolVersion: %s", protocolVersion));
         }
     }
+
+    /**
+     * Build the events of a batch package, the header properties are applied to every event of the batch
+     */
+    public static List<CloudEvent> buildBatchEvents(Header header, byte[] batchBytes)
+            throws ProtocolHandleException {
+        List<byte[]> messages;
+        try {
+            messages = BatchMessageBody.decode(batchBytes);
+        } catch (IllegalArgumentException e) {
+            throw new ProtocolHandleException(e.getMessage(), e);
+        }
+        List<CloudEvent> events = new ArrayList<>(messages.size());
+        for (byte[] message : messages) {
+            events.add(buildEvent(header, message));
+        }
+        return events;
+    }
 }
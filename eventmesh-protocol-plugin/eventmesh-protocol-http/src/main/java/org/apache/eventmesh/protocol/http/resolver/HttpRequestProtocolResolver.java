@@ -32,8 +32,6 @@ import java.util.UUID;
 import io.cloudevents.CloudEvent;
 import io.cloudevents.core.v1.CloudEventBuilder;
 
-import com.fasterxml.jackson.core.type.TypeReference;
-
 public class HttpRequestProtocolResolver {
 
     public static CloudEvent buildEvent(HttpEventWrapper httpEventWrapper) throws ProtocolHandleException {
@@ -70,10 +68,7 @@ public class HttpRequestProtocolResolver {
                 builder.withExtension(lowerExtensionKey, sysHeaderMap.get(extensionKey).toString());
             }
 
-            byte[] requestBody = httpEventWrapper.getBody();
-
-            Map<String, Object> requestBodyMap = JsonUtils.deserialize(new String(requestBody), new TypeReference<HashMap<String, Object>>() {
-            });
+            Map<String, Object> requestBodyMap = httpEventWrapper.getBodyMap();
 
             String requestURI = httpEventWrapper.getRequestURI();
 
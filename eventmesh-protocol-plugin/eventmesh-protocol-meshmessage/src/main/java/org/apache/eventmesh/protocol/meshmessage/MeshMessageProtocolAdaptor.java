@@ -54,7 +54,7 @@ public class MeshMessageProtocolAdaptor implements ProtocolAdaptor<ProtocolTrans
         if (protocol instanceof Package) {
             Package tcpPackage = (Package) protocol;
             Header header = tcpPackage.getHeader();
-            String bodyJson = (String) tcpPackage.getBody();
+            String bodyJson = tcpPackage.getBody().toString();
 
             return deserializeTcpProtocol(header, bodyJson);
 
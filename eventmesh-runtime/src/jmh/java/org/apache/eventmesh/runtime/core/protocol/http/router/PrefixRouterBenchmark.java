@@ -0,0 +1,81 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.runtime.core.protocol.http.router;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compare {@link PrefixRouter} with the startsWith scan over the registered URIs it replaces, with 8, 64 and 256
+ * routes. The URIs to route hit a route registered last, a route sharing the prefix of many others, and no route.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class PrefixRouterBenchmark {
+
+    @Param({"8", "64", "256"})
+    private int routeNum;
+
+    @Param({"/eventmesh/publish/topic-a", "/eventmesh/route-last/topic-a", "/unknown/uri"})
+    private String uri;
+
+    private final Map<String, Object> routeTable = new HashMap<>();
+
+    private final PrefixRouter<Object> prefixRouter = new PrefixRouter<>();
+
+    @Setup
+    public void setup() {
+        register("/eventmesh/publish");
+        for (int i = 0; i < routeNum - 2; i++) {
+            register("/eventmesh/route-" + i);
+        }
+        register("/eventmesh/route-last");
+    }
+
+    private void register(String route) {
+        Object value = new Object();
+        routeTable.put(route, value);
+        prefixRouter.register(route, value);
+    }
+
+    @Benchmark
+    public Object linearScan() {
+        for (Map.Entry<String, Object> route : routeTable.entrySet()) {
+            if (uri.startsWith(route.getKey())) {
+                return route.getValue();
+            }
+        }
+        return null;
+    }
+
+    @Benchmark
+    public Object prefixRouter() {
+        return prefixRouter.route(uri);
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.runtime.core.protocol.tcp.client.group.dispatch;
+
+import org.apache.eventmesh.common.protocol.SubscriptionItem;
+import org.apache.eventmesh.common.protocol.SubscriptionMode;
+import org.apache.eventmesh.common.protocol.SubscriptionType;
+import org.apache.eventmesh.common.protocol.tcp.UserAgent;
+import org.apache.eventmesh.runtime.configuration.EventMeshTCPConfiguration;
+import org.apache.eventmesh.runtime.core.protocol.tcp.client.session.Session;
+import org.apache.eventmesh.runtime.core.protocol.tcp.client.session.SessionState;
+
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.embedded.EmbeddedChannel;
+
+/**
+ * Compare the cached strategies with {@link FreePriorityDispatchStrategy}, with 10, 100 and 500 sessions subscribing
+ * the topic, selected by 4 consumer threads like the connector callbacks do.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Threads(4)
+public class DownstreamDispatchStrategyBenchmark {
+
+    private static final String GROUP = "benchmark-group";
+
+    private static final String TOPIC = "benchmark-topic";
+
+    @Param({"10", "100", "500"})
+    private int sessionNum;
+
+    private final Set<Session> sessions = new HashSet<>();
+
+    private final FreePriorityDispatchStrategy freePriorityDispatchStrategy = new FreePriorityDispatchStrategy();
+
+    private final CachedFreePriorityDispatchStrategy cachedFreePriorityDispatchStrategy =
+            new CachedFreePriorityDispatchStrategy();
+
+    private final LeastUnackDispatchStrategy leastUnackDispatchStrategy = new LeastUnackDispatchStrategy();
+
+    private final AckLatencyDispatchStrategy ackLatencyDispatchStrategy = new AckLatencyDispatchStrategy();
+
+    private final PowerOfTwoChoicesDispatchStrategy powerOfTwoChoicesDispatchStrategy =
+            new PowerOfTwoChoicesDispatchStrategy();
+
+    @Setup
+    public void setup() {
+        EventMeshTCPConfiguration eventMeshTCPConfiguration = new EventMeshTCPConfiguration(null);
+        SubscriptionItem item = new SubscriptionItem(TOPIC, SubscriptionMode.CLUSTERING, SubscriptionType.ASYNC);
+        for (int i = 0; i < sessionNum; i++) {
+            UserAgent userAgent = UserAgent.builder().group(GROUP).host("127.0.0.1").port(i).build();
+            EmbeddedChannel channel = new BenchmarkChannel(new InetSocketAddress("127.0.0.1", i));
+            Session session = new Session(userAgent, channel.pipeline().firstContext(), eventMeshTCPConfiguration);
+            session.getSessionContext().subscribeTopics.put(TOPIC, item);
+            session.setSessionState(SessionState.RUNNING);
+            sessions.add(session);
+        }
+        cachedFreePriorityDispatchStrategy.refresh(TOPIC, sessions);
+        leastUnackDispatchStrategy.refresh(TOPIC, sessions);
+        ackLatencyDispatchStrategy.refresh(TOPIC, sessions);
+        powerOfTwoChoicesDispatchStrategy.refresh(TOPIC, sessions);
+    }
+
+    @Benchmark
+    public Session freePriority() {
+        return freePriorityDispatchStrategy.select(GROUP, TOPIC, sessions);
+    }
+
+    @Benchmark
+    public Session cachedFreePriority() {
+        return cachedFreePriorityDispatchStrategy.select(GROUP, TOPIC, sessions);
+    }
+
+    @Benchmark
+    public Session leastUnack() {
+        return leastUnackDispatchStrategy.select(GROUP, TOPIC, sessions);
+    }
+
+    @Benchmark
+    public Session ackLatency() {
+        return ackLatencyDispatchStrategy.select(GROUP, TOPIC, sessions);
+    }
+
+    @Benchmark
+    public Session powerOfTwoChoices() {
+        return powerOfTwoChoicesDispatchStrategy.select(GROUP, TOPIC, sessions);
+    }
+
+    /**
+     * Session reads the remote address of the channel as an {@link InetSocketAddress}
+     */
+    private static class BenchmarkChannel extends EmbeddedChannel {
+
+        private final InetSocketAddress remoteAddress;
+
+        BenchmarkChannel(InetSocketAddress remoteAddress) {
+            super(new ChannelInboundHandlerAdapter());
+            this.remoteAddress = remoteAddress;
+        }
+
+        @Override
+        protected SocketAddress remoteAddress0() {
+            return remoteAddress;
+        }
+    }
+}
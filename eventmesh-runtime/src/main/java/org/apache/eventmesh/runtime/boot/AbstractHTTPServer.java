@@ -18,6 +18,7 @@
 package org.apache.eventmesh.runtime.boot;
 
 import org.apache.eventmesh.common.ThreadPoolFactory;
+import org.apache.eventmesh.common.exception.JsonException;
 import org.apache.eventmesh.common.protocol.http.HttpCommand;
 import org.apache.eventmesh.common.protocol.http.HttpEventWrapper;
 import org.apache.eventmesh.common.protocol.http.body.Body;
@@ -30,9 +31,11 @@ import org.apache.eventmesh.common.utils.JsonUtils;
 import org.apache.eventmesh.runtime.common.Pair;
 import org.apache.eventmesh.runtime.configuration.EventMeshHTTPConfiguration;
 import org.apache.eventmesh.runtime.constants.EventMeshConstants;
+import org.apache.eventmesh.runtime.core.protocol.http.admission.GradientConcurrencyLimiter;
 import org.apache.eventmesh.runtime.core.protocol.http.async.AsyncContext;
 import org.apache.eventmesh.runtime.core.protocol.http.processor.inf.EventProcessor;
 import org.apache.eventmesh.runtime.core.protocol.http.processor.inf.HttpRequestProcessor;
+import org.apache.eventmesh.runtime.core.protocol.http.router.PrefixRouter;
 import org.apache.eventmesh.runtime.metrics.http.HTTPMetricsServer;
 import org.apache.eventmesh.runtime.trace.TraceUtils;
 import org.apache.eventmesh.runtime.util.RemotingHelper;
@@ -44,9 +47,11 @@ import org.apache.commons.lang3.StringUtils;
 import org.apache.http.entity.ContentType;
 
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -59,8 +64,11 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.channel.Channel;
 import io.netty.channel.ChannelDuplexHandler;
-import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInitializer;
@@ -68,7 +76,7 @@ import io.netty.channel.ChannelOption;
 import io.netty.channel.ChannelPipeline;
 import io.netty.channel.SimpleChannelInboundHandler;
 import io.netty.channel.socket.SocketChannel;
-import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.handler.codec.ByteToMessageDecoder;
 import io.netty.handler.codec.http.DefaultFullHttpResponse;
 import io.netty.handler.codec.http.FullHttpRequest;
 import io.netty.handler.codec.http.FullHttpResponse;
@@ -88,13 +96,25 @@ import io.netty.handler.codec.http.multipart.DefaultHttpDataFactory;
 import io.netty.handler.codec.http.multipart.DiskAttribute;
 import io.netty.handler.codec.http.multipart.HttpPostRequestDecoder;
 import io.netty.handler.codec.http.multipart.InterfaceHttpData;
+import io.netty.handler.codec.http2.Http2CodecUtil;
+import io.netty.handler.codec.http2.Http2FrameCodecBuilder;
+import io.netty.handler.codec.http2.Http2MultiplexHandler;
+import io.netty.handler.codec.http2.Http2Settings;
+import io.netty.handler.codec.http2.Http2StreamFrameToHttpObjectCodec;
+import io.netty.handler.ssl.ApplicationProtocolConfig;
+import io.netty.handler.ssl.ApplicationProtocolNames;
+import io.netty.handler.ssl.ApplicationProtocolNegotiationHandler;
+import io.netty.handler.ssl.ClientAuth;
+import io.netty.handler.ssl.IdentityCipherSuiteFilter;
+import io.netty.handler.ssl.JdkSslContext;
+import io.netty.handler.ssl.SslContext;
 import io.netty.handler.ssl.SslHandler;
+import io.netty.handler.ssl.SslProvider;
 import io.netty.handler.timeout.IdleState;
 import io.netty.handler.timeout.IdleStateEvent;
 import io.opentelemetry.api.trace.Span;
 import io.opentelemetry.semconv.trace.attributes.SemanticAttributes;
 
-import com.fasterxml.jackson.core.type.TypeReference;
 import com.google.common.base.Preconditions;
 
 public abstract class AbstractHTTPServer extends AbstractRemotingServer {
@@ -123,10 +143,17 @@ public abstract class AbstractHTTPServer extends AbstractRemotingServer {
     }
 
     protected final Map<String/* request code */, Pair<HttpRequestProcessor, ThreadPoolExecutor>>
-        processorTable = new HashMap<>(64);
+        processorTable = new ConcurrentHashMap<>(64);
 
-    protected final Map<String/* request uri */, Pair<EventProcessor, ThreadPoolExecutor>>
-        eventProcessorTable = new HashMap<>(64);
+    /**
+     * Route a request URI to the event processor registered with its longest prefix
+     */
+    protected final PrefixRouter<Pair<EventProcessor, ThreadPoolExecutor>> eventProcessorRouter = new PrefixRouter<>();
+
+    /**
+     * The adaptive concurrency limit of each registered processor, empty if the limit is disabled
+     */
+    private final Map<Object/* processor */, GradientConcurrencyLimiter> concurrencyLimiters = new ConcurrentHashMap<>();
 
     public AbstractHTTPServer(int port, boolean useTLS, EventMeshHTTPConfiguration eventMeshHttpConfiguration) {
         this.port = port;
@@ -163,13 +190,13 @@ public abstract class AbstractHTTPServer extends AbstractRemotingServer {
             ServerBootstrap b = new ServerBootstrap();
             SSLContext sslContext = useTLS ? SSLContextFactory.getSslContext() : null;
             b.group(this.bossGroup, this.workerGroup)
-                .channel(NioServerSocketChannel.class)
                 .childHandler(new HttpsServerInitializer(sslContext))
-                .childOption(ChannelOption.SO_KEEPALIVE, Boolean.TRUE);
+                .childOption(ChannelOption.SO_KEEPALIVE, Boolean.TRUE)
+                .childOption(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT);
             try {
                 httpServerLogger.info("HTTPServer[port={}] started......", this.port);
-                ChannelFuture future = b.bind(this.port).sync();
-                future.channel().closeFuture().sync();
+                Channel channel = bind(b, this.port);
+                channel.closeFuture().sync();
             } catch (Exception e) {
                 httpServerLogger.error("HTTPServer start Err!", e);
                 try {
@@ -187,7 +214,7 @@ public abstract class AbstractHTTPServer extends AbstractRemotingServer {
 
     @Override
     public void init(String threadPrefix) throws Exception {
-        super.init(threadPrefix);
+        super.init(threadPrefix, eventMeshHttpConfiguration);
     }
 
     @Override
@@ -198,10 +225,12 @@ public abstract class AbstractHTTPServer extends AbstractRemotingServer {
 
     public void registerProcessor(Integer requestCode, HttpRequestProcessor processor, ThreadPoolExecutor executor) {
         Preconditions.checkState(ObjectUtils.allNotNull(requestCode), "requestCode can't be null");
+        Preconditions.checkState(RequestCode.contains(requestCode), "requestCode is invalid");
         Preconditions.checkState(ObjectUtils.allNotNull(processor), "processor can't be null");
         Preconditions.checkState(ObjectUtils.allNotNull(executor), "executor can't be null");
         Pair<HttpRequestProcessor, ThreadPoolExecutor> pair = new Pair<>(processor, executor);
         this.processorTable.put(requestCode.toString(), pair);
+        registerConcurrencyLimiter(processor);
     }
 
     public void registerProcessor(String requestURI, EventProcessor processor, ThreadPoolExecutor executor) {
@@ -209,7 +238,57 @@ public abstract class AbstractHTTPServer extends AbstractRemotingServer {
         Preconditions.checkState(ObjectUtils.allNotNull(processor), "processor can't be null");
         Preconditions.checkState(ObjectUtils.allNotNull(executor), "executor can't be null");
         Pair<EventProcessor, ThreadPoolExecutor> pair = new Pair<>(processor, executor);
-        this.eventProcessorTable.put(requestURI, pair);
+        this.eventProcessorRouter.register(requestURI, pair);
+        registerConcurrencyLimiter(processor);
+    }
+
+    private void registerConcurrencyLimiter(Object processor) {
+        if (eventMeshHttpConfiguration.eventMeshServerConcurrencyLimitEnabled) {
+            concurrencyLimiters.computeIfAbsent(processor, p -> new GradientConcurrencyLimiter(
+                eventMeshHttpConfiguration.eventMeshServerConcurrencyLimitMin,
+                eventMeshHttpConfiguration.eventMeshServerConcurrencyLimitMax));
+        }
+    }
+
+    /**
+     * @return the current concurrency limit of each processor, keyed by the simple class name of the processor
+     */
+    public Map<String, Integer> getConcurrencyLimits() {
+        Map<String, Integer> limits = new HashMap<>();
+        concurrencyLimiters.forEach((processor, limiter) ->
+            limits.put(processor.getClass().getSimpleName(), limiter.getLimit()));
+        return limits;
+    }
+
+    /**
+     * Submit the task of a processor to its executor within the concurrency limit of the processor. The time from
+     * the submission to the end of the task, the queueing delay included, adjusts the limit.
+     *
+     * @throws RejectedExecutionException if the limit is reached or the executor rejects the task
+     */
+    void submit(Pair<?, ThreadPoolExecutor> choosed, Runnable task) {
+        final GradientConcurrencyLimiter limiter = concurrencyLimiters.get(choosed.getObject1());
+        if (limiter == null) {
+            choosed.getObject2().submit(task);
+            return;
+        }
+        if (!limiter.tryAcquire()) {
+            throw new RejectedExecutionException("concurrency limit " + limiter.getLimit() + " of "
+                + choosed.getObject1().getClass().getSimpleName() + " is reached");
+        }
+        final long startTime = System.nanoTime();
+        try {
+            choosed.getObject2().submit(() -> {
+                try {
+                    task.run();
+                } finally {
+                    limiter.release(System.nanoTime() - startTime);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            limiter.release();
+            throw e;
+        }
     }
 
     private Map<String, Object> parseHttpHeader(HttpRequest fullReq) {
@@ -354,14 +433,9 @@ public abstract class AbstractHTTPServer extends AbstractRemotingServer {
                 }
                 metrics.getSummaryMetrics().recordHTTPRequest();
 
-                boolean useRequestURI = false;
-                for (String processURI : eventProcessorTable.keySet()) {
-                    if (httpRequest.uri().startsWith(processURI)) {
-                        useRequestURI = true;
-                        break;
-                    }
-                }
-                if (useRequestURI) {
+                final Pair<EventProcessor, ThreadPoolExecutor> eventProcessor =
+                    eventProcessorRouter.route(httpRequest.uri());
+                if (eventProcessor != null) {
                     if (useTrace) {
                         span.setAttribute(SemanticAttributes.HTTP_METHOD, httpRequest.method().name());
                         span.setAttribute(SemanticAttributes.HTTP_FLAVOR, httpRequest.protocolVersion().protocolName());
@@ -371,7 +445,7 @@ public abstract class AbstractHTTPServer extends AbstractRemotingServer {
 
                     AsyncContext<HttpEventWrapper> asyncContext =
                         new AsyncContext<>(httpEventWrapper, null, asyncContextCompleteHandler);
-                    processHttpRequest(ctx, asyncContext);
+                    processHttpRequest(ctx, asyncContext, eventProcessor);
 
                 } else {
                     final HttpCommand requestCommand = new HttpCommand();
@@ -395,9 +469,10 @@ public abstract class AbstractHTTPServer extends AbstractRemotingServer {
 
                     HttpCommand responseCommand = null;
 
-                    if (StringUtils.isBlank(requestCode)
-                        || !processorTable.containsKey(requestCode)
-                        || !RequestCode.contains(Integer.valueOf(requestCode))) {
+                    // only the valid request codes are registered
+                    final Pair<HttpRequestProcessor, ThreadPoolExecutor> processor =
+                        StringUtils.isBlank(requestCode) ? null : processorTable.get(requestCode);
+                    if (processor == null) {
                         responseCommand =
                             requestCommand.createHttpCommandResponse(EventMeshRetCode.EVENTMESH_REQUESTCODE_INVALID);
                         sendResponse(ctx, responseCommand.httpResponse());
@@ -425,7 +500,7 @@ public abstract class AbstractHTTPServer extends AbstractRemotingServer {
 
                     AsyncContext<HttpCommand> asyncContext =
                         new AsyncContext<>(requestCommand, responseCommand, asyncContextCompleteHandler);
-                    processEventMeshRequest(ctx, asyncContext);
+                    processEventMeshRequest(ctx, asyncContext, processor);
                 }
 
 
@@ -435,19 +510,11 @@ public abstract class AbstractHTTPServer extends AbstractRemotingServer {
         }
 
         public void processHttpRequest(final ChannelHandlerContext ctx,
-                                       final AsyncContext<HttpEventWrapper> asyncContext) {
+                                       final AsyncContext<HttpEventWrapper> asyncContext,
+                                       final Pair<EventProcessor, ThreadPoolExecutor> choosed) {
             final HttpEventWrapper requestWrapper = asyncContext.getRequest();
-            String requestURI = requestWrapper.getRequestURI();
-            String processorKey = "/";
-            for (String eventProcessorKey : eventProcessorTable.keySet()) {
-                if (requestURI.startsWith(eventProcessorKey)) {
-                    processorKey = eventProcessorKey;
-                    break;
-                }
-            }
-            final Pair<EventProcessor, ThreadPoolExecutor> choosed = eventProcessorTable.get(processorKey);
             try {
-                choosed.getObject2().submit(() -> {
+                submit(choosed, () -> {
                     try {
                         EventProcessor processor = choosed.getObject1();
                         if (processor.rejectRequest()) {
@@ -465,7 +532,14 @@ public abstract class AbstractHTTPServer extends AbstractRemotingServer {
                             return;
                         }
 
-                        processor.processRequest(ctx, asyncContext);
+                        try {
+                            processor.processRequest(ctx, asyncContext);
+                        } catch (JsonException e) {
+                            // the body is parsed by the processor on its first access
+                            httpServerLogger.warn("invalid json body, uri:{}", requestWrapper.getRequestURI(), e);
+                            sendError(ctx, HttpResponseStatus.BAD_REQUEST);
+                            return;
+                        }
                         if (!asyncContext.isComplete()) {
                             return;
                         }
@@ -497,11 +571,11 @@ public abstract class AbstractHTTPServer extends AbstractRemotingServer {
         }
 
         public void processEventMeshRequest(final ChannelHandlerContext ctx,
-                                            final AsyncContext<HttpCommand> asyncContext) {
+                                            final AsyncContext<HttpCommand> asyncContext,
+                                            final Pair<HttpRequestProcessor, ThreadPoolExecutor> choosed) {
             final HttpCommand request = asyncContext.getRequest();
-            final Pair<HttpRequestProcessor, ThreadPoolExecutor> choosed = processorTable.get(request.getRequestCode());
             try {
-                choosed.getObject2().submit(() -> {
+                submit(choosed, () -> {
                     try {
                         HttpRequestProcessor processor = choosed.getObject1();
                         if (processor.rejectRequest()) {
@@ -593,21 +667,21 @@ public abstract class AbstractHTTPServer extends AbstractRemotingServer {
         final long bodyDecodeStart = System.currentTimeMillis();
         //parse http body
         FullHttpRequest fullHttpRequest = (FullHttpRequest) httpRequest;
-        final Map<String, Object> bodyMap = new HashMap<>();
         if (HttpMethod.GET == fullHttpRequest.method()) {
+            final Map<String, Object> bodyMap = new HashMap<>();
             QueryStringDecoder getDecoder = new QueryStringDecoder(fullHttpRequest.uri());
             getDecoder.parameters().forEach((key, value) -> bodyMap.put(key, value.get(0)));
+            httpEventWrapper.setBody(JsonUtils.serializeAsBytes(bodyMap));
         } else if (HttpMethod.POST == fullHttpRequest.method()) {
 
             if (StringUtils.contains(httpRequest.headers().get("Content-Type"), ContentType.APPLICATION_JSON.getMimeType())) {
+                // the json body is passed through as it is, and only parsed when a processor reads its fields
                 int length = fullHttpRequest.content().readableBytes();
-                if (length > 0) {
-                    byte[] body = new byte[length];
-                    fullHttpRequest.content().readBytes(body);
-                    JsonUtils.deserialize(new String(body), new TypeReference<Map<String, Object>>() {
-                    }).forEach(bodyMap::put);
-                }
+                byte[] body = new byte[length];
+                fullHttpRequest.content().readBytes(body);
+                httpEventWrapper.setBody(length > 0 ? body : JsonUtils.serializeAsBytes(Collections.emptyMap()));
             } else {
+                final Map<String, Object> bodyMap = new HashMap<>();
                 HttpPostRequestDecoder decoder =
                     new HttpPostRequestDecoder(defaultHttpDataFactory, httpRequest);
                 for (InterfaceHttpData parm : decoder.getBodyHttpDatas()) {
@@ -617,15 +691,13 @@ public abstract class AbstractHTTPServer extends AbstractRemotingServer {
                     }
                 }
                 decoder.destroy();
+                httpEventWrapper.setBody(JsonUtils.serializeAsBytes(bodyMap));
             }
 
         } else {
             throw new RuntimeException("UnSupported Method " + fullHttpRequest.method());
         }
 
-        byte[] requestBody = JsonUtils.serialize(bodyMap).getBytes(StandardCharsets.UTF_8);
-        httpEventWrapper.setBody(requestBody);
-
         metrics.getSummaryMetrics().recordDecodeTimeCost(System.currentTimeMillis() - bodyDecodeStart);
 
         return httpEventWrapper;
@@ -685,25 +757,121 @@ public abstract class AbstractHTTPServer extends AbstractRemotingServer {
 
         private final SSLContext sslContext;
 
+        /**
+         * Negotiates h2 or http/1.1 by ALPN, null if HTTP/2 is disabled or the JDK does not support ALPN
+         */
+        private final SslContext alpnSslContext;
+
         public HttpsServerInitializer(SSLContext sslContext) {
             this.sslContext = sslContext;
+            this.alpnSslContext = sslContext != null && eventMeshHttpConfiguration.eventMeshServerHttp2Enabled
+                ? newAlpnSslContext(sslContext) : null;
         }
 
         @Override
         protected void initChannel(SocketChannel channel) {
             ChannelPipeline pipeline = channel.pipeline();
 
-
             if (sslContext != null && useTLS) {
+                if (alpnSslContext != null) {
+                    pipeline.addLast("ssl", alpnSslContext.newHandler(channel.alloc()));
+                    pipeline.addLast(new HttpConnectionHandler(), new HttpProtocolNegotiationHandler());
+                    return;
+                }
                 SSLEngine sslEngine = sslContext.createSSLEngine();
                 sslEngine.setUseClientMode(false);
                 pipeline.addFirst("ssl", new SslHandler(sslEngine));
+            } else if (eventMeshHttpConfiguration.eventMeshServerHttp2Enabled) {
+                pipeline.addLast(new HttpConnectionHandler(), new HttpProtocolDetector());
+                return;
             }
-            pipeline.addLast(new HttpRequestDecoder(),
-                new HttpResponseEncoder(),
+            pipeline.addLast(new HttpConnectionHandler());
+            configureHttp1(pipeline);
+        }
+    }
+
+    private SslContext newAlpnSslContext(SSLContext sslContext) {
+        if (!SslProvider.isAlpnSupported(SslProvider.JDK)) {
+            httpServerLogger.warn("ALPN is not supported by the JDK, the TLS connections are served with HTTP/1.1 only");
+            return null;
+        }
+        ApplicationProtocolConfig protocolConfig = new ApplicationProtocolConfig(ApplicationProtocolConfig.Protocol.ALPN,
+            ApplicationProtocolConfig.SelectorFailureBehavior.NO_ADVERTISE,
+            ApplicationProtocolConfig.SelectedListenerFailureBehavior.ACCEPT,
+            ApplicationProtocolNames.HTTP_2, ApplicationProtocolNames.HTTP_1_1);
+        return new JdkSslContext(sslContext, false, null, IdentityCipherSuiteFilter.INSTANCE, protocolConfig,
+            ClientAuth.NONE, null, false);
+    }
+
+    private void configureHttp1(ChannelPipeline pipeline) {
+        pipeline.addLast(new HttpRequestDecoder(),
+            new HttpResponseEncoder(),
+            new HttpObjectAggregator(eventMeshHttpConfiguration.eventMeshHttpMaxContentLength),
+            new HTTPHandler());
+    }
+
+    /**
+     * Each stream of the connection gets a child channel, which is handled like an HTTP/1.1 connection carrying
+     * one request, so the processors are dispatched the same way for both protocols
+     */
+    private void configureHttp2(ChannelPipeline pipeline) {
+        Http2Settings settings = Http2Settings.defaultSettings()
+            .maxConcurrentStreams(eventMeshHttpConfiguration.eventMeshHttp2MaxConcurrentStreams);
+        pipeline.addLast(Http2FrameCodecBuilder.forServer().initialSettings(settings).build(),
+            new Http2MultiplexHandler(new Http2StreamInitializer()));
+    }
 
-                new HttpConnectionHandler(),
-                new HttpObjectAggregator(Integer.MAX_VALUE),
+    class HttpProtocolNegotiationHandler extends ApplicationProtocolNegotiationHandler {
+
+        public HttpProtocolNegotiationHandler() {
+            super(ApplicationProtocolNames.HTTP_1_1);
+        }
+
+        @Override
+        protected void configurePipeline(ChannelHandlerContext ctx, String protocol) {
+            if (ApplicationProtocolNames.HTTP_2.equals(protocol)) {
+                configureHttp2(ctx.pipeline());
+            } else if (ApplicationProtocolNames.HTTP_1_1.equals(protocol)) {
+                configureHttp1(ctx.pipeline());
+            } else {
+                throw new IllegalStateException("unsupported application protocol: " + protocol);
+            }
+        }
+    }
+
+    /**
+     * Tell an HTTP/2 prior knowledge connection from an HTTP/1.1 one by the connection preface, then hand the read
+     * bytes over to the handlers of the protocol. The h2c upgrade requests are served with HTTP/1.1.
+     */
+    class HttpProtocolDetector extends ByteToMessageDecoder {
+
+        private final ByteBuf connectionPreface = Http2CodecUtil.connectionPrefaceBuf();
+
+        @Override
+        protected void decode(ChannelHandlerContext ctx, ByteBuf in, List<Object> out) {
+            int prefaceLength = connectionPreface.readableBytes();
+            int bytesRead = Math.min(in.readableBytes(), prefaceLength);
+            if (!ByteBufUtil.equals(connectionPreface, connectionPreface.readerIndex(), in, in.readerIndex(), bytesRead)) {
+                configureHttp1(ctx.pipeline());
+                ctx.pipeline().remove(this);
+            } else if (bytesRead == prefaceLength) {
+                configureHttp2(ctx.pipeline());
+                ctx.pipeline().remove(this);
+            }
+        }
+
+        @Override
+        protected void handlerRemoved0(ChannelHandlerContext ctx) {
+            connectionPreface.release();
+        }
+    }
+
+    class Http2StreamInitializer extends ChannelInitializer<Channel> {
+
+        @Override
+        protected void initChannel(Channel channel) {
+            channel.pipeline().addLast(new Http2StreamFrameToHttpObjectCodec(true),
+                new HttpObjectAggregator(eventMeshHttpConfiguration.eventMeshHttpMaxContentLength),
                 new HTTPHandler());
         }
     }
@@ -17,6 +17,8 @@
 
 package org.apache.eventmesh.runtime.boot;
 
+import org.apache.eventmesh.common.config.CommonConfiguration;
+import org.apache.eventmesh.common.utils.NettyTransportUtils;
 import org.apache.eventmesh.common.utils.ThreadUtils;
 
 import java.util.concurrent.ThreadFactory;
@@ -25,8 +27,9 @@ import java.util.concurrent.atomic.AtomicInteger;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.channel.Channel;
 import io.netty.channel.EventLoopGroup;
-import io.netty.channel.nio.NioEventLoopGroup;
 
 public abstract class AbstractRemotingServer {
 
@@ -40,8 +43,19 @@ public abstract class AbstractRemotingServer {
 
     public int port;
 
+    /**
+     * Whether the event loop groups and the server channel use the native epoll transport
+     */
+    protected boolean useEpoll;
+
+    protected boolean reusePort;
+
+    protected int acceptorThreads = 1;
+
     private EventLoopGroup initBossGroup(String threadPrefix) {
-        bossGroup = new NioEventLoopGroup(1, new ThreadFactory() {
+        // only SO_REUSEPORT allows more than one server channel to accept on the port
+        int bossThreads = reusePort ? acceptorThreads : 1;
+        bossGroup = NettyTransportUtils.newEventLoopGroup(useEpoll, bossThreads, new ThreadFactory() {
             AtomicInteger count = new AtomicInteger(0);
 
             @Override
@@ -56,7 +70,7 @@ public abstract class AbstractRemotingServer {
     }
 
     private EventLoopGroup initIOGroup(String threadPrefix) {
-        ioGroup = new NioEventLoopGroup(Runtime.getRuntime().availableProcessors(), new ThreadFactory() {
+        ioGroup = NettyTransportUtils.newEventLoopGroup(useEpoll, Runtime.getRuntime().availableProcessors(), new ThreadFactory() {
             AtomicInteger count = new AtomicInteger(0);
 
             @Override
@@ -69,7 +83,7 @@ public abstract class AbstractRemotingServer {
     }
 
     private EventLoopGroup initWorkerGroup(String threadPrefix) {
-        workerGroup = new NioEventLoopGroup(Runtime.getRuntime().availableProcessors(), new ThreadFactory() {
+        workerGroup = NettyTransportUtils.newEventLoopGroup(useEpoll, Runtime.getRuntime().availableProcessors(), new ThreadFactory() {
             AtomicInteger count = new AtomicInteger(0);
 
             @Override
@@ -81,7 +95,13 @@ public abstract class AbstractRemotingServer {
         return workerGroup;
     }
 
-    public void init(String threadPrefix) throws Exception {
+    public void init(String threadPrefix, CommonConfiguration configuration) throws Exception {
+        useEpoll = NettyTransportUtils.useEpoll(configuration.eventMeshServerEpollEnable);
+        reusePort = useEpoll && configuration.eventMeshServerReusePortEnable;
+        acceptorThreads = configuration.eventMeshServerAcceptorThreads;
+        logger.info("{} uses {} transport, reusePort:{}, acceptorThreads:{}", threadPrefix, useEpoll ? "epoll" : "nio",
+            reusePort, reusePort ? acceptorThreads : 1);
+
         initBossGroup(threadPrefix);
         initIOGroup(threadPrefix);
         initWorkerGroup(threadPrefix);
@@ -106,6 +126,21 @@ public abstract class AbstractRemotingServer {
         }
     }
 
+    /**
+     * Set the transport of the bootstrap and bind the port, once for each acceptor thread if SO_REUSEPORT is on
+     *
+     * @return the last bound server channel, all of them are closed with the boss group
+     */
+    protected Channel bind(ServerBootstrap bootstrap, int port) throws InterruptedException {
+        bootstrap.channel(NettyTransportUtils.serverChannelClass(useEpoll));
+        NettyTransportUtils.applyServerOptions(bootstrap, useEpoll, reusePort);
+        Channel channel = null;
+        for (int i = 0; i < (reusePort ? acceptorThreads : 1); i++) {
+            channel = bootstrap.bind(port).sync().channel();
+        }
+        return channel;
+    }
+
     public void start() throws Exception {
 
     }
@@ -32,6 +32,7 @@ import org.apache.eventmesh.runtime.constants.EventMeshConstants;
 import org.apache.eventmesh.runtime.core.protocol.tcp.client.EventMeshTcpConnectionHandler;
 import org.apache.eventmesh.runtime.core.protocol.tcp.client.EventMeshTcpExceptionHandler;
 import org.apache.eventmesh.runtime.core.protocol.tcp.client.EventMeshTcpMessageDispatcher;
+import org.apache.eventmesh.runtime.core.protocol.tcp.client.admission.TcpAdmissionController;
 import org.apache.eventmesh.runtime.core.protocol.tcp.client.group.ClientSessionGroupMapping;
 import org.apache.eventmesh.runtime.core.protocol.tcp.client.rebalance.EventMeshRebalanceService;
 import org.apache.eventmesh.runtime.core.protocol.tcp.client.rebalance.EventmeshRebalanceImpl;
@@ -53,18 +54,16 @@ import io.netty.bootstrap.ServerBootstrap;
 import io.netty.buffer.PooledByteBufAllocator;
 import io.netty.channel.AdaptiveRecvByteBufAllocator;
 import io.netty.channel.Channel;
-import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
-import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.channel.ChannelPipeline;
+import io.netty.handler.flush.FlushConsolidationHandler;
 import io.netty.handler.timeout.IdleStateHandler;
-import io.netty.handler.traffic.ChannelTrafficShapingHandler;
-import io.netty.handler.traffic.GlobalTrafficShapingHandler;
-
-import com.google.common.util.concurrent.RateLimiter;
 
 public class EventMeshTCPServer extends AbstractRemotingServer {
 
+    static final String FLUSH_CONSOLIDATION_HANDLER = "flush-consolidation";
+
     private ClientSessionGroupMapping clientSessionGroupMapping;
 
     private EventMeshTcpRetryer eventMeshTcpRetryer;
@@ -77,8 +76,6 @@ public class EventMeshTCPServer extends AbstractRemotingServer {
 
     private EventMeshTCPConfiguration eventMeshTCPConfiguration;
 
-    private GlobalTrafficShapingHandler globalTrafficShapingHandler;
-
     private ScheduledExecutorService scheduler;
 
     private ExecutorService taskHandleExecutorService;
@@ -121,17 +118,9 @@ public class EventMeshTCPServer extends AbstractRemotingServer {
         this.taskHandleExecutorService = taskHandleExecutorService;
     }
 
-    public RateLimiter getRateLimiter() {
-        return rateLimiter;
-    }
-
-    public void setRateLimiter(RateLimiter rateLimiter) {
-        this.rateLimiter = rateLimiter;
-    }
-
     private ScheduledFuture<?> tcpRegisterTask;
 
-    private RateLimiter rateLimiter;
+    private TcpAdmissionController admissionController;
 
     public EventMeshTCPServer(EventMeshServer eventMeshServer,
                               EventMeshTCPConfiguration eventMeshTCPConfiguration, Registry registry) {
@@ -141,17 +130,27 @@ public class EventMeshTCPServer extends AbstractRemotingServer {
         this.registry = registry;
     }
 
+    /**
+     * Add the {@link FlushConsolidationHandler} at the head of the pipeline if it is enabled
+     */
+    static void addFlushConsolidationHandler(ChannelPipeline pipeline, EventMeshTCPConfiguration eventMeshTCPConfiguration) {
+        if (eventMeshTCPConfiguration.eventMeshTcpFlushConsolidationEnabled) {
+            // the pushes are written from the downstream threads, flush them once per event loop tick
+            pipeline.addLast(FLUSH_CONSOLIDATION_HANDLER,
+                new FlushConsolidationHandler(eventMeshTCPConfiguration.eventMeshTcpExplicitFlushAfterFlushes, true));
+        }
+    }
+
     private void startServer() {
         Runnable r = () -> {
             ServerBootstrap bootstrap = new ServerBootstrap();
             ChannelInitializer channelInitializer = new ChannelInitializer() {
                 @Override
                 public void initChannel(Channel ch) throws Exception {
+                    addFlushConsolidationHandler(ch.pipeline(), eventMeshTCPConfiguration);
                     ch.pipeline()
-                        .addLast(new Codec.Encoder())
+                        .addLast(new Codec.Encoder(eventMeshTCPConfiguration.eventMeshTcpCompressionThreshold))
                         .addLast(new Codec.Decoder())
-                        .addLast("global-traffic-shaping", globalTrafficShapingHandler)
-                        .addLast("channel-traffic-shaping", newCTSHandler())
                         .addLast(new EventMeshTcpConnectionHandler(EventMeshTCPServer.this))
                         .addLast(
                             workerGroup,
@@ -166,7 +165,6 @@ public class EventMeshTCPServer extends AbstractRemotingServer {
             };
 
             bootstrap.group(bossGroup, ioGroup)
-                .channel(NioServerSocketChannel.class)
                 .option(ChannelOption.SO_BACKLOG, 128)
                 .option(ChannelOption.SO_REUSEADDR, true)
                 .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, 10000)
@@ -183,9 +181,9 @@ public class EventMeshTCPServer extends AbstractRemotingServer {
 
             try {
                 int port = eventMeshTCPConfiguration.eventMeshTcpServerPort;
-                ChannelFuture f = bootstrap.bind(port).sync();
+                Channel channel = bind(bootstrap, port);
                 logger.info("EventMeshTCPServer[port={}] started.....", port);
-                f.channel().closeFuture().sync();
+                channel.closeFuture().sync();
             } catch (Exception e) {
                 logger.error("EventMeshTCPServer RemotingServer Start Err!", e);
                 try {
@@ -204,9 +202,7 @@ public class EventMeshTCPServer extends AbstractRemotingServer {
         logger.info("==================EventMeshTCPServer Initialing==================");
         initThreadPool();
 
-        rateLimiter = RateLimiter.create(eventMeshTCPConfiguration.eventMeshTcpMsgReqnumPerSecond);
-
-        globalTrafficShapingHandler = newGTSHandler();
+        admissionController = new TcpAdmissionController(eventMeshTCPConfiguration);
 
         clientManageController = new ClientManageController(this);
 
@@ -274,8 +270,6 @@ public class EventMeshTCPServer extends AbstractRemotingServer {
             logger.error("interruptedException occurred while sleeping", e);
         }
 
-        globalTrafficShapingHandler.release();
-
         if (ioGroup != null) {
             ioGroup.shutdownGracefully();
             logger.info("shutdown ioGroup");
@@ -327,7 +321,7 @@ public class EventMeshTCPServer extends AbstractRemotingServer {
     }
 
     private void initThreadPool() throws Exception {
-        super.init("eventMesh-tcp");
+        super.init("eventMesh-tcp", eventMeshTCPConfiguration);
 
         scheduler = ThreadPoolFactory.createScheduledExecutor(eventMeshTCPConfiguration.eventMeshTcpGlobalScheduler,
             new EventMeshThreadFactoryImpl("eventMesh-tcp-scheduler", true));
@@ -350,28 +344,8 @@ public class EventMeshTCPServer extends AbstractRemotingServer {
         taskHandleExecutorService.shutdown();
     }
 
-    private GlobalTrafficShapingHandler newGTSHandler() {
-        GlobalTrafficShapingHandler handler = new GlobalTrafficShapingHandler(scheduler, 0,
-            eventMeshTCPConfiguration.getGtc().getReadLimit()) {
-            @Override
-            protected long calculateSize(Object msg) {
-                return 1;
-            }
-        };
-        handler.setMaxTimeWait(1000);
-        return handler;
-    }
-
-    private ChannelTrafficShapingHandler newCTSHandler() {
-        ChannelTrafficShapingHandler handler = new ChannelTrafficShapingHandler(0,
-            eventMeshTCPConfiguration.getCtc().getReadLimit()) {
-            @Override
-            protected long calculateSize(Object msg) {
-                return 1;
-            }
-        };
-        handler.setMaxTimeWait(3000);
-        return handler;
+    public TcpAdmissionController getAdmissionController() {
+        return admissionController;
     }
 
     public ClientSessionGroupMapping getClientSessionGroupMapping() {
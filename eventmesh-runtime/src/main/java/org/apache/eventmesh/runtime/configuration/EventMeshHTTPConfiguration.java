@@ -91,6 +91,32 @@ public class EventMeshHTTPConfiguration extends CommonConfiguration {
 
     public int eventMeshEventBatchSize = 10;
 
+    /**
+     * The max length of a request body, the requests declaring a longer Content-Length are rejected with 413
+     * before the body is read
+     */
+    public int eventMeshHttpMaxContentLength = 4 * 1024 * 1024;
+
+    /**
+     * Serve HTTP/2 besides HTTP/1.1, negotiated by ALPN with TLS, or by the connection preface without TLS
+     */
+    public boolean eventMeshServerHttp2Enabled = true;
+
+    /**
+     * The max number of concurrent streams of an HTTP/2 connection
+     */
+    public int eventMeshHttp2MaxConcurrentStreams = 1000;
+
+    /**
+     * Limit the concurrent requests of each processor adaptively by their latency, the requests over the limit
+     * are answered with OVERLOAD before they are queued
+     */
+    public boolean eventMeshServerConcurrencyLimitEnabled = true;
+
+    public int eventMeshServerConcurrencyLimitMin = 20;
+
+    public int eventMeshServerConcurrencyLimitMax = 1000;
+
     public List<IPAddress> eventMeshIpv4BlackList = Collections.emptyList();
 
     public List<IPAddress> eventMeshIpv6BlackList = Collections.emptyList();
@@ -292,6 +318,36 @@ public class EventMeshHTTPConfiguration extends CommonConfiguration {
                 eventMeshEventBatchSize = Integer.parseInt(eventBatchSize);
             }
 
+            String maxContentLength = configurationWrapper.getProp(ConfKeys.KEY_EVENTMESH_SERVER_HTTP_MAX_CONTENT_LENGTH);
+            if (StringUtils.isNotEmpty(maxContentLength) && StringUtils.isNumeric(maxContentLength)) {
+                eventMeshHttpMaxContentLength = Integer.parseInt(maxContentLength);
+            }
+
+            String http2Enabled = configurationWrapper.getProp(ConfKeys.KEY_EVENTMESH_SERVER_HTTP2_ENABLED);
+            if (StringUtils.isNotEmpty(http2Enabled)) {
+                eventMeshServerHttp2Enabled = Boolean.parseBoolean(StringUtils.deleteWhitespace(http2Enabled));
+            }
+
+            String http2MaxConcurrentStreams = configurationWrapper.getProp(ConfKeys.KEY_EVENTMESH_SERVER_HTTP2_MAX_CONCURRENT_STREAMS);
+            if (StringUtils.isNotEmpty(http2MaxConcurrentStreams) && StringUtils.isNumeric(http2MaxConcurrentStreams)) {
+                eventMeshHttp2MaxConcurrentStreams = Integer.parseInt(http2MaxConcurrentStreams);
+            }
+
+            String concurrencyLimitEnabled = configurationWrapper.getProp(ConfKeys.KEY_EVENTMESH_SERVER_CONCURRENCY_LIMIT_ENABLED);
+            if (StringUtils.isNotEmpty(concurrencyLimitEnabled)) {
+                eventMeshServerConcurrencyLimitEnabled = Boolean.parseBoolean(StringUtils.deleteWhitespace(concurrencyLimitEnabled));
+            }
+
+            String concurrencyLimitMin = configurationWrapper.getProp(ConfKeys.KEY_EVENTMESH_SERVER_CONCURRENCY_LIMIT_MIN);
+            if (StringUtils.isNotEmpty(concurrencyLimitMin) && StringUtils.isNumeric(concurrencyLimitMin)) {
+                eventMeshServerConcurrencyLimitMin = Integer.parseInt(concurrencyLimitMin);
+            }
+
+            String concurrencyLimitMax = configurationWrapper.getProp(ConfKeys.KEY_EVENTMESH_SERVER_CONCURRENCY_LIMIT_MAX);
+            if (StringUtils.isNotEmpty(concurrencyLimitMax) && StringUtils.isNumeric(concurrencyLimitMax)) {
+                eventMeshServerConcurrencyLimitMax = Integer.parseInt(concurrencyLimitMax);
+            }
+
             String ipv4BlackList = configurationWrapper.getProp(ConfKeys.KEY_EVENTMESH_SERVER_IPV4_BLACK_LIST);
             if (StringUtils.isNotEmpty(ipv4BlackList)) {
                 eventMeshIpv4BlackList = getBlacklist(ipv4BlackList);
@@ -371,6 +427,18 @@ public class EventMeshHTTPConfiguration extends CommonConfiguration {
 
         public static String KEY_EVENTMESH_SERVER_EVENT_BATCHSIZE = "eventMesh.server.maxEventBatchSize";
 
+        public static String KEY_EVENTMESH_SERVER_HTTP_MAX_CONTENT_LENGTH = "eventMesh.server.http.maxContentLength";
+
+        public static String KEY_EVENTMESH_SERVER_HTTP2_ENABLED = "eventMesh.server.http2.enabled";
+
+        public static String KEY_EVENTMESH_SERVER_HTTP2_MAX_CONCURRENT_STREAMS = "eventMesh.server.http2.maxConcurrentStreams";
+
+        public static String KEY_EVENTMESH_SERVER_CONCURRENCY_LIMIT_ENABLED = "eventMesh.server.http.concurrencyLimit.enabled";
+
+        public static String KEY_EVENTMESH_SERVER_CONCURRENCY_LIMIT_MIN = "eventMesh.server.http.concurrencyLimit.min";
+
+        public static String KEY_EVENTMESH_SERVER_CONCURRENCY_LIMIT_MAX = "eventMesh.server.http.concurrencyLimit.max";
+
         public static String KEY_EVENTMESH_SERVER_IPV4_BLACK_LIST = "eventMesh.server.blacklist.ipv4";
 
         public static String KEY_EVENTMESH_SERVER_IPV6_BLACK_LIST = "eventMesh.server.blacklist.ipv6";
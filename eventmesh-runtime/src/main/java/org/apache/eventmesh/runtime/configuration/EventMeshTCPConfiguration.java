@@ -19,6 +19,22 @@ package org.apache.eventmesh.runtime.configuration;
 
 import org.apache.eventmesh.common.config.CommonConfiguration;
 import org.apache.eventmesh.common.config.ConfigurationWrapper;
+import org.apache.eventmesh.common.protocol.tcp.codec.Codec;
+import org.apache.eventmesh.common.protocol.tcp.codec.CompressionType;
+import org.apache.eventmesh.runtime.core.protocol.tcp.client.group.dispatch.DispatchStrategyType;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.netty.handler.flush.FlushConsolidationHandler;
+
+import com.google.common.base.Preconditions;
 
 public class EventMeshTCPConfiguration extends CommonConfiguration {
     public int eventMeshTcpServerPort = 10000;
@@ -31,6 +47,16 @@ public class EventMeshTCPConfiguration extends CommonConfiguration {
 
     public Integer eventMeshTcpMsgReqnumPerSecond = 15000;
 
+    /**
+     * The max number of messages a group sends per second, unlimited if it is not positive
+     */
+    public int eventMeshTcpGroupMsgReqnumPerSecond = 0;
+
+    /**
+     * The max number of messages a session sends per second, unlimited if it is not positive
+     */
+    public int eventMeshTcpSessionMsgReqnumPerSecond = 2000;
+
     /**
      * TCP Server allows max client num
      */
@@ -52,6 +78,19 @@ public class EventMeshTCPConfiguration extends CommonConfiguration {
 
     public int eventMeshTcpSessionUpstreamBufferSize = 100;
 
+    /**
+     * The max number of unacked messages pushed to a session, the window advertised by the client is capped by it
+     */
+    public int eventMeshTcpSessionDownstreamUnackSize = 100;
+
+    /**
+     * A msg not acked in time is pushed to another session of the group, 0 to wait for the ack until the msg expires.
+     * The redelivery is opt-in: a client that is alive but slower than the timeout gets the msg twice, and the default
+     * TTL of a msg (3s) is shorter than any timeout that a slow client would not hit, so it is tuned along the TTL.
+     * The unacked msgs are dropped when they expire either way.
+     */
+    public int eventMeshTcpSessionAckTimeoutInMills = 0;
+
     public int eventMeshTcpMsgAsyncRetryTimes = 3;
 
     public int eventMeshTcpMsgSyncRetryTimes = 1;
@@ -80,8 +119,35 @@ public class EventMeshTCPConfiguration extends CommonConfiguration {
 
     public int eventMeshEventBatchSize = 10;
 
-    private TrafficShapingConfig gtc = new TrafficShapingConfig(0, 10_000, 1_000, 2000);
-    private TrafficShapingConfig ctc = new TrafficShapingConfig(0, 2_000, 1_000, 10_000);
+    /**
+     * The compression types the server accepts in the hello request, the bodies are not compressed if it is empty
+     */
+    public List<CompressionType> eventMeshTcpCompressionTypes = Arrays.asList(CompressionType.values());
+
+    /**
+     * The bodies shorter than it are not compressed
+     */
+    public int eventMeshTcpCompressionThreshold = Codec.DEFAULT_COMPRESSION_THRESHOLD;
+
+    /**
+     * Coalesce the flushes of a channel, the pushes queued in one event loop tick are flushed together
+     */
+    public boolean eventMeshTcpFlushConsolidationEnabled = Boolean.TRUE;
+
+    /**
+     * The max number of flushes to coalesce before the channel is flushed immediately
+     */
+    public int eventMeshTcpExplicitFlushAfterFlushes = FlushConsolidationHandler.DEFAULT_EXPLICIT_FLUSH_AFTER_FLUSHES;
+
+    /**
+     * The strategy to select the session a msg is pushed to, for the groups without their own strategy
+     */
+    public DispatchStrategyType eventMeshTcpDispatchStrategy = DispatchStrategyType.RANDOM;
+
+    /**
+     * The strategies of the groups which do not use the default one, keyed by group
+     */
+    public Map<String, DispatchStrategyType> eventMeshTcpGroupDispatchStrategies = Collections.emptyMap();
 
     public EventMeshTCPConfiguration(ConfigurationWrapper configurationWrapper) {
         super(configurationWrapper);
@@ -104,6 +170,12 @@ public class EventMeshTCPConfiguration extends CommonConfiguration {
         eventMeshTcpMsgReqnumPerSecond = configurationWrapper.getIntProp(ConfKeys.KEYS_EVENTMESH_SERVER_MSG_REQ_NUM_PER_SECONDS,
                 eventMeshTcpMsgReqnumPerSecond);
 
+        eventMeshTcpGroupMsgReqnumPerSecond = configurationWrapper.getIntProp(
+                ConfKeys.KEYS_EVENTMESH_SERVER_GROUP_MSG_REQ_NUM_PER_SECONDS, eventMeshTcpGroupMsgReqnumPerSecond);
+
+        eventMeshTcpSessionMsgReqnumPerSecond = configurationWrapper.getIntProp(
+                ConfKeys.KEYS_EVENTMESH_SERVER_SESSION_MSG_REQ_NUM_PER_SECONDS, eventMeshTcpSessionMsgReqnumPerSecond);
+
         eventMeshTcpClientMaxNum = configurationWrapper.getIntProp(ConfKeys.KEYS_EVENTMESH_SERVER_CLIENT_MAX_NUM,
                 eventMeshTcpClientMaxNum);
 
@@ -125,6 +197,12 @@ public class EventMeshTCPConfiguration extends CommonConfiguration {
         eventMeshTcpSessionUpstreamBufferSize = configurationWrapper.getIntProp(
                 ConfKeys.KEYS_EVENTMESH_SERVER_SESSION_UPSTREAM_BUFFER_SIZE, eventMeshTcpSessionUpstreamBufferSize);
 
+        eventMeshTcpSessionDownstreamUnackSize = configurationWrapper.getIntProp(
+                ConfKeys.KEYS_EVENTMESH_SERVER_SESSION_DOWNSTREAM_UNACK_SIZE, eventMeshTcpSessionDownstreamUnackSize);
+
+        eventMeshTcpSessionAckTimeoutInMills = configurationWrapper.getIntProp(
+                ConfKeys.KEYS_EVENTMESH_SERVER_SESSION_ACK_TIMEOUT, eventMeshTcpSessionAckTimeoutInMills);
+
         //========================================eventMesh retry config=============================================//
         eventMeshTcpMsgAsyncRetryTimes = configurationWrapper.getIntProp(
                 ConfKeys.KEYS_EVENTMESH_SERVER_RETRY_ASYNC_PUSH_RETRY_TIMES, eventMeshTcpMsgAsyncRetryTimes);
@@ -163,14 +241,57 @@ public class EventMeshTCPConfiguration extends CommonConfiguration {
 
         eventMeshEventBatchSize = configurationWrapper.getIntProp(
                 ConfKeys.KEYS_EVENTMESH_SERVER_EVENT_BATCHSIZE, eventMeshEventBatchSize);
-    }
 
-    public TrafficShapingConfig getGtc() {
-        return gtc;
+        String compressionTypesStr = configurationWrapper.getProp(ConfKeys.KEYS_EVENTMESH_SERVER_TCP_COMPRESSION_TYPES);
+        if (compressionTypesStr != null) {
+            List<CompressionType> compressionTypes = new ArrayList<>();
+            for (String name : StringUtils.split(compressionTypesStr, ',')) {
+                CompressionType compressionType = CompressionType.of(name);
+                Preconditions.checkState(compressionType != null,
+                        String.format("%s error", ConfKeys.KEYS_EVENTMESH_SERVER_TCP_COMPRESSION_TYPES));
+                compressionTypes.add(compressionType);
+            }
+            eventMeshTcpCompressionTypes = compressionTypes;
+        }
+
+        eventMeshTcpCompressionThreshold = configurationWrapper.getIntProp(
+                ConfKeys.KEYS_EVENTMESH_SERVER_TCP_COMPRESSION_THRESHOLD, eventMeshTcpCompressionThreshold);
+
+        eventMeshTcpFlushConsolidationEnabled = configurationWrapper.getBoolProp(
+                ConfKeys.KEYS_EVENTMESH_SERVER_TCP_FLUSH_CONSOLIDATION_ENABLED, eventMeshTcpFlushConsolidationEnabled);
+
+        eventMeshTcpExplicitFlushAfterFlushes = configurationWrapper.getIntProp(
+                ConfKeys.KEYS_EVENTMESH_SERVER_TCP_EXPLICIT_FLUSH_AFTER_FLUSHES, eventMeshTcpExplicitFlushAfterFlushes);
+        Preconditions.checkState(eventMeshTcpExplicitFlushAfterFlushes > 0,
+                String.format("%s error", ConfKeys.KEYS_EVENTMESH_SERVER_TCP_EXPLICIT_FLUSH_AFTER_FLUSHES));
+
+        String dispatchStrategyStr = configurationWrapper.getProp(ConfKeys.KEYS_EVENTMESH_SERVER_TCP_DISPATCH_STRATEGY);
+        if (StringUtils.isNotBlank(dispatchStrategyStr)) {
+            eventMeshTcpDispatchStrategy = DispatchStrategyType.of(dispatchStrategyStr);
+            Preconditions.checkState(eventMeshTcpDispatchStrategy != null,
+                    String.format("%s error", ConfKeys.KEYS_EVENTMESH_SERVER_TCP_DISPATCH_STRATEGY));
+        }
+
+        String groupDispatchStrategiesStr = configurationWrapper.getProp(
+                ConfKeys.KEYS_EVENTMESH_SERVER_TCP_GROUP_DISPATCH_STRATEGIES);
+        if (StringUtils.isNotBlank(groupDispatchStrategiesStr)) {
+            Map<String, DispatchStrategyType> groupDispatchStrategies = new HashMap<>();
+            for (String groupStrategy : StringUtils.split(groupDispatchStrategiesStr, ',')) {
+                String[] pair = StringUtils.split(groupStrategy, ':');
+                DispatchStrategyType dispatchStrategy = pair.length == 2 ? DispatchStrategyType.of(pair[1]) : null;
+                Preconditions.checkState(dispatchStrategy != null,
+                        String.format("%s error", ConfKeys.KEYS_EVENTMESH_SERVER_TCP_GROUP_DISPATCH_STRATEGIES));
+                groupDispatchStrategies.put(StringUtils.trim(pair[0]), dispatchStrategy);
+            }
+            eventMeshTcpGroupDispatchStrategies = groupDispatchStrategies;
+        }
     }
 
-    public TrafficShapingConfig getCtc() {
-        return ctc;
+    /**
+     * Get the dispatch strategy of the group, the default one if the group has none
+     */
+    public DispatchStrategyType getDispatchStrategy(String group) {
+        return eventMeshTcpGroupDispatchStrategies.getOrDefault(group, eventMeshTcpDispatchStrategy);
     }
 
     static class ConfKeys {
@@ -181,6 +302,8 @@ public class EventMeshTCPConfiguration extends CommonConfiguration {
         public static String KEYS_EVENTMESH_SERVER_ALL_IDLE_SECONDS = "eventMesh.server.tcp.allIdleSeconds";
         public static String KEYS_EVENTMESH_SERVER_CLIENT_MAX_NUM = "eventMesh.server.tcp.clientMaxNum";
         public static String KEYS_EVENTMESH_SERVER_MSG_REQ_NUM_PER_SECONDS = "eventMesh.server.tcp.msgReqnumPerSecond";
+        public static String KEYS_EVENTMESH_SERVER_GROUP_MSG_REQ_NUM_PER_SECONDS = "eventMesh.server.tcp.group.msgReqnumPerSecond";
+        public static String KEYS_EVENTMESH_SERVER_SESSION_MSG_REQ_NUM_PER_SECONDS = "eventMesh.server.tcp.session.msgReqnumPerSecond";
         public static String KEYS_EVENTMESH_SERVER_TCP_REBALANCE_INTERVAL = "eventMesh.server.tcp.RebalanceIntervalInMills";
         public static String KEYS_EVENTMESH_SERVER_GLOBAL_SCHEDULER = "eventMesh.server.global.scheduler";
         public static String KEYS_EVENTMESH_SERVER_TCP_TASK_HANDLE_POOL_SIZE = "eventMesh.server.tcp.taskHandleExecutorPoolSize";
@@ -188,6 +311,7 @@ public class EventMeshTCPConfiguration extends CommonConfiguration {
         public static String KEYS_EVENTMESH_SERVER_SESSION_EXPIRED_TIME = "eventMesh.server.session.expiredInMills";
         public static String KEYS_EVENTMESH_SERVER_SESSION_UPSTREAM_BUFFER_SIZE = "eventMesh.server.session.upstreamBufferSize";
         public static String KEYS_EVENTMESH_SERVER_SESSION_DOWNSTREAM_UNACK_SIZE = "eventMesh.server.session.downstreamUnackSize";
+        public static String KEYS_EVENTMESH_SERVER_SESSION_ACK_TIMEOUT = "eventMesh.server.session.ackTimeoutInMills";
         public static String KEYS_EVENTMESH_SERVER_RETRY_ASYNC_PUSH_RETRY_TIMES = "eventMesh.server.retry.async.pushRetryTimes";
         public static String KEYS_EVENTMESH_SERVER_RETRY_SYNC_PUSH_RETRY_TIMES = "eventMesh.server.retry.sync.pushRetryTimes";
         public static String KEYS_EVENTMESH_SERVER_RETRY_ASYNC_PUSH_RETRY_DELAY = "eventMesh.server.retry.async.pushRetryDelayInMills";
@@ -201,71 +325,11 @@ public class EventMeshTCPConfiguration extends CommonConfiguration {
         public static String KEYS_EVENTMESH_SERVER_REBALANCE_REDIRECT_SLEEP_TIME = "eventMesh.server.rebalanceRedirect.sleepIntervalInM";
         public static String KEYS_EVENTMESH_SERVER_EVENTSIZE = "eventMesh.server.maxEventSize";
         public static String KEYS_EVENTMESH_SERVER_EVENT_BATCHSIZE = "eventMesh.server.maxEventBatchSize";
+        public static String KEYS_EVENTMESH_SERVER_TCP_COMPRESSION_TYPES = "eventMesh.server.tcp.compression.types";
+        public static String KEYS_EVENTMESH_SERVER_TCP_COMPRESSION_THRESHOLD = "eventMesh.server.tcp.compression.threshold";
+        public static String KEYS_EVENTMESH_SERVER_TCP_FLUSH_CONSOLIDATION_ENABLED = "eventMesh.server.tcp.flushConsolidation.enabled";
+        public static String KEYS_EVENTMESH_SERVER_TCP_EXPLICIT_FLUSH_AFTER_FLUSHES = "eventMesh.server.tcp.flushConsolidation.explicitFlushAfterFlushes";
+        public static String KEYS_EVENTMESH_SERVER_TCP_DISPATCH_STRATEGY = "eventMesh.server.tcp.dispatchStrategy";
+        public static String KEYS_EVENTMESH_SERVER_TCP_GROUP_DISPATCH_STRATEGIES = "eventMesh.server.tcp.dispatchStrategy.groups";
     }
-
-    public static class TrafficShapingConfig {
-        long writeLimit = 0;
-        long readLimit = 1000;
-        long checkInterval = 1000;
-        long maxTime = 5000;
-
-        public TrafficShapingConfig(long writeLimit, long readLimit, long checkInterval, long maxTime) {
-            this.writeLimit = writeLimit;
-            this.readLimit = readLimit;
-            this.checkInterval = checkInterval;
-            this.maxTime = maxTime;
-        }
-
-        public TrafficShapingConfig() {
-
-        }
-
-        public long getWriteLimit() {
-            return writeLimit;
-        }
-
-        public void setWriteLimit(long writeLimit) {
-            this.writeLimit = writeLimit;
-        }
-
-        public long getReadLimit() {
-            return readLimit;
-        }
-
-        public void setReadLimit(long readLimit) {
-            this.readLimit = readLimit;
-        }
-
-        public long getCheckInterval() {
-            return checkInterval;
-        }
-
-        public void setCheckInterval(long checkInterval) {
-            this.checkInterval = checkInterval;
-        }
-
-        public long getMaxTime() {
-            return maxTime;
-        }
-
-        public void setMaxTime(long maxTime) {
-            this.maxTime = maxTime;
-        }
-
-        @Override
-        public String toString() {
-            return "TrafficShapingConfig{"
-                    +
-                    "writeLimit=" + writeLimit
-                    +
-                    ", readLimit=" + readLimit
-                    +
-                    ", checkInterval=" + checkInterval
-                    +
-                    ", maxTime=" + maxTime
-                    +
-                    '}';
-        }
-    }
-
 }
@@ -53,10 +53,10 @@ public class EventMeshConstants {
     public static final String RSP_SEND_EVENTMESH_IP = "rspsendeventmeship";
     public static final String RSP_RECEIVE_EVENTMESH_IP = "rspreceiveeventmeship";
 
-    public static final String RSP_SYS = "rsp0sys";
-    public static final String RSP_IP = "rsp0ip";
-    public static final String RSP_IDC = "rsp0idc";
-    public static final String RSP_GROUP = "rsp0group";
+    public static final String RSP_SYS = Constants.RSP_SYS;
+    public static final String RSP_IP = Constants.RSP_IP;
+    public static final String RSP_IDC = Constants.RSP_IDC;
+    public static final String RSP_GROUP = Constants.RSP_GROUP;
     public static final String RSP_URL = "rsp0url";
 
     public static final String REQ_SYS = "req0sys";
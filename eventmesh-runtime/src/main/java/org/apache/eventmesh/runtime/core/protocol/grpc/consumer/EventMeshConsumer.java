@@ -244,6 +244,12 @@ public class EventMeshConsumer {
 
             EventMeshAsyncConsumeContext eventMeshAsyncConsumeContext = (EventMeshAsyncConsumeContext) context;
 
+            if (eventMeshGrpcServer.getGrpcRetryer().isFull()) {
+                logger.warn("too many msgs to retry, reconsume later, consumerGroup:{} topic:{}", consumerGroup, topic);
+                eventMeshAsyncConsumeContext.commit(EventMeshAction.ReconsumeLater);
+                return;
+            }
+
             ConsumerGroupTopicConfig topicConfig = consumerGroupTopicConfig.get(topic);
 
             if (topicConfig != null) {
@@ -103,6 +103,11 @@ public abstract class AbstractPushRequest extends RetryContext {
         }
     }
 
+    @Override
+    public String getRetryGroup() {
+        return handleMsgContext.getConsumerGroup();
+    }
+
     @Override
     public boolean retry() {
         tryPushRequest();
@@ -19,13 +19,9 @@ package org.apache.eventmesh.runtime.core.protocol.grpc.retry;
 
 import org.apache.eventmesh.runtime.boot.EventMeshGrpcServer;
 import org.apache.eventmesh.runtime.configuration.EventMeshGrpcConfiguration;
+import org.apache.eventmesh.runtime.core.retry.RetryScheduler;
 
-import java.util.concurrent.ArrayBlockingQueue;
-import java.util.concurrent.DelayQueue;
-import java.util.concurrent.ThreadFactory;
-import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicInteger;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -42,75 +38,56 @@ public class GrpcRetryer {
         this.grpcConfiguration = eventMeshGrpcServer.getEventMeshGrpcConfiguration();
     }
 
-    private DelayQueue<DelayRetryable> failed = new DelayQueue<DelayRetryable>();
-
-    private ThreadPoolExecutor pool;
-
-    private Thread dispatcher;
+    private RetryScheduler retryScheduler;
 
     public void pushRetry(DelayRetryable delayRetryable) {
-        if (failed.size() >= grpcConfiguration.eventMeshServerRetryBlockQueueSize) {
+        boolean scheduled = retryScheduler.schedule(delayRetryable.getRetryGroup(),
+            delayRetryable.getDelay(TimeUnit.MILLISECONDS), () -> {
+                try {
+                    delayRetryable.retry();
+                    if (retryLogger.isDebugEnabled()) {
+                        retryLogger.debug("retryObj : {}", delayRetryable);
+                    }
+                } catch (Exception e) {
+                    retryLogger.error("grpc-retry error!", e);
+                }
+            });
+        if (!scheduled) {
             retryLogger.error("[RETRY-QUEUE] is full!");
-            return;
         }
-        failed.offer(delayRetryable);
     }
 
     public void init() {
-        pool = new ThreadPoolExecutor(grpcConfiguration.eventMeshServerRetryThreadNum,
-            grpcConfiguration.eventMeshServerRetryThreadNum,
-            60000,
-            TimeUnit.MILLISECONDS,
-            new ArrayBlockingQueue<>(grpcConfiguration.eventMeshServerRetryBlockQueueSize),
-            new ThreadFactory() {
-                private AtomicInteger count = new AtomicInteger();
-
-                @Override
-                public Thread newThread(Runnable r) {
-                    Thread thread = new Thread(r, "grpc-retry-" + count.incrementAndGet());
-                    thread.setPriority(Thread.NORM_PRIORITY);
-                    thread.setDaemon(true);
-                    return thread;
-                }
-            }, new ThreadPoolExecutor.AbortPolicy());
-
-        dispatcher = new Thread(() -> {
-            try {
-                DelayRetryable retryObj = null;
-                while (!Thread.currentThread().isInterrupted()
-                    && (retryObj = failed.take()) != null) {
-                    final DelayRetryable delayRetryable = retryObj;
-                    pool.execute(() -> {
-                        try {
-                            delayRetryable.retry();
-                            if (retryLogger.isDebugEnabled()) {
-                                retryLogger.debug("retryObj : {}", delayRetryable);
-                            }
-                        } catch (Exception e) {
-                            retryLogger.error("grpc-retry-dispatcher error!", e);
-                        }
-                    });
-                }
-            } catch (Exception e) {
-                retryLogger.error("grpc-retry-dispatcher error!", e);
-            }
-        }, "grpc-retry-dispatcher");
-        dispatcher.setDaemon(true);
+        retryScheduler = new RetryScheduler("grpc-retry", grpcConfiguration.eventMeshServerRetryThreadNum,
+            grpcConfiguration.eventMeshServerRetryBlockQueueSize);
         logger.info("GrpcRetryer inited......");
     }
 
+    /**
+     * Whether the pending retries reach the bound, the consumer lets the connector redeliver the new msgs later
+     */
+    public boolean isFull() {
+        return retryScheduler.isFull();
+    }
+
     public int size() {
-        return failed.size();
+        return retryScheduler.getPendingSize();
+    }
+
+    /**
+     * Get the lag of the last retry in milliseconds
+     */
+    public long getLag() {
+        return retryScheduler.getLag();
     }
 
     public void shutdown() {
-        dispatcher.interrupt();
-        pool.shutdown();
+        retryScheduler.shutdown();
         logger.info("GrpcRetryer shutdown......");
     }
 
     public void start() throws Exception {
-        dispatcher.start();
+        retryScheduler.start();
         logger.info("GrpcRetryer started......");
     }
 }
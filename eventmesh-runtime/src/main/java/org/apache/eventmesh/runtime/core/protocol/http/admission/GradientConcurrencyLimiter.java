@@ -0,0 +1,138 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.runtime.core.protocol.http.admission;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * An adaptive limit of the concurrent requests of a processor, in the way of the gradient algorithm. The limit grows
+ * while the latency of the requests stays close to its long term average, and shrinks in proportion to the latency
+ * when it goes up, which is when the requests start queueing in front of the processor. It starts at the max limit,
+ * so a burst on a cold processor is not rejected before any latency is known, and a rising latency shrinks it at any
+ * concurrency, while only the requests close to the limit let it grow.
+ */
+public class GradientConcurrencyLimiter {
+
+    /**
+     * How much the latency may exceed the long term average before the limit shrinks
+     */
+    private static final double RTT_TOLERANCE = 1.5;
+
+    /**
+     * The number of samples the long term average latency is taken over
+     */
+    private static final int LONG_WINDOW = 600;
+
+    private static final double SMOOTHING = 0.2;
+
+    /**
+     * The limit grows by it at most per sample, the requests allowed to queue while the latency is steady
+     */
+    private static final int QUEUE_SIZE = 4;
+
+    private final int minLimit;
+
+    private final int maxLimit;
+
+    private final AtomicInteger inflight = new AtomicInteger();
+
+    private volatile int limit;
+
+    // guarded by this
+    private double estimatedLimit;
+
+    // guarded by this, the long term average latency in nanos
+    private double longRtt;
+
+    public GradientConcurrencyLimiter(int minLimit, int maxLimit) {
+        this.minLimit = Math.max(minLimit, 1);
+        this.maxLimit = Math.max(maxLimit, this.minLimit);
+        this.estimatedLimit = this.maxLimit;
+        this.limit = this.maxLimit;
+    }
+
+    /**
+     * Acquire a permit without waiting
+     *
+     * @return false if the limit is reached, the request should be rejected then
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inflight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inflight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Return the permit of a request which completed, its latency adjusts the limit
+     *
+     * @param rttNanos the nanos the request took since the permit was acquired
+     */
+    public void release(long rttNanos) {
+        int inflightOfSample = inflight.getAndDecrement();
+        if (rttNanos > 0) {
+            update(rttNanos, inflightOfSample);
+        }
+    }
+
+    /**
+     * Return the permit of a request which was not executed
+     */
+    public void release() {
+        inflight.decrementAndGet();
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInflight() {
+        return inflight.get();
+    }
+
+    private synchronized void update(long rtt, int inflightOfSample) {
+        if (longRtt == 0) {
+            longRtt = rtt;
+        } else {
+            longRtt += (rtt - longRtt) / LONG_WINDOW;
+        }
+        // the average recovers quicker after the latency dropped for good, e.g. after a slow broker came back
+        if (longRtt / rtt > 2) {
+            longRtt *= 0.95;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, RTT_TOLERANCE * longRtt / rtt));
+        // the requests far below the limit tell nothing about a larger limit, but a rising latency still shrinks it
+        boolean underused = inflightOfSample < estimatedLimit / 2;
+        if (underused && gradient >= 1.0) {
+            return;
+        }
+
+        double newLimit = estimatedLimit * gradient + QUEUE_SIZE;
+        newLimit = estimatedLimit * (1 - SMOOTHING) + newLimit * SMOOTHING;
+        if (underused) {
+            newLimit = Math.min(newLimit, estimatedLimit);
+        }
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+        limit = (int) estimatedLimit;
+    }
+}
@@ -126,6 +126,13 @@ public class EventMeshConsumer {
                         topic, null);
                     EventMeshAsyncConsumeContext eventMeshAsyncConsumeContext = (EventMeshAsyncConsumeContext) context;
 
+                    if (eventMeshHTTPServer.getHttpRetryer().isFull()) {
+                        logger.warn("too many msgs to retry, reconsume later, consumerGroup:{} topic:{}",
+                            consumerGroupConf.getConsumerGroup(), topic);
+                        eventMeshAsyncConsumeContext.commit(EventMeshAction.ReconsumeLater);
+                        return;
+                    }
+
                     if (currentTopicConfig == null) {
                         logger.error("no topicConfig found, consumerGroup:{} topic:{}", consumerGroupConf.getConsumerGroup(), topic);
                         try {
@@ -206,6 +213,13 @@ public class EventMeshConsumer {
                     EventMeshAsyncConsumeContext eventMeshAsyncConsumeContext =
                         (EventMeshAsyncConsumeContext) context;
 
+                    if (eventMeshHTTPServer.getHttpRetryer().isFull()) {
+                        logger.warn("too many msgs to retry, reconsume later, consumerGroup:{} topic:{}",
+                            consumerGroupConf.getConsumerGroup(), topic);
+                        eventMeshAsyncConsumeContext.commit(EventMeshAction.ReconsumeLater);
+                        return;
+                    }
+
                     if (currentTopicConfig == null) {
                         logger.error("no topicConfig found, consumerGroup:{} topic:{}",
                             consumerGroupConf.getConsumerGroup(), topic);
@@ -107,10 +107,7 @@ public class LocalUnSubscribeEventProcessor extends AbstractEventProcessor {
         }
 
         //validate body
-        byte[] requestBody = requestWrapper.getBody();
-
-        Map<String, Object> requestBodyMap = JsonUtils.deserialize(new String(requestBody), new TypeReference<HashMap<String, Object>>() {
-        });
+        Map<String, Object> requestBodyMap = requestWrapper.getBodyMap();
 
         if (requestBodyMap.get("url") == null || requestBodyMap.get("topic") == null || requestBodyMap.get("consumerGroup") == null) {
             Map<String, Object> responseBodyMap = new HashMap<>();
@@ -73,6 +73,11 @@ public abstract class AbstractHTTPPushRequest extends RetryContext {
     public void tryHTTPRequest() {
     }
 
+    @Override
+    public String getRetryGroup() {
+        return handleMsgContext.getConsumerGroup();
+    }
+
     public void delayRetry(long delayTime) {
         if (retryTimes < EventMeshConstants.DEFAULT_PUSH_RETRY_TIMES && delayTime > 0) {
             retryTimes++;
@@ -24,4 +24,11 @@ import java.util.concurrent.Delayed;
  */
 public interface DelayRetryable extends Delayed {
     boolean retry() throws Exception;
+
+    /**
+     * Get the group of the retry, the retries of a group run on the same thread
+     *
+     * @return null if the retry has no group
+     */
+    String getRetryGroup();
 }
@@ -18,13 +18,9 @@
 package org.apache.eventmesh.runtime.core.protocol.http.retry;
 
 import org.apache.eventmesh.runtime.boot.EventMeshHTTPServer;
+import org.apache.eventmesh.runtime.core.retry.RetryScheduler;
 
-import java.util.concurrent.ArrayBlockingQueue;
-import java.util.concurrent.DelayQueue;
-import java.util.concurrent.ThreadFactory;
-import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicInteger;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -41,82 +37,57 @@ public class HttpRetryer {
         this.eventMeshHTTPServer = eventMeshHTTPServer;
     }
 
-    private DelayQueue<DelayRetryable> failed = new DelayQueue<>();
-
-    private ThreadPoolExecutor pool;
-
-    private Thread dispatcher;
+    private RetryScheduler retryScheduler;
 
     public void pushRetry(DelayRetryable delayRetryable) {
-        if (failed.size() >= eventMeshHTTPServer.getEventMeshHttpConfiguration().eventMeshServerRetryBlockQSize) {
+        boolean scheduled = retryScheduler.schedule(delayRetryable.getRetryGroup(),
+                delayRetryable.getDelay(TimeUnit.MILLISECONDS), () -> {
+                    try {
+                        delayRetryable.retry();
+                        if (retryLogger.isDebugEnabled()) {
+                            retryLogger.debug("retryObj : {}", delayRetryable);
+                        }
+                    } catch (Exception e) {
+                        retryLogger.error("http-retry error!", e);
+                    }
+                });
+        if (!scheduled) {
             retryLogger.error("[RETRY-QUEUE] is full!");
-            return;
         }
-        failed.offer(delayRetryable);
     }
 
     public void init() {
-        pool = new ThreadPoolExecutor(eventMeshHTTPServer.getEventMeshHttpConfiguration().eventMeshServerRetryThreadNum,
+        retryScheduler = new RetryScheduler("http-retry",
                 eventMeshHTTPServer.getEventMeshHttpConfiguration().eventMeshServerRetryThreadNum,
-                60000,
-                TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(
-                    eventMeshHTTPServer.getEventMeshHttpConfiguration().eventMeshServerRetryBlockQSize),
-                new ThreadFactory() {
-                    private AtomicInteger count = new AtomicInteger();
-
-                    @Override
-                    public Thread newThread(Runnable r) {
-                        Thread thread = new Thread(r, "http-retry-" + count.incrementAndGet());
-                        thread.setPriority(Thread.NORM_PRIORITY);
-                        thread.setDaemon(true);
-                        return thread;
-                    }
-                },
-                new ThreadPoolExecutor.AbortPolicy());
-
-        dispatcher = new Thread(() -> {
-            try {
-                DelayRetryable retryObj;
-                while (!Thread.currentThread().isInterrupted() && (retryObj = failed.take()) != null) {
-                    final DelayRetryable delayRetryable = retryObj;
-                    pool.execute(() -> {
-                        try {
-                            delayRetryable.retry();
-                            if (retryLogger.isDebugEnabled()) {
-                                retryLogger.debug("retryObj : {}", delayRetryable);
-                            }
-                        } catch (Exception e) {
-                            retryLogger.error("http-retry-dispatcher error!", e);
-                        }
-                    });
-                }
-            } catch (Exception e) {
-                retryLogger.error("http-retry-dispatcher error!", e);
-            }
-        }, "http-retry-dispatcher");
-        dispatcher.setDaemon(true);
+                eventMeshHTTPServer.getEventMeshHttpConfiguration().eventMeshServerRetryBlockQSize);
         logger.info("HttpRetryer inited......");
     }
 
+    /**
+     * Whether the pending retries reach the bound, the consumer lets the connector redeliver the new msgs later
+     */
+    public boolean isFull() {
+        return retryScheduler.isFull();
+    }
+
     public int size() {
-        return failed.size();
+        return retryScheduler.getPendingSize();
     }
 
     /**
-     * Get failed queue, this method is just used for metrics.
+     * Get the lag of the last retry in milliseconds
      */
-    public DelayQueue<DelayRetryable> getFailedQueue() {
-        return failed;
+    public long getLag() {
+        return retryScheduler.getLag();
     }
 
     public void shutdown() {
-        dispatcher.interrupt();
-        pool.shutdown();
+        retryScheduler.shutdown();
         logger.info("HttpRetryer shutdown......");
     }
 
     public void start() throws Exception {
-        dispatcher.start();
+        retryScheduler.start();
         logger.info("HttpRetryer started......");
     }
 }
@@ -31,6 +31,11 @@ public abstract class RetryContext implements DelayRetryable {
         return this;
     }
 
+    @Override
+    public String getRetryGroup() {
+        return null;
+    }
+
     @Override
     public int compareTo(Delayed delayed) {
         RetryContext obj = (RetryContext) delayed;
@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.runtime.core.protocol.http.router;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * Route a request URI to the value registered with the longest prefix of it. The routes are compiled into an
+ * immutable trie which is replaced on registration, so routing reads a volatile field and walks the trie once
+ * without any lock, and the routes can be registered while the server is running.
+ *
+ * @param <V> the value of a route
+ */
+public class PrefixRouter<V> {
+
+    private final Map<String /** prefix */, V> routes = new HashMap<>();
+
+    private volatile Node<V> root = new Node<>(null, new char[0], newChildren(0));
+
+    /**
+     * Register the value of the prefix, it replaces the value registered with the same prefix
+     */
+    public synchronized void register(String prefix, V value) {
+        Preconditions.checkNotNull(prefix, "prefix can't be null");
+        Preconditions.checkNotNull(value, "value can't be null");
+        routes.put(prefix, value);
+        root = compile(new TreeMap<>(routes), 0);
+    }
+
+    /**
+     * @param uri the request URI
+     * @return the value registered with the longest prefix of the URI, null if no prefix matches
+     */
+    public V route(String uri) {
+        Node<V> node = root;
+        V matched = node.value;
+        for (int i = 0; i < uri.length(); i++) {
+            node = node.child(uri.charAt(i));
+            if (node == null) {
+                break;
+            }
+            if (node.value != null) {
+                matched = node.value;
+            }
+        }
+        return matched;
+    }
+
+    /**
+     * Build the node of the routes sharing the first depth chars, the routes are sorted by their prefixes
+     */
+    private static <V> Node<V> compile(TreeMap<String, V> routes, int depth) {
+        V value = null;
+        List<Character> labels = new ArrayList<>();
+        List<TreeMap<String, V>> subRoutes = new ArrayList<>();
+        for (Map.Entry<String, V> route : routes.entrySet()) {
+            String prefix = route.getKey();
+            if (prefix.length() == depth) {
+                value = route.getValue();
+                continue;
+            }
+            char label = prefix.charAt(depth);
+            if (labels.isEmpty() || labels.get(labels.size() - 1) != label) {
+                labels.add(label);
+                subRoutes.add(new TreeMap<>());
+            }
+            subRoutes.get(subRoutes.size() - 1).put(prefix, route.getValue());
+        }
+        char[] childLabels = new char[labels.size()];
+        Node<V>[] children = newChildren(labels.size());
+        for (int i = 0; i < labels.size(); i++) {
+            childLabels[i] = labels.get(i);
+            children[i] = compile(subRoutes.get(i), depth + 1);
+        }
+        return new Node<>(value, childLabels, children);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V> Node<V>[] newChildren(int size) {
+        return (Node<V>[]) new Node[size];
+    }
+
+    private static class Node<V> {
+
+        private final V value;
+
+        /**
+         * The sorted chars leading to the children
+         */
+        private final char[] labels;
+
+        private final Node<V>[] children;
+
+        Node(V value, char[] labels, Node<V>[] children) {
+            this.value = value;
+            this.labels = labels;
+            this.children = children;
+        }
+
+        Node<V> child(char label) {
+            int index = Arrays.binarySearch(labels, label);
+            return index < 0 ? null : children[index];
+        }
+    }
+}
@@ -26,6 +26,7 @@ import org.apache.eventmesh.runtime.boot.EventMeshTCPServer;
 import org.apache.eventmesh.runtime.constants.EventMeshConstants;
 import org.apache.eventmesh.runtime.core.protocol.tcp.client.session.Session;
 import org.apache.eventmesh.runtime.core.protocol.tcp.client.session.SessionState;
+import org.apache.eventmesh.runtime.core.protocol.tcp.client.task.BatchMessageTransferTask;
 import org.apache.eventmesh.runtime.core.protocol.tcp.client.task.GoodbyeTask;
 import org.apache.eventmesh.runtime.core.protocol.tcp.client.task.HeartBeatTask;
 import org.apache.eventmesh.runtime.core.protocol.tcp.client.task.HelloTask;
@@ -168,6 +169,8 @@ public class EventMeshTcpMessageDispatcher extends SimpleChannelInboundHandler<P
                 return Command.ASYNC_MESSAGE_TO_SERVER_ACK;
             case BROADCAST_MESSAGE_TO_SERVER:
                 return Command.BROADCAST_MESSAGE_TO_SERVER_ACK;
+            case BATCH_MESSAGE_TO_SERVER:
+                return Command.BATCH_MESSAGE_TO_SERVER_ACK;
             default:
                 return cmd;
         }
@@ -224,6 +227,9 @@ public class EventMeshTcpMessageDispatcher extends SimpleChannelInboundHandler<P
             case BROADCAST_MESSAGE_TO_SERVER:
                 task = new MessageTransferTask(pkg, ctx, startTime, eventMeshTCPServer);
                 break;
+            case BATCH_MESSAGE_TO_SERVER:
+                task = new BatchMessageTransferTask(pkg, ctx, startTime, eventMeshTCPServer);
+                break;
             case RESPONSE_TO_CLIENT_ACK:
             case ASYNC_MESSAGE_TO_CLIENT_ACK:
             case BROADCAST_MESSAGE_TO_CLIENT_ACK:
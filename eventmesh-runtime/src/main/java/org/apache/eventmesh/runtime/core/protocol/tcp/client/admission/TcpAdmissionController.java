@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.runtime.core.protocol.tcp.client.admission;
+
+import org.apache.eventmesh.runtime.configuration.EventMeshTCPConfiguration;
+import org.apache.eventmesh.runtime.core.protocol.tcp.client.session.Session;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Admit the messages sent by the TCP clients with the token buckets of the session, its group and the server.
+ * The buckets are acquired in that order without waiting, and the permits acquired before a bucket rejects are
+ * returned, so a rejected message does not count against any level.
+ */
+public class TcpAdmissionController {
+
+    public enum Level {
+        SESSION,
+        GROUP,
+        GLOBAL
+    }
+
+    private final EventMeshTCPConfiguration eventMeshTCPConfiguration;
+
+    private final TokenBucket globalBucket;
+
+    private final Map<String /** group */, TokenBucket> groupBuckets = new ConcurrentHashMap<>();
+
+    private final Map<Level, AtomicLong> throttledNum = new EnumMap<>(Level.class);
+
+    public TcpAdmissionController(EventMeshTCPConfiguration eventMeshTCPConfiguration) {
+        this.eventMeshTCPConfiguration = eventMeshTCPConfiguration;
+        this.globalBucket = newBucket(eventMeshTCPConfiguration.eventMeshTcpMsgReqnumPerSecond);
+        for (Level level : Level.values()) {
+            throttledNum.put(level, new AtomicLong(0));
+        }
+    }
+
+    /**
+     * The bucket of a session, which is kept by the session
+     */
+    public static TokenBucket newSessionBucket(EventMeshTCPConfiguration eventMeshTCPConfiguration) {
+        return newBucket(eventMeshTCPConfiguration.eventMeshTcpSessionMsgReqnumPerSecond);
+    }
+
+    /**
+     * A bucket holds the permits of one second
+     */
+    private static TokenBucket newBucket(int permitsPerSecond) {
+        return new TokenBucket(permitsPerSecond, permitsPerSecond);
+    }
+
+    /**
+     * Acquire the permits of the messages sent by the session
+     *
+     * @param session the session sending the messages
+     * @param permits the number of messages
+     * @return null if the messages are admitted, otherwise the level which rejects them
+     */
+    public Level tryAcquire(Session session, int permits) {
+        TokenBucket sessionBucket = session.getSender().getAdmissionBucket();
+        if (!sessionBucket.tryAcquire(permits)) {
+            return throttle(Level.SESSION);
+        }
+        TokenBucket groupBucket = groupBuckets.computeIfAbsent(session.getClient().getGroup(),
+            group -> newBucket(eventMeshTCPConfiguration.eventMeshTcpGroupMsgReqnumPerSecond));
+        if (!groupBucket.tryAcquire(permits)) {
+            sessionBucket.release(permits);
+            return throttle(Level.GROUP);
+        }
+        if (!globalBucket.tryAcquire(permits)) {
+            groupBucket.release(permits);
+            sessionBucket.release(permits);
+            return throttle(Level.GLOBAL);
+        }
+        return null;
+    }
+
+    /**
+     * Remove the bucket of the group, called when the last session of the group is gone
+     */
+    public void removeGroupBucket(String group) {
+        groupBuckets.remove(group);
+    }
+
+    private Level throttle(Level level) {
+        throttledNum.get(level).incrementAndGet();
+        return level;
+    }
+
+    /**
+     * Get the number of the requests rejected by the level since the server started
+     */
+    public long getThrottledNum(Level level) {
+        return throttledNum.get(level).get();
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.runtime.core.protocol.tcp.client.admission;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A lock-free token bucket, which keeps the time the acquired tokens are refilled instead of the number of tokens,
+ * so that acquiring is a single compare-and-set and no thread refills the bucket.
+ */
+public class TokenBucket {
+
+    private final long nanosPerToken;
+
+    /**
+     * The nanos it takes to refill an empty bucket
+     */
+    private final long capacityNanos;
+
+    /**
+     * The time the acquired tokens are refilled, the bucket has (now - it) / nanosPerToken tokens up to the capacity
+     */
+    private final AtomicLong refilledTime;
+
+    /**
+     * @param permitsPerSecond the rate the tokens are refilled, the bucket is unlimited if it is not positive
+     * @param capacity         the max number of tokens acquired at once after the bucket is idle
+     */
+    public TokenBucket(int permitsPerSecond, int capacity) {
+        this.nanosPerToken = permitsPerSecond > 0 ? TimeUnit.SECONDS.toNanos(1) / permitsPerSecond : 0;
+        this.capacityNanos = nanosPerToken * Math.max(capacity, 1);
+        this.refilledTime = new AtomicLong(System.nanoTime() - capacityNanos);
+    }
+
+    /**
+     * Acquire the permits without waiting. More permits than the capacity are acquired only from a full bucket,
+     * the tokens over the capacity are borrowed from the following refills.
+     *
+     * @return false if the bucket does not have enough tokens, nothing is acquired then
+     */
+    public boolean tryAcquire(int permits) {
+        if (nanosPerToken == 0) {
+            return true;
+        }
+        long cost = nanosPerToken * permits;
+        while (true) {
+            long now = System.nanoTime();
+            long current = refilledTime.get();
+            long start = Math.max(current, now - capacityNanos);
+            long next = start + cost;
+            boolean full = start == now - capacityNanos;
+            if (next - now > 0 && !(full && cost > capacityNanos)) {
+                return false;
+            }
+            if (refilledTime.compareAndSet(current, next)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Return the permits acquired by a request which is rejected by another bucket
+     */
+    public void release(int permits) {
+        if (nanosPerToken != 0) {
+            refilledTime.addAndGet(-nanosPerToken * permits);
+        }
+    }
+}
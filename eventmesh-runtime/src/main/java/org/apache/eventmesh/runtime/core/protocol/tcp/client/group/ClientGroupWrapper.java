@@ -35,7 +35,9 @@ import org.apache.eventmesh.runtime.core.plugin.MQConsumerWrapper;
 import org.apache.eventmesh.runtime.core.plugin.MQProducerWrapper;
 import org.apache.eventmesh.runtime.core.protocol.tcp.client.group.dispatch.DownstreamDispatchStrategy;
 import org.apache.eventmesh.runtime.core.protocol.tcp.client.session.Session;
+import org.apache.eventmesh.runtime.core.protocol.tcp.client.session.SessionState;
 import org.apache.eventmesh.runtime.core.protocol.tcp.client.session.push.DownStreamMsgContext;
+import org.apache.eventmesh.runtime.core.protocol.tcp.client.session.push.SessionPusher;
 import org.apache.eventmesh.runtime.core.protocol.tcp.client.session.retry.EventMeshTcpRetryer;
 import org.apache.eventmesh.runtime.core.protocol.tcp.client.session.send.UpStreamMsgContext;
 import org.apache.eventmesh.runtime.metrics.tcp.EventMeshTcpMonitor;
@@ -55,6 +57,7 @@ import java.util.Objects;
 import java.util.Properties;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
@@ -64,6 +67,8 @@ import org.slf4j.LoggerFactory;
 
 import io.cloudevents.CloudEvent;
 import io.cloudevents.core.builder.CloudEventBuilder;
+import io.netty.buffer.ByteBuf;
+import io.netty.util.ReferenceCountUtil;
 import io.opentelemetry.api.trace.Span;
 import io.opentelemetry.context.Scope;
 
@@ -151,6 +156,20 @@ public class ClientGroupWrapper {
         return has;
     }
 
+    /**
+     * Whether any session listening to the topic is paused by the flow control
+     */
+    boolean hasPausedSession(String topic) {
+        for (Session session : groupConsumerSessions) {
+            if (SessionState.CLOSED != session.getSessionState()
+                && session.getSessionContext().subscribeTopics.containsKey(topic)
+                && session.getPusher().isPaused()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     public boolean send(UpStreamMsgContext upStreamMsgContext, SendCallback sendCallback)
         throws Exception {
         mqProducerWrapper.send(upStreamMsgContext.getEvent(), sendCallback);
@@ -207,6 +226,7 @@ public class ClientGroupWrapper {
                 topic2sessionInGroupMapping.put(topic, sessions);
             }
             r = topic2sessionInGroupMapping.get(topic).add(session);
+            downstreamDispatchStrategy.refresh(topic, topic2sessionInGroupMapping.get(topic));
             if (r) {
                 logger.info("addSubscription success, group:{} topic:{} client:{}", group,
                     topic, session.getClient());
@@ -255,6 +275,7 @@ public class ClientGroupWrapper {
                         group, topic, session.getClient());
                 }
             }
+            downstreamDispatchStrategy.refresh(topic, topic2sessionInGroupMapping.get(topic));
             if (CollectionUtils.size(topic2sessionInGroupMapping.get(topic)) == 0) {
                 topic2sessionInGroupMapping.remove(topic);
                 subscriptions.remove(topic);
@@ -441,9 +462,22 @@ public class ClientGroupWrapper {
 
                 EventMeshAsyncConsumeContext eventMeshAsyncConsumeContext =
                     (EventMeshAsyncConsumeContext) context;
+                if (eventMeshTcpRetryer.isFull()) {
+                    logger.warn("too many msgs to retry, reconsume later, groupName:{}, topic:{}", group, topic);
+                    eventMeshAsyncConsumeContext.commit(EventMeshAction.ReconsumeLater);
+                    return;
+                }
                 Session session = downstreamDispatchStrategy
                     .select(group, topic, groupConsumerSessions);
                 String bizSeqNo = EventMeshUtil.getMessageBizSeq(event);
+                if (session == null && hasPausedSession(topic)) {
+                    // hold the msg back in the connector until the sessions ack the pushed msgs
+                    logger.warn("all sessions are paused by flow control, reconsume later, groupName:{}, topic:{}, bizSeqNo:{}",
+                        group, topic, bizSeqNo);
+                    eventMeshTcpMonitor.getTcpSummaryMetrics().getPausedMsgNum().incrementAndGet();
+                    eventMeshAsyncConsumeContext.commit(EventMeshAction.ReconsumeLater);
+                    return;
+                }
                 if (session == null) {
                     try {
                         Integer sendBackTimes = 0;
@@ -556,37 +590,64 @@ public class ClientGroupWrapper {
                     return;
                 }
 
+                if (eventMeshTcpRetryer.isFull()) {
+                    logger.warn("downstream broadcast msg,too many msgs to retry,reconsume later,groupName:{},topic:{}", group, topic);
+                    eventMeshAsyncConsumeContext.commit(EventMeshAction.ReconsumeLater);
+                    return;
+                }
+
+                if (hasPausedSession(topic)) {
+                    // every session has to receive a broadcast, so hold it back in the connector until the paused sessions resume
+                    logger.warn("downstream broadcast msg,some sessions are paused by flow control,reconsume later,groupName:{},topic:{}",
+                        group, topic);
+                    eventMeshTcpMonitor.getTcpSummaryMetrics().getPausedMsgNum().incrementAndGet();
+                    eventMeshAsyncConsumeContext.commit(EventMeshAction.ReconsumeLater);
+                    return;
+                }
+
                 Iterator<Session> sessionsItr = groupConsumerSessions.iterator();
 
                 SubscriptionItem subscriptionItem = subscriptions.get(topic);
-                DownStreamMsgContext downStreamMsgContext =
-                    new DownStreamMsgContext(event, null, broadCastMsgConsumer,
-                        eventMeshAsyncConsumeContext.getAbstractContext(), false,
-                        subscriptionItem);
+                // the body is encoded once and shared by all the sessions
+                ByteBuf encodedBody = SessionPusher.encodeBroadcastBody(event);
+                try {
+                    while (sessionsItr.hasNext()) {
+                        Session session = sessionsItr.next();
+
+                        if (!session.isAvailable(topic)) {
+                            logger
+                                .warn("downstream broadcast msg,session is not available,client:{}",
+                                    session.getClient());
+                            continue;
+                        }
 
-                while (sessionsItr.hasNext()) {
-                    Session session = sessionsItr.next();
+                        DownStreamMsgContext downStreamMsgContext =
+                            new DownStreamMsgContext(event, session, broadCastMsgConsumer,
+                                eventMeshAsyncConsumeContext.getAbstractContext(), false,
+                                subscriptionItem);
+                        if (encodedBody != null) {
+                            downStreamMsgContext.setEncodedBody(encodedBody.retainedDuplicate());
+                        }
 
-                    if (!session.isAvailable(topic)) {
-                        logger
-                            .warn("downstream broadcast msg,session is not available,client:{}",
-                                session.getClient());
-                        continue;
+                        //downstream broadcast msg asynchronously
+                        try {
+                            eventMeshTCPServer.getBroadcastMsgDownstreamExecutorService()
+                                .submit(new Runnable() {
+                                    @Override
+                                    public void run() {
+                                        //msg put in eventmesh,waiting client ack
+                                        session.getPusher()
+                                            .unAckMsg(downStreamMsgContext.seq, downStreamMsgContext);
+                                        session.downstreamMsg(downStreamMsgContext);
+                                    }
+                                });
+                        } catch (RejectedExecutionException e) {
+                            ReferenceCountUtil.safeRelease(downStreamMsgContext.takeEncodedBody());
+                            logger.warn("downstream broadcast msg rejected,client:{}", session.getClient());
+                        }
                     }
-
-                    downStreamMsgContext.session = session;
-
-                    //downstream broadcast msg asynchronously
-                    eventMeshTCPServer.getBroadcastMsgDownstreamExecutorService()
-                        .submit(new Runnable() {
-                            @Override
-                            public void run() {
-                                //msg put in eventmesh,waiting client ack
-                                session.getPusher()
-                                    .unAckMsg(downStreamMsgContext.seq, downStreamMsgContext);
-                                session.downstreamMsg(downStreamMsgContext);
-                            }
-                        });
+                } finally {
+                    ReferenceCountUtil.safeRelease(encodedBody);
                 }
 
                 eventMeshAsyncConsumeContext.commit(EventMeshAction.ManualAck);
@@ -684,7 +745,13 @@ public class ClientGroupWrapper {
 
     public void setDownstreamDispatchStrategy(
         DownstreamDispatchStrategy downstreamDispatchStrategy) {
-        this.downstreamDispatchStrategy = downstreamDispatchStrategy;
+        this.groupLock.writeLock().lock();
+        try {
+            this.downstreamDispatchStrategy = downstreamDispatchStrategy;
+            topic2sessionInGroupMapping.forEach(downstreamDispatchStrategy::refresh);
+        } finally {
+            this.groupLock.writeLock().unlock();
+        }
     }
 
     public String getSysId() {
@@ -25,7 +25,6 @@ import org.apache.eventmesh.runtime.boot.EventMeshTCPServer;
 import org.apache.eventmesh.runtime.constants.EventMeshConstants;
 import org.apache.eventmesh.runtime.core.protocol.tcp.client.EventMeshTcp2Client;
 import org.apache.eventmesh.runtime.core.protocol.tcp.client.group.dispatch.DownstreamDispatchStrategy;
-import org.apache.eventmesh.runtime.core.protocol.tcp.client.group.dispatch.FreePriorityDispatchStrategy;
 import org.apache.eventmesh.runtime.core.protocol.tcp.client.session.Session;
 import org.apache.eventmesh.runtime.core.protocol.tcp.client.session.SessionState;
 import org.apache.eventmesh.runtime.core.protocol.tcp.client.session.push.DownStreamMsgContext;
@@ -195,10 +194,13 @@ public class ClientSessionGroupMapping {
         }
         synchronized (lockMap.get(user.getGroup())) {
             if (!clientGroupMap.containsKey(user.getGroup())) {
+                DownstreamDispatchStrategy downstreamDispatchStrategy = eventMeshTCPServer.getEventMeshTCPConfiguration()
+                        .getDispatchStrategy(user.getGroup()).newStrategy();
                 ClientGroupWrapper cgw = constructClientGroupWrapper(user.getSubsystem(), user.getGroup(),
-                        eventMeshTCPServer, new FreePriorityDispatchStrategy());
+                        eventMeshTCPServer, downstreamDispatchStrategy);
                 clientGroupMap.put(user.getGroup(), cgw);
-                logger.info("create new ClientGroupWrapper, group:{}", user.getGroup());
+                logger.info("create new ClientGroupWrapper, group:{}, dispatchStrategy:{}", user.getGroup(),
+                        downstreamDispatchStrategy.getClass().getSimpleName());
             }
 
             ClientGroupWrapper cgw = clientGroupMap.get(user.getGroup());
@@ -311,6 +313,7 @@ public class ClientSessionGroupMapping {
                                 downStreamMsgContext.event.getSubject(),
                                 Objects.requireNonNull(session.getClientGroupWrapper().get()).groupConsumerSessions);
                 if (reChooseSession != null) {
+                    session.getPusher().removeUnAckMsg(entry.getKey());
                     downStreamMsgContext.session = reChooseSession;
                     reChooseSession.getPusher().unAckMsg(downStreamMsgContext.seq, downStreamMsgContext);
                     reChooseSession.downstreamMsg(downStreamMsgContext);
@@ -339,6 +342,7 @@ public class ClientSessionGroupMapping {
 
             clientGroupMap.remove(session.getClientGroupWrapper().get().getGroup());
             lockMap.remove(session.getClientGroupWrapper().get().getGroup());
+            eventMeshTCPServer.getAdmissionController().removeGroupBucket(session.getClient().getGroup());
             logger.info("remove clientGroupWrapper group[{}]", session.getClientGroupWrapper().get().getGroup());
         }
     }
@@ -383,36 +387,8 @@ public class ClientSessionGroupMapping {
                 TimeUnit.MILLISECONDS);
     }
 
-    private void initDownStreamMsgContextCleaner() {
-        eventMeshTCPServer.getScheduler().scheduleAtFixedRate(
-                new Runnable() {
-                    @Override
-                    public void run() {
-
-                        //scan non-broadcast msg
-                        Iterator<Session> sessionIterator = sessionTable.values().iterator();
-                        while (sessionIterator.hasNext()) {
-                            Session tmp = sessionIterator.next();
-                            for (Map.Entry<String, DownStreamMsgContext> entry : tmp.getPusher().getUnAckMsg().entrySet()) {
-                                String seqKey = entry.getKey();
-                                DownStreamMsgContext downStreamMsgContext = entry.getValue();
-                                if (!downStreamMsgContext.isExpire()) {
-                                    continue;
-                                }
-                                downStreamMsgContext.ackMsg();
-                                tmp.getPusher().getUnAckMsg().remove(seqKey);
-                                logger.warn("remove expire downStreamMsgContext, session:{}, topic:{}, seq:{}", tmp,
-                                        downStreamMsgContext.event.getSubject(), seqKey);
-                            }
-                        }
-                    }
-                }, 1000, 5 * 1000, TimeUnit.MILLISECONDS);
-    }
-
-
     public void init() throws Exception {
         initSessionCleaner();
-        initDownStreamMsgContextCleaner();
         logger.info("ClientSessionGroupMapping inited......");
     }
 
@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.runtime.core.protocol.tcp.client.group.dispatch;
+
+import org.apache.eventmesh.runtime.core.protocol.tcp.client.session.Session;
+import org.apache.eventmesh.runtime.core.protocol.tcp.client.session.SessionState;
+
+import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The sessions of each topic are kept in an array which is replaced whenever the subscriptions of the topic change,
+ * so a select neither allocates nor walks the whole group. The subclasses choose among the sessions which are neither
+ * paused nor isolated, isolated sessions are only chosen if all the others are unavailable. Pause and isolation expire
+ * by themselves, so they are checked on each select instead of being cached. A session subscribes before it listens,
+ * so only the cached sessions which are also in the group consumer sessions are chosen.
+ */
+public abstract class AbstractCachedDispatchStrategy implements DownstreamDispatchStrategy {
+
+    private static final Logger logger = LoggerFactory.getLogger(AbstractCachedDispatchStrategy.class);
+
+    private static final Session[] EMPTY_SESSIONS = new Session[0];
+
+    private final ConcurrentHashMap<String, Session[]> topicSessionsMap = new ConcurrentHashMap<>();
+
+    /**
+     * The sessions are taken from the topic cache kept by {@link #refresh}, the group sessions only filter out the
+     * sessions which have not started to listen yet
+     */
+    @Override
+    public Session select(String group, String topic, Set<Session> groupConsumerSessions) {
+        if (StringUtils.isBlank(topic) || StringUtils.isBlank(group)) {
+            return null;
+        }
+
+        Session[] sessions = topicSessionsMap.get(topic);
+        if (sessions == null) {
+            logger.warn("no session subscribes the topic,group:{},topic:{}", group, topic);
+            return null;
+        }
+
+        Session session = doSelect(sessions, groupConsumerSessions);
+        if (session != null) {
+            return session;
+        }
+
+        int start = ThreadLocalRandom.current().nextInt(sessions.length);
+        for (int i = 0; i < sessions.length; i++) {
+            Session isolatedSession = sessions[(start + i) % sessions.length];
+            if (groupConsumerSessions.contains(isolatedSession)
+                    && SessionState.CLOSED != isolatedSession.getSessionState()
+                    && !isolatedSession.getPusher().isPaused()) {
+                logger.warn("all sessions are isolated,group:{},topic:{}", group, topic);
+                return isolatedSession;
+            }
+        }
+        logger.warn("all sessions can't downstream msg");
+        return null;
+    }
+
+    @Override
+    public void refresh(String topic, Set<Session> topicSessions) {
+        if (CollectionUtils.isEmpty(topicSessions)) {
+            topicSessionsMap.remove(topic);
+        } else {
+            topicSessionsMap.put(topic, topicSessions.toArray(EMPTY_SESSIONS));
+        }
+    }
+
+    /**
+     * select a session which is available
+     *
+     * @param sessions the sessions subscribing the topic, not empty
+     * @param groupConsumerSessions the sessions listening in the group
+     * @return null if no session is available
+     */
+    protected abstract Session doSelect(Session[] sessions, Set<Session> groupConsumerSessions);
+
+    /**
+     * Whether the session can take a msg now, the session listens and is not closed, paused or isolated
+     */
+    protected static boolean isAvailable(Session session, Set<Session> groupConsumerSessions) {
+        if (!groupConsumerSessions.contains(session) || SessionState.CLOSED == session.getSessionState()) {
+            return false;
+        }
+        if (session.getPusher().isPaused()) {
+            logger.debug("session is not available because session is paused,credits:{},client:{}",
+                    session.getPusher().getCredits(), session.getClient());
+            return false;
+        }
+        return !session.isIsolated();
+    }
+}
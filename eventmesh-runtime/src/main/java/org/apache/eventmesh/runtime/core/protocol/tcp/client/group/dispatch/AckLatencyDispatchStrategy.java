@@ -0,0 +1,53 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.runtime.core.protocol.tcp.client.group.dispatch;
+
+import org.apache.eventmesh.runtime.core.protocol.tcp.client.session.Session;
+
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Select the available session which is expected to ack a new msg first, that is the one with the lowest
+ * (unacked msgs + 1) * EWMA of the ack latency. A session without an ack yet counts as 1ms, so new sessions
+ * are tried before the slow ones.
+ */
+public class AckLatencyDispatchStrategy extends AbstractCachedDispatchStrategy {
+
+    private static final double MIN_ACK_LATENCY = 1;
+
+    @Override
+    protected Session doSelect(Session[] sessions, Set<Session> groupConsumerSessions) {
+        int start = ThreadLocalRandom.current().nextInt(sessions.length);
+        Session selected = null;
+        double minScore = Double.MAX_VALUE;
+        for (int i = 0; i < sessions.length; i++) {
+            Session session = sessions[(start + i) % sessions.length];
+            if (!isAvailable(session, groupConsumerSessions)) {
+                continue;
+            }
+            double score = (session.getPusher().getTotalUnackMsgs() + 1)
+                    * Math.max(session.getPusher().getAckLatency(), MIN_ACK_LATENCY);
+            if (score < minScore) {
+                selected = session;
+                minScore = score;
+            }
+        }
+        return selected;
+    }
+}
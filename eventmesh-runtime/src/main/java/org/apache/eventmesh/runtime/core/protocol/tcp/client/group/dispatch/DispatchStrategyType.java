@@ -0,0 +1,95 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.runtime.core.protocol.tcp.client.group.dispatch;
+
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * The downstream dispatch strategies which can be configured for a consumer group
+ */
+public enum DispatchStrategyType {
+
+    /**
+     * {@link CachedFreePriorityDispatchStrategy}, a random available session
+     */
+    RANDOM("random") {
+        @Override
+        public DownstreamDispatchStrategy newStrategy() {
+            return new CachedFreePriorityDispatchStrategy();
+        }
+    },
+
+    /**
+     * {@link LeastUnackDispatchStrategy}, the available session with the fewest unacked msgs
+     */
+    LEAST_UNACK("leastUnack") {
+        @Override
+        public DownstreamDispatchStrategy newStrategy() {
+            return new LeastUnackDispatchStrategy();
+        }
+    },
+
+    /**
+     * {@link AckLatencyDispatchStrategy}, weighted by the unacked msgs and the EWMA of the ack latency
+     */
+    ACK_LATENCY("ackLatency") {
+        @Override
+        public DownstreamDispatchStrategy newStrategy() {
+            return new AckLatencyDispatchStrategy();
+        }
+    },
+
+    /**
+     * {@link PowerOfTwoChoicesDispatchStrategy}, the one with fewer unacked msgs of two random sessions
+     */
+    POWER_OF_TWO_CHOICES("powerOfTwoChoices") {
+        @Override
+        public DownstreamDispatchStrategy newStrategy() {
+            return new PowerOfTwoChoicesDispatchStrategy();
+        }
+    };
+
+    private final String name;
+
+    DispatchStrategyType(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Create a strategy for a group, the strategies keep the sessions of the group so they are not shared
+     */
+    public abstract DownstreamDispatchStrategy newStrategy();
+
+    /**
+     * Get the strategy type by name, case insensitive
+     *
+     * @return null if the name is blank or unknown
+     */
+    public static DispatchStrategyType of(String name) {
+        for (DispatchStrategyType type : values()) {
+            if (type.name.equalsIgnoreCase(StringUtils.trim(name))) {
+                return type;
+            }
+        }
+        return null;
+    }
+}
@@ -31,7 +31,15 @@ public interface DownstreamDispatchStrategy {
      *
      * @param group
      * @param consumeSessions
-     * @return
+     * @return null if no session is available, the sessions paused by the flow control are not available
      */
     Session select(String group, String topic, Set<Session> consumeSessions);
+
+    /**
+     * called with the group lock held whenever the sessions subscribing the topic change
+     *
+     * @param topic
+     * @param topicSessions the sessions subscribing the topic, empty if the topic has no session any more
+     */
+    void refresh(String topic, Set<Session> topicSessions);
 }
@@ -48,6 +48,11 @@ public class FreePriorityDispatchStrategy implements DownstreamDispatchStrategy
             if (!session.isAvailable(topic)) {
                 continue;
             }
+            if (session.getPusher().isPaused()) {
+                logger.debug("session is not available because session is paused,credits:{},client:{}",
+                        session.getPusher().getCredits(), session.getClient());
+                continue;
+            }
             if (session.isIsolated()) {
                 isolatedSessions.add(session);
                 logger.info("session is not available because session is isolated,isolateTime:{},client:{}",
@@ -71,4 +76,9 @@ public class FreePriorityDispatchStrategy implements DownstreamDispatchStrategy
         Session session = filtered.get(0);
         return session;
     }
+
+    @Override
+    public void refresh(String topic, Set<Session> topicSessions) {
+        // filters the group sessions on each select
+    }
 }
@@ -0,0 +1,62 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.runtime.core.protocol.tcp.client.group.dispatch;
+
+import org.apache.eventmesh.runtime.core.protocol.tcp.client.session.Session;
+
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Pick two random sessions and select the one with fewer unacked msgs, which keeps the load close to
+ * {@link LeastUnackDispatchStrategy} without scanning all the sessions. If neither of them is available, it
+ * falls back to the first available session from a random index.
+ */
+public class PowerOfTwoChoicesDispatchStrategy extends AbstractCachedDispatchStrategy {
+
+    @Override
+    protected Session doSelect(Session[] sessions, Set<Session> groupConsumerSessions) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(sessions.length);
+        if (sessions.length > 1) {
+            int second = (first + 1 + random.nextInt(sessions.length - 1)) % sessions.length;
+            Session firstSession = sessions[first];
+            Session secondSession = sessions[second];
+            boolean firstAvailable = isAvailable(firstSession, groupConsumerSessions);
+            boolean secondAvailable = isAvailable(secondSession, groupConsumerSessions);
+            if (firstAvailable && secondAvailable) {
+                return firstSession.getPusher().getTotalUnackMsgs() <= secondSession.getPusher().getTotalUnackMsgs()
+                        ? firstSession : secondSession;
+            }
+            if (firstAvailable) {
+                return firstSession;
+            }
+            if (secondAvailable) {
+                return secondSession;
+            }
+        }
+
+        for (int i = 0; i < sessions.length; i++) {
+            Session session = sessions[(first + i) % sessions.length];
+            if (isAvailable(session, groupConsumerSessions)) {
+                return session;
+            }
+        }
+        return null;
+    }
+}
@@ -189,9 +189,17 @@ public class Session {
     }
 
     public EventMeshTcpSendResult upstreamMsg(Header header, CloudEvent event, SendCallback sendCallback, long startTime, long taskExecuteTime) {
+        return upstreamMsg(header, event, sendCallback, startTime, taskExecuteTime, false);
+    }
+
+    /**
+     * @see SessionSender#send(Header, CloudEvent, SendCallback, long, long, boolean)
+     */
+    public EventMeshTcpSendResult upstreamMsg(Header header, CloudEvent event, SendCallback sendCallback, long startTime, long taskExecuteTime,
+                                              boolean acquired) {
         String topic = event.getSubject();
         sessionContext.sendTopics.putIfAbsent(topic, topic);
-        return sender.send(header, event, sendCallback, startTime, taskExecuteTime);
+        return sender.send(header, event, sendCallback, startTime, taskExecuteTime, acquired);
     }
 
     public void downstreamMsg(DownStreamMsgContext downStreamMsgContext) {
@@ -37,6 +37,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import io.cloudevents.CloudEvent;
+import io.netty.buffer.ByteBuf;
+import io.netty.util.Timeout;
 
 public class DownStreamMsgContext extends RetryContext {
 
@@ -58,6 +60,16 @@ public class DownStreamMsgContext extends RetryContext {
 
     public boolean msgFromOtherEventMesh;
 
+    /**
+     * The body encoded once for all the sessions of a broadcast, it is only used by the first push
+     */
+    private ByteBuf encodedBody;
+
+    /**
+     * Fires if the msg is not acked in time, it is cancelled when the msg is acked or leaves the session
+     */
+    private volatile Timeout ackTimeout;
+
     public DownStreamMsgContext(CloudEvent event, Session session, MQConsumerWrapper consumer,
                                 AbstractContext consumeConcurrentlyContext, boolean msgFromOtherEventMesh,
                                 SubscriptionItem subscriptionItem) {
@@ -76,10 +88,40 @@ public class DownStreamMsgContext extends RetryContext {
         this.msgFromOtherEventMesh = msgFromOtherEventMesh;
     }
 
+    public void setEncodedBody(ByteBuf encodedBody) {
+        this.encodedBody = encodedBody;
+    }
+
+    /**
+     * Take the encoded body, the caller owns the returned buffer and the later pushes encode the event again
+     *
+     * @return null if there is no encoded body
+     */
+    public ByteBuf takeEncodedBody() {
+        ByteBuf body = encodedBody;
+        encodedBody = null;
+        return body;
+    }
+
     public boolean isExpire() {
         return System.currentTimeMillis() >= expireTime;
     }
 
+    public long getExpireTime() {
+        return expireTime;
+    }
+
+    void setAckTimeout(Timeout ackTimeout) {
+        this.ackTimeout = ackTimeout;
+    }
+
+    void cancelAckTimeout() {
+        Timeout timeout = ackTimeout;
+        if (timeout != null) {
+            timeout.cancel();
+        }
+    }
+
     public void ackMsg() {
         if (consumer != null && consumeConcurrentlyContext != null && event != null) {
             List<CloudEvent> events = new ArrayList<CloudEvent>();
@@ -118,6 +160,11 @@ public class DownStreamMsgContext extends RetryContext {
                 + '}';
     }
 
+    @Override
+    public String getRetryGroup() {
+        return session.getClient().getGroup();
+    }
+
     @Override
     public void retry() {
         try {
@@ -144,6 +191,11 @@ public class DownStreamMsgContext extends RetryContext {
                 logger.warn("retry, found no session to downstream msg,seq:{}, retryTimes:{}, bizSeq:{}", this.seq,
                         this.retryTimes, EventMeshUtil.getMessageBizSeq(this.event));
             } else {
+                if (rechoosen != this.session) {
+                    // the ack comes back from the new session
+                    this.session.getPusher().removeUnAckMsg(this.seq);
+                    rechoosen.getPusher().unAckMsg(this.seq, this);
+                }
                 this.session = rechoosen;
                 rechoosen.downstreamMsg(this);
                 logger.info("retry downStream msg end,seq:{},retryTimes:{},bizSeq:{}", this.seq, this.retryTimes,
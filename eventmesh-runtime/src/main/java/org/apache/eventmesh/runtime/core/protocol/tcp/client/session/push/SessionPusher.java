@@ -25,11 +25,13 @@ import org.apache.eventmesh.common.protocol.tcp.EventMeshMessage;
 import org.apache.eventmesh.common.protocol.tcp.Header;
 import org.apache.eventmesh.common.protocol.tcp.OPStatus;
 import org.apache.eventmesh.common.protocol.tcp.Package;
+import org.apache.eventmesh.common.protocol.tcp.codec.Codec;
 import org.apache.eventmesh.protocol.api.ProtocolAdaptor;
 import org.apache.eventmesh.protocol.api.ProtocolPluginFactory;
 import org.apache.eventmesh.runtime.constants.EventMeshConstants;
 import org.apache.eventmesh.runtime.core.protocol.tcp.client.session.Session;
 import org.apache.eventmesh.runtime.trace.TraceUtils;
+import org.apache.eventmesh.runtime.util.EventMeshThreadFactoryImpl;
 import org.apache.eventmesh.runtime.util.EventMeshUtil;
 import org.apache.eventmesh.trace.api.common.EventMeshTraceConstants;
 
@@ -37,18 +39,37 @@ import org.apache.commons.collections4.CollectionUtils;
 
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import io.cloudevents.CloudEvent;
 import io.cloudevents.core.builder.CloudEventBuilder;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelFutureListener;
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.ReferenceCountUtil;
 import io.opentelemetry.api.trace.Span;
 
 public class SessionPusher {
 
+    /**
+     * The max number of the unacked msgs tracked by the timer, about the unacked windows of 2000 sessions
+     */
+    static final long MAX_PENDING_ACK_TIMEOUTS = 200000;
+
+    /**
+     * Shared by all the sessions, a timeout is armed for each unacked msg and cancelled by its ack
+     */
+    private static final HashedWheelTimer ACK_TIMER = new HashedWheelTimer(
+        new EventMeshThreadFactoryImpl("eventMesh-tcp-ack-timeout", true), 100, TimeUnit.MILLISECONDS, 512,
+        true, MAX_PENDING_ACK_TIMEOUTS);
+
     private final Logger messageLogger = LoggerFactory.getLogger("message");
 
     private final Logger logger = LoggerFactory.getLogger(this.getClass());
@@ -61,8 +82,21 @@ public class SessionPusher {
 
     private Session session;
 
+    /**
+     * The max number of unacked messages pushed to the session, each ack of the client returns a credit
+     */
+    private volatile int window;
+
+    /**
+     * The EWMA of the ack latency in milliseconds, 0 until the first ack
+     */
+    private volatile double ackLatency;
+
+    private static final double ACK_LATENCY_EWMA_ALPHA = 0.2;
+
     public SessionPusher(Session session) {
         this.session = session;
+        this.window = session.getEventMeshTCPConfiguration().eventMeshTcpSessionDownstreamUnackSize;
     }
 
     @Override
@@ -73,7 +107,11 @@ public class SessionPusher {
             +
             ",deliverFailCount=" + deliverFailMsgsCount.longValue()
             +
-            ",unAckMsg=" + CollectionUtils.size(downStreamMap) + '}';
+            ",unAckMsg=" + CollectionUtils.size(downStreamMap)
+            +
+            ",window=" + window
+            +
+            ",ackLatency=" + Math.round(ackLatency) + '}';
     }
 
     public void push(final DownStreamMsgContext downStreamMsgContext) {
@@ -92,22 +130,37 @@ public class SessionPusher {
 
         Package pkg = new Package();
 
-        downStreamMsgContext.event = CloudEventBuilder.from(downStreamMsgContext.event)
-            .withExtension(EventMeshConstants.REQ_EVENTMESH2C_TIMESTAMP, String.valueOf(System.currentTimeMillis()))
-            .withExtension(EventMeshConstants.RSP_SYS, session.getClient().getSubsystem())
-            .withExtension(EventMeshConstants.RSP_GROUP, session.getClient().getGroup())
-            .withExtension(EventMeshConstants.RSP_IDC, session.getClient().getIdc())
-            .withExtension(EventMeshConstants.RSP_IP, session.getClient().getHost())
-            .build();
+        ByteBuf encodedBody = downStreamMsgContext.takeEncodedBody();
+        if (encodedBody == null) {
+            downStreamMsgContext.event = CloudEventBuilder.from(downStreamMsgContext.event)
+                .withExtension(EventMeshConstants.REQ_EVENTMESH2C_TIMESTAMP, String.valueOf(System.currentTimeMillis()))
+                .withExtension(EventMeshConstants.RSP_SYS, session.getClient().getSubsystem())
+                .withExtension(EventMeshConstants.RSP_GROUP, session.getClient().getGroup())
+                .withExtension(EventMeshConstants.RSP_IDC, session.getClient().getIdc())
+                .withExtension(EventMeshConstants.RSP_IP, session.getClient().getHost())
+                .build();
+        }
         EventMeshMessage body = null;
         int retCode = 0;
         String retMsg = null;
         try {
-            pkg = (Package) protocolAdaptor.fromCloudEvent(downStreamMsgContext.event);
-            pkg.setHeader(new Header(cmd, OPStatus.SUCCESS.getCode(), null, downStreamMsgContext.seq));
+            if (encodedBody == null) {
+                pkg = (Package) protocolAdaptor.fromCloudEvent(downStreamMsgContext.event);
+                pkg.setHeader(new Header(cmd, OPStatus.SUCCESS.getCode(), null, downStreamMsgContext.seq));
+            } else {
+                // the body is shared by the sessions of a broadcast, the session fields are sent in the header
+                pkg.setHeader(new Header(cmd, OPStatus.SUCCESS.getCode(), null, downStreamMsgContext.seq));
+                pkg.getHeader().putProperty(EventMeshConstants.RSP_SYS, session.getClient().getSubsystem());
+                pkg.getHeader().putProperty(EventMeshConstants.RSP_GROUP, session.getClient().getGroup());
+                pkg.getHeader().putProperty(EventMeshConstants.RSP_IDC, session.getClient().getIdc());
+                pkg.getHeader().putProperty(EventMeshConstants.RSP_IP, session.getClient().getHost());
+                pkg.setBody(encodedBody);
+                encodedBody = null;
+            }
             pkg.getHeader().putProperty(Constants.PROTOCOL_TYPE, protocolType);
             messageLogger.info("pkg|mq2eventMesh|cmd={}|mqMsg={}|user={}", cmd, pkg, session.getClient());
         } catch (Exception e) {
+            ReferenceCountUtil.safeRelease(encodedBody);
             pkg.setHeader(new Header(cmd, OPStatus.FAIL.getCode(), e.getStackTrace().toString(), downStreamMsgContext.seq));
             retCode = -1;
             retMsg = e.toString();
@@ -162,15 +215,158 @@ public class SessionPusher {
         }
     }
 
+    /**
+     * Encode the body of a broadcast event once for all the sessions, the per session fields are sent in the header
+     *
+     * @param event broadcast event
+     * @return the encoded body, which should be released by the caller, null if it fails to encode
+     */
+    public static ByteBuf encodeBroadcastBody(CloudEvent event) {
+        try {
+            String protocolType = Objects.requireNonNull(event.getExtension(Constants.PROTOCOL_TYPE)).toString();
+            Package pkg = (Package) ProtocolPluginFactory.getProtocolAdaptor(protocolType).fromCloudEvent(CloudEventBuilder.from(event)
+                .withExtension(EventMeshConstants.REQ_EVENTMESH2C_TIMESTAMP, String.valueOf(System.currentTimeMillis()))
+                .build());
+            pkg.setHeader(new Header());
+            pkg.getHeader().putProperty(Constants.PROTOCOL_TYPE, protocolType);
+            return Codec.encodeBody(pkg, PooledByteBufAllocator.DEFAULT);
+        } catch (Exception e) {
+            LoggerFactory.getLogger(SessionPusher.class).warn("encode broadcast body failed, it is encoded for each session", e);
+            return null;
+        }
+    }
+
     public void unAckMsg(String seq, DownStreamMsgContext downStreamMsgContext) {
         downStreamMap.put(seq, downStreamMsgContext);
-        logger.info("put msg in unAckMsg,seq:{},unAckMsgSize:{}", seq, getTotalUnackMsgs());
+        scheduleAckTimeout(seq, downStreamMsgContext);
+        logger.debug("put msg in unAckMsg,seq:{},unAckMsgSize:{}", seq, getTotalUnackMsgs());
+    }
+
+    /**
+     * Stop tracking the msg when it is acked or pushed to another session
+     *
+     * @return the unacked msg, null if it is not tracked by the session
+     */
+    public DownStreamMsgContext removeUnAckMsg(String seq) {
+        DownStreamMsgContext downStreamMsgContext = downStreamMap.remove(seq);
+        if (downStreamMsgContext != null) {
+            downStreamMsgContext.cancelAckTimeout();
+        }
+        return downStreamMsgContext;
+    }
+
+    /**
+     * The timeout is armed even if the redelivery is disabled, it drops the msg from the unacked map when the msg expires
+     */
+    private void scheduleAckTimeout(String seq, DownStreamMsgContext downStreamMsgContext) {
+        long delay = Math.max(0, downStreamMsgContext.getExpireTime() - System.currentTimeMillis());
+        int ackTimeout = session.getEventMeshTCPConfiguration().eventMeshTcpSessionAckTimeoutInMills;
+        if (ackTimeout > 0) {
+            delay = Math.min(delay, ackTimeout);
+        }
+        downStreamMsgContext.cancelAckTimeout();
+        try {
+            downStreamMsgContext.setAckTimeout(ACK_TIMER.newTimeout(timeout -> onAckTimeout(seq, downStreamMsgContext),
+                delay, TimeUnit.MILLISECONDS));
+        } catch (RejectedExecutionException e) {
+            // the msg stays unacked until the client acks it or the session is closed
+            downStreamMsgContext.setAckTimeout(null);
+            logger.warn("too many unacked msgs, the ack timeout is not armed, seq:{}, client:{}", seq, session.getClient());
+        }
+    }
+
+    private void onAckTimeout(String seq, DownStreamMsgContext downStreamMsgContext) {
+        try {
+            if (downStreamMap.get(seq) != downStreamMsgContext) {
+                return;
+            }
+            if (downStreamMsgContext.isExpire()) {
+                if (downStreamMap.remove(seq, downStreamMsgContext)) {
+                    logger.warn("remove expire downStreamMsgContext, session:{}, topic:{}, seq:{}", session,
+                        downStreamMsgContext.event.getSubject(), seq);
+                    downStreamMsgContext.ackMsg();
+                }
+                return;
+            }
+
+            Session other = chooseOtherSession(downStreamMsgContext);
+            if (other == null || !downStreamMap.remove(seq, downStreamMsgContext)) {
+                // wait for the ack until the msg expires
+                scheduleAckTimeout(seq, downStreamMsgContext);
+                return;
+            }
+            downStreamMsgContext.retryTimes++;
+            downStreamMsgContext.lastPushTime = System.currentTimeMillis();
+            downStreamMsgContext.session = other;
+            other.getPusher().unAckMsg(seq, downStreamMsgContext);
+            other.downstreamMsg(downStreamMsgContext);
+            logger.warn("msg not acked in time, push it to another session, seq:{}, retryTimes:{}, from:{}, to:{}", seq,
+                downStreamMsgContext.retryTimes, session.getClient(), other.getClient());
+        } catch (Exception e) {
+            logger.error("handle ack timeout error, seq:{}", seq, e);
+        }
+    }
+
+    private Session chooseOtherSession(DownStreamMsgContext downStreamMsgContext) {
+        if (session.getEventMeshTCPConfiguration().eventMeshTcpSessionAckTimeoutInMills <= 0
+            || SubscriptionMode.BROADCASTING.equals(downStreamMsgContext.subscriptionItem.getMode())) {
+            return null;
+        }
+        int maxRetryTimes = SubscriptionType.SYNC.equals(downStreamMsgContext.subscriptionItem.getType())
+            ? session.getEventMeshTCPConfiguration().eventMeshTcpMsgSyncRetryTimes
+            : session.getEventMeshTCPConfiguration().eventMeshTcpMsgAsyncRetryTimes;
+        if (downStreamMsgContext.retryTimes >= maxRetryTimes || session.getClientGroupWrapper().get() == null) {
+            return null;
+        }
+        Session other = session.getClientGroupWrapper().get().getDownstreamDispatchStrategy().select(
+            session.getClientGroupWrapper().get().getSysId(), downStreamMsgContext.event.getSubject(),
+            session.getClientGroupWrapper().get().getGroupConsumerSessions());
+        return other == session ? null : other;
     }
 
     public int getTotalUnackMsgs() {
         return downStreamMap.size();
     }
 
+    /**
+     * Set the window advertised by the client, it is capped by the max unacked messages of the server
+     *
+     * @param window the window of the client, the max of the server is used if it is not positive
+     */
+    public void setWindow(int window) {
+        int maxWindow = session.getEventMeshTCPConfiguration().eventMeshTcpSessionDownstreamUnackSize;
+        this.window = window > 0 ? Math.min(window, maxWindow) : maxWindow;
+    }
+
+    public int getWindow() {
+        return window;
+    }
+
+    /**
+     * The number of messages that can be pushed before the client acks more of them
+     */
+    public int getCredits() {
+        return Math.max(0, window - getTotalUnackMsgs());
+    }
+
+    /**
+     * The delivery to the session is paused if it runs out of credits or its outbound buffer is over the high water mark
+     */
+    public boolean isPaused() {
+        return getCredits() == 0 || !session.getContext().channel().isWritable();
+    }
+
+    /**
+     * Update the EWMA of the ack latency with the latency of an acked msg
+     */
+    public synchronized void recordAckLatency(long latency) {
+        ackLatency = ackLatency == 0 ? latency : ackLatency + ACK_LATENCY_EWMA_ALPHA * (latency - ackLatency);
+    }
+
+    public double getAckLatency() {
+        return ackLatency;
+    }
+
     public ConcurrentHashMap<String, DownStreamMsgContext> getUnAckMsg() {
         return downStreamMap;
     }
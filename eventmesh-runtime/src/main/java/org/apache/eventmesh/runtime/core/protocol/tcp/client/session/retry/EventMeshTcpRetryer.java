@@ -20,12 +20,9 @@ package org.apache.eventmesh.runtime.core.protocol.tcp.client.session.retry;
 import org.apache.eventmesh.common.protocol.SubscriptionType;
 import org.apache.eventmesh.runtime.boot.EventMeshTCPServer;
 import org.apache.eventmesh.runtime.core.protocol.tcp.client.session.push.DownStreamMsgContext;
-import org.apache.eventmesh.runtime.util.EventMeshThreadFactoryImpl;
+import org.apache.eventmesh.runtime.core.retry.RetryScheduler;
 import org.apache.eventmesh.runtime.util.EventMeshUtil;
 
-import java.util.concurrent.ArrayBlockingQueue;
-import java.util.concurrent.DelayQueue;
-import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
 import org.slf4j.Logger;
@@ -37,16 +34,9 @@ public class EventMeshTcpRetryer {
 
     private EventMeshTCPServer eventMeshTCPServer;
 
-    private DelayQueue<RetryContext> retrys = new DelayQueue<RetryContext>();
+    private static final int RETRY_THREAD_NUM = 3;
 
-    private ThreadPoolExecutor pool = new ThreadPoolExecutor(3,
-            3,
-            60000,
-            TimeUnit.MILLISECONDS, new ArrayBlockingQueue<Runnable>(1000),
-            new EventMeshThreadFactoryImpl("eventMesh-tcp-retry", true),
-            new ThreadPoolExecutor.AbortPolicy());
-
-    private Thread dispatcher;
+    private RetryScheduler retryScheduler;
 
     public EventMeshTcpRetryer(EventMeshTCPServer eventMeshTCPServer) {
         this.eventMeshTCPServer = eventMeshTCPServer;
@@ -61,13 +51,6 @@ public class EventMeshTcpRetryer {
     }
 
     public void pushRetry(RetryContext retryContext) {
-        if (retrys.size() >= eventMeshTCPServer.getEventMeshTCPConfiguration().eventMeshTcpMsgRetryQueueSize) {
-            logger.error("pushRetry fail,retrys is too much,allow max retryQueueSize:{}, retryTimes:{}, seq:{}, bizSeq:{}",
-                    eventMeshTCPServer.getEventMeshTCPConfiguration().eventMeshTcpMsgRetryQueueSize, retryContext.retryTimes,
-                    retryContext.seq, EventMeshUtil.getMessageBizSeq(retryContext.event));
-            return;
-        }
-
         int maxRetryTimes = eventMeshTCPServer.getEventMeshTCPConfiguration().eventMeshTcpMsgAsyncRetryTimes;
         if (retryContext instanceof DownStreamMsgContext) {
             DownStreamMsgContext downStreamMsgContext = (DownStreamMsgContext) retryContext;
@@ -82,38 +65,49 @@ public class EventMeshTcpRetryer {
             return;
         }
 
-        retrys.offer(retryContext);
+        if (!retryScheduler.schedule(retryContext.getRetryGroup(), retryContext.getDelay(TimeUnit.MILLISECONDS),
+                retryContext::retry)) {
+            logger.error("pushRetry fail,retrys is too much,allow max retryQueueSize:{}, retryTimes:{}, seq:{}, bizSeq:{}",
+                    eventMeshTCPServer.getEventMeshTCPConfiguration().eventMeshTcpMsgRetryQueueSize, retryContext.retryTimes,
+                    retryContext.seq, EventMeshUtil.getMessageBizSeq(retryContext.event));
+            return;
+        }
         logger.info("pushRetry success,seq:{}, retryTimes:{}, bizSeq:{}", retryContext.seq, retryContext.retryTimes,
                 EventMeshUtil.getMessageBizSeq(retryContext.event));
     }
 
     public void init() {
-        dispatcher = new Thread(() -> {
-            try {
-                RetryContext retryContext;
-                while ((retryContext = retrys.take()) != null) {
-                    pool.execute(retryContext::retry);
-                }
-            } catch (Exception e) {
-                logger.error("retry-dispatcher error!", e);
-            }
-        }, "retry-dispatcher");
-        dispatcher.setDaemon(true);
+        retryScheduler = new RetryScheduler("eventMesh-tcp-retry", RETRY_THREAD_NUM,
+                eventMeshTCPServer.getEventMeshTCPConfiguration().eventMeshTcpMsgRetryQueueSize);
         logger.info("EventMeshTcpRetryer inited......");
     }
 
     public void start() throws Exception {
-        dispatcher.start();
+        retryScheduler.start();
         logger.info("EventMeshTcpRetryer started......");
     }
 
     public void shutdown() {
-        pool.shutdown();
+        retryScheduler.shutdown();
         logger.info("EventMeshTcpRetryer shutdown......");
     }
 
+    /**
+     * Whether the pending retries reach the bound, the consumer lets the connector redeliver the new msgs later
+     */
+    public boolean isFull() {
+        return retryScheduler.isFull();
+    }
+
     public int getRetrySize() {
-        return retrys.size();
+        return retryScheduler.getPendingSize();
+    }
+
+    /**
+     * Get the lag of the last retry in milliseconds
+     */
+    public long getRetryLag() {
+        return retryScheduler.getLag();
     }
 
     public void printRetryThreadPoolState() {
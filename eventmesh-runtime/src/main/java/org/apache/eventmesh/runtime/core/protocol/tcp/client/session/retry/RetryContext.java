@@ -54,5 +54,14 @@ public abstract class RetryContext implements Delayed {
         return unit.convert(this.executeTime - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
     }
 
+    /**
+     * Get the group of the retry, the retries of a group run on the same thread
+     *
+     * @return null if the retry has no group
+     */
+    public String getRetryGroup() {
+        return null;
+    }
+
     public abstract void retry();
 }
@@ -27,6 +27,8 @@ import org.apache.eventmesh.common.protocol.tcp.Package;
 import org.apache.eventmesh.protocol.api.ProtocolAdaptor;
 import org.apache.eventmesh.protocol.api.ProtocolPluginFactory;
 import org.apache.eventmesh.runtime.constants.EventMeshConstants;
+import org.apache.eventmesh.runtime.core.protocol.tcp.client.admission.TcpAdmissionController;
+import org.apache.eventmesh.runtime.core.protocol.tcp.client.admission.TokenBucket;
 import org.apache.eventmesh.runtime.core.protocol.tcp.client.session.Session;
 import org.apache.eventmesh.runtime.trace.TraceUtils;
 import org.apache.eventmesh.runtime.util.EventMeshUtil;
@@ -38,7 +40,6 @@ import org.apache.commons.lang3.time.DateFormatUtils;
 
 import java.util.Objects;
 import java.util.concurrent.Semaphore;
-import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 
 import org.slf4j.Logger;
@@ -61,8 +62,6 @@ public class SessionSender {
 
     public AtomicLong failMsgCount = new AtomicLong(0);
 
-    private static final int TRY_PERMIT_TIME_OUT = 5;
-
     @Override
     public String toString() {
         return "SessionSender{upstreamBuff=" + upstreamBuff.availablePermits()
@@ -78,16 +77,38 @@ public class SessionSender {
         return upstreamBuff;
     }
 
+    /**
+     * Bound the messages of the session which are not acked by the broker yet
+     */
     private Semaphore upstreamBuff;
 
+    /**
+     * The session level bucket of {@link TcpAdmissionController}
+     */
+    private final TokenBucket admissionBucket;
+
     public SessionSender(Session session) {
         this.session = session;
         this.upstreamBuff = new Semaphore(session.getEventMeshTCPConfiguration().eventMeshTcpSessionUpstreamBufferSize);
+        this.admissionBucket = TcpAdmissionController.newSessionBucket(session.getEventMeshTCPConfiguration());
+    }
+
+    public TokenBucket getAdmissionBucket() {
+        return admissionBucket;
     }
 
     public EventMeshTcpSendResult send(Header header, CloudEvent event, SendCallback sendCallback, long startTime, long taskExecuteTime) {
+        return send(header, event, sendCallback, startTime, taskExecuteTime, false);
+    }
+
+    /**
+     * @param acquired whether the permit of the upstream buffer is acquired by the caller, e.g. the permits of a batch are
+     *                 acquired at once. The permit is released when the broker acks the msg or the send fails.
+     */
+    public EventMeshTcpSendResult send(Header header, CloudEvent event, SendCallback sendCallback, long startTime, long taskExecuteTime,
+                                       boolean acquired) {
         try {
-            if (upstreamBuff.tryAcquire(TRY_PERMIT_TIME_OUT, TimeUnit.MILLISECONDS)) {
+            if (acquired || upstreamBuff.tryAcquire()) {
                 upMsgs.incrementAndGet();
                 UpStreamMsgContext upStreamMsgContext = null;
                 Command cmd = header.getCmd();
@@ -138,14 +159,12 @@ public class SessionSender {
 
                 session.getClientGroupWrapper().get().getEventMeshTcpMonitor().getTcpSummaryMetrics().getEventMesh2mqMsgNum().incrementAndGet();
             } else {
-                logger.warn("send too fast,session flow control,session:{}", session.getClient());
+                logger.warn("send too fast,too many msgs not acked by the broker,session:{}", session.getClient());
                 return new EventMeshTcpSendResult(header.getSeq(), EventMeshTcpSendStatus.SEND_TOO_FAST, EventMeshTcpSendStatus.SEND_TOO_FAST.name());
             }
         } catch (Exception e) {
             logger.warn("SessionSender send failed", e);
-            if (!(e instanceof InterruptedException)) {
-                upstreamBuff.release();
-            }
+            upstreamBuff.release();
             failMsgCount.incrementAndGet();
             return new EventMeshTcpSendResult(header.getSeq(), EventMeshTcpSendStatus.OTHER_EXCEPTION, e.getCause().toString());
         }
@@ -83,6 +83,11 @@ public class UpStreamMsgContext extends RetryContext {
                 + ",executeTime=" + DateFormatUtils.format(executeTime, EventMeshConstants.DATE_FORMAT);
     }
 
+    @Override
+    public String getRetryGroup() {
+        return session.getClient().getGroup();
+    }
+
     @Override
     public void retry() {
         logger.info("retry upStream msg start,seq:{},retryTimes:{},bizSeq:{}", this.seq, this.retryTimes,
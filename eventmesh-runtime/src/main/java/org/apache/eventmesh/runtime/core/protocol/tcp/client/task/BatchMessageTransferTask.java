@@ -0,0 +1,218 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.runtime.core.protocol.tcp.client.task;
+
+import static org.apache.eventmesh.common.protocol.tcp.Command.BATCH_MESSAGE_TO_SERVER_ACK;
+
+import org.apache.eventmesh.api.SendCallback;
+import org.apache.eventmesh.api.SendResult;
+import org.apache.eventmesh.api.exception.OnExceptionContext;
+import org.apache.eventmesh.common.Constants;
+import org.apache.eventmesh.common.protocol.ProtocolTransportObject;
+import org.apache.eventmesh.common.protocol.tcp.Header;
+import org.apache.eventmesh.common.protocol.tcp.OPStatus;
+import org.apache.eventmesh.common.protocol.tcp.Package;
+import org.apache.eventmesh.protocol.api.ProtocolAdaptor;
+import org.apache.eventmesh.protocol.api.ProtocolPluginFactory;
+import org.apache.eventmesh.runtime.acl.Acl;
+import org.apache.eventmesh.runtime.boot.EventMeshTCPServer;
+import org.apache.eventmesh.runtime.configuration.EventMeshTCPConfiguration;
+import org.apache.eventmesh.runtime.constants.EventMeshConstants;
+import org.apache.eventmesh.runtime.core.protocol.tcp.client.admission.TcpAdmissionController;
+import org.apache.eventmesh.runtime.core.protocol.tcp.client.session.send.EventMeshTcpSendResult;
+import org.apache.eventmesh.runtime.core.protocol.tcp.client.session.send.EventMeshTcpSendStatus;
+import org.apache.eventmesh.runtime.util.RemotingHelper;
+import org.apache.eventmesh.runtime.util.Utils;
+
+import org.apache.commons.collections4.CollectionUtils;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.cloudevents.CloudEvent;
+import io.cloudevents.core.builder.CloudEventBuilder;
+import io.netty.channel.ChannelHandlerContext;
+
+/**
+ * Send the events of a batch package to the broker, the admission permits are acquired once for the batch
+ * and the client gets one ack after all the events are sent. The batch is rejected as a whole if the upstream buffer
+ * of the session can not take all its events, and the ack fails if any event of the batch fails.
+ */
+public class BatchMessageTransferTask extends AbstractTask {
+
+    private final Logger messageLogger = LoggerFactory.getLogger("message");
+
+    public BatchMessageTransferTask(Package pkg, ChannelHandlerContext ctx, long startTime,
+                                    EventMeshTCPServer eventMeshTCPServer) {
+        super(pkg, ctx, startTime, eventMeshTCPServer);
+    }
+
+    @Override
+    public void run() {
+        long taskExecuteTime = System.currentTimeMillis();
+        EventMeshTCPConfiguration eventMeshTCPConfiguration = eventMeshTCPServer.getEventMeshTCPConfiguration();
+        List<CloudEvent> events = null;
+
+        try {
+            String protocolType = pkg.getHeader().getStringProperty(Constants.PROTOCOL_TYPE);
+            if (protocolType == null) {
+                throw new Exception("protocol type of the batch is null");
+            }
+            ProtocolAdaptor<ProtocolTransportObject> protocolAdaptor =
+                ProtocolPluginFactory.getProtocolAdaptor(protocolType);
+            events = protocolAdaptor.toBatchCloudEvent(pkg);
+
+            if (CollectionUtils.isEmpty(events)) {
+                throw new Exception("events of the batch are empty");
+            }
+            if (events.size() > eventMeshTCPConfiguration.eventMeshEventBatchSize) {
+                throw new Exception("event batch size exceeds the limit: " + eventMeshTCPConfiguration.eventMeshEventBatchSize);
+            }
+
+            for (CloudEvent event : events) {
+                if (event.getData() != null && event.getData().toBytes().length > eventMeshTCPConfiguration.eventMeshEventSize) {
+                    throw new Exception("event size exceeds the limit: " + eventMeshTCPConfiguration.eventMeshEventSize);
+                }
+
+                //do acl check in sending msg
+                if (eventMeshTCPConfiguration.eventMeshServerSecurityEnable) {
+                    String remoteAddr = RemotingHelper.parseChannelRemoteAddr(ctx.channel());
+                    Acl.doAclCheckInTcpSend(remoteAddr, session.getClient(), event.getSubject(),
+                        pkg.getHeader().getCmd().value());
+                }
+            }
+
+            TcpAdmissionController.Level throttledLevel =
+                eventMeshTCPServer.getAdmissionController().tryAcquire(session, events.size());
+            if (throttledLevel != null) {
+                writeAck(OPStatus.FAIL, EventMeshTcpSendStatus.SEND_TOO_FAST.name() + ", " + throttledLevel
+                    + " flow control", taskExecuteTime);
+                logger.warn("send too fast, {} flow control, user:{}, batchSize:{}", throttledLevel,
+                    session.getClient(), events.size());
+                return;
+            }
+
+            // the batch is sent as a whole, so it is rejected before any event is sent if the upstream buffer is short
+            if (!session.getSender().getUpstreamBuff().tryAcquire(events.size())) {
+                writeAck(OPStatus.FAIL, EventMeshTcpSendStatus.SEND_TOO_FAST.name() + ", too many msgs not acked by the broker",
+                    taskExecuteTime);
+                logger.warn("send too fast, too many msgs not acked by the broker, user:{}, batchSize:{}", session.getClient(),
+                    events.size());
+                return;
+            }
+
+            BatchSendCallback sendCallback = new BatchSendCallback(events.size(), taskExecuteTime);
+            synchronized (session) {
+                long sendTime = System.currentTimeMillis();
+                for (int i = 0; i < events.size(); i++) {
+                    CloudEvent event = addTimestamp(events.get(i), sendTime);
+                    EventMeshTcpSendResult sendResult = session.upstreamMsg(pkg.getHeader(), event, sendCallback,
+                        startTime, taskExecuteTime, true);
+                    if (!EventMeshTcpSendStatus.SUCCESS.equals(sendResult.getSendStatus())) {
+                        // the rest of the batch is not sent, return their permits, and their callbacks are never called
+                        session.getSender().getUpstreamBuff().release(events.size() - i - 1);
+                        sendCallback.fail(events.size() - i, String.format("events from index %d of the batch are not sent, %s",
+                            i, sendResult.getDetail()));
+                        break;
+                    }
+                }
+                messageLogger.info("pkg|eventMesh2mq|cmd={}|batchSize={}|user={}|wait={}ms|cost={}ms",
+                    pkg.getHeader().getCmd(), events.size(), session.getClient(), taskExecuteTime - startTime,
+                    sendTime - startTime);
+            }
+        } catch (Exception e) {
+            logger.error("BatchMessageTransferTask failed|cmd={}|batchSize={}|user={}", pkg.getHeader().getCmd(),
+                events == null ? 0 : events.size(), session.getClient(), e);
+            writeAck(OPStatus.FAIL, e.toString(), taskExecuteTime);
+        }
+    }
+
+    private CloudEvent addTimestamp(CloudEvent event, long sendTime) {
+        return CloudEventBuilder.from(event)
+            .withExtension(EventMeshConstants.REQ_C2EVENTMESH_TIMESTAMP,
+                String.valueOf(startTime))
+            .withExtension(EventMeshConstants.REQ_EVENTMESH2MQ_TIMESTAMP,
+                String.valueOf(sendTime))
+            .withExtension(EventMeshConstants.REQ_SEND_EVENTMESH_IP,
+                eventMeshTCPServer.getEventMeshTCPConfiguration().eventMeshServerIp)
+            .build();
+    }
+
+    private void writeAck(OPStatus status, String desc, long taskExecuteTime) {
+        Package msg = new Package();
+        msg.setHeader(new Header(BATCH_MESSAGE_TO_SERVER_ACK, status.getCode(), desc, pkg.getHeader().getSeq()));
+        Utils.writeAndFlush(msg, startTime, taskExecuteTime, session.getContext(), session);
+    }
+
+    /**
+     * Shared by the events of a batch, the ack is written when the last event of the batch completes
+     */
+    private class BatchSendCallback implements SendCallback {
+
+        private final AtomicInteger remaining;
+
+        private final AtomicReference<String> error = new AtomicReference<>();
+
+        private final long taskExecuteTime;
+
+        private final long createTime = System.currentTimeMillis();
+
+        BatchSendCallback(int batchSize, long taskExecuteTime) {
+            this.remaining = new AtomicInteger(batchSize);
+            this.taskExecuteTime = taskExecuteTime;
+        }
+
+        @Override
+        public void onSuccess(SendResult sendResult) {
+            session.getSender().getUpstreamBuff().release();
+            complete(1);
+        }
+
+        @Override
+        public void onException(OnExceptionContext context) {
+            session.getSender().getUpstreamBuff().release();
+            session.getSender().failMsgCount.incrementAndGet();
+            messageLogger.error("upstreamMsg mq message error|user={}|callback cost={}, errMsg={}",
+                session.getClient(), System.currentTimeMillis() - createTime, new Exception(context.getException()));
+            fail(1, String.valueOf(context.getException()));
+        }
+
+        void fail(int count, String detail) {
+            error.compareAndSet(null, detail);
+            complete(count);
+        }
+
+        private void complete(int count) {
+            if (remaining.addAndGet(-count) != 0) {
+                return;
+            }
+            String detail = error.get();
+            if (detail == null) {
+                messageLogger.info("upstreamMsg batch success|user={}|callback cost={}", session.getClient(),
+                    System.currentTimeMillis() - createTime);
+                writeAck(OPStatus.SUCCESS, OPStatus.SUCCESS.getDesc(), taskExecuteTime);
+            } else {
+                writeAck(OPStatus.FAIL, detail, taskExecuteTime);
+            }
+        }
+    }
+}
@@ -20,10 +20,13 @@ package org.apache.eventmesh.runtime.core.protocol.tcp.client.task;
 import static org.apache.eventmesh.common.protocol.tcp.Command.HELLO_REQUEST;
 import static org.apache.eventmesh.common.protocol.tcp.Command.HELLO_RESPONSE;
 
+import org.apache.eventmesh.common.Constants;
 import org.apache.eventmesh.common.protocol.tcp.Header;
 import org.apache.eventmesh.common.protocol.tcp.OPStatus;
 import org.apache.eventmesh.common.protocol.tcp.Package;
 import org.apache.eventmesh.common.protocol.tcp.UserAgent;
+import org.apache.eventmesh.common.protocol.tcp.codec.Codec;
+import org.apache.eventmesh.common.protocol.tcp.codec.CompressionType;
 import org.apache.eventmesh.runtime.acl.Acl;
 import org.apache.eventmesh.runtime.boot.EventMeshTCPServer;
 import org.apache.eventmesh.runtime.common.ServiceState;
@@ -70,6 +73,7 @@ public class HelloTask extends AbstractTask {
             validateUserAgent(user);
             session = eventMeshTCPServer.getClientSessionGroupMapping().createSession(user, ctx);
             res.setHeader(new Header(HELLO_RESPONSE, OPStatus.SUCCESS.getCode(), OPStatus.SUCCESS.getDesc(), pkg.getHeader().getSeq()));
+            negotiateCompression(user, res.getHeader());
             Utils.writeAndFlush(res, startTime, taskExecuteTime, session.getContext(), session);
         } catch (Throwable e) {
             messageLogger.error("HelloTask failed|address={},errMsg={}", ctx.channel().remoteAddress(), e);
@@ -92,6 +96,20 @@ public class HelloTask extends AbstractTask {
         }
     }
 
+    /**
+     * Pick the compression type for the session from the ones offered by the client, the client starts to compress
+     * after it reads the type from the hello response
+     */
+    private void negotiateCompression(UserAgent user, Header header) {
+        CompressionType compressionType = CompressionType.negotiate(user.getCompression(),
+                eventMeshTCPServer.getEventMeshTCPConfiguration().eventMeshTcpCompressionTypes);
+        if (compressionType == null) {
+            return;
+        }
+        ctx.channel().attr(Codec.COMPRESSION_TYPE).set(compressionType);
+        header.putProperty(Constants.COMPRESSION_TYPE, compressionType.getName());
+    }
+
     private void validateUserAgent(UserAgent user) throws Exception {
         if (user == null) {
             throw new Exception("client info cannot be null");
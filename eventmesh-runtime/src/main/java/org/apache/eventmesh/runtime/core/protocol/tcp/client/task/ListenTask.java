@@ -19,11 +19,14 @@ package org.apache.eventmesh.runtime.core.protocol.tcp.client.task;
 
 import static org.apache.eventmesh.common.protocol.tcp.Command.LISTEN_RESPONSE;
 
+import org.apache.eventmesh.common.Constants;
 import org.apache.eventmesh.common.protocol.tcp.Header;
 import org.apache.eventmesh.common.protocol.tcp.OPStatus;
 import org.apache.eventmesh.common.protocol.tcp.Package;
 import org.apache.eventmesh.runtime.boot.EventMeshTCPServer;
 
+import org.apache.commons.lang3.math.NumberUtils;
+
 import io.netty.channel.ChannelHandlerContext;
 
 public class ListenTask extends AbstractTask {
@@ -37,6 +40,7 @@ public class ListenTask extends AbstractTask {
         long taskExecuteTime = System.currentTimeMillis();
         Header header = new Header(LISTEN_RESPONSE, OPStatus.SUCCESS.getCode(), OPStatus.SUCCESS.getDesc(), pkg.getHeader().getSeq());
         session.setListenRequestSeq(pkg.getHeader().getSeq());
+        session.getPusher().setWindow(NumberUtils.toInt(pkg.getHeader().getStringProperty(Constants.LISTEN_WINDOW)));
         try {
             synchronized (session) {
                 eventMeshTCPServer.getClientSessionGroupMapping().readySession(session);
@@ -45,11 +45,11 @@ public class MessageAckTask extends AbstractTask {
             logger.error("MessageAckTask failed, seq cannot be null|user={}", session.getClient());
             return;
         }
-        DownStreamMsgContext downStreamMsgContext = session.getPusher().getUnAckMsg().get(seq);
+        DownStreamMsgContext downStreamMsgContext = session.getPusher().removeUnAckMsg(seq);
         // ack non-broadcast msg
         if (downStreamMsgContext != null) {
             downStreamMsgContext.ackMsg();
-            session.getPusher().getUnAckMsg().remove(seq);
+            session.getPusher().recordAckLatency(startTime - downStreamMsgContext.lastPushTime);
         } else {
             if (!cmd.equals(Command.RESPONSE_TO_CLIENT_ACK)) {
                 logger.warn("MessageAckTask, seq:{}, downStreamMsgContext not in downStreamMap,client:{}",
@@ -34,6 +34,7 @@ import org.apache.eventmesh.runtime.acl.Acl;
 import org.apache.eventmesh.runtime.boot.EventMeshServer;
 import org.apache.eventmesh.runtime.boot.EventMeshTCPServer;
 import org.apache.eventmesh.runtime.constants.EventMeshConstants;
+import org.apache.eventmesh.runtime.core.protocol.tcp.client.admission.TcpAdmissionController;
 import org.apache.eventmesh.runtime.core.protocol.tcp.client.session.send.EventMeshTcpSendResult;
 import org.apache.eventmesh.runtime.core.protocol.tcp.client.session.send.EventMeshTcpSendStatus;
 import org.apache.eventmesh.runtime.core.protocol.tcp.client.session.send.UpStreamMsgContext;
@@ -65,8 +66,6 @@ public class MessageTransferTask extends AbstractTask {
 
     private final Logger messageLogger = LoggerFactory.getLogger("message");
 
-    private static final int TRY_PERMIT_TIME_OUT = 5;
-
     public MessageTransferTask(Package pkg, ChannelHandlerContext ctx, long startTime,
                                EventMeshTCPServer eventMeshTCPServer) {
         super(pkg, ctx, startTime, eventMeshTCPServer);
@@ -126,11 +125,11 @@ public class MessageTransferTask extends AbstractTask {
                     cmd.value());
             }
 
-            if (!eventMeshTCPServer.getRateLimiter()
-                .tryAcquire(TRY_PERMIT_TIME_OUT, TimeUnit.MILLISECONDS)) {
-
-                msg.setHeader(new Header(replyCmd, OPStatus.FAIL.getCode(),
-                    "Tps overload, global flow control",
+            TcpAdmissionController.Level throttledLevel =
+                eventMeshTCPServer.getAdmissionController().tryAcquire(session, 1);
+            if (throttledLevel != null) {
+                String desc = EventMeshTcpSendStatus.SEND_TOO_FAST.name() + ", " + throttledLevel + " flow control";
+                msg.setHeader(new Header(replyCmd, OPStatus.FAIL.getCode(), desc,
                     pkg.getHeader().getSeq()));
                 ctx.writeAndFlush(msg).addListener(
                     new ChannelFutureListener() {
@@ -142,12 +141,9 @@ public class MessageTransferTask extends AbstractTask {
                     }
                 );
 
-                TraceUtils.finishSpanWithException(ctx, event, "Tps overload, global flow control",
-                    null);
+                TraceUtils.finishSpanWithException(ctx, event, desc, null);
 
-                logger.warn(
-                    "======Tps overload, global flow control, rate:{}! PLEASE CHECK!========",
-                    eventMeshTCPServer.getRateLimiter().getRate());
+                logger.warn("send too fast, {} flow control, user:{}", throttledLevel, session.getClient());
                 return;
             }
 
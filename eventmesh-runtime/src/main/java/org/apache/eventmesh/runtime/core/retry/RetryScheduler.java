@@ -0,0 +1,168 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.runtime.core.retry;
+
+import org.apache.eventmesh.runtime.util.EventMeshThreadFactoryImpl;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.netty.util.HashedWheelTimer;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * Schedule the retries on a hashed wheel timer, so scheduling a retry is O(1) instead of an insert into a
+ * DelayQueue under its lock. The due retries run on single thread shards picked by the hash of the group, so a
+ * retry storm of one group does not hold back the retries of the others.
+ * The pending retries are bounded, a retry over the bound is refused, nothing is aborted. The consumers check
+ * {@link #isFull()} and let the connector redeliver the new msgs later while the retries are full.
+ */
+public class RetryScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(RetryScheduler.class);
+
+    private static final long TICK_DURATION_MILLS = 10;
+
+    private static final int TICKS_PER_WHEEL = 512;
+
+    private final String name;
+
+    private final int maxPendingRetries;
+
+    private final HashedWheelTimer timer;
+
+    private final ExecutorService[] shards;
+
+    private final AtomicInteger pendingRetries = new AtomicInteger();
+
+    /**
+     * The delay between the due time of the last retry and the time it runs
+     */
+    private volatile long lag;
+
+    /**
+     * @param name              the prefix of the thread names
+     * @param shardNum          the number of threads running the retries
+     * @param maxPendingRetries the max number of the retries scheduled but not finished
+     */
+    public RetryScheduler(String name, int shardNum, int maxPendingRetries) {
+        Preconditions.checkArgument(shardNum > 0, "shardNum must be positive");
+        this.name = name;
+        this.maxPendingRetries = maxPendingRetries;
+        this.timer = new HashedWheelTimer(new EventMeshThreadFactoryImpl(name + "-timer", true),
+                TICK_DURATION_MILLS, TimeUnit.MILLISECONDS, TICKS_PER_WHEEL);
+        this.shards = new ExecutorService[shardNum];
+        for (int i = 0; i < shardNum; i++) {
+            // the queues are bounded by the pending retries
+            shards[i] = Executors.newSingleThreadExecutor(new EventMeshThreadFactoryImpl(name + "-" + i, true));
+        }
+    }
+
+    /**
+     * Run the retry after the delay
+     *
+     * @param group the group of the retry, the retries without a group are spread randomly
+     * @return false if there are too many pending retries or the scheduler is stopped
+     */
+    public boolean schedule(String group, long delayMills, Runnable retry) {
+        if (pendingRetries.incrementAndGet() > maxPendingRetries) {
+            pendingRetries.decrementAndGet();
+            return false;
+        }
+
+        long delay = Math.max(0, delayMills);
+        long executeTime = System.currentTimeMillis() + delay;
+        ExecutorService shard = shards[shardIndex(group)];
+        try {
+            timer.newTimeout(timeout -> execute(shard, retry, executeTime), delay, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException | IllegalStateException e) {
+            pendingRetries.decrementAndGet();
+            logger.warn("{} is stopped, the retry is dropped", name);
+            return false;
+        }
+        return true;
+    }
+
+    private void execute(ExecutorService shard, Runnable retry, long executeTime) {
+        try {
+            shard.execute(() -> run(retry, executeTime));
+        } catch (RejectedExecutionException e) {
+            pendingRetries.decrementAndGet();
+            logger.warn("{} is stopped, the due retry is dropped", name);
+        }
+    }
+
+    private void run(Runnable retry, long executeTime) {
+        lag = Math.max(0, System.currentTimeMillis() - executeTime);
+        try {
+            retry.run();
+        } catch (Exception e) {
+            logger.error("{} retry error!", name, e);
+        } finally {
+            pendingRetries.decrementAndGet();
+        }
+    }
+
+    private int shardIndex(String group) {
+        if (group == null) {
+            return ThreadLocalRandom.current().nextInt(shards.length);
+        }
+        return (group.hashCode() & Integer.MAX_VALUE) % shards.length;
+    }
+
+    public void start() {
+        timer.start();
+    }
+
+    public void shutdown() {
+        // the retries not due yet never run
+        pendingRetries.addAndGet(-timer.stop().size());
+        for (ExecutorService shard : shards) {
+            shard.shutdown();
+        }
+    }
+
+    /**
+     * Get the number of the retries scheduled but not finished
+     */
+    public int getPendingSize() {
+        return pendingRetries.get();
+    }
+
+    /**
+     * Whether the pending retries reach the bound, the next retry is refused
+     */
+    public boolean isFull() {
+        return pendingRetries.get() >= maxPendingRetries;
+    }
+
+    /**
+     * Get the lag of the last retry in milliseconds, it grows when the retries are scheduled faster than they run
+     */
+    public long getLag() {
+        return lag;
+    }
+}
@@ -29,8 +29,16 @@ public class MonitorMetricConstants {
     public static final String ALL_TPS = "allTPS";
     public static final String CONNECTION = "connection";
     public static final String SUB_TOPIC_NUM = "subTopicNum";
+    public static final String COMPRESSION_RATIO = "compressionRatio";
+
+    public static final String PAUSED_SESSION_NUM = "pausedSessionNum";
+
+    public static final String SESSION_THROTTLED_NUM = "sessionThrottledNum";
+    public static final String GROUP_THROTTLED_NUM = "groupThrottledNum";
+    public static final String GLOBAL_THROTTLED_NUM = "globalThrottledNum";
 
     public static final String RETRY_QUEUE_SIZE = "retryQueueSize";
+    public static final String RETRY_LAG = "retryLag";
 
 
     public static final String QUEUE_SIZE = "queueSize";
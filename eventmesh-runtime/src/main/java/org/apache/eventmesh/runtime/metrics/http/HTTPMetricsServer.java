@@ -50,7 +50,9 @@ public class HTTPMetricsServer {
             eventMeshHTTPServer.batchMsgExecutor,
             eventMeshHTTPServer.sendMsgExecutor,
             eventMeshHTTPServer.pushMsgExecutor,
-            eventMeshHTTPServer.getHttpRetryer().getFailedQueue());
+            () -> eventMeshHTTPServer.getHttpRetryer().size(),
+            () -> eventMeshHTTPServer.getHttpRetryer().getLag(),
+            eventMeshHTTPServer::getConcurrencyLimits);
     }
 
     public void init() throws Exception {
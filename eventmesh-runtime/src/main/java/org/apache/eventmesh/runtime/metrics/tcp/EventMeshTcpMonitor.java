@@ -17,11 +17,13 @@
 
 package org.apache.eventmesh.runtime.metrics.tcp;
 
+import org.apache.eventmesh.common.protocol.tcp.codec.CompressionType;
 import org.apache.eventmesh.metrics.api.MetricsRegistry;
 import org.apache.eventmesh.metrics.api.model.TcpSummaryMetrics;
 import org.apache.eventmesh.runtime.boot.EventMeshTCPServer;
 import org.apache.eventmesh.runtime.constants.EventMeshConstants;
 import org.apache.eventmesh.runtime.core.protocol.tcp.client.EventMeshTcpConnectionHandler;
+import org.apache.eventmesh.runtime.core.protocol.tcp.client.admission.TcpAdmissionController;
 import org.apache.eventmesh.runtime.core.protocol.tcp.client.session.Session;
 import org.apache.eventmesh.runtime.metrics.MonitorMetricConstants;
 
@@ -103,6 +105,7 @@ public class EventMeshTcpMonitor {
                 eventMeshTCPServer.getClientSessionGroupMapping().getSessionMap();
             Iterator<Session> sessionIterator = sessionMap.values().iterator();
             Set<String> topicSet = new HashSet<>();
+            int pausedSessionNum = 0;
             while (sessionIterator.hasNext()) {
                 Session session = sessionIterator.next();
                 AtomicLong deliveredMsgsCount = session.getPusher().getDeliveredMsgsCount();
@@ -111,14 +114,28 @@ public class EventMeshTcpMonitor {
                 int sendTopics = session.getSessionContext().sendTopics.size();
                 int subscribeTopics = session.getSessionContext().subscribeTopics.size();
 
-                tcpLogger.info("session|deliveredFailCount={}|deliveredMsgsCount={}|unAckMsgsCount={}|sendTopics={}|subscribeTopics={}|user={}",
+                int window = session.getPusher().getWindow();
+                boolean paused = session.getPusher().isPaused();
+                if (paused) {
+                    pausedSessionNum++;
+                }
+
+                tcpLogger.info("session|deliveredFailCount={}|deliveredMsgsCount={}|unAckMsgsCount={}|window={}|paused={}"
+                        + "|sendTopics={}|subscribeTopics={}|user={}",
                     deliveredFailCount.longValue(), deliveredMsgsCount.longValue(),
-                    unAckMsgsCount, sendTopics, subscribeTopics, session.getClient());
+                    unAckMsgsCount, window, paused, sendTopics, subscribeTopics, session.getClient());
 
                 topicSet.addAll(session.getSessionContext().subscribeTopics.keySet());
             }
             tcpSummaryMetrics.setSubTopicNum(topicSet.size());
+            tcpSummaryMetrics.setPausedSessionNum(pausedSessionNum);
             tcpSummaryMetrics.setAllConnections(EventMeshTcpConnectionHandler.connections.get());
+            tcpSummaryMetrics.setCompressionRatio(CompressionType.getCompressionRatio());
+
+            TcpAdmissionController admissionController = eventMeshTCPServer.getAdmissionController();
+            tcpSummaryMetrics.setSessionThrottledNum(admissionController.getThrottledNum(TcpAdmissionController.Level.SESSION));
+            tcpSummaryMetrics.setGroupThrottledNum(admissionController.getThrottledNum(TcpAdmissionController.Level.GROUP));
+            tcpSummaryMetrics.setGlobalThrottledNum(admissionController.getThrottledNum(TcpAdmissionController.Level.GLOBAL));
 
             appLogger.info(String.format(
                 MonitorMetricConstants.EVENTMESH_MONITOR_FORMAT_COMMON,
@@ -161,6 +178,36 @@ public class EventMeshTcpMonitor {
                 EventMeshConstants.PROTOCOL_TCP,
                 MonitorMetricConstants.SUB_TOPIC_NUM,
                 tcpSummaryMetrics.getSubTopicNum()));
+
+            appLogger.info(String.format(
+                MonitorMetricConstants.EVENTMESH_MONITOR_FORMAT_COMMON,
+                EventMeshConstants.PROTOCOL_TCP,
+                MonitorMetricConstants.COMPRESSION_RATIO,
+                tcpSummaryMetrics.getCompressionRatio()));
+
+            appLogger.info(String.format(
+                MonitorMetricConstants.EVENTMESH_MONITOR_FORMAT_COMMON,
+                EventMeshConstants.PROTOCOL_TCP,
+                MonitorMetricConstants.PAUSED_SESSION_NUM,
+                tcpSummaryMetrics.getPausedSessionNum()));
+
+            appLogger.info(String.format(
+                MonitorMetricConstants.EVENTMESH_MONITOR_FORMAT_COMMON,
+                EventMeshConstants.PROTOCOL_TCP,
+                MonitorMetricConstants.SESSION_THROTTLED_NUM,
+                tcpSummaryMetrics.getSessionThrottledNum()));
+
+            appLogger.info(String.format(
+                MonitorMetricConstants.EVENTMESH_MONITOR_FORMAT_COMMON,
+                EventMeshConstants.PROTOCOL_TCP,
+                MonitorMetricConstants.GROUP_THROTTLED_NUM,
+                tcpSummaryMetrics.getGroupThrottledNum()));
+
+            appLogger.info(String.format(
+                MonitorMetricConstants.EVENTMESH_MONITOR_FORMAT_COMMON,
+                EventMeshConstants.PROTOCOL_TCP,
+                MonitorMetricConstants.GLOBAL_THROTTLED_NUM,
+                tcpSummaryMetrics.getGlobalThrottledNum()));
         }), delay, period, TimeUnit.MILLISECONDS);
 
         monitorThreadPoolTask = eventMeshTCPServer.getScheduler().scheduleAtFixedRate(() -> {
@@ -175,6 +222,13 @@ public class EventMeshTcpMonitor {
                 MonitorMetricConstants.RETRY_QUEUE_SIZE,
                 tcpSummaryMetrics.getRetrySize()));
 
+            tcpSummaryMetrics.setRetryLag(eventMeshTCPServer.getEventMeshTcpRetryer().getRetryLag());
+            appLogger.info(String.format(
+                MonitorMetricConstants.EVENTMESH_MONITOR_FORMAT_COMMON,
+                EventMeshConstants.PROTOCOL_TCP,
+                MonitorMetricConstants.RETRY_LAG,
+                tcpSummaryMetrics.getRetryLag()));
+
         }, 10, PRINT_THREADPOOLSTATE_INTERVAL, TimeUnit.SECONDS);
         logger.info("EventMeshTcpMonitor started......");
     }
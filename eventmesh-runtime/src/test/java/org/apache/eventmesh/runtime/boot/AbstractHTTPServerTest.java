@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.runtime.boot;
+
+import org.apache.eventmesh.runtime.common.Pair;
+import org.apache.eventmesh.runtime.configuration.EventMeshHTTPConfiguration;
+import org.apache.eventmesh.runtime.core.protocol.http.processor.inf.EventProcessor;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+public class AbstractHTTPServerTest {
+
+    private EventMeshHTTPConfiguration eventMeshHTTPConfiguration;
+
+    private AbstractHTTPServer httpServer;
+
+    private ThreadPoolExecutor executor;
+
+    private Pair<EventProcessor, ThreadPoolExecutor> choosed;
+
+    private final CountDownLatch blocker = new CountDownLatch(1);
+
+    private final AtomicInteger executed = new AtomicInteger();
+
+    @Before
+    public void init() {
+        eventMeshHTTPConfiguration = new EventMeshHTTPConfiguration(null);
+        httpServer = new AbstractHTTPServer(10105, false, eventMeshHTTPConfiguration) {
+        };
+        // the queue holds as many tasks as the max concurrency limit, and one more task runs on the only thread
+        executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(eventMeshHTTPConfiguration.eventMeshServerConcurrencyLimitMax));
+        EventProcessor processor = Mockito.mock(EventProcessor.class);
+        httpServer.registerProcessor("/burst", processor, executor);
+        choosed = new Pair<>(processor, executor);
+    }
+
+    @After
+    public void shutdown() throws Exception {
+        blocker.countDown();
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+        httpServer.asyncContextCompleteHandler.shutdown();
+    }
+
+    @Test
+    public void testAcceptColdBurstBelowQueueCapacity() throws Exception {
+        int burst = eventMeshHTTPConfiguration.eventMeshServerConcurrencyLimitMax;
+        for (int i = 0; i < burst; i++) {
+            httpServer.submit(choosed, this::blockingTask);
+        }
+        blocker.countDown();
+        executor.shutdown();
+        Assert.assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        Assert.assertEquals(burst, executed.get());
+    }
+
+    @Test(expected = RejectedExecutionException.class)
+    public void testRejectOverMaxLimit() {
+        for (int i = 0; i <= eventMeshHTTPConfiguration.eventMeshServerConcurrencyLimitMax; i++) {
+            httpServer.submit(choosed, this::blockingTask);
+        }
+    }
+
+    private void blockingTask() {
+        try {
+            blocker.await();
+            executed.incrementAndGet();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,216 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.runtime.boot;
+
+import org.apache.eventmesh.common.protocol.http.HttpEventWrapper;
+import org.apache.eventmesh.metrics.api.model.HttpSummaryMetrics;
+import org.apache.eventmesh.runtime.configuration.EventMeshHTTPConfiguration;
+import org.apache.eventmesh.runtime.core.protocol.http.async.AsyncContext;
+import org.apache.eventmesh.runtime.core.protocol.http.processor.inf.EventProcessor;
+import org.apache.eventmesh.runtime.metrics.http.HTTPMetricsServer;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.powermock.reflect.Whitebox;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpRequestDecoder;
+import io.netty.handler.codec.http2.DefaultHttp2FrameWriter;
+import io.netty.handler.codec.http2.DefaultHttp2Headers;
+import io.netty.handler.codec.http2.Http2CodecUtil;
+import io.netty.handler.codec.http2.Http2FrameCodec;
+import io.netty.handler.codec.http2.Http2FrameWriter;
+import io.netty.handler.codec.http2.Http2Headers;
+import io.netty.handler.codec.http2.Http2Settings;
+import io.netty.handler.codec.http2.HttpConversionUtil;
+
+public class HttpServerPipelineTest {
+
+    private static final String URI = "/eventmesh/publish/test";
+
+    private static final String BODY = "{\"content\":\"hello\"}";
+
+    private static final int MAX_CONTENT_LENGTH = 1024;
+
+    private AbstractHTTPServer httpServer;
+
+    private ThreadPoolExecutor executor;
+
+    private final BlockingQueue<HttpEventWrapper> processedRequests = new LinkedBlockingQueue<>();
+
+    private EmbeddedChannel channel;
+
+    @Before
+    public void init() throws Exception {
+        EventMeshHTTPConfiguration eventMeshHTTPConfiguration = new EventMeshHTTPConfiguration(null);
+        eventMeshHTTPConfiguration.eventMeshHttpMaxContentLength = MAX_CONTENT_LENGTH;
+        httpServer = new AbstractHTTPServer(10105, false, eventMeshHTTPConfiguration) {
+        };
+        Whitebox.<AtomicBoolean>getInternalState(httpServer, "started").set(true);
+        httpServer.metrics = Mockito.mock(HTTPMetricsServer.class);
+        Mockito.when(httpServer.metrics.getSummaryMetrics()).thenReturn(Mockito.mock(HttpSummaryMetrics.class));
+
+        EventProcessor processor = Mockito.mock(EventProcessor.class);
+        Mockito.doAnswer(invocation -> {
+            AsyncContext<HttpEventWrapper> asyncContext = invocation.getArgument(1);
+            processedRequests.add(asyncContext.getRequest());
+            return null;
+        }).when(processor).processRequest(Mockito.any(), Mockito.any());
+        executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(10));
+        httpServer.registerProcessor(URI, processor, executor);
+
+        channel = new EmbeddedChannel(httpServer.new HttpProtocolDetector());
+    }
+
+    @After
+    public void shutdown() {
+        channel.finishAndReleaseAll();
+        executor.shutdownNow();
+        httpServer.asyncContextCompleteHandler.shutdownNow();
+    }
+
+    @Test
+    public void testHttp2PriorKnowledge() throws Exception {
+        channel.writeInbound(Http2CodecUtil.connectionPrefaceBuf());
+        Assert.assertNotNull(channel.pipeline().get(Http2FrameCodec.class));
+        Assert.assertNull(channel.pipeline().get(HttpRequestDecoder.class));
+
+        writeHttp2Request();
+
+        HttpEventWrapper request = processedRequests.poll(5, TimeUnit.SECONDS);
+        Assert.assertNotNull(request);
+        Assert.assertEquals(URI, request.getRequestURI());
+        Assert.assertEquals("3", request.getHeaderMap().get(HttpConversionUtil.ExtensionHeaderNames.STREAM_ID.text().toString()));
+        Assert.assertEquals(BODY, new String(request.getBody(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testHttp2PrefaceInPieces() throws Exception {
+        ByteBuf preface = Http2CodecUtil.connectionPrefaceBuf();
+        channel.writeInbound(preface.readRetainedSlice(5));
+        Assert.assertNotNull(channel.pipeline().get(AbstractHTTPServer.HttpProtocolDetector.class));
+        channel.writeInbound(preface);
+        Assert.assertNotNull(channel.pipeline().get(Http2FrameCodec.class));
+        Assert.assertNull(channel.pipeline().get(AbstractHTTPServer.HttpProtocolDetector.class));
+
+        writeHttp2Request();
+
+        HttpEventWrapper request = processedRequests.poll(5, TimeUnit.SECONDS);
+        Assert.assertNotNull(request);
+        Assert.assertEquals(URI, request.getRequestURI());
+    }
+
+    @Test
+    public void testHttp1Fallback() throws Exception {
+        channel.writeInbound(http1Request(BODY));
+        Assert.assertNotNull(channel.pipeline().get(HttpRequestDecoder.class));
+        Assert.assertNull(channel.pipeline().get(Http2FrameCodec.class));
+
+        HttpEventWrapper processedRequest = processedRequests.poll(5, TimeUnit.SECONDS);
+        Assert.assertNotNull(processedRequest);
+        Assert.assertEquals(URI, processedRequest.getRequestURI());
+        Assert.assertEquals("HTTP", processedRequest.getHttpVersion());
+        Assert.assertEquals(BODY, new String(processedRequest.getBody(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testAcceptBodyJustUnderMaxContentLength() throws Exception {
+        String body = jsonBody(MAX_CONTENT_LENGTH - 1);
+        channel.writeInbound(http1Request(body));
+
+        HttpEventWrapper processedRequest = processedRequests.poll(5, TimeUnit.SECONDS);
+        Assert.assertNotNull(processedRequest);
+        Assert.assertEquals(body, new String(processedRequest.getBody(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testRejectBodyOverMaxContentLength() throws Exception {
+        channel.writeInbound(http1Request(jsonBody(MAX_CONTENT_LENGTH + 1)));
+
+        ByteBuf response = channel.readOutbound();
+        Assert.assertNotNull(response);
+        try {
+            Assert.assertTrue(response.toString(StandardCharsets.UTF_8).startsWith("HTTP/1.1 413"));
+        } finally {
+            response.release();
+        }
+        Assert.assertNull(processedRequests.poll(100, TimeUnit.MILLISECONDS));
+    }
+
+    private ByteBuf http1Request(String body) {
+        String request = "POST " + URI + " HTTP/1.1\r\n"
+            + HttpHeaderNames.HOST + ": localhost\r\n"
+            + HttpHeaderNames.CONTENT_TYPE + ": application/json\r\n"
+            + HttpHeaderNames.CONTENT_LENGTH + ": " + body.length() + "\r\n"
+            + "\r\n"
+            + body;
+        return Unpooled.copiedBuffer(request, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * A json body of the length in bytes
+     */
+    private String jsonBody(int length) {
+        String prefix = "{\"content\":\"";
+        String suffix = "\"}";
+        return prefix + StringUtils.repeat('a', length - prefix.length() - suffix.length()) + suffix;
+    }
+
+    /**
+     * Encode the settings and a POST request on stream 3 the way an HTTP/2 client does, and hand them to the server
+     */
+    private void writeHttp2Request() {
+        EmbeddedChannel client = new EmbeddedChannel(new ChannelInboundHandlerAdapter());
+        ChannelHandlerContext ctx = client.pipeline().firstContext();
+        Http2FrameWriter frameWriter = new DefaultHttp2FrameWriter();
+        Http2Headers headers = new DefaultHttp2Headers()
+            .method("POST")
+            .path(URI)
+            .scheme("http")
+            .authority("localhost")
+            .set(HttpHeaderNames.CONTENT_TYPE, "application/json");
+        frameWriter.writeSettings(ctx, new Http2Settings(), ctx.newPromise());
+        frameWriter.writeHeaders(ctx, 3, headers, 0, false, ctx.newPromise());
+        frameWriter.writeData(ctx, 3, Unpooled.copiedBuffer(BODY, StandardCharsets.UTF_8), 0, true, ctx.newPromise());
+        ctx.flush();
+
+        ByteBuf frame;
+        while ((frame = client.readOutbound()) != null) {
+            channel.writeInbound(frame);
+        }
+        channel.runPendingTasks();
+        client.finishAndReleaseAll();
+    }
+}
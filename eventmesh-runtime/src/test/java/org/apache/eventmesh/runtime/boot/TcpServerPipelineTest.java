@@ -0,0 +1,85 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.runtime.boot;
+
+import org.apache.eventmesh.runtime.configuration.EventMeshTCPConfiguration;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.flush.FlushConsolidationHandler;
+
+public class TcpServerPipelineTest {
+
+    private EventMeshTCPConfiguration eventMeshTCPConfiguration;
+
+    private EmbeddedChannel channel;
+
+    @Before
+    public void init() {
+        eventMeshTCPConfiguration = new EventMeshTCPConfiguration(null);
+        eventMeshTCPConfiguration.eventMeshTcpExplicitFlushAfterFlushes = 3;
+        channel = new EmbeddedChannel();
+    }
+
+    @After
+    public void destroy() {
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    public void testFlushConsolidationDisabled() {
+        eventMeshTCPConfiguration.eventMeshTcpFlushConsolidationEnabled = false;
+        EventMeshTCPServer.addFlushConsolidationHandler(channel.pipeline(), eventMeshTCPConfiguration);
+        Assert.assertNull(channel.pipeline().get(EventMeshTCPServer.FLUSH_CONSOLIDATION_HANDLER));
+
+        channel.writeAndFlush("msg1");
+        Assert.assertEquals("msg1", channel.readOutbound());
+    }
+
+    @Test
+    public void testFlushConsolidatedPerEventLoopTick() {
+        eventMeshTCPConfiguration.eventMeshTcpFlushConsolidationEnabled = true;
+        EventMeshTCPServer.addFlushConsolidationHandler(channel.pipeline(), eventMeshTCPConfiguration);
+        Assert.assertTrue(channel.pipeline().get(EventMeshTCPServer.FLUSH_CONSOLIDATION_HANDLER) instanceof FlushConsolidationHandler);
+
+        // the flushes outside of a read are consolidated into a flush task of the event loop
+        channel.writeAndFlush("msg1");
+        channel.writeAndFlush("msg2");
+        Assert.assertNull(channel.readOutbound());
+        channel.runPendingTasks();
+        Assert.assertEquals("msg1", channel.readOutbound());
+        Assert.assertEquals("msg2", channel.readOutbound());
+    }
+
+    @Test
+    public void testFlushAfterExplicitFlushes() {
+        eventMeshTCPConfiguration.eventMeshTcpFlushConsolidationEnabled = true;
+        EventMeshTCPServer.addFlushConsolidationHandler(channel.pipeline(), eventMeshTCPConfiguration);
+
+        channel.writeAndFlush("msg1");
+        channel.writeAndFlush("msg2");
+        channel.writeAndFlush("msg3");
+        Assert.assertEquals("msg1", channel.readOutbound());
+        Assert.assertEquals("msg2", channel.readOutbound());
+        Assert.assertEquals("msg3", channel.readOutbound());
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.runtime.configuration;
+
+import org.apache.eventmesh.common.config.ConfigurationWrapper;
+import org.apache.eventmesh.runtime.core.protocol.tcp.client.group.dispatch.DispatchStrategyType;
+
+import java.io.File;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class EventMeshTCPConfigurationTest {
+
+    @Test
+    public void testDefaultDispatchStrategy() {
+        EventMeshTCPConfiguration configuration = new EventMeshTCPConfiguration(null);
+        Assert.assertEquals(DispatchStrategyType.RANDOM, configuration.getDispatchStrategy("group1"));
+    }
+
+    @Test
+    public void testGroupDispatchStrategies() {
+        File f = new File(EventMeshTCPConfigurationTest.class.getResource("/configuration.properties").getFile());
+        EventMeshTCPConfiguration configuration = new EventMeshTCPConfiguration(
+            new ConfigurationWrapper(f.getParent(), f.getName(), false));
+        configuration.init();
+
+        Assert.assertEquals(DispatchStrategyType.ACK_LATENCY, configuration.eventMeshTcpDispatchStrategy);
+        Assert.assertEquals(DispatchStrategyType.LEAST_UNACK, configuration.getDispatchStrategy("group1"));
+        Assert.assertEquals(DispatchStrategyType.POWER_OF_TWO_CHOICES, configuration.getDispatchStrategy("group2"));
+        Assert.assertEquals(DispatchStrategyType.ACK_LATENCY, configuration.getDispatchStrategy("group3"));
+    }
+}
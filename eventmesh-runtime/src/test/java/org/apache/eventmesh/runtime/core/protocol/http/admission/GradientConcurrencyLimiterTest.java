@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.runtime.core.protocol.http.admission;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class GradientConcurrencyLimiterTest {
+
+    private static final long RTT = TimeUnit.MILLISECONDS.toNanos(10);
+
+    @Test
+    public void testRejectOverLimit() {
+        GradientConcurrencyLimiter limiter = new GradientConcurrencyLimiter(2, 2);
+        Assert.assertTrue(limiter.tryAcquire());
+        Assert.assertTrue(limiter.tryAcquire());
+        Assert.assertFalse(limiter.tryAcquire());
+        limiter.release();
+        Assert.assertTrue(limiter.tryAcquire());
+        Assert.assertEquals(2, limiter.getInflight());
+    }
+
+    @Test
+    public void testStartAtMaxLimit() {
+        GradientConcurrencyLimiter limiter = new GradientConcurrencyLimiter(10, 100);
+        Assert.assertEquals(100, limiter.getLimit());
+        for (int i = 0; i < 100; i++) {
+            Assert.assertTrue(limiter.tryAcquire());
+        }
+        Assert.assertFalse(limiter.tryAcquire());
+    }
+
+    @Test
+    public void testShrinkWithRisingLatency() {
+        GradientConcurrencyLimiter limiter = new GradientConcurrencyLimiter(10, 100);
+        for (int i = 0; i < 1000; i++) {
+            saturate(limiter, RTT);
+        }
+        Assert.assertEquals(100, limiter.getLimit());
+        for (int i = 0; i < 10; i++) {
+            saturate(limiter, RTT * 10);
+        }
+        Assert.assertEquals(10, limiter.getLimit());
+    }
+
+    @Test
+    public void testShrinkWithRisingLatencyAtModestConcurrency() {
+        GradientConcurrencyLimiter limiter = new GradientConcurrencyLimiter(20, 1000);
+        for (int i = 0; i < 9; i++) {
+            Assert.assertTrue(limiter.tryAcquire());
+        }
+        for (int i = 0; i < 1000; i++) {
+            Assert.assertTrue(limiter.tryAcquire());
+            limiter.release(RTT);
+        }
+        Assert.assertEquals(1000, limiter.getLimit());
+        for (int i = 0; i < 50; i++) {
+            Assert.assertTrue(limiter.tryAcquire());
+            limiter.release(RTT * 10);
+        }
+        Assert.assertEquals(20, limiter.getLimit());
+    }
+
+    @Test
+    public void testGrowWithSteadyLatency() {
+        GradientConcurrencyLimiter limiter = shrunkLimiter();
+        for (int i = 0; i < 1000; i++) {
+            saturate(limiter, RTT * 10);
+        }
+        Assert.assertEquals(100, limiter.getLimit());
+    }
+
+    @Test
+    public void testNotGrowWhenUnderused() {
+        GradientConcurrencyLimiter limiter = shrunkLimiter();
+        for (int i = 0; i < 1000; i++) {
+            Assert.assertTrue(limiter.tryAcquire());
+            limiter.release(RTT * 10);
+        }
+        Assert.assertEquals(10, limiter.getLimit());
+    }
+
+    /**
+     * A limiter shrunk to its min limit by a rising latency
+     */
+    private GradientConcurrencyLimiter shrunkLimiter() {
+        GradientConcurrencyLimiter limiter = new GradientConcurrencyLimiter(10, 100);
+        for (int i = 0; i < 1000; i++) {
+            saturate(limiter, RTT);
+        }
+        for (int i = 0; i < 10; i++) {
+            saturate(limiter, RTT * 10);
+        }
+        return limiter;
+    }
+
+    /**
+     * Acquire all the permits, and release them with the latency
+     */
+    private void saturate(GradientConcurrencyLimiter limiter, long rtt) {
+        int acquired = 0;
+        while (limiter.tryAcquire()) {
+            acquired++;
+        }
+        for (int i = 0; i < acquired; i++) {
+            limiter.release(rtt);
+        }
+    }
+}
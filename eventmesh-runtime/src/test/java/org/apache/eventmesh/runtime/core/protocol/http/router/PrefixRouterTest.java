@@ -0,0 +1,51 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.runtime.core.protocol.http.router;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class PrefixRouterTest {
+
+    @Test
+    public void testLongestPrefixMatch() {
+        PrefixRouter<String> prefixRouter = new PrefixRouter<>();
+        prefixRouter.register("/eventmesh/publish", "publish");
+        prefixRouter.register("/eventmesh/publish/bridge", "bridge");
+        prefixRouter.register("/eventmesh/subscribe/local", "subscribeLocal");
+
+        Assert.assertEquals("publish", prefixRouter.route("/eventmesh/publish/topic"));
+        Assert.assertEquals("bridge", prefixRouter.route("/eventmesh/publish/bridge/topic"));
+        Assert.assertEquals("subscribeLocal", prefixRouter.route("/eventmesh/subscribe/local"));
+        Assert.assertNull(prefixRouter.route("/eventmesh/subscribe"));
+        Assert.assertNull(prefixRouter.route("/eventmesh/publis"));
+        Assert.assertNull(prefixRouter.route(""));
+    }
+
+    @Test
+    public void testRegisterWhileRouting() {
+        PrefixRouter<String> prefixRouter = new PrefixRouter<>();
+        prefixRouter.register("/eventmesh/publish", "publish");
+        Assert.assertNull(prefixRouter.route("/other"));
+
+        prefixRouter.register("/", "root");
+        prefixRouter.register("/eventmesh/publish", "publishV2");
+        Assert.assertEquals("root", prefixRouter.route("/other"));
+        Assert.assertEquals("publishV2", prefixRouter.route("/eventmesh/publish/topic"));
+    }
+}
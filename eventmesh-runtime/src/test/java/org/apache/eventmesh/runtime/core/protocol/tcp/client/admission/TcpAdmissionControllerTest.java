@@ -0,0 +1,120 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.runtime.core.protocol.tcp.client.admission;
+
+import org.apache.eventmesh.common.protocol.tcp.UserAgent;
+import org.apache.eventmesh.runtime.configuration.EventMeshTCPConfiguration;
+import org.apache.eventmesh.runtime.core.protocol.tcp.client.admission.TcpAdmissionController.Level;
+import org.apache.eventmesh.runtime.core.protocol.tcp.client.session.Session;
+import org.apache.eventmesh.runtime.core.protocol.tcp.client.session.send.SessionSender;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+public class TcpAdmissionControllerTest {
+
+    private EventMeshTCPConfiguration eventMeshTCPConfiguration;
+
+    @Before
+    public void init() {
+        eventMeshTCPConfiguration = new EventMeshTCPConfiguration(null);
+        eventMeshTCPConfiguration.eventMeshTcpSessionMsgReqnumPerSecond = 0;
+        eventMeshTCPConfiguration.eventMeshTcpGroupMsgReqnumPerSecond = 0;
+        eventMeshTCPConfiguration.eventMeshTcpMsgReqnumPerSecond = 0;
+    }
+
+    @Test
+    public void testSessionLevel() {
+        eventMeshTCPConfiguration.eventMeshTcpSessionMsgReqnumPerSecond = 5;
+        TcpAdmissionController admissionController = new TcpAdmissionController(eventMeshTCPConfiguration);
+        Session session = mockSession("group1");
+        Session otherSession = mockSession("group1");
+
+        Assert.assertNull(admissionController.tryAcquire(session, 5));
+        Assert.assertEquals(Level.SESSION, admissionController.tryAcquire(session, 1));
+        Assert.assertNull(admissionController.tryAcquire(otherSession, 5));
+        Assert.assertEquals(1, admissionController.getThrottledNum(Level.SESSION));
+    }
+
+    @Test
+    public void testGroupLevel() {
+        eventMeshTCPConfiguration.eventMeshTcpGroupMsgReqnumPerSecond = 5;
+        TcpAdmissionController admissionController = new TcpAdmissionController(eventMeshTCPConfiguration);
+        Session session = mockSession("group1");
+        Session otherSession = mockSession("group1");
+        Session sessionOfOtherGroup = mockSession("group2");
+
+        Assert.assertNull(admissionController.tryAcquire(session, 3));
+        Assert.assertNull(admissionController.tryAcquire(otherSession, 2));
+        Assert.assertEquals(Level.GROUP, admissionController.tryAcquire(session, 1));
+        Assert.assertEquals(Level.GROUP, admissionController.tryAcquire(otherSession, 1));
+        Assert.assertNull(admissionController.tryAcquire(sessionOfOtherGroup, 5));
+        Assert.assertEquals(2, admissionController.getThrottledNum(Level.GROUP));
+    }
+
+    @Test
+    public void testGlobalLevel() {
+        eventMeshTCPConfiguration.eventMeshTcpMsgReqnumPerSecond = 5;
+        TcpAdmissionController admissionController = new TcpAdmissionController(eventMeshTCPConfiguration);
+        Session session = mockSession("group1");
+        Session sessionOfOtherGroup = mockSession("group2");
+
+        Assert.assertNull(admissionController.tryAcquire(session, 3));
+        Assert.assertNull(admissionController.tryAcquire(sessionOfOtherGroup, 2));
+        Assert.assertEquals(Level.GLOBAL, admissionController.tryAcquire(sessionOfOtherGroup, 1));
+        Assert.assertEquals(1, admissionController.getThrottledNum(Level.GLOBAL));
+    }
+
+    @Test
+    public void testReleaseWhenRejectedByLaterLevel() {
+        eventMeshTCPConfiguration.eventMeshTcpSessionMsgReqnumPerSecond = 10;
+        eventMeshTCPConfiguration.eventMeshTcpGroupMsgReqnumPerSecond = 5;
+        TcpAdmissionController admissionController = new TcpAdmissionController(eventMeshTCPConfiguration);
+        Session session = mockSession("group1");
+
+        Assert.assertNull(admissionController.tryAcquire(session, 5));
+        Assert.assertEquals(Level.GROUP, admissionController.tryAcquire(session, 5));
+        // the permits taken from the session bucket by the rejected request are returned
+        Assert.assertTrue(session.getSender().getAdmissionBucket().tryAcquire(5));
+        Assert.assertEquals(0, admissionController.getThrottledNum(Level.SESSION));
+    }
+
+    @Test
+    public void testRemoveGroupBucket() {
+        eventMeshTCPConfiguration.eventMeshTcpGroupMsgReqnumPerSecond = 5;
+        TcpAdmissionController admissionController = new TcpAdmissionController(eventMeshTCPConfiguration);
+
+        Assert.assertNull(admissionController.tryAcquire(mockSession("group1"), 5));
+        Assert.assertEquals(Level.GROUP, admissionController.tryAcquire(mockSession("group1"), 1));
+        admissionController.removeGroupBucket("group1");
+        // a group connecting again starts with a full bucket
+        Assert.assertNull(admissionController.tryAcquire(mockSession("group1"), 5));
+    }
+
+    private Session mockSession(String group) {
+        Session session = Mockito.mock(Session.class);
+        SessionSender sender = Mockito.mock(SessionSender.class);
+        TokenBucket sessionBucket = TcpAdmissionController.newSessionBucket(eventMeshTCPConfiguration);
+        Mockito.when(sender.getAdmissionBucket()).thenReturn(sessionBucket);
+        Mockito.when(session.getSender()).thenReturn(sender);
+        Mockito.when(session.getClient()).thenReturn(UserAgent.builder().group(group).build());
+        return session;
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.runtime.core.protocol.tcp.client.admission;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TokenBucketTest {
+
+    @Test
+    public void testRejectOverCapacity() {
+        TokenBucket tokenBucket = new TokenBucket(1, 10);
+        Assert.assertTrue(tokenBucket.tryAcquire(10));
+        Assert.assertFalse(tokenBucket.tryAcquire(1));
+    }
+
+    @Test
+    public void testRelease() {
+        TokenBucket tokenBucket = new TokenBucket(1, 10);
+        Assert.assertTrue(tokenBucket.tryAcquire(10));
+        tokenBucket.release(5);
+        Assert.assertTrue(tokenBucket.tryAcquire(5));
+        Assert.assertFalse(tokenBucket.tryAcquire(1));
+    }
+
+    @Test
+    public void testRefill() throws Exception {
+        TokenBucket tokenBucket = new TokenBucket(100, 1);
+        Assert.assertTrue(tokenBucket.tryAcquire(1));
+        Assert.assertFalse(tokenBucket.tryAcquire(1));
+        Thread.sleep(50);
+        Assert.assertTrue(tokenBucket.tryAcquire(1));
+    }
+
+    @Test
+    public void testAcquireOverCapacityFromFullBucket() throws Exception {
+        TokenBucket tokenBucket = new TokenBucket(1000, 10);
+        Assert.assertTrue(tokenBucket.tryAcquire(50));
+        // the 40 tokens over the capacity are borrowed from the refills of the next 40ms
+        Assert.assertFalse(tokenBucket.tryAcquire(1));
+        Assert.assertFalse(tokenBucket.tryAcquire(50));
+        Thread.sleep(100);
+        Assert.assertTrue(tokenBucket.tryAcquire(50));
+    }
+
+    @Test
+    public void testUnlimited() {
+        TokenBucket tokenBucket = new TokenBucket(0, 0);
+        for (int i = 0; i < 1000; i++) {
+            Assert.assertTrue(tokenBucket.tryAcquire(100));
+        }
+    }
+}
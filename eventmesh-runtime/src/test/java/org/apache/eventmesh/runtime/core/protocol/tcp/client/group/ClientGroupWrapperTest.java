@@ -0,0 +1,183 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.runtime.core.protocol.tcp.client.group;
+
+import org.apache.eventmesh.api.EventListener;
+import org.apache.eventmesh.api.EventMeshAction;
+import org.apache.eventmesh.api.EventMeshAsyncConsumeContext;
+import org.apache.eventmesh.common.Constants;
+import org.apache.eventmesh.common.protocol.SubscriptionItem;
+import org.apache.eventmesh.common.protocol.SubscriptionMode;
+import org.apache.eventmesh.common.protocol.SubscriptionType;
+import org.apache.eventmesh.metrics.api.model.TcpSummaryMetrics;
+import org.apache.eventmesh.runtime.boot.EventMeshServer;
+import org.apache.eventmesh.runtime.boot.EventMeshTCPServer;
+import org.apache.eventmesh.runtime.configuration.EventMeshTCPConfiguration;
+import org.apache.eventmesh.runtime.core.plugin.MQConsumerWrapper;
+import org.apache.eventmesh.runtime.core.protocol.tcp.client.group.dispatch.DownstreamDispatchStrategy;
+import org.apache.eventmesh.runtime.core.protocol.tcp.client.session.Session;
+import org.apache.eventmesh.runtime.core.protocol.tcp.client.session.SessionContext;
+import org.apache.eventmesh.runtime.core.protocol.tcp.client.session.SessionState;
+import org.apache.eventmesh.runtime.core.protocol.tcp.client.session.push.SessionPusher;
+import org.apache.eventmesh.runtime.core.protocol.tcp.client.session.retry.EventMeshTcpRetryer;
+import org.apache.eventmesh.runtime.metrics.tcp.EventMeshTcpMonitor;
+import org.apache.eventmesh.runtime.trace.Trace;
+
+import java.net.URI;
+import java.util.UUID;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.powermock.reflect.Whitebox;
+
+import io.cloudevents.CloudEvent;
+import io.cloudevents.core.builder.CloudEventBuilder;
+import io.opentelemetry.api.trace.Span;
+
+public class ClientGroupWrapperTest {
+
+    private static final String GROUP = "group1";
+
+    private static final String TOPIC = "topic1";
+
+    private Trace trace;
+
+    private TcpSummaryMetrics tcpSummaryMetrics;
+
+    private EventMeshTcpRetryer eventMeshTcpRetryer;
+
+    private ClientGroupWrapper clientGroupWrapper;
+
+    @Before
+    public void setUp() {
+        trace = EventMeshServer.getTrace();
+        Trace mockTrace = Mockito.mock(Trace.class);
+        Mockito.when(mockTrace.createSpan(Mockito.anyString(), Mockito.any(), Mockito.any(), Mockito.anyBoolean()))
+            .thenReturn(Span.getInvalid());
+        Whitebox.setInternalState(EventMeshServer.class, "trace", mockTrace);
+
+        EventMeshTCPConfiguration eventMeshTCPConfiguration = new EventMeshTCPConfiguration(null);
+        eventMeshTCPConfiguration.eventMeshConnectorPluginType = "standalone";
+        tcpSummaryMetrics = new TcpSummaryMetrics();
+        EventMeshTcpMonitor eventMeshTcpMonitor = Mockito.mock(EventMeshTcpMonitor.class);
+        Mockito.when(eventMeshTcpMonitor.getTcpSummaryMetrics()).thenReturn(tcpSummaryMetrics);
+        EventMeshTCPServer eventMeshTCPServer = Mockito.mock(EventMeshTCPServer.class);
+        Mockito.when(eventMeshTCPServer.getEventMeshTCPConfiguration()).thenReturn(eventMeshTCPConfiguration);
+        Mockito.when(eventMeshTCPServer.getEventMeshTcpMonitor()).thenReturn(eventMeshTcpMonitor);
+        eventMeshTcpRetryer = Mockito.mock(EventMeshTcpRetryer.class);
+        Mockito.when(eventMeshTCPServer.getEventMeshTcpRetryer()).thenReturn(eventMeshTcpRetryer);
+
+        clientGroupWrapper = new ClientGroupWrapper("5023", GROUP, eventMeshTCPServer, Mockito.mock(DownstreamDispatchStrategy.class));
+    }
+
+    @After
+    public void tearDown() {
+        Whitebox.setInternalState(EventMeshServer.class, "trace", trace);
+    }
+
+    @Test
+    public void testHasPausedSession() {
+        clientGroupWrapper.groupConsumerSessions.add(mockSession(SubscriptionMode.CLUSTERING, false, SessionState.RUNNING));
+        Assert.assertFalse(clientGroupWrapper.hasPausedSession(TOPIC));
+
+        clientGroupWrapper.groupConsumerSessions.add(mockSession(SubscriptionMode.CLUSTERING, true, SessionState.CLOSED));
+        Assert.assertFalse(clientGroupWrapper.hasPausedSession(TOPIC));
+        Assert.assertFalse(clientGroupWrapper.hasPausedSession("topic2"));
+
+        clientGroupWrapper.groupConsumerSessions.add(mockSession(SubscriptionMode.CLUSTERING, true, SessionState.RUNNING));
+        Assert.assertTrue(clientGroupWrapper.hasPausedSession(TOPIC));
+        Assert.assertFalse(clientGroupWrapper.hasPausedSession("topic2"));
+    }
+
+    @Test
+    public void testReconsumeLaterIfAllSessionsPaused() throws Exception {
+        clientGroupWrapper.groupConsumerSessions.add(mockSession(SubscriptionMode.CLUSTERING, true, SessionState.RUNNING));
+        MQConsumerWrapper consumer = Mockito.mock(MQConsumerWrapper.class);
+        Whitebox.setInternalState(clientGroupWrapper, "persistentMsgConsumer", consumer);
+        clientGroupWrapper.initClientGroupPersistentConsumer();
+
+        EventMeshAsyncConsumeContext context = Mockito.mock(EventMeshAsyncConsumeContext.class);
+        getListener(consumer).consume(buildEvent(), context);
+        Mockito.verify(context).commit(EventMeshAction.ReconsumeLater);
+        Assert.assertEquals(1, tcpSummaryMetrics.getPausedMsgNum().get());
+    }
+
+    @Test
+    public void testReconsumeLaterBroadcastIfAnySessionPaused() throws Exception {
+        Session runningSession = mockSession(SubscriptionMode.BROADCASTING, false, SessionState.RUNNING);
+        clientGroupWrapper.groupConsumerSessions.add(runningSession);
+        clientGroupWrapper.groupConsumerSessions.add(mockSession(SubscriptionMode.BROADCASTING, true, SessionState.RUNNING));
+        MQConsumerWrapper consumer = Mockito.mock(MQConsumerWrapper.class);
+        Whitebox.setInternalState(clientGroupWrapper, "broadCastMsgConsumer", consumer);
+        clientGroupWrapper.initClientGroupBroadcastConsumer();
+
+        EventMeshAsyncConsumeContext context = Mockito.mock(EventMeshAsyncConsumeContext.class);
+        getListener(consumer).consume(buildEvent(), context);
+        Mockito.verify(context).commit(EventMeshAction.ReconsumeLater);
+        Mockito.verify(context, Mockito.never()).commit(EventMeshAction.ManualAck);
+        Mockito.verify(runningSession, Mockito.never()).downstreamMsg(Mockito.any());
+    }
+
+    @Test
+    public void testReconsumeLaterIfRetriesFull() throws Exception {
+        Session session = mockSession(SubscriptionMode.CLUSTERING, false, SessionState.RUNNING);
+        clientGroupWrapper.groupConsumerSessions.add(session);
+        Mockito.when(eventMeshTcpRetryer.isFull()).thenReturn(true);
+        MQConsumerWrapper consumer = Mockito.mock(MQConsumerWrapper.class);
+        Whitebox.setInternalState(clientGroupWrapper, "persistentMsgConsumer", consumer);
+        clientGroupWrapper.initClientGroupPersistentConsumer();
+
+        EventMeshAsyncConsumeContext context = Mockito.mock(EventMeshAsyncConsumeContext.class);
+        getListener(consumer).consume(buildEvent(), context);
+        Mockito.verify(context).commit(EventMeshAction.ReconsumeLater);
+        Mockito.verify(session, Mockito.never()).downstreamMsg(Mockito.any());
+    }
+
+    private EventListener getListener(MQConsumerWrapper consumer) {
+        ArgumentCaptor<EventListener> captor = ArgumentCaptor.forClass(EventListener.class);
+        Mockito.verify(consumer).registerEventListener(captor.capture());
+        return captor.getValue();
+    }
+
+    private CloudEvent buildEvent() {
+        return CloudEventBuilder.v1()
+            .withId(UUID.randomUUID().toString())
+            .withSource(URI.create("/"))
+            .withType("eventmesh")
+            .withSubject(TOPIC)
+            .withExtension(Constants.PROTOCOL_VERSION, "1.0")
+            .build();
+    }
+
+    private Session mockSession(SubscriptionMode subscriptionMode, boolean paused, SessionState sessionState) {
+        SessionPusher pusher = Mockito.mock(SessionPusher.class);
+        Mockito.when(pusher.isPaused()).thenReturn(paused);
+        Session session = Mockito.mock(Session.class);
+        SessionContext sessionContext = new SessionContext(session);
+        sessionContext.subscribeTopics.put(TOPIC, new SubscriptionItem(TOPIC, subscriptionMode, SubscriptionType.ASYNC));
+        Mockito.when(session.getSessionState()).thenReturn(sessionState);
+        Mockito.when(session.getSessionContext()).thenReturn(sessionContext);
+        Mockito.when(session.getPusher()).thenReturn(pusher);
+        Mockito.when(session.isAvailable(TOPIC)).thenReturn(SessionState.CLOSED != sessionState);
+        return session;
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.runtime.core.protocol.tcp.client.group.dispatch;
+
+import org.apache.eventmesh.runtime.core.protocol.tcp.client.session.Session;
+import org.apache.eventmesh.runtime.core.protocol.tcp.client.session.SessionState;
+import org.apache.eventmesh.runtime.core.protocol.tcp.client.session.push.SessionPusher;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+public class CachedDispatchStrategyTest {
+
+    private static final String GROUP = "group1";
+
+    private static final String TOPIC = "topic1";
+
+    private final List<AbstractCachedDispatchStrategy> strategies = Arrays.asList(
+        new CachedFreePriorityDispatchStrategy(),
+        new LeastUnackDispatchStrategy(),
+        new AckLatencyDispatchStrategy(),
+        new PowerOfTwoChoicesDispatchStrategy());
+
+    @Test
+    public void testNotSelectSubscribedButNotListeningSession() {
+        Session listeningSession = mockSession(false);
+        Session subscribedSession = mockSession(false);
+        Set<Session> topicSessions = new HashSet<>(Arrays.asList(listeningSession, subscribedSession));
+        Set<Session> groupConsumerSessions = new HashSet<>(Collections.singletonList(listeningSession));
+
+        for (AbstractCachedDispatchStrategy strategy : strategies) {
+            strategy.refresh(TOPIC, topicSessions);
+            for (int i = 0; i < 100; i++) {
+                Assert.assertSame(listeningSession, strategy.select(GROUP, TOPIC, groupConsumerSessions));
+            }
+        }
+    }
+
+    @Test
+    public void testNoListeningSession() {
+        Set<Session> topicSessions = new HashSet<>(Arrays.asList(mockSession(false), mockSession(true)));
+
+        for (AbstractCachedDispatchStrategy strategy : strategies) {
+            strategy.refresh(TOPIC, topicSessions);
+            Assert.assertNull(strategy.select(GROUP, TOPIC, Collections.emptySet()));
+        }
+    }
+
+    @Test
+    public void testSelectIsolatedSessionOnlyIfListening() {
+        Session isolatedSession = mockSession(true);
+        Session subscribedSession = mockSession(false);
+        Set<Session> topicSessions = new HashSet<>(Arrays.asList(isolatedSession, subscribedSession));
+        Set<Session> groupConsumerSessions = new HashSet<>(Collections.singletonList(isolatedSession));
+
+        for (AbstractCachedDispatchStrategy strategy : strategies) {
+            strategy.refresh(TOPIC, topicSessions);
+            for (int i = 0; i < 100; i++) {
+                Assert.assertSame(isolatedSession, strategy.select(GROUP, TOPIC, groupConsumerSessions));
+            }
+        }
+    }
+
+    @Test
+    public void testNotSelectPausedSession() {
+        Session pausedSession = mockSession(false, true);
+        Session runningSession = mockSession(false);
+        Set<Session> sessions = new HashSet<>(Arrays.asList(pausedSession, runningSession));
+
+        for (AbstractCachedDispatchStrategy strategy : strategies) {
+            strategy.refresh(TOPIC, sessions);
+            for (int i = 0; i < 100; i++) {
+                Assert.assertSame(runningSession, strategy.select(GROUP, TOPIC, sessions));
+            }
+        }
+        FreePriorityDispatchStrategy freePriorityDispatchStrategy = new FreePriorityDispatchStrategy();
+        for (int i = 0; i < 100; i++) {
+            Assert.assertSame(runningSession, freePriorityDispatchStrategy.select(GROUP, TOPIC, sessions));
+        }
+    }
+
+    @Test
+    public void testNotSelectPausedIsolatedSession() {
+        Set<Session> sessions = new HashSet<>(Arrays.asList(mockSession(false, true), mockSession(true, true)));
+
+        for (AbstractCachedDispatchStrategy strategy : strategies) {
+            strategy.refresh(TOPIC, sessions);
+            Assert.assertNull(strategy.select(GROUP, TOPIC, sessions));
+        }
+        Assert.assertNull(new FreePriorityDispatchStrategy().select(GROUP, TOPIC, sessions));
+    }
+
+    private Session mockSession(boolean isolated) {
+        return mockSession(isolated, false);
+    }
+
+    private Session mockSession(boolean isolated, boolean paused) {
+        SessionPusher pusher = Mockito.mock(SessionPusher.class);
+        Mockito.when(pusher.isPaused()).thenReturn(paused);
+        Mockito.when(pusher.getTotalUnackMsgs()).thenReturn(0);
+        Mockito.when(pusher.getAckLatency()).thenReturn(0D);
+        Session session = Mockito.mock(Session.class);
+        Mockito.when(session.getSessionState()).thenReturn(SessionState.RUNNING);
+        Mockito.when(session.getPusher()).thenReturn(pusher);
+        Mockito.when(session.isIsolated()).thenReturn(isolated);
+        Mockito.when(session.isAvailable(TOPIC)).thenReturn(true);
+        return session;
+    }
+}
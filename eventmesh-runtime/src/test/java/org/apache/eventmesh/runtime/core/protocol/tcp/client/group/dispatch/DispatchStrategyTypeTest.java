@@ -0,0 +1,45 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.runtime.core.protocol.tcp.client.group.dispatch;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class DispatchStrategyTypeTest {
+
+    @Test
+    public void testOf() {
+        Assert.assertEquals(DispatchStrategyType.RANDOM, DispatchStrategyType.of("random"));
+        Assert.assertEquals(DispatchStrategyType.LEAST_UNACK, DispatchStrategyType.of("leastUnack"));
+        Assert.assertEquals(DispatchStrategyType.ACK_LATENCY, DispatchStrategyType.of(" ACKLATENCY "));
+        Assert.assertEquals(DispatchStrategyType.POWER_OF_TWO_CHOICES, DispatchStrategyType.of("poweroftwochoices"));
+        Assert.assertNull(DispatchStrategyType.of("roundRobin"));
+        Assert.assertNull(DispatchStrategyType.of(""));
+        Assert.assertNull(DispatchStrategyType.of(null));
+    }
+
+    @Test
+    public void testNewStrategy() {
+        Assert.assertTrue(DispatchStrategyType.RANDOM.newStrategy() instanceof CachedFreePriorityDispatchStrategy);
+        Assert.assertTrue(DispatchStrategyType.LEAST_UNACK.newStrategy() instanceof LeastUnackDispatchStrategy);
+        Assert.assertTrue(DispatchStrategyType.ACK_LATENCY.newStrategy() instanceof AckLatencyDispatchStrategy);
+        Assert.assertTrue(DispatchStrategyType.POWER_OF_TWO_CHOICES.newStrategy() instanceof PowerOfTwoChoicesDispatchStrategy);
+        // the strategies keep the sessions of a group
+        Assert.assertNotSame(DispatchStrategyType.RANDOM.newStrategy(), DispatchStrategyType.RANDOM.newStrategy());
+    }
+}
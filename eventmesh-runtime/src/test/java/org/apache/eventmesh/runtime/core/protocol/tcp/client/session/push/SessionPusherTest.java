@@ -0,0 +1,204 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.runtime.core.protocol.tcp.client.session.push;
+
+import org.apache.eventmesh.common.protocol.SubscriptionItem;
+import org.apache.eventmesh.common.protocol.SubscriptionMode;
+import org.apache.eventmesh.common.protocol.SubscriptionType;
+import org.apache.eventmesh.runtime.configuration.EventMeshTCPConfiguration;
+import org.apache.eventmesh.runtime.core.protocol.tcp.client.group.ClientGroupWrapper;
+import org.apache.eventmesh.runtime.core.protocol.tcp.client.group.dispatch.DownstreamDispatchStrategy;
+import org.apache.eventmesh.runtime.core.protocol.tcp.client.session.Session;
+
+import java.lang.ref.WeakReference;
+import java.net.URI;
+import java.util.UUID;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.powermock.reflect.Whitebox;
+
+import io.cloudevents.core.builder.CloudEventBuilder;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.util.Timeout;
+
+public class SessionPusherTest {
+
+    private EventMeshTCPConfiguration eventMeshTCPConfiguration;
+
+    private Channel channel;
+
+    private Session session;
+
+    private SessionPusher pusher;
+
+    /**
+     * The session only holds a weak reference to its group
+     */
+    private ClientGroupWrapper clientGroupWrapper;
+
+    @Before
+    public void setUp() {
+        eventMeshTCPConfiguration = new EventMeshTCPConfiguration(null);
+        eventMeshTCPConfiguration.eventMeshTcpSessionDownstreamUnackSize = 10;
+        channel = Mockito.mock(Channel.class);
+        Mockito.when(channel.isWritable()).thenReturn(true);
+        session = mockSession();
+        pusher = new SessionPusher(session);
+    }
+
+    @Test
+    public void testSetWindow() {
+        Assert.assertEquals(10, pusher.getWindow());
+
+        pusher.setWindow(5);
+        Assert.assertEquals(5, pusher.getWindow());
+
+        pusher.setWindow(100);
+        Assert.assertEquals(10, pusher.getWindow());
+
+        pusher.setWindow(0);
+        Assert.assertEquals(10, pusher.getWindow());
+    }
+
+    @Test
+    public void testPausedWithoutCredits() {
+        pusher.setWindow(2);
+        Assert.assertEquals(2, pusher.getCredits());
+        Assert.assertFalse(pusher.isPaused());
+
+        pusher.getUnAckMsg().put("1", Mockito.mock(DownStreamMsgContext.class));
+        Assert.assertEquals(1, pusher.getCredits());
+        Assert.assertFalse(pusher.isPaused());
+
+        pusher.getUnAckMsg().put("2", Mockito.mock(DownStreamMsgContext.class));
+        Assert.assertEquals(0, pusher.getCredits());
+        Assert.assertTrue(pusher.isPaused());
+
+        // the window shrinks below the unacked msgs
+        pusher.setWindow(1);
+        Assert.assertEquals(0, pusher.getCredits());
+        Assert.assertTrue(pusher.isPaused());
+
+        pusher.removeUnAckMsg("1");
+        pusher.removeUnAckMsg("2");
+        Assert.assertEquals(1, pusher.getCredits());
+        Assert.assertFalse(pusher.isPaused());
+    }
+
+    @Test
+    public void testPausedIfChannelNotWritable() {
+        Mockito.when(channel.isWritable()).thenReturn(false);
+        Assert.assertEquals(10, pusher.getCredits());
+        Assert.assertTrue(pusher.isPaused());
+    }
+
+    @Test
+    public void testRemoveUnAckMsg() {
+        DownStreamMsgContext downStreamMsgContext = buildDownStreamMsgContext();
+        pusher.unAckMsg(downStreamMsgContext.seq, downStreamMsgContext);
+        Timeout ackTimeout = Whitebox.getInternalState(downStreamMsgContext, "ackTimeout");
+        Assert.assertNotNull(ackTimeout);
+        Assert.assertEquals(1, pusher.getTotalUnackMsgs());
+
+        Assert.assertSame(downStreamMsgContext, pusher.removeUnAckMsg(downStreamMsgContext.seq));
+        Assert.assertTrue(ackTimeout.isCancelled());
+        Assert.assertEquals(0, pusher.getTotalUnackMsgs());
+        Assert.assertNull(pusher.removeUnAckMsg(downStreamMsgContext.seq));
+    }
+
+    @Test
+    public void testRedeliverToAnotherSession() throws Exception {
+        eventMeshTCPConfiguration.eventMeshTcpSessionAckTimeoutInMills = 50;
+        Session otherSession = mockSession();
+        SessionPusher otherPusher = new SessionPusher(otherSession);
+        Mockito.when(otherSession.getPusher()).thenReturn(otherPusher);
+        mockClientGroupWrapper(otherSession);
+
+        DownStreamMsgContext downStreamMsgContext = buildDownStreamMsgContext();
+        pusher.unAckMsg(downStreamMsgContext.seq, downStreamMsgContext);
+        awaitUnAckMsg(otherPusher, downStreamMsgContext.seq);
+
+        Assert.assertEquals(0, pusher.getTotalUnackMsgs());
+        Assert.assertSame(downStreamMsgContext, otherPusher.getUnAckMsg().get(downStreamMsgContext.seq));
+        Assert.assertSame(otherSession, downStreamMsgContext.session);
+        Assert.assertEquals(1, downStreamMsgContext.retryTimes);
+        Mockito.verify(otherSession).downstreamMsg(downStreamMsgContext);
+
+        otherPusher.removeUnAckMsg(downStreamMsgContext.seq);
+    }
+
+    @Test
+    public void testLateAckAfterRedelivery() throws Exception {
+        eventMeshTCPConfiguration.eventMeshTcpSessionAckTimeoutInMills = 50;
+        Session otherSession = mockSession();
+        SessionPusher otherPusher = new SessionPusher(otherSession);
+        Mockito.when(otherSession.getPusher()).thenReturn(otherPusher);
+        mockClientGroupWrapper(otherSession);
+
+        DownStreamMsgContext downStreamMsgContext = buildDownStreamMsgContext();
+        pusher.unAckMsg(downStreamMsgContext.seq, downStreamMsgContext);
+        awaitUnAckMsg(otherPusher, downStreamMsgContext.seq);
+
+        // the late ack of the first session does not ack the msg again
+        Assert.assertNull(pusher.removeUnAckMsg(downStreamMsgContext.seq));
+        Assert.assertEquals(1, otherPusher.getTotalUnackMsgs());
+
+        Timeout ackTimeout = Whitebox.getInternalState(downStreamMsgContext, "ackTimeout");
+        Assert.assertSame(downStreamMsgContext, otherPusher.removeUnAckMsg(downStreamMsgContext.seq));
+        Assert.assertTrue(ackTimeout.isCancelled());
+        Assert.assertEquals(0, otherPusher.getTotalUnackMsgs());
+    }
+
+    private void awaitUnAckMsg(SessionPusher sessionPusher, String seq) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 2000;
+        while (!sessionPusher.getUnAckMsg().containsKey(seq) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private void mockClientGroupWrapper(Session selected) {
+        DownstreamDispatchStrategy dispatchStrategy = Mockito.mock(DownstreamDispatchStrategy.class);
+        Mockito.when(dispatchStrategy.select(Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(selected);
+        clientGroupWrapper = Mockito.mock(ClientGroupWrapper.class);
+        Mockito.when(clientGroupWrapper.getDownstreamDispatchStrategy()).thenReturn(dispatchStrategy);
+        Mockito.when(session.getClientGroupWrapper()).thenReturn(new WeakReference<>(clientGroupWrapper));
+    }
+
+    private DownStreamMsgContext buildDownStreamMsgContext() {
+        return new DownStreamMsgContext(CloudEventBuilder.v1()
+            .withId(UUID.randomUUID().toString())
+            .withSource(URI.create("/"))
+            .withType("eventmesh")
+            .withSubject("topic1")
+            .build(), session, null, null, false,
+            new SubscriptionItem("topic1", SubscriptionMode.CLUSTERING, SubscriptionType.ASYNC));
+    }
+
+    private Session mockSession() {
+        ChannelHandlerContext context = Mockito.mock(ChannelHandlerContext.class);
+        Mockito.when(context.channel()).thenReturn(channel);
+        Session session = Mockito.mock(Session.class);
+        Mockito.when(session.getEventMeshTCPConfiguration()).thenReturn(eventMeshTCPConfiguration);
+        Mockito.when(session.getContext()).thenReturn(context);
+        return session;
+    }
+}
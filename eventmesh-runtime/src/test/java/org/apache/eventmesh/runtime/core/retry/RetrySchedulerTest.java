@@ -0,0 +1,128 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.runtime.core.retry;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.powermock.reflect.Whitebox;
+
+public class RetrySchedulerTest {
+
+    private RetryScheduler retryScheduler;
+
+    @Before
+    public void setUp() {
+        retryScheduler = new RetryScheduler("test-retry", 2, 2);
+        retryScheduler.start();
+    }
+
+    @After
+    public void tearDown() {
+        retryScheduler.shutdown();
+    }
+
+    @Test
+    public void testSchedule() throws Exception {
+        CountDownLatch latch = new CountDownLatch(1);
+        long start = System.currentTimeMillis();
+        Assert.assertTrue(retryScheduler.schedule("group", 50, latch::countDown));
+        Assert.assertTrue(latch.await(5, TimeUnit.SECONDS));
+        Assert.assertTrue(System.currentTimeMillis() - start >= 50);
+    }
+
+    @Test
+    public void testRefusedOverMaxPendingRetries() throws Exception {
+        CountDownLatch block = new CountDownLatch(1);
+        Assert.assertTrue(retryScheduler.schedule("group", 0, this.await(block)));
+        Assert.assertTrue(retryScheduler.schedule("group", 0, this.await(block)));
+        Assert.assertFalse(retryScheduler.schedule("group", 0, () -> {
+        }));
+        Assert.assertEquals(2, retryScheduler.getPendingSize());
+
+        block.countDown();
+        long deadline = System.currentTimeMillis() + 5000;
+        while (retryScheduler.getPendingSize() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        Assert.assertEquals(0, retryScheduler.getPendingSize());
+    }
+
+    @Test
+    public void testIsFull() {
+        CountDownLatch block = new CountDownLatch(1);
+        Assert.assertTrue(retryScheduler.schedule("group", 0, this.await(block)));
+        Assert.assertFalse(retryScheduler.isFull());
+        Assert.assertTrue(retryScheduler.schedule("group", 0, this.await(block)));
+        Assert.assertTrue(retryScheduler.isFull());
+
+        block.countDown();
+        this.awaitNoPending();
+        Assert.assertFalse(retryScheduler.isFull());
+    }
+
+    @Test
+    public void testShutdownWithRetriesNotDue() {
+        Assert.assertTrue(retryScheduler.schedule("group", 60000, () -> {
+        }));
+        Assert.assertEquals(1, retryScheduler.getPendingSize());
+
+        retryScheduler.shutdown();
+        Assert.assertEquals(0, retryScheduler.getPendingSize());
+    }
+
+    @Test
+    public void testDueRetryRejected() throws Exception {
+        ExecutorService[] shards = Whitebox.getInternalState(retryScheduler, "shards");
+        for (ExecutorService shard : shards) {
+            shard.shutdown();
+        }
+
+        Assert.assertTrue(retryScheduler.schedule("group", 0, () -> {
+        }));
+        this.awaitNoPending();
+        Assert.assertEquals(0, retryScheduler.getPendingSize());
+    }
+
+    private void awaitNoPending() {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (retryScheduler.getPendingSize() > 0 && System.currentTimeMillis() < deadline) {
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private Runnable await(CountDownLatch latch) {
+        return () -> {
+            try {
+                latch.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+    }
+}
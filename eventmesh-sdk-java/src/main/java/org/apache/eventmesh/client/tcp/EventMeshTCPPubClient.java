@@ -22,6 +22,8 @@ import org.apache.eventmesh.client.tcp.common.ReceiveMsgHook;
 import org.apache.eventmesh.common.exception.EventMeshException;
 import org.apache.eventmesh.common.protocol.tcp.Package;
 
+import java.util.List;
+
 /**
  * EventMesh TCP publish client.
  * <ul>
@@ -45,6 +47,11 @@ public interface EventMeshTCPPubClient<ProtocolMessage> extends AutoCloseable {
 
     Package publish(ProtocolMessage event, long timeout) throws EventMeshException;
 
+    /**
+     * Publish the events in one batch package, the server acks the package after all the events are sent.
+     */
+    Package publish(List<ProtocolMessage> events, long timeout) throws EventMeshException;
+
     void broadcast(ProtocolMessage event, long timeout) throws EventMeshException;
 
     void registerBusiHandler(ReceiveMsgHook<ProtocolMessage> handler) throws EventMeshException;
@@ -21,6 +21,7 @@ import org.apache.eventmesh.common.Constants;
 import org.apache.eventmesh.common.protocol.SubscriptionItem;
 import org.apache.eventmesh.common.protocol.SubscriptionMode;
 import org.apache.eventmesh.common.protocol.SubscriptionType;
+import org.apache.eventmesh.common.protocol.tcp.BatchMessageBody;
 import org.apache.eventmesh.common.protocol.tcp.Command;
 import org.apache.eventmesh.common.protocol.tcp.EventMeshMessage;
 import org.apache.eventmesh.common.protocol.tcp.Header;
@@ -30,18 +31,22 @@ import org.apache.eventmesh.common.protocol.tcp.UserAgent;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ThreadLocalRandom;
 
 import org.assertj.core.util.Preconditions;
 
 import io.cloudevents.CloudEvent;
 import io.cloudevents.SpecVersion;
+import io.cloudevents.core.builder.CloudEventBuilder;
 import io.cloudevents.core.provider.EventFormatProvider;
 import io.openmessaging.api.Message;
 
 public class MessageUtils {
     private static final int seqLength = 10;
 
+    private static final String[] SESSION_PROPERTIES = {Constants.RSP_SYS, Constants.RSP_GROUP, Constants.RSP_IDC, Constants.RSP_IP};
+
     public static Package hello(UserAgent user) {
         Package msg = new Package();
         msg.setHeader(new Header(Command.HELLO_REQUEST, 0, null, generateRandomString(seqLength)));
@@ -67,6 +72,17 @@ public class MessageUtils {
         return msg;
     }
 
+    /**
+     * @param window the max number of unacked messages pushed to the client, the server default is used if it is not positive
+     */
+    public static Package listen(int window) {
+        Package msg = listen();
+        if (window > 0) {
+            msg.getHeader().putProperty(Constants.LISTEN_WINDOW, window);
+        }
+        return msg;
+    }
+
     public static Package subscribe(String topic, SubscriptionMode subscriptionMode,
                                     SubscriptionType subscriptionType) {
         Package msg = new Package();
@@ -117,6 +133,32 @@ public class MessageUtils {
         return msg;
     }
 
+    /**
+     * Build a {@link Command#BATCH_MESSAGE_TO_SERVER} package, the events of a batch share the header of the package
+     * so they should have the same spec version.
+     */
+    public static Package buildBatchPackage(List<CloudEvent> cloudEvents) {
+        if (cloudEvents == null || cloudEvents.isEmpty()) {
+            throw new IllegalArgumentException("CloudEvents cannot be empty");
+        }
+        SpecVersion specVersion = cloudEvents.get(0).getSpecVersion();
+        List<byte[]> messages = new ArrayList<>(cloudEvents.size());
+        for (CloudEvent cloudEvent : cloudEvents) {
+            Preconditions.checkNotNull(cloudEvent.getDataContentType(), "DateContentType cannot be null");
+            if (specVersion != cloudEvent.getSpecVersion()) {
+                throw new IllegalArgumentException("CloudEvents of a batch should have the same spec version");
+            }
+            messages.add(EventFormatProvider.getInstance().resolveFormat(cloudEvent.getDataContentType()).serialize(cloudEvent));
+        }
+        Package msg = new Package();
+        msg.setHeader(new Header(Command.BATCH_MESSAGE_TO_SERVER, 0, null, generateRandomString(seqLength)));
+        msg.getHeader().putProperty(Constants.PROTOCOL_TYPE, EventMeshCommon.CLOUD_EVENTS_PROTOCOL_NAME);
+        msg.getHeader().putProperty(Constants.PROTOCOL_VERSION, specVersion.toString());
+        msg.getHeader().putProperty(Constants.PROTOCOL_DESC, "tcp");
+        msg.setBody(BatchMessageBody.encode(messages));
+        return msg;
+    }
+
     public static Package broadcastMessageAck(Package in) {
         Package msg = new Package();
         msg.setHeader(new Header(Command.BROADCAST_MESSAGE_TO_CLIENT_ACK, 0, null, in.getHeader().getSeq()));
@@ -124,6 +166,41 @@ public class MessageUtils {
         return msg;
     }
 
+    /**
+     * The body of a broadcast is shared by the clients, so the server sends the fields of the receiving client in the header,
+     * merge them into the event unless the event has them.
+     */
+    public static CloudEvent withSessionProperties(CloudEvent cloudEvent, Header header) {
+        CloudEventBuilder builder = null;
+        for (String name : SESSION_PROPERTIES) {
+            String value = header.getStringProperty(name);
+            if (value == null || cloudEvent.getExtension(name) != null) {
+                continue;
+            }
+            if (builder == null) {
+                builder = CloudEventBuilder.from(cloudEvent);
+            }
+            builder.withExtension(name, value);
+        }
+        return builder == null ? cloudEvent : builder.build();
+    }
+
+    /**
+     * @see #withSessionProperties(CloudEvent, Header)
+     */
+    public static EventMeshMessage withSessionProperties(EventMeshMessage eventMeshMessage, Header header) {
+        if (eventMeshMessage.getProperties() == null) {
+            eventMeshMessage.setProperties(new ConcurrentHashMap<>());
+        }
+        for (String name : SESSION_PROPERTIES) {
+            String value = header.getStringProperty(name);
+            if (value != null) {
+                eventMeshMessage.getProperties().putIfAbsent(name, value);
+            }
+        }
+        return eventMeshMessage;
+    }
+
     public static Package requestToClientAck(Package in) {
         Package msg = new Package();
         msg.setHeader(new Header(Command.REQUEST_TO_CLIENT_ACK, 0, null, in.getHeader().getSeq()));
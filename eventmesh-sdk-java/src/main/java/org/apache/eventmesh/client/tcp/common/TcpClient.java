@@ -18,9 +18,12 @@
 package org.apache.eventmesh.client.tcp.common;
 
 import org.apache.eventmesh.client.tcp.conf.EventMeshTCPClientConfig;
+import org.apache.eventmesh.common.Constants;
 import org.apache.eventmesh.common.protocol.tcp.Package;
 import org.apache.eventmesh.common.protocol.tcp.UserAgent;
 import org.apache.eventmesh.common.protocol.tcp.codec.Codec;
+import org.apache.eventmesh.common.protocol.tcp.codec.CompressionType;
+import org.apache.eventmesh.common.utils.NettyTransportUtils;
 
 import java.io.Closeable;
 import java.net.InetSocketAddress;
@@ -44,9 +47,7 @@ import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.EventLoopGroup;
 import io.netty.channel.SimpleChannelInboundHandler;
-import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.SocketChannel;
-import io.netty.channel.socket.nio.NioSocketChannel;
 
 import com.google.common.base.Preconditions;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
@@ -63,10 +64,15 @@ public abstract class TcpClient implements Closeable {
     protected final String host;
     protected final int port;
     protected final UserAgent userAgent;
+    protected final boolean binaryHeaderEnabled;
+    protected final int compressionThreshold;
+    protected final int downstreamWindow;
 
     private final Bootstrap bootstrap = new Bootstrap();
 
-    private final EventLoopGroup workers = new NioEventLoopGroup();
+    private final boolean useEpoll;
+
+    private final EventLoopGroup workers;
 
     private Channel channel;
 
@@ -83,11 +89,20 @@ public abstract class TcpClient implements Closeable {
         this.host = eventMeshTcpClientConfig.getHost();
         this.port = eventMeshTcpClientConfig.getPort();
         this.userAgent = eventMeshTcpClientConfig.getUserAgent();
+        this.binaryHeaderEnabled = eventMeshTcpClientConfig.isBinaryHeaderEnabled();
+        this.compressionThreshold = eventMeshTcpClientConfig.getCompressionThreshold();
+        this.downstreamWindow = eventMeshTcpClientConfig.getDownstreamWindow();
+        this.useEpoll = NettyTransportUtils.useEpoll(eventMeshTcpClientConfig.isEpollEnabled());
+        this.workers = NettyTransportUtils.newEventLoopGroup(useEpoll, 0,
+                new ThreadFactoryBuilder().setNameFormat("TCPClientWorker-%d").build());
+        if (eventMeshTcpClientConfig.getCompressionType() != null && userAgent != null) {
+            userAgent.setCompression(eventMeshTcpClientConfig.getCompressionType().getName());
+        }
     }
 
     protected synchronized void open(SimpleChannelInboundHandler<Package> handler) throws Exception {
         bootstrap.group(workers);
-        bootstrap.channel(NioSocketChannel.class);
+        bootstrap.channel(NettyTransportUtils.channelClass(useEpoll));
         bootstrap.option(ChannelOption.CONNECT_TIMEOUT_MILLIS, 1_000)
                 .option(ChannelOption.SO_KEEPALIVE, true)
                 .option(ChannelOption.SO_SNDBUF, 64 * 1024)
@@ -96,7 +111,10 @@ public abstract class TcpClient implements Closeable {
                 .option(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT);
         bootstrap.handler(new ChannelInitializer<SocketChannel>() {
             public void initChannel(SocketChannel ch) {
-                ch.pipeline().addLast(new Codec.Encoder(), new Codec.Decoder())
+                if (binaryHeaderEnabled) {
+                    ch.attr(Codec.PROTOCOL_VERSION).set(Codec.VERSION_BINARY_HEADER);
+                }
+                ch.pipeline().addLast(new Codec.Encoder(compressionThreshold), new Codec.Decoder())
                         .addLast(handler, newExceptionHandler());
             }
         });
@@ -183,7 +201,22 @@ public abstract class TcpClient implements Closeable {
     // todo: remove hello
     protected void hello() throws Exception {
         Package msg = MessageUtils.hello(userAgent);
-        this.io(msg, EventMeshCommon.DEFAULT_TIME_OUT_MILLS);
+        Package res = this.io(msg, EventMeshCommon.DEFAULT_TIME_OUT_MILLS);
+        updateCompressionType(res);
+    }
+
+    /**
+     * Compress the message bodies with the compression type accepted by the server in the hello response
+     */
+    private void updateCompressionType(Package helloResponse) {
+        if (helloResponse == null || helloResponse.getHeader() == null) {
+            return;
+        }
+        CompressionType compressionType = CompressionType.of(helloResponse.getHeader().getStringProperty(Constants.COMPRESSION_TYPE));
+        channel.attr(Codec.COMPRESSION_TYPE).set(compressionType);
+        if (compressionType != null) {
+            log.info("compress message bodies with {}|server={}", compressionType.getName(), host + ":" + port);
+        }
     }
 
     // todo: remove goodbye
@@ -18,6 +18,8 @@
 package org.apache.eventmesh.client.tcp.conf;
 
 import org.apache.eventmesh.common.protocol.tcp.UserAgent;
+import org.apache.eventmesh.common.protocol.tcp.codec.Codec;
+import org.apache.eventmesh.common.protocol.tcp.codec.CompressionType;
 
 import lombok.Builder;
 import lombok.Data;
@@ -28,4 +30,34 @@ public class EventMeshTCPClientConfig {
     private String host;
     private int port;
     private UserAgent userAgent;
+
+    /**
+     * Encode the package header in binary instead of json, it needs the server which supports the protocol version
+     * {@link org.apache.eventmesh.common.protocol.tcp.codec.Codec#VERSION_BINARY_HEADER}
+     */
+    private boolean binaryHeaderEnabled;
+
+    /**
+     * The compression type offered to the server in the hello request, the message bodies are compressed in both
+     * directions if the server accepts it. The bodies are not compressed if it is null.
+     */
+    private CompressionType compressionType;
+
+    /**
+     * The message bodies shorter than it are not compressed
+     */
+    @Builder.Default
+    private int compressionThreshold = Codec.DEFAULT_COMPRESSION_THRESHOLD;
+
+    /**
+     * The max number of unacked messages the server pushes to the client, advertised in the listen request.
+     * The server uses its own limit if it is not positive.
+     */
+    private int downstreamWindow;
+
+    /**
+     * Use the native epoll transport of netty on Linux, NIO is used if it is disabled or not available.
+     * It is opt-in, as the client runs in the application which may not ship the native library of netty.
+     */
+    private boolean epollEnabled;
 }
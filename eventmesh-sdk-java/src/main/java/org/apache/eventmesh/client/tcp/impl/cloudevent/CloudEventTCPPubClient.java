@@ -28,9 +28,10 @@ import org.apache.eventmesh.client.tcp.impl.AbstractEventMeshTCPPubHandler;
 import org.apache.eventmesh.common.Constants;
 import org.apache.eventmesh.common.exception.EventMeshException;
 import org.apache.eventmesh.common.protocol.tcp.Command;
+import org.apache.eventmesh.common.protocol.tcp.MessageBody;
 import org.apache.eventmesh.common.protocol.tcp.Package;
 
-import java.nio.charset.StandardCharsets;
+import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
 
 import io.cloudevents.CloudEvent;
@@ -112,6 +113,18 @@ class CloudEventTCPPubClient extends TcpClient implements EventMeshTCPPubClient<
         }
     }
 
+    @Override
+    public Package publish(List<CloudEvent> cloudEvents, long timeout) throws EventMeshException {
+        try {
+            Package msg = MessageUtils.buildBatchPackage(cloudEvents);
+            log.info("SimplePubClientImpl cloud event|{}|publish|send|type={}|protocol={}|batchSize={}",
+                    clientNo, msg.getHeader().getCmd(), msg.getHeader().getProperty(Constants.PROTOCOL_TYPE), cloudEvents.size());
+            return io(msg, timeout);
+        } catch (Exception ex) {
+            throw new EventMeshException("batch publish error", ex);
+        }
+    }
+
     @Override
     public void broadcast(CloudEvent cloudEvent, long timeout) throws EventMeshException {
         try {
@@ -157,7 +170,7 @@ class CloudEventTCPPubClient extends TcpClient implements EventMeshTCPPubClient<
             EventFormat eventFormat = EventFormatProvider.getInstance().resolveFormat(JsonFormat.CONTENT_TYPE);
             Preconditions.checkNotNull(eventFormat,
                     String.format("Cannot find the cloudevent format: %s", JsonFormat.CONTENT_TYPE));
-            return eventFormat.deserialize(tcpPackage.getBody().toString().getBytes(StandardCharsets.UTF_8));
+            return eventFormat.deserialize(MessageBody.toBytes(tcpPackage.getBody()));
         }
 
         @Override
@@ -30,11 +30,11 @@ import org.apache.eventmesh.common.protocol.SubscriptionItem;
 import org.apache.eventmesh.common.protocol.SubscriptionMode;
 import org.apache.eventmesh.common.protocol.SubscriptionType;
 import org.apache.eventmesh.common.protocol.tcp.Command;
+import org.apache.eventmesh.common.protocol.tcp.MessageBody;
 import org.apache.eventmesh.common.protocol.tcp.Package;
 
 import org.apache.commons.collections4.CollectionUtils;
 
-import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
@@ -117,7 +117,7 @@ class CloudEventTCPSubClient extends TcpClient implements EventMeshTCPSubClient<
     @Override
     public void listen() throws EventMeshException {
         try {
-            Package request = MessageUtils.listen();
+            Package request = MessageUtils.listen(downstreamWindow);
             io(request, EventMeshCommon.DEFAULT_TIME_OUT_MILLS);
         } catch (Exception ex) {
             throw new EventMeshException("Listen error", ex);
@@ -151,7 +151,11 @@ class CloudEventTCPSubClient extends TcpClient implements EventMeshTCPSubClient<
             EventFormat eventFormat = EventFormatProvider.getInstance().resolveFormat(JsonFormat.CONTENT_TYPE);
             Preconditions.checkNotNull(eventFormat,
                     String.format("Cannot find the cloudevent format: %s", JsonFormat.CONTENT_TYPE));
-            return eventFormat.deserialize(tcpPackage.getBody().toString().getBytes(StandardCharsets.UTF_8));
+            CloudEvent cloudEvent = eventFormat.deserialize(MessageBody.toBytes(tcpPackage.getBody()));
+            if (tcpPackage.getHeader().getCmd() == Command.BROADCAST_MESSAGE_TO_CLIENT) {
+                return MessageUtils.withSessionProperties(cloudEvent, tcpPackage.getHeader());
+            }
+            return cloudEvent;
         }
 
         @Override
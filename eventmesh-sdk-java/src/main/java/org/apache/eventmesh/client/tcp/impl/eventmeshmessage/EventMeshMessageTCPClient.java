@@ -29,6 +29,8 @@ import org.apache.eventmesh.common.protocol.SubscriptionType;
 import org.apache.eventmesh.common.protocol.tcp.EventMeshMessage;
 import org.apache.eventmesh.common.protocol.tcp.Package;
 
+import java.util.List;
+
 public class EventMeshMessageTCPClient implements EventMeshTCPClient<EventMeshMessage> {
 
     private final EventMeshTCPPubClient<EventMeshMessage> eventMeshMessageTCPPubClient;
@@ -61,6 +63,11 @@ public class EventMeshMessageTCPClient implements EventMeshTCPClient<EventMeshMe
         return eventMeshMessageTCPPubClient.publish(eventMeshMessage, timeout);
     }
 
+    @Override
+    public Package publish(List<EventMeshMessage> eventMeshMessages, long timeout) throws EventMeshException {
+        return eventMeshMessageTCPPubClient.publish(eventMeshMessages, timeout);
+    }
+
     @Override
     public void broadcast(EventMeshMessage eventMeshMessage, long timeout) throws EventMeshException {
         eventMeshMessageTCPPubClient.broadcast(eventMeshMessage, timeout);
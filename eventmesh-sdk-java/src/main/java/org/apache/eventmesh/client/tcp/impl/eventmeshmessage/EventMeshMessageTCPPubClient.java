@@ -32,6 +32,7 @@ import org.apache.eventmesh.common.protocol.tcp.EventMeshMessage;
 import org.apache.eventmesh.common.protocol.tcp.Package;
 import org.apache.eventmesh.common.utils.JsonUtils;
 
+import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
 
 import io.netty.channel.ChannelHandlerContext;
@@ -112,6 +113,11 @@ class EventMeshMessageTCPPubClient extends TcpClient implements EventMeshTCPPubC
         }
     }
 
+    @Override
+    public Package publish(List<EventMeshMessage> eventMeshMessages, long timeout) throws EventMeshException {
+        throw new EventMeshException("batch publish is only supported by the CloudEvent client");
+    }
+
     @Override
     public void broadcast(EventMeshMessage eventMeshMessage, long timeout) throws EventMeshException {
         try {
@@ -108,7 +108,7 @@ class EventMeshMessageTCPSubClient extends TcpClient implements EventMeshTCPSubC
 
     public void listen() throws EventMeshException {
         try {
-            Package request = MessageUtils.listen();
+            Package request = MessageUtils.listen(downstreamWindow);
             io(request, EventMeshCommon.DEFAULT_TIME_OUT_MILLS);
         } catch (Exception ex) {
             throw new EventMeshException("Listen error", ex);
@@ -137,7 +137,11 @@ class EventMeshMessageTCPSubClient extends TcpClient implements EventMeshTCPSubC
 
         @Override
         public EventMeshMessage getProtocolMessage(Package tcpPackage) {
-            return JsonUtils.deserialize(tcpPackage.getBody().toString(), EventMeshMessage.class);
+            EventMeshMessage eventMeshMessage = JsonUtils.deserialize(tcpPackage.getBody().toString(), EventMeshMessage.class);
+            if (eventMeshMessage != null && tcpPackage.getHeader().getCmd() == Command.BROADCAST_MESSAGE_TO_CLIENT) {
+                return MessageUtils.withSessionProperties(eventMeshMessage, tcpPackage.getHeader());
+            }
+            return eventMeshMessage;
         }
 
         @Override
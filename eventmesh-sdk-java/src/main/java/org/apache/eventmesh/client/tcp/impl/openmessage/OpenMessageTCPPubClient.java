@@ -24,6 +24,8 @@ import org.apache.eventmesh.client.tcp.conf.EventMeshTCPClientConfig;
 import org.apache.eventmesh.common.exception.EventMeshException;
 import org.apache.eventmesh.common.protocol.tcp.Package;
 
+import java.util.List;
+
 import io.openmessaging.api.Message;
 
 import lombok.extern.slf4j.Slf4j;
@@ -62,6 +64,11 @@ class OpenMessageTCPPubClient implements EventMeshTCPPubClient<Message> {
         return null;
     }
 
+    @Override
+    public Package publish(List<Message> openMessages, long timeout) throws EventMeshException {
+        throw new EventMeshException("batch publish is only supported by the CloudEvent client");
+    }
+
     @Override
     public void broadcast(Message cloudEvent, long timeout) throws EventMeshException {
 
@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.eventmesh.client.tcp.common;
+
+import org.apache.eventmesh.common.Constants;
+import org.apache.eventmesh.common.protocol.tcp.Command;
+import org.apache.eventmesh.common.protocol.tcp.EventMeshMessage;
+import org.apache.eventmesh.common.protocol.tcp.Header;
+import org.apache.eventmesh.common.protocol.tcp.MessageBody;
+import org.apache.eventmesh.common.protocol.tcp.Package;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import io.cloudevents.CloudEvent;
+import io.cloudevents.core.builder.CloudEventBuilder;
+import io.cloudevents.core.provider.EventFormatProvider;
+import io.cloudevents.jackson.JsonFormat;
+
+public class MessageUtilsTest {
+
+    @Test
+    public void testBroadcastCloudEventKeepsSessionProperties() {
+        CloudEvent cloudEvent = CloudEventBuilder.v1()
+                .withId(UUID.randomUUID().toString())
+                .withSource(URI.create("/"))
+                .withType("eventmesh")
+                .withSubject("TEST-TOPIC")
+                .withDataContentType(JsonFormat.CONTENT_TYPE)
+                .withData("{\"content\":\"hello\"}".getBytes(StandardCharsets.UTF_8))
+                .build();
+        Package broadcast = MessageUtils.buildPackage(cloudEvent, Command.BROADCAST_MESSAGE_TO_CLIENT);
+        putSessionProperties(broadcast.getHeader());
+
+        CloudEvent received = MessageUtils.withSessionProperties(EventFormatProvider.getInstance()
+                .resolveFormat(JsonFormat.CONTENT_TYPE).deserialize(MessageBody.toBytes(broadcast.getBody())), broadcast.getHeader());
+        Assert.assertEquals("5023", received.getExtension(Constants.RSP_SYS));
+        Assert.assertEquals("group", received.getExtension(Constants.RSP_GROUP));
+        Assert.assertEquals("FT", received.getExtension(Constants.RSP_IDC));
+        Assert.assertEquals("127.0.0.1", received.getExtension(Constants.RSP_IP));
+        Assert.assertEquals(cloudEvent.getId(), received.getId());
+    }
+
+    @Test
+    public void testSessionPropertiesDoNotOverrideEvent() {
+        CloudEvent cloudEvent = CloudEventBuilder.v1()
+                .withId(UUID.randomUUID().toString())
+                .withSource(URI.create("/"))
+                .withType("eventmesh")
+                .withExtension(Constants.RSP_SYS, "5024")
+                .build();
+        Header header = new Header(Command.BROADCAST_MESSAGE_TO_CLIENT, 0, null, "1");
+        putSessionProperties(header);
+
+        CloudEvent received = MessageUtils.withSessionProperties(cloudEvent, header);
+        Assert.assertEquals("5024", received.getExtension(Constants.RSP_SYS));
+        Assert.assertEquals("group", received.getExtension(Constants.RSP_GROUP));
+    }
+
+    @Test
+    public void testBroadcastEventMeshMessageKeepsSessionProperties() {
+        EventMeshMessage eventMeshMessage = new EventMeshMessage();
+        eventMeshMessage.setTopic("TEST-TOPIC");
+        eventMeshMessage.setBody("hello");
+        Header header = new Header(Command.BROADCAST_MESSAGE_TO_CLIENT, 0, null, "1");
+        putSessionProperties(header);
+
+        EventMeshMessage received = MessageUtils.withSessionProperties(eventMeshMessage, header);
+        Assert.assertEquals("5023", received.getProperties().get(Constants.RSP_SYS));
+        Assert.assertEquals("group", received.getProperties().get(Constants.RSP_GROUP));
+        Assert.assertEquals("FT", received.getProperties().get(Constants.RSP_IDC));
+        Assert.assertEquals("127.0.0.1", received.getProperties().get(Constants.RSP_IP));
+    }
+
+    private void putSessionProperties(Header header) {
+        header.putProperty(Constants.RSP_SYS, "5023");
+        header.putProperty(Constants.RSP_GROUP, "group");
+        header.putProperty(Constants.RSP_IDC, "FT");
+        header.putProperty(Constants.RSP_IP, "127.0.0.1");
+    }
+}